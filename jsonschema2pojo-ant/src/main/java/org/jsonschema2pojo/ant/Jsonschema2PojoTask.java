@@ -196,6 +196,36 @@ public class Jsonschema2PojoTask extends Task implements GenerationConfig {
 
     private Map<String, String> formatTypeMapping = new HashMap<>();
 
+    private boolean generateSerializers = false;
+
+    private boolean lazyAdditionalProperties = false;
+
+    private String additionalPropertiesMapType;
+
+    private boolean useRangeNarrowedIntegers = false;
+
+    private boolean usePrimitiveArrays = false;
+
+    private boolean immutable = false;
+
+    private boolean useRecords = false;
+
+    private boolean deduplicateInlineSchemas = false;
+
+    private int corpusSampleSize = 0;
+
+    private File scalaConversionCacheDirectory;
+
+    private boolean skipUnchangedFiles = false;
+
+    private boolean incremental = false;
+
+    private int parallelism = 1;
+
+    private File remoteSchemaCacheDirectory;
+
+    private boolean offline = false;
+
     /**
      * Execute this task (it's expected that all relevant setters will have been
      * called by Ant to provide task configuration <em>before</em> this method
@@ -629,6 +659,7 @@ public class Jsonschema2PojoTask extends Task implements GenerationConfig {
      *            <li><code>json</code></li>
      *            <li><code>yamlschema</code></li>
      *            <li><code>yaml</code></li>
+     *            <li><code>jsoncorpus</code></li>
      *            </ul>
      */
     public void setSourceType(SourceType sourceType) {
@@ -968,6 +999,187 @@ public class Jsonschema2PojoTask extends Task implements GenerationConfig {
         this.useInnerClassBuilders = useInnerClassBuilders;
     }
 
+    /**
+     * Sets the 'parallelism' property of this class
+     *
+     * @param parallelism
+     *            the number of threads used to read source files (and resolve
+     *            the schema documents they refer to) before types are
+     *            generated. Generated output does not depend on this value.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets the 'remoteSchemaCacheDirectory' property of this class
+     *
+     * @param remoteSchemaCacheDirectory
+     *            a directory in which schemas referenced over http/https are
+     *            cached between builds. Cached documents are revalidated with
+     *            the server and only downloaded again when they have changed.
+     *            If the server can't be reached or fails, the cached copy is
+     *            used (with a warning).
+     */
+    public void setRemoteSchemaCacheDirectory(File remoteSchemaCacheDirectory) {
+        this.remoteSchemaCacheDirectory = remoteSchemaCacheDirectory;
+    }
+
+    /**
+     * Sets the 'offline' property of this class
+     *
+     * @param offline
+     *            whether schemas referenced over http/https should be read only
+     *            from the remote schema cache, without making any network
+     *            requests. Requires <code>remoteSchemaCacheDirectory</code>.
+     */
+    public void setOffline(boolean offline) {
+        this.offline = offline;
+    }
+
+    /**
+     * Sets the 'incremental' property of this class
+     *
+     * @param incremental
+     *            whether to generate incrementally, only generating source
+     *            schemas that have changed (or that refer to schemas that have
+     *            changed) since the last run. Only files that are no longer
+     *            generated are deleted; this takes the place of
+     *            <code>removeOldOutput</code>. Corpus sources, and every
+     *            source when serializers are generated, are generated on
+     *            every run.
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * Sets the 'skipUnchangedFiles' property of this class
+     *
+     * @param skipUnchangedFiles
+     *            whether generated files that already exist with identical
+     *            content should be left untouched rather than written again,
+     *            preserving their modification time.
+     */
+    public void setSkipUnchangedFiles(boolean skipUnchangedFiles) {
+        this.skipUnchangedFiles = skipUnchangedFiles;
+    }
+
+    /**
+     * Sets the 'scalaConversionCacheDirectory' property of this class
+     *
+     * @param scalaConversionCacheDirectory
+     *            a directory in which to cache the Scala source produced for
+     *            each generated Java source, so that classes which have not
+     *            changed are not converted again on every build.
+     */
+    public void setScalaConversionCacheDirectory(File scalaConversionCacheDirectory) {
+        this.scalaConversionCacheDirectory = scalaConversionCacheDirectory;
+    }
+
+    /**
+     * Sets the 'corpusSampleSize' property of this class
+     *
+     * @param corpusSampleSize
+     *            when the source type is <code>jsoncorpus</code>, the maximum
+     *            number of documents read from each corpus (<code>0</code> reads
+     *            every document).
+     */
+    public void setCorpusSampleSize(int corpusSampleSize) {
+        this.corpusSampleSize = corpusSampleSize;
+    }
+
+    /**
+     * Sets the 'deduplicateInlineSchemas' property of this class
+     *
+     * @param deduplicateInlineSchemas
+     *            whether structurally identical inline object schemas should
+     *            share a single generated class. A report of the merged schemas
+     *            is logged.
+     */
+    public void setDeduplicateInlineSchemas(boolean deduplicateInlineSchemas) {
+        this.deduplicateInlineSchemas = deduplicateInlineSchemas;
+    }
+
+    /**
+     * Sets the 'generateSerializers' property of this class
+     *
+     * @param generateSerializers
+     *            whether to generate, for each class, a serializer and
+     *            deserializer that write and read its properties directly
+     *            instead of by reflection, and a type that registers all of
+     *            them. Supported for the jackson2, gson and moshi1 annotation
+     *            styles.
+     */
+    public void setGenerateSerializers(boolean generateSerializers) {
+        this.generateSerializers = generateSerializers;
+    }
+
+    /**
+     * Sets the 'lazyAdditionalProperties' property of this class
+     *
+     * @param lazyAdditionalProperties
+     *            whether the additional properties map of a generated class
+     *            should only be allocated when the first additional property
+     *            is set
+     */
+    public void setLazyAdditionalProperties(boolean lazyAdditionalProperties) {
+        this.lazyAdditionalProperties = lazyAdditionalProperties;
+    }
+
+    /**
+     * Sets the 'additionalPropertiesMapType' property of this class
+     *
+     * @param additionalPropertiesMapType
+     *            the map implementation to use instead of
+     *            <code>java.util.HashMap</code> for additional properties
+     */
+    public void setAdditionalPropertiesMapType(String additionalPropertiesMapType) {
+        this.additionalPropertiesMapType = additionalPropertiesMapType;
+    }
+
+    /**
+     * Sets the 'useRangeNarrowedIntegers' property of this class
+     *
+     * @param useRangeNarrowedIntegers
+     *            whether to use the smallest java type that holds the
+     *            declared range of an integer property
+     */
+    public void setUseRangeNarrowedIntegers(boolean useRangeNarrowedIntegers) {
+        this.useRangeNarrowedIntegers = useRangeNarrowedIntegers;
+    }
+
+    /**
+     * Sets the 'usePrimitiveArrays' property of this class
+     *
+     * @param usePrimitiveArrays
+     *            whether to use primitive arrays instead of lists for arrays
+     *            of integers or numbers
+     */
+    public void setUsePrimitiveArrays(boolean usePrimitiveArrays) {
+        this.usePrimitiveArrays = usePrimitiveArrays;
+    }
+
+    /**
+     * Sets the 'immutable' property of this class
+     *
+     * @param immutable
+     *            whether to generate immutable classes
+     */
+    public void setImmutable(boolean immutable) {
+        this.immutable = immutable;
+    }
+
+    /**
+     * Sets the 'useRecords' property of this class
+     *
+     * @param useRecords
+     *            whether to generate Java records for suitable object schemas
+     */
+    public void setUseRecords(boolean useRecords) {
+        this.useRecords = useRecords;
+    }
+
     public void setFormatTypeMapping(Map<String, String> formatTypeMapping) {
         this.formatTypeMapping = formatTypeMapping;
     }
@@ -1324,4 +1536,79 @@ public class Jsonschema2PojoTask extends Task implements GenerationConfig {
     public boolean isIncludeConstructorPropertiesAnnotation() {
         return includeConstructorPropertiesAnnotation;
     }
+
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public File getRemoteSchemaCacheDirectory() {
+        return remoteSchemaCacheDirectory;
+    }
+
+    @Override
+    public boolean isOffline() {
+        return offline;
+    }
+
+    @Override
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    @Override
+    public boolean isSkipUnchangedFiles() {
+        return skipUnchangedFiles;
+    }
+
+    @Override
+    public File getScalaConversionCacheDirectory() {
+        return scalaConversionCacheDirectory;
+    }
+
+    @Override
+    public int getCorpusSampleSize() {
+        return corpusSampleSize;
+    }
+
+    @Override
+    public boolean isDeduplicateInlineSchemas() {
+        return deduplicateInlineSchemas;
+    }
+
+    @Override
+    public boolean isGenerateSerializers() {
+        return generateSerializers;
+    }
+
+    @Override
+    public boolean isLazyAdditionalProperties() {
+        return lazyAdditionalProperties;
+    }
+
+    @Override
+    public String getAdditionalPropertiesMapType() {
+        return additionalPropertiesMapType;
+    }
+
+    @Override
+    public boolean isUseRangeNarrowedIntegers() {
+        return useRangeNarrowedIntegers;
+    }
+
+    @Override
+    public boolean isUsePrimitiveArrays() {
+        return usePrimitiveArrays;
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    @Override
+    public boolean isUseRecords() {
+        return useRecords;
+    }
 }
@@ -0,0 +1,94 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jsonschema2pojo.FragmentResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Measures {@link FragmentResolver#resolve(JsonNode, String, String)} for
+ * fragment paths of increasing length, using both the default <code>#/</code>
+ * delimiters and the extended <code>#/.</code> delimiters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FragmentResolverBenchmark {
+
+    @Param({ "2", "8", "32" })
+    public int depth;
+
+    private final FragmentResolver resolver = new FragmentResolver();
+
+    private JsonNode document;
+    private String slashPath;
+    private String dotPath;
+
+    @Setup
+    public void buildDocument() {
+        ObjectNode root = new ObjectMapper().createObjectNode();
+        StringBuilder slashes = new StringBuilder("#");
+        StringBuilder dots = new StringBuilder("#");
+
+        ObjectNode current = root;
+        for (int level = 0; level < depth; level++) {
+            ObjectNode definitions = current.putObject("definitions");
+            for (int sibling = 0; sibling < 4; sibling++) {
+                definitions.putObject("sibling" + sibling).put("type", "string");
+            }
+            current = definitions.putObject("level" + level);
+            current.put("type", "object");
+
+            slashes.append("/definitions/level").append(level);
+            dots.append(level == 0 ? "/" : ".").append("definitions.level").append(level);
+        }
+
+        document = root;
+        slashPath = slashes.toString();
+        dotPath = dots.toString();
+    }
+
+    @Benchmark
+    public JsonNode resolveWithSlashes() {
+        return resolver.resolve(document, slashPath, "#/");
+    }
+
+    @Benchmark
+    public JsonNode resolveWithDots() {
+        return resolver.resolve(document, dotPath, "#/.");
+    }
+
+}
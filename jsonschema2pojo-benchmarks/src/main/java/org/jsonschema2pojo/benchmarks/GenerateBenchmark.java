@@ -0,0 +1,108 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.Jsonschema2Pojo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a complete {@link Jsonschema2Pojo#generate(GenerationConfig, org.jsonschema2pojo.RuleLogger)}
+ * run (reading, rule application and writing of sources) over a
+ * {@link SyntheticSchemaCorpus}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GenerateBenchmark {
+
+    @Param({ "10", "100" })
+    public int size;
+
+    @Param({ "1", "4" })
+    public int depth;
+
+    @Param({ "0", "8" })
+    public int fanOut;
+
+    private File corpusDirectory;
+    private File targetDirectory;
+    private GenerationConfig config;
+    private final NoopRuleLogger logger = new NoopRuleLogger();
+
+    @Setup(Level.Trial)
+    public void writeCorpus() throws IOException {
+        corpusDirectory = Files.createTempDirectory("jsonschema2pojo-corpus").toFile();
+        targetDirectory = Files.createTempDirectory("jsonschema2pojo-output").toFile();
+        new SyntheticSchemaCorpus(size, depth, fanOut).writeTo(corpusDirectory);
+
+        final URL source = new File(corpusDirectory, SyntheticSchemaCorpus.SCHEMAS_DIRECTORY).toURI().toURL();
+        config = new DefaultGenerationConfig() {
+            @Override
+            public Iterator<URL> getSource() {
+                return Collections.singletonList(source).iterator();
+            }
+
+            @Override
+            public File getTargetDirectory() {
+                return targetDirectory;
+            }
+
+            @Override
+            public String getTargetPackage() {
+                return "org.jsonschema2pojo.benchmarks.generated";
+            }
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteCorpus() {
+        FileUtils.deleteQuietly(corpusDirectory);
+        FileUtils.deleteQuietly(targetDirectory);
+    }
+
+    @Benchmark
+    public void generate() throws IOException {
+        Jsonschema2Pojo.generate(config, logger);
+    }
+
+}
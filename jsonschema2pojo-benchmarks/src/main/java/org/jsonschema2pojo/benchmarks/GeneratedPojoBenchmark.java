@@ -0,0 +1,118 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.jsonschema2pojo.AnnotationStyle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the runtime cost of generated types: JSON serialization and
+ * deserialization with the library matching the annotation style, and the
+ * generated <code>equals</code>, <code>hashCode</code> and
+ * <code>toString</code> methods.
+ * <p>
+ * Types are generated from the schemas bundled under <code>/runtime</code>
+ * once per trial, for every combination of the parameters below.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GeneratedPojoBenchmark {
+
+    @Param({ "JACKSON2", "GSON", "MOSHI1" })
+    public AnnotationStyle annotationStyle;
+
+    @Param({ "false", "true" })
+    public boolean usePrimitives;
+
+    @Param({ "true", "false" })
+    public boolean includeAdditionalProperties;
+
+    @Param({ "true", "false" })
+    public boolean initializeCollections;
+
+    private GeneratedTypes generatedTypes;
+    private JsonCodec codec;
+    private String json;
+    private Object instance;
+    private Object equalInstance;
+
+    @Setup(Level.Trial)
+    public void generateTypes() throws IOException {
+        generatedTypes = GeneratedTypes.generate(Files.createTempDirectory("jsonschema2pojo-runtime").toFile(),
+                annotationStyle, usePrimitives, includeAdditionalProperties, initializeCollections);
+
+        codec = JsonCodec.forStyle(annotationStyle, generatedTypes.getRootType());
+        json = GeneratedTypes.getRootExample();
+        instance = codec.read(json);
+        equalInstance = codec.read(json);
+
+        if (!instance.equals(equalInstance)) {
+            throw new IllegalStateException("Instances read from the same document are not equal: " + instance + ", " + equalInstance);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteTypes() {
+        generatedTypes.delete();
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        return codec.read(json);
+    }
+
+    @Benchmark
+    public String serialize() throws IOException {
+        return codec.write(instance);
+    }
+
+    @Benchmark
+    public boolean equalsEqualInstance() {
+        return instance.equals(equalInstance);
+    }
+
+    @Benchmark
+    public int hashCodeInstance() {
+        return instance.hashCode();
+    }
+
+    @Benchmark
+    public String toStringInstance() {
+        return instance.toString();
+    }
+
+}
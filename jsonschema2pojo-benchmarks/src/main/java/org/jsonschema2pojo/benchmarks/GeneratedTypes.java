@@ -0,0 +1,211 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.jsonschema2pojo.AnnotationStyle;
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.Jsonschema2Pojo;
+
+/**
+ * Generates types from the schemas bundled under <code>/runtime</code>,
+ * compiles them in-process and loads them in an isolated class loader, so
+ * that the runtime cost of the generated code can be measured.
+ */
+public class GeneratedTypes {
+
+    public static final String PACKAGE_NAME = "org.jsonschema2pojo.benchmarks.generated";
+
+    private static final String[] SCHEMAS = { "order.json", "address.json", "lineItem.json" };
+
+    private static final String ROOT_SCHEMA = "order.json";
+
+    private final File workingDirectory;
+    private final ClassLoader classLoader;
+
+    private GeneratedTypes(File workingDirectory, ClassLoader classLoader) {
+        this.workingDirectory = workingDirectory;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Generates and compiles the bundled schemas.
+     *
+     * @param workingDirectory
+     *            an existing, empty directory that will hold the schemas,
+     *            generated sources and compiled classes
+     * @param annotationStyle
+     *            the annotation style to generate for
+     * @param usePrimitives
+     *            the value of the 'usePrimitives' option
+     * @param includeAdditionalProperties
+     *            the value of the 'includeAdditionalProperties' option
+     * @param initializeCollections
+     *            the value of the 'initializeCollections' option
+     * @return the generated types
+     * @throws IOException
+     *             if the schemas cannot be copied or the sources cannot be
+     *             written
+     */
+    public static GeneratedTypes generate(File workingDirectory, final AnnotationStyle annotationStyle, final boolean usePrimitives,
+            final boolean includeAdditionalProperties, final boolean initializeCollections) throws IOException {
+
+        File schemaDirectory = new File(workingDirectory, "schema");
+        final File sourceDirectory = new File(workingDirectory, "src");
+        File classDirectory = new File(workingDirectory, "classes");
+        FileUtils.forceMkdir(sourceDirectory);
+        FileUtils.forceMkdir(classDirectory);
+
+        for (String schema : SCHEMAS) {
+            try (InputStream in = GeneratedTypes.class.getResourceAsStream("/runtime/" + schema)) {
+                FileUtils.copyInputStreamToFile(in, new File(schemaDirectory, schema));
+            }
+        }
+
+        final URL source = new File(schemaDirectory, ROOT_SCHEMA).toURI().toURL();
+        GenerationConfig config = new DefaultGenerationConfig() {
+            @Override
+            public Iterator<URL> getSource() {
+                return Collections.singletonList(source).iterator();
+            }
+
+            @Override
+            public File getTargetDirectory() {
+                return sourceDirectory;
+            }
+
+            @Override
+            public String getTargetPackage() {
+                return PACKAGE_NAME;
+            }
+
+            @Override
+            public AnnotationStyle getAnnotationStyle() {
+                return annotationStyle;
+            }
+
+            @Override
+            public boolean isUsePrimitives() {
+                return usePrimitives;
+            }
+
+            @Override
+            public boolean isIncludeAdditionalProperties() {
+                return includeAdditionalProperties;
+            }
+
+            @Override
+            public boolean isInitializeCollections() {
+                return initializeCollections;
+            }
+        };
+
+        Jsonschema2Pojo.generate(config, new NoopRuleLogger());
+        compile(sourceDirectory, classDirectory);
+
+        ClassLoader classLoader = new URLClassLoader(new URL[] { classDirectory.toURI().toURL() }, GeneratedTypes.class.getClassLoader());
+        return new GeneratedTypes(workingDirectory, classLoader);
+    }
+
+    /**
+     * @return the generated type for the root schema (<code>order.json</code>)
+     */
+    public Class<?> getRootType() {
+        try {
+            return classLoader.loadClass(PACKAGE_NAME + ".Order");
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Generated root type was not compiled", e);
+        }
+    }
+
+    /**
+     * @return an example instance document for the root schema
+     * @throws IOException
+     *             if the bundled example cannot be read
+     */
+    public static String getRootExample() throws IOException {
+        try (InputStream in = GeneratedTypes.class.getResourceAsStream("/runtime/order-example.json")) {
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Deletes the working directory passed to
+     * {@link #generate(File, AnnotationStyle, boolean, boolean, boolean)}.
+     */
+    public void delete() {
+        FileUtils.deleteQuietly(workingDirectory);
+    }
+
+    private static void compile(File sourceDirectory, File classDirectory) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No system Java compiler is available, the benchmarks must be run on a JDK");
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(classDirectory));
+            fileManager.setLocation(StandardLocation.CLASS_PATH, getClasspath());
+
+            Collection<File> sourceFiles = FileUtils.listFiles(sourceDirectory, new String[] { "java" }, true);
+            List<String> options = new ArrayList<>();
+            options.add("-nowarn");
+            options.add("-proc:none");
+
+            boolean success = compiler.getTask(null, fileManager, diagnostics, options, null, fileManager.getJavaFileObjectsFromFiles(sourceFiles)).call();
+            if (!success) {
+                StringBuilder message = new StringBuilder("Generated sources did not compile:");
+                for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                    message.append(System.lineSeparator()).append(diagnostic);
+                }
+                throw new IllegalStateException(message.toString());
+            }
+        }
+    }
+
+    private static List<File> getClasspath() {
+        List<File> classpath = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            classpath.add(new File(entry));
+        }
+        return classpath;
+    }
+
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.benchmarks;
+
+import java.io.IOException;
+
+import org.jsonschema2pojo.AnnotationStyle;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.squareup.moshi.JsonAdapter;
+import com.squareup.moshi.Moshi;
+
+/**
+ * Reads and writes instances of a generated type with the JSON library that
+ * matches the annotation style the type was generated for.
+ */
+public abstract class JsonCodec {
+
+    public abstract Object read(String json) throws IOException;
+
+    public abstract String write(Object value) throws IOException;
+
+    /**
+     * @param annotationStyle
+     *            the annotation style the type was generated for
+     * @param type
+     *            the generated type
+     * @return a codec using Jackson 2.x, Gson or Moshi for the given style
+     */
+    public static JsonCodec forStyle(AnnotationStyle annotationStyle, Class<?> type) {
+        switch (annotationStyle) {
+        case JACKSON:
+        case JACKSON2:
+            return new JacksonCodec(type);
+        case GSON:
+            return new GsonCodec(type);
+        case MOSHI1:
+            return new MoshiCodec(type);
+        default:
+            throw new IllegalArgumentException("No runtime benchmark codec for annotation style " + annotationStyle);
+        }
+    }
+
+    private static class JacksonCodec extends JsonCodec {
+
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final Class<?> type;
+
+        JacksonCodec(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        public Object read(String json) throws IOException {
+            return objectMapper.readValue(json, type);
+        }
+
+        @Override
+        public String write(Object value) throws IOException {
+            return objectMapper.writeValueAsString(value);
+        }
+
+    }
+
+    private static class GsonCodec extends JsonCodec {
+
+        private final Gson gson = new Gson();
+        private final Class<?> type;
+
+        GsonCodec(Class<?> type) {
+            this.type = type;
+        }
+
+        @Override
+        public Object read(String json) {
+            return gson.fromJson(json, type);
+        }
+
+        @Override
+        public String write(Object value) {
+            return gson.toJson(value);
+        }
+
+    }
+
+    private static class MoshiCodec extends JsonCodec {
+
+        private final JsonAdapter<Object> adapter;
+
+        @SuppressWarnings("unchecked")
+        MoshiCodec(Class<?> type) {
+            this.adapter = (JsonAdapter<Object>) new Moshi.Builder().build().adapter(type);
+        }
+
+        @Override
+        public Object read(String json) throws IOException {
+            return adapter.fromJson(json);
+        }
+
+        @Override
+        public String write(Object value) {
+            return adapter.toJson(value);
+        }
+
+    }
+
+}
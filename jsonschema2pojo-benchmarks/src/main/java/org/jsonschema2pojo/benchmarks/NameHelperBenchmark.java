@@ -0,0 +1,81 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jsonschema2pojo.DefaultGenerationConfig;
+import org.jsonschema2pojo.util.NameHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JPackage;
+
+/**
+ * Measures {@link NameHelper#getUniqueClassName(String, JsonNode, JPackage)}
+ * when the requested name is free and when it collides with a chain of
+ * previously generated names (<code>Item</code>, <code>Item__1</code>,
+ * <code>Item__2</code>, ...).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NameHelperBenchmark {
+
+    @Param({ "1", "16", "256" })
+    public int collisions;
+
+    private final NameHelper nameHelper = new NameHelper(new DefaultGenerationConfig());
+    private final JsonNode node = JsonNodeFactory.instance.objectNode();
+
+    private JPackage _package;
+
+    @Setup
+    public void populatePackage() throws JClassAlreadyExistsException {
+        _package = new JCodeModel()._package("org.jsonschema2pojo.benchmarks.generated");
+        for (int i = 0; i < collisions; i++) {
+            _package._class(nameHelper.getUniqueClassName("item", node, _package));
+        }
+    }
+
+    @Benchmark
+    public String uniqueName() {
+        return nameHelper.getUniqueClassName("other", node, _package);
+    }
+
+    @Benchmark
+    public String collidingName() {
+        return nameHelper.getUniqueClassName("item", node, _package);
+    }
+
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.benchmarks;
+
+import org.jsonschema2pojo.AbstractRuleLogger;
+
+/**
+ * A logger that discards everything, so that benchmarks measure generation
+ * rather than console output.
+ */
+public class NoopRuleLogger extends AbstractRuleLogger {
+
+    @Override
+    public boolean isDebugEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isTraceEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return false;
+    }
+
+    @Override
+    protected void doDebug(String msg) {
+    }
+
+    @Override
+    protected void doError(String msg) {
+    }
+
+    @Override
+    protected void doInfo(String msg) {
+    }
+
+    @Override
+    protected void doTrace(String msg) {
+    }
+
+    @Override
+    protected void doWarn(String msg) {
+    }
+
+}
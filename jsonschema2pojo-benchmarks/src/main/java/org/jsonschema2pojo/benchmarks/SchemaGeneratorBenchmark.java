@@ -0,0 +1,114 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jsonschema2pojo.SchemaGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Measures {@link SchemaGenerator#schemaFromExample(JsonNode)} over an example
+ * document with <code>properties</code> top level properties, a nested object
+ * <code>depth</code> levels deep and an array of <code>items</code> objects
+ * whose fields must be merged.
+ * <p>
+ * Array items only hold scalar values, because merging items that contain
+ * objects or arrays modifies the example in place and would make successive
+ * invocations measure different inputs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SchemaGeneratorBenchmark {
+
+    @Param({ "10", "100" })
+    public int properties;
+
+    @Param({ "1", "8" })
+    public int depth;
+
+    @Param({ "10", "1000" })
+    public int items;
+
+    private final SchemaGenerator schemaGenerator = new SchemaGenerator();
+
+    private JsonNode example;
+
+    @Setup
+    public void buildExample() {
+        JsonNodeFactory nodes = JsonNodeFactory.instance;
+        ObjectNode root = nodes.objectNode();
+
+        for (int i = 0; i < properties; i++) {
+            switch (i % 4) {
+            case 0:
+                root.put("text" + i, "value" + i);
+                break;
+            case 1:
+                root.put("integer" + i, i);
+                break;
+            case 2:
+                root.put("number" + i, i + 0.5d);
+                break;
+            default:
+                root.put("flag" + i, i % 2 == 0);
+                break;
+            }
+        }
+
+        ObjectNode nested = root;
+        for (int level = 0; level < depth; level++) {
+            nested = nested.putObject("level" + level);
+            nested.put("name", "level" + level);
+        }
+
+        ArrayNode array = root.putArray("items");
+        for (int i = 0; i < items; i++) {
+            ObjectNode item = array.addObject();
+            item.put("id", i);
+            item.put("label", "item" + i);
+            item.put("optional" + (i % 8), true);
+        }
+
+        example = root;
+    }
+
+    @Benchmark
+    public ObjectNode schemaFromExample() {
+        return schemaGenerator.schemaFromExample(example);
+    }
+
+}
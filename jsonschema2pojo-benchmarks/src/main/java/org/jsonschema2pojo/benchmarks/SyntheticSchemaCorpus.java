@@ -0,0 +1,129 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Writes a synthetic corpus of JSON Schema documents to disk, so that the
+ * generation benchmarks can be run over inputs of a known shape.
+ * <p>
+ * The corpus contains <code>size</code> root schemas. Each root schema has a
+ * handful of scalar properties, a chain of nested inline objects that is
+ * <code>depth</code> levels deep, and <code>fanOut</code> properties that
+ * <code>$ref</code> definitions held in a shared <code>definitions.json</code>
+ * document.
+ */
+public class SyntheticSchemaCorpus {
+
+    /**
+     * The directory, relative to the directory passed to
+     * {@link #writeTo(File)}, that holds the root schemas.
+     */
+    public static final String SCHEMAS_DIRECTORY = "schemas";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final int size;
+    private final int depth;
+    private final int fanOut;
+
+    public SyntheticSchemaCorpus(int size, int depth, int fanOut) {
+        this.size = size;
+        this.depth = depth;
+        this.fanOut = fanOut;
+    }
+
+    /**
+     * Writes the corpus into the given directory.
+     *
+     * @param directory
+     *            an existing directory that will receive the schema files
+     * @throws IOException
+     *             if a schema file cannot be written
+     */
+    public void writeTo(File directory) throws IOException {
+        File schemasDirectory = new File(directory, SCHEMAS_DIRECTORY);
+        if (!schemasDirectory.isDirectory() && !schemasDirectory.mkdirs()) {
+            throw new IOException("Could not create directory: " + schemasDirectory.getAbsolutePath());
+        }
+
+        if (fanOut > 0) {
+            OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(new File(directory, "definitions.json"), definitions());
+        }
+
+        for (int i = 0; i < size; i++) {
+            OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(new File(schemasDirectory, "entity" + i + ".json"), rootSchema(i));
+        }
+    }
+
+    private ObjectNode definitions() {
+        ObjectNode document = OBJECT_MAPPER.createObjectNode();
+        ObjectNode definitions = document.putObject("definitions");
+        for (int i = 0; i < fanOut; i++) {
+            ObjectNode definition = objectSchema("Shared definition " + i);
+            addScalarProperties((ObjectNode) definition.get("properties"));
+            definitions.set("shared" + i, definition);
+        }
+        return document;
+    }
+
+    private ObjectNode rootSchema(int index) {
+        ObjectNode schema = objectSchema("Entity " + index);
+        ObjectNode properties = (ObjectNode) schema.get("properties");
+        addScalarProperties(properties);
+
+        ObjectNode parentProperties = properties;
+        for (int level = 0; level < depth; level++) {
+            ObjectNode nested = objectSchema("Nested level " + level);
+            ObjectNode nestedProperties = (ObjectNode) nested.get("properties");
+            nestedProperties.putObject("value").put("type", "number");
+            nestedProperties.putObject("label").put("type", "string");
+            parentProperties.set("level" + level, nested);
+            parentProperties = nestedProperties;
+        }
+
+        for (int i = 0; i < fanOut; i++) {
+            properties.putObject("shared" + i).put("$ref", "../definitions.json#/definitions/shared" + i);
+        }
+
+        return schema;
+    }
+
+    private static ObjectNode objectSchema(String description) {
+        ObjectNode schema = OBJECT_MAPPER.createObjectNode();
+        schema.put("type", "object");
+        schema.put("description", description);
+        schema.putObject("properties");
+        return schema;
+    }
+
+    private static void addScalarProperties(ObjectNode properties) {
+        properties.putObject("id").put("type", "string");
+        properties.putObject("count").put("type", "integer");
+        properties.putObject("enabled").put("type", "boolean");
+        properties.putObject("created").put("type", "string").put("format", "date-time");
+        ObjectNode tags = properties.putObject("tags");
+        tags.put("type", "array");
+        tags.putObject("items").put("type", "string");
+    }
+
+}
@@ -242,6 +242,51 @@ public class Arguments implements GenerationConfig {
     @Parameter(names = { "-ftm", "--format-type-mapping" }, description = "Mapping from format identifier to type: <format>:<fully.qualified.Type>.", variableArity = true)
     private List<String> formatTypeMapping = new ArrayList<>();
 
+    @Parameter(names = { "--parallelism" }, description = "The number of threads used to read and resolve source files before types are generated. Generated output is the same for any value.")
+    private int parallelism = 1;
+
+    @Parameter(names = { "--remote-schema-cache" }, description = "A directory in which schemas referenced over http/https are cached between runs. Cached schemas are revalidated with the server and only downloaded again when they have changed. If the server can't be reached or fails, the cached copy is used (with a warning).")
+    private File remoteSchemaCacheDirectory;
+
+    @Parameter(names = { "--offline" }, description = "Read schemas referenced over http/https only from the remote schema cache, without making network requests. Requires --remote-schema-cache.")
+    private boolean offline = false;
+
+    @Parameter(names = { "--incremental" }, description = "Only generate source schemas that have changed (or that refer to schemas that have changed) since the last run, and only delete output that is no longer generated. Takes the place of --remove-old-output. Sources of the jsoncorpus type, and every source when serializers are generated, are not fingerprinted and are generated on every run.")
+    private boolean incremental = false;
+
+    @Parameter(names = { "--skip-unchanged-files" }, description = "Leave generated files that already exist with identical content untouched rather than writing them again, preserving their modification time.")
+    private boolean skipUnchangedFiles = false;
+
+    @Parameter(names = { "--scala-conversion-cache" }, description = "A directory in which to cache the Scala source produced for each generated Java source, so that unchanged classes are not converted again on every run (only used when the target language is Scala).")
+    private File scalaConversionCacheDirectory;
+
+    @Parameter(names = { "--corpus-sample-size" }, description = "When the source type is JSONCORPUS, the maximum number of documents read from each corpus (0 reads every document).")
+    private int corpusSampleSize = 0;
+
+    @Parameter(names = { "--deduplicate-inline-schemas" }, description = "Whether structurally identical inline object schemas should share a single generated class, instead of each producing its own (Address, Address__1, ...). A report of the merged schemas is logged.")
+    private boolean deduplicateInlineSchemas = false;
+
+    @Parameter(names = { "--generate-serializers" }, description = "Whether to generate, for each class, a serializer and deserializer that write and read its properties directly instead of by reflection, and a type that registers all of them (GeneratedSerializersModule for jackson2, GeneratedTypeAdapterFactory for gson, GeneratedJsonAdapterFactory for moshi1). Supported for the jackson2, gson and moshi1 annotation styles.")
+    private boolean generateSerializers = false;
+
+    @Parameter(names = { "--lazy-additional-properties" }, description = "Whether the additional properties map of a generated class should only be allocated when the first additional property is set. Until then, getAdditionalProperties() returns a shared, immutable empty map.")
+    private boolean lazyAdditionalProperties = false;
+
+    @Parameter(names = { "--additional-properties-map-type" }, description = "The map implementation (with a no-argument constructor) to use instead of java.util.HashMap for additional properties, e.g. java.util.LinkedHashMap")
+    private String additionalPropertiesMapType;
+
+    @Parameter(names = { "--use-range-narrowed-integers" }, description = "Whether to use the smallest java type (byte, short, int or long) that holds the minimum and maximum declared for an integer property. Required, non-nullable properties use the primitive type.")
+    private boolean useRangeNarrowedIntegers = false;
+
+    @Parameter(names = { "--use-primitive-arrays" }, description = "Whether to use primitive arrays (e.g. int[], long[] or double[]) instead of List for arrays whose items are integers or numbers. Arrays with uniqueItems remain a Set.")
+    private boolean usePrimitiveArrays = false;
+
+    @Parameter(names = { "--immutable" }, description = "Whether to generate immutable classes, with final fields set by a constructor, unmodifiable copies of collections and a cached hashCode.")
+    private boolean immutable = false;
+
+    @Parameter(names = { "--use-records" }, description = "Whether to generate Java records, instead of classes, for object schemas that don't extend another type and don't allow additional properties (requires a target version of 16 or later).")
+    private boolean useRecords = false;
+
     @Parameter(names = { "-log" }, description = "Configure log level. Defaults to info. Available options are: off, error, warn, info, debug, trace", validateWith = LogLevelValidator.class )
     private String logLevel = CommandLineLogger.DEFAULT_LOG_LEVEL;
 
@@ -608,4 +653,79 @@ public class Arguments implements GenerationConfig {
                 .stream()
                 .collect(Collectors.toMap(m -> m.split(":")[0], m -> m.split(":")[1]));
     }
+
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public File getRemoteSchemaCacheDirectory() {
+        return remoteSchemaCacheDirectory;
+    }
+
+    @Override
+    public boolean isOffline() {
+        return offline;
+    }
+
+    @Override
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    @Override
+    public boolean isSkipUnchangedFiles() {
+        return skipUnchangedFiles;
+    }
+
+    @Override
+    public File getScalaConversionCacheDirectory() {
+        return scalaConversionCacheDirectory;
+    }
+
+    @Override
+    public int getCorpusSampleSize() {
+        return corpusSampleSize;
+    }
+
+    @Override
+    public boolean isDeduplicateInlineSchemas() {
+        return deduplicateInlineSchemas;
+    }
+
+    @Override
+    public boolean isGenerateSerializers() {
+        return generateSerializers;
+    }
+
+    @Override
+    public boolean isLazyAdditionalProperties() {
+        return lazyAdditionalProperties;
+    }
+
+    @Override
+    public String getAdditionalPropertiesMapType() {
+        return additionalPropertiesMapType;
+    }
+
+    @Override
+    public boolean isUseRangeNarrowedIntegers() {
+        return useRangeNarrowedIntegers;
+    }
+
+    @Override
+    public boolean isUsePrimitiveArrays() {
+        return usePrimitiveArrays;
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    @Override
+    public boolean isUseRecords() {
+        return useRecords;
+    }
 }
@@ -22,6 +22,8 @@ import com.sun.codemodel.JEnumConstant;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JMethod;
 
+import java.util.List;
+
 /**
  * Adds annotations to generated types for compatibility with a JSON
  * serialization library.
@@ -210,5 +212,19 @@ public interface Annotator {
 
     void additionalPropertiesField(JFieldVar field, JDefinedClass clazz, String propertyName);
 
+    /**
+     * Add the necessary annotations to mark a constructor as the creator that
+     * is used to instantiate a Java type during deserialization, when the type
+     * has no setters (see {@link GenerationConfig#isImmutable()}).
+     *
+     * @param constructor
+     *            the constructor that takes a parameter for each property
+     * @param propertyNames
+     *            the names of the JSON properties that the parameters of the
+     *            constructor set, in order
+     */
+    default void propertyCreator(JMethod constructor, JDefinedClass clazz, List<String> propertyNames) {
+    }
+
 	boolean isPolymorphicDeserializationSupported(JsonNode node);
 }
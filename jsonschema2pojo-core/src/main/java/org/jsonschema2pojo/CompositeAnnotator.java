@@ -22,6 +22,8 @@ import com.sun.codemodel.JEnumConstant;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JMethod;
 
+import java.util.List;
+
 /**
  * An annotator (implementing the composite pattern) that can be used to compose
  * many annotators together.
@@ -137,6 +139,13 @@ public class CompositeAnnotator implements Annotator {
         }
     }
 
+    @Override
+    public void propertyCreator(JMethod constructor, JDefinedClass clazz, List<String> propertyNames) {
+        for (Annotator annotator : annotators) {
+            annotator.propertyCreator(constructor, clazz, propertyNames);
+        }
+    }
+
     @Override
     public boolean isPolymorphicDeserializationSupported(JsonNode node) {
         for (Annotator annotator : annotators) {
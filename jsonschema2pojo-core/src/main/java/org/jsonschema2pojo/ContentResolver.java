@@ -38,17 +38,32 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 public class ContentResolver {
 
     private static final Set<String> CLASSPATH_SCHEMES = new HashSet<>(asList("classpath", "resource", "java"));
+    private static final Set<String> HTTP_SCHEMES = new HashSet<>(asList("http", "https"));
     
     private final ObjectMapper objectMapper;
+    private final RemoteSchemaCache remoteSchemaCache;
 
     public ContentResolver() {
     	this(null);
 	}
 
     public ContentResolver(JsonFactory jsonFactory) {
+    	this(jsonFactory, null);
+	}
+
+    /**
+     * @param jsonFactory
+     *            the factory used to parse content (may be null to use the
+     *            default JSON factory)
+     * @param remoteSchemaCache
+     *            a cache through which all http/https content is read (may be
+     *            null to always read remote content directly)
+     */
+    public ContentResolver(JsonFactory jsonFactory, RemoteSchemaCache remoteSchemaCache) {
     	this.objectMapper = new ObjectMapper(jsonFactory)
                 .enable(JsonParser.Feature.ALLOW_COMMENTS)
                 .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    	this.remoteSchemaCache = remoteSchemaCache;
 	}
 
     /**
@@ -56,7 +71,8 @@ public class ContentResolver {
      * <p>
      * Supported protocols:
      * <ul>
-     * <li>http/https
+     * <li>http/https (read through the {@link RemoteSchemaCache}, if one is
+     * configured)
      * <li>file
      * <li>classpath/resource/java (all synonymous, used to resolve a schema
      * from the classpath)
@@ -73,6 +89,9 @@ public class ContentResolver {
         }
 
         try {
+            if (remoteSchemaCache != null && HTTP_SCHEMES.contains(uri.getScheme())) {
+                return objectMapper.readTree(remoteSchemaCache.fetch(uri));
+            }
             return objectMapper.readTree(uri.toURL());
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException("Error parsing document: " + uri, e);
@@ -479,6 +479,94 @@ public class DefaultGenerationConfig implements GenerationConfig {
     @Override
     public boolean isUseInnerClassBuilders() { return false; }
 
+    /**
+     * @return <code>1</code>
+     */
+    @Override
+    public int getParallelism() {
+        return 1;
+    }
+
+    /**
+     * @return <code>null</code>
+     */
+    @Override
+    public File getRemoteSchemaCacheDirectory() {
+        return null;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isOffline() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isIncremental() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isSkipUnchangedFiles() {
+        return false;
+    }
+
+    /**
+     * @return <code>null</code>
+     */
+    @Override
+    public File getScalaConversionCacheDirectory() {
+        return null;
+    }
+
+    /**
+     * @return <code>0</code> (read every document)
+     */
+    @Override
+    public int getCorpusSampleSize() {
+        return 0;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isDeduplicateInlineSchemas() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isGenerateSerializers() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isLazyAdditionalProperties() {
+        return false;
+    }
+
+    /**
+     * @return <code>null</code>
+     */
+    @Override
+    public String getAdditionalPropertiesMapType() {
+        return null;
+    }
+
     /**
      * @return <code>false</code>
      */
@@ -486,4 +574,37 @@ public class DefaultGenerationConfig implements GenerationConfig {
     public boolean isIncludeConstructorPropertiesAnnotation() {
         return false;
     }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isUseRangeNarrowedIntegers() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isUsePrimitiveArrays() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isImmutable() {
+        return false;
+    }
+
+    /**
+     * @return <code>false</code>
+     */
+    @Override
+    public boolean isUseRecords() {
+        return false;
+    }
+
 }
@@ -0,0 +1,274 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A summary of the shape of an example JSON value, read directly from parser
+ * tokens.
+ * <p>
+ * Only the information needed to infer a schema is kept: objects keep a
+ * summary per property (and how often each property was present), arrays
+ * keep a summary of their first item (or, when the first item is an object,
+ * of all object items merged together) and scalars keep a single example
+ * value. Memory use therefore depends on the number of distinct paths in the
+ * example rather than on its size.
+ * <p>
+ * Within a single example, values are merged with the same rules that
+ * {@link SchemaGenerator} has always applied to array items: properties
+ * missing from the target are added, objects are merged, arrays are
+ * concatenated and any other value replaces the existing one. Summaries of
+ * separate examples are merged with {@link #merge(ExampleSummary, ExampleSummary)}.
+ */
+public abstract class ExampleSummary {
+
+    ExampleSummary() {
+    }
+
+    /**
+     * Reads the value at the parser's current token, leaving the parser on the
+     * last token of that value.
+     *
+     * @param parser
+     *            a parser positioned on the first token of a value
+     * @return a summary of the value
+     * @throws IOException
+     *             if the value cannot be read
+     */
+    public static ExampleSummary read(JsonParser parser) throws IOException {
+        return readInto(parser, null);
+    }
+
+    /**
+     * Merges the summaries of two separate examples, as if the second example
+     * followed the first.
+     * <p>
+     * Unlike the merging of values within one example, this operation is
+     * associative, so summaries of a large number of examples may be merged
+     * in any grouping (e.g. in parallel) and give the same result. Where two
+     * values can't be merged, the value of the more general kind is kept
+     * (object, then array, string, number, integer, boolean and finally null),
+     * or the second value when both are of the same kind. Either argument may
+     * be modified.
+     *
+     * @param first
+     *            the summary of the earlier example(s), may be null
+     * @param second
+     *            the summary of the later example(s), may be null
+     * @return the merged summary
+     */
+    public static ExampleSummary merge(ExampleSummary first, ExampleSummary second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+
+        int firstRank = first.rank();
+        int secondRank = second.rank();
+        if (firstRank > secondRank) {
+            return first;
+        } else if (secondRank > firstRank) {
+            return second;
+        } else if (first instanceof ObjectSummary) {
+            ((ObjectSummary) first).mergeProperties((ObjectSummary) second);
+            return first;
+        } else if (first instanceof ArraySummary) {
+            return ((ArraySummary) first).concat((ArraySummary) second);
+        } else {
+            return second;
+        }
+    }
+
+    /**
+     * @return the order in which kinds of value take precedence when
+     *         {@link #merge(ExampleSummary, ExampleSummary) merging} values
+     *         that can't be combined
+     */
+    abstract int rank();
+
+    /**
+     * Reads the value at the parser's current token and merges it into the
+     * target summary, if the two can be merged.
+     *
+     * @return the merged summary, or a new summary of the value if it replaces
+     *         the target
+     */
+    private static ExampleSummary readInto(JsonParser parser, ExampleSummary target) throws IOException {
+        switch (parser.currentToken()) {
+        case START_OBJECT:
+            ObjectSummary object = target instanceof ObjectSummary ? (ObjectSummary) target : new ObjectSummary();
+            object.readProperties(parser);
+            return object;
+        case START_ARRAY:
+            ArraySummary array = target instanceof ArraySummary ? (ArraySummary) target : new ArraySummary();
+            array.readItems(parser);
+            return array;
+        default:
+            return new ScalarSummary(parser.readValueAsTree());
+        }
+    }
+
+    public static class ObjectSummary extends ExampleSummary {
+
+        private final Map<String, ExampleSummary> properties = new LinkedHashMap<>();
+
+        private final Map<String, Long> presence = new HashMap<>();
+
+        private long occurrences;
+
+        /**
+         * @return the summary of each property, in the order properties were
+         *         first seen
+         */
+        public Map<String, ExampleSummary> getProperties() {
+            return properties;
+        }
+
+        /**
+         * @param name
+         *            the name of a property
+         * @return true if the property was present in every object summarised
+         */
+        public boolean isAlwaysPresent(String name) {
+            Long count = presence.get(name);
+            return count != null && count == occurrences;
+        }
+
+        @Override
+        int rank() {
+            return 6;
+        }
+
+        private void readProperties(JsonParser parser) throws IOException {
+            occurrences++;
+
+            // a property repeated within one object replaces its earlier value, as it would in a tree
+            Set<String> seen = new HashSet<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                ExampleSummary existing = null;
+                if (seen.add(name)) {
+                    existing = properties.get(name);
+                    presence.merge(name, 1L, Long::sum);
+                }
+                properties.put(name, readInto(parser, existing));
+            }
+        }
+
+        private void mergeProperties(ObjectSummary other) {
+            occurrences += other.occurrences;
+            for (Map.Entry<String, ExampleSummary> property : other.properties.entrySet()) {
+                String name = property.getKey();
+                properties.put(name, merge(properties.get(name), property.getValue()));
+                presence.merge(name, other.presence.get(name), Long::sum);
+            }
+        }
+
+    }
+
+    public static class ArraySummary extends ExampleSummary {
+
+        private boolean empty = true;
+        private boolean firstItemIsObject;
+        private ExampleSummary firstItem;
+        private ObjectSummary objectItems;
+
+        /**
+         * @return the summary of the items: all object items merged together
+         *         if the first item is an object, otherwise the first item.
+         *         <code>null</code> if the array is empty.
+         */
+        public ExampleSummary getItems() {
+            return firstItemIsObject ? objectItems : firstItem;
+        }
+
+        @Override
+        int rank() {
+            return 5;
+        }
+
+        private void readItems(JsonParser parser) throws IOException {
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == JsonToken.START_OBJECT) {
+                    // object items are always collected, so that arrays can be concatenated later
+                    objectItems = (ObjectSummary) readInto(parser, objectItems);
+                    firstItemIsObject |= empty;
+                } else if (empty) {
+                    firstItem = readInto(parser, null);
+                } else {
+                    parser.skipChildren();
+                }
+                empty = false;
+            }
+        }
+
+        private ArraySummary concat(ArraySummary other) {
+            if (empty) {
+                return other;
+            }
+            objectItems = (ObjectSummary) merge(objectItems, other.objectItems);
+            return this;
+        }
+
+    }
+
+    public static class ScalarSummary extends ExampleSummary {
+
+        private final JsonNode example;
+
+        ScalarSummary(JsonNode example) {
+            this.example = example;
+        }
+
+        /**
+         * @return the last value seen
+         */
+        public JsonNode getExample() {
+            return example;
+        }
+
+        @Override
+        int rank() {
+            if (example.isTextual()) {
+                return 4;
+            } else if (example.isFloatingPointNumber()) {
+                return 3;
+            } else if (example.isNumber()) {
+                return 2;
+            } else if (example.isBoolean()) {
+                return 1;
+            } else {
+                return 0;
+            }
+        }
+
+    }
+
+}
@@ -18,6 +18,7 @@ package org.jsonschema2pojo;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
@@ -33,8 +34,22 @@ import com.sun.codemodel.util.UnicodeEscapeWriter;
  */
 public class FileCodeWriterWithEncoding extends com.sun.codemodel.writer.FileCodeWriter {
 
+    private final File target;
+    private final GeneratedFileWriter fileWriter;
+
     public FileCodeWriterWithEncoding(File target, String encoding) throws IOException {
+        this(target, encoding, new GeneratedFileWriter(false));
+    }
+
+    public FileCodeWriterWithEncoding(File target, String encoding, GeneratedFileWriter fileWriter) throws IOException {
         super(target, encoding);
+        this.target = target;
+        this.fileWriter = fileWriter;
+    }
+
+    @Override
+    public OutputStream openBinary(JPackage pkg, String fileName) throws IOException {
+        return fileWriter.open(GeneratedFileWriter.getFile(target, pkg, fileName));
     }
 
     @Override
@@ -16,44 +16,138 @@
 
 package org.jsonschema2pojo;
 
-import static java.util.Arrays.*;
 import static org.apache.commons.lang3.StringUtils.*;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+/**
+ * Resolves fragment paths (e.g. <code>#/definitions/address</code>) against a
+ * JSON document.
+ * <p>
+ * Paths are split into their parts once per set of delimiters, and resolved
+ * nodes are remembered per document, so the many <code>$ref</code>s that
+ * usually point into the same definitions file are only walked once. Documents
+ * are held weakly: the nodes resolved in a document are forgotten once the
+ * document itself is no longer used, or by {@link #clearCache()}.
+ */
 public class FragmentResolver {
 
+    private final ConcurrentMap<String, ConcurrentMap<String, Pointer>> pointers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Document, ConcurrentMap<Pointer, JsonNode>> resolved = new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<JsonNode> collectedDocuments = new ReferenceQueue<>();
+
     public JsonNode resolve(JsonNode tree, String path, String refFragmentPathDelimiters) {
 
-        return resolve(tree, new ArrayList<>(asList(split(path, refFragmentPathDelimiters))));
+        Pointer pointer = pointers.computeIfAbsent(refFragmentPathDelimiters, d -> new ConcurrentHashMap<>())
+                .computeIfAbsent(path, p -> new Pointer(split(p, refFragmentPathDelimiters)));
+
+        ConcurrentMap<Pointer, JsonNode> resolvedInTree = resolvedIn(tree);
+
+        JsonNode node = resolvedInTree.get(pointer);
+        if (node == null) {
+            node = resolve(tree, pointer);
+            if (node != null) {
+                resolvedInTree.putIfAbsent(pointer, node);
+            }
+        }
+        return node;
 
     }
 
-    private JsonNode resolve(JsonNode tree, List<String> path) {
+    /**
+     * Forgets all previously resolved nodes and split paths, releasing the
+     * documents they were resolved against.
+     */
+    public void clearCache() {
+        resolved.clear();
+        pointers.clear();
+    }
 
-        if (path.isEmpty()) {
-            return tree;
-        } else {
-            String part = path.remove(0);
+    private ConcurrentMap<Pointer, JsonNode> resolvedIn(JsonNode tree) {
+        for (Reference<? extends JsonNode> collected; (collected = collectedDocuments.poll()) != null;) {
+            resolved.remove(collected);
+        }
+
+        ConcurrentMap<Pointer, JsonNode> resolvedInTree = resolved.get(new Document(tree, null));
+        if (resolvedInTree == null) {
+            resolvedInTree = new ConcurrentHashMap<>();
+            ConcurrentMap<Pointer, JsonNode> existing = resolved.putIfAbsent(new Document(tree, collectedDocuments), resolvedInTree);
+            if (existing != null) {
+                resolvedInTree = existing;
+            }
+        }
+        return resolvedInTree;
+    }
 
-            if (tree.isArray()) {
+    private JsonNode resolve(JsonNode tree, Pointer pointer) {
+
+        JsonNode node = tree;
+
+        for (String part : pointer.parts) {
+            if (node.isArray()) {
                 try {
                     int index = Integer.parseInt(part);
-                    return resolve(tree.get(index), path);
+                    node = node.get(index);
                 } catch (NumberFormatException e) {
                     throw new IllegalArgumentException("Not a valid array index: " + part);
                 }
-            }
-
-            if (tree.has(part)) {
-                return resolve(tree.get(part), path);
+            } else if (node.has(part)) {
+                node = node.get(part);
             } else {
                 throw new IllegalArgumentException("Path not present: " + part);
             }
         }
 
+        return node;
+
+    }
+
+    private static final class Pointer {
+
+        private final String[] parts;
+
+        Pointer(String[] parts) {
+            this.parts = parts;
+        }
+
+    }
+
+    /**
+     * Identifies a document by identity, rather than by the (deep) equality
+     * of its content, without keeping the document from being collected. A
+     * collected document is only equal to itself, so its entry can still be
+     * removed.
+     */
+    private static final class Document extends WeakReference<JsonNode> {
+
+        private final int hashCode;
+
+        Document(JsonNode root, ReferenceQueue<JsonNode> queue) {
+            super(root, queue);
+            this.hashCode = System.identityHashCode(root);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other == this) {
+                return true;
+            }
+            JsonNode root = get();
+            return root != null && other instanceof Document && ((Document) other).get() == root;
+        }
+
     }
 }
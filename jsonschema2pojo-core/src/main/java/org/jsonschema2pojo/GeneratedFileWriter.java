@@ -0,0 +1,196 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jsonschema2pojo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.codemodel.JPackage;
+
+/**
+ * Writes generated files to disk, keeping count of the files written.
+ * <p>
+ * When skipping unchanged files, content is buffered and compared with the
+ * existing file before writing. A file whose content would not change is left
+ * untouched, so its modification time is preserved and compilers, build tools
+ * and IDEs do not treat it as changed.
+ * <p>
+ * If an executor is given, files opened with {@link #open(File)} are written
+ * by the executor once their stream is closed, so that writing overlaps with
+ * generation. The number of files waiting to be written is bounded, and
+ * {@link #awaitWrites()} must be called to wait for outstanding writes.
+ */
+public class GeneratedFileWriter {
+
+    private final boolean skipUnchangedFiles;
+    private final ExecutorService executor;
+    private final Semaphore pendingWrites;
+    private final Queue<Future<?>> writes = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger filesWritten = new AtomicInteger();
+    private final AtomicInteger filesSkipped = new AtomicInteger();
+
+    /**
+     * @param skipUnchangedFiles
+     *            if <code>true</code>, files whose existing content is identical
+     *            to the new content are not written
+     */
+    public GeneratedFileWriter(boolean skipUnchangedFiles) {
+        this(skipUnchangedFiles, null, 0);
+    }
+
+    /**
+     * @param skipUnchangedFiles
+     *            if <code>true</code>, files whose existing content is identical
+     *            to the new content are not written
+     * @param executor
+     *            the executor used to write files opened with
+     *            {@link #open(File)}, or null to write them when their stream
+     *            is closed
+     * @param maxPendingWrites
+     *            the maximum number of files that may be waiting to be written,
+     *            closing a stream blocks while this many are pending
+     */
+    public GeneratedFileWriter(boolean skipUnchangedFiles, ExecutorService executor, int maxPendingWrites) {
+        this.skipUnchangedFiles = skipUnchangedFiles;
+        this.executor = executor;
+        this.pendingWrites = executor == null ? null : new Semaphore(maxPendingWrites);
+    }
+
+    /**
+     * Open a stream for the given file. Content is written to the file when
+     * the stream is closed.
+     */
+    public OutputStream open(final File file) {
+        return new ByteArrayOutputStream() {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (!closed) {
+                    closed = true;
+                    if (executor == null) {
+                        GeneratedFileWriter.this.write(file, toByteArray());
+                    } else {
+                        submit(file, toByteArray());
+                    }
+                }
+            }
+        };
+    }
+
+    private void submit(final File file, final byte[] content) throws IOException {
+        try {
+            pendingWrites.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting to write " + file, e);
+        }
+
+        writes.add(executor.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws IOException {
+                try {
+                    write(file, content);
+                    return null;
+                } finally {
+                    pendingWrites.release();
+                }
+            }
+        }));
+    }
+
+    /**
+     * Wait for every file opened with {@link #open(File)} to be written.
+     *
+     * @throws IOException
+     *             if any file could not be written
+     */
+    public void awaitWrites() throws IOException {
+        for (Future<?> write = writes.poll(); write != null; write = writes.poll()) {
+            try {
+                write.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for files to be written", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                } else if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                } else if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Write the given content to the given file, creating parent directories
+     * as required.
+     */
+    public void write(File file, byte[] content) throws IOException {
+        if (skipUnchangedFiles && isUnchanged(file, content)) {
+            filesSkipped.incrementAndGet();
+            return;
+        }
+
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs() && !parent.isDirectory()) {
+            throw new IOException("Could not create directory " + parent.getAbsolutePath());
+        }
+
+        Files.write(file.toPath(), content);
+        filesWritten.incrementAndGet();
+    }
+
+    /**
+     * @return the file that a code writer targeting the given directory
+     *         would use for the given package and file name
+     */
+    public static File getFile(File target, JPackage pkg, String fileName) {
+        File directory = pkg.isUnnamed() ? target : new File(target, pkg.name().replace('.', File.separatorChar));
+        return new File(directory, fileName);
+    }
+
+    private static boolean isUnchanged(File file, byte[] content) throws IOException {
+        return file.isFile() && file.length() == content.length && Arrays.equals(Files.readAllBytes(file.toPath()), content);
+    }
+
+    public int getFilesWritten() {
+        return filesWritten.get();
+    }
+
+    public int getFilesSkipped() {
+        return filesSkipped.get();
+    }
+
+}
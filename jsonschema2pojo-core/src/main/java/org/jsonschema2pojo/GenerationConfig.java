@@ -625,4 +625,229 @@ public interface GenerationConfig {
     return false;
   }
 
+  /**
+   * Gets the 'parallelism' configuration option.
+   *
+   * @return The number of threads used to read source files (and resolve
+   *         the schema documents they refer to) before types are generated.
+   *         Types are always added to the code model in the same order as a
+   *         single threaded run, so the generated output does not depend on
+   *         this value. The default value of <code>1</code> processes every
+   *         source on the calling thread.
+   */
+  default int getParallelism() {
+    return 1;
+  }
+
+  /**
+   * Gets the 'remoteSchemaCacheDirectory' configuration option.
+   *
+   * @return A directory in which schemas referenced over http/https are
+   *         cached between builds. Cached documents are revalidated with the
+   *         server (using <code>ETag</code>/<code>Last-Modified</code>) and
+   *         only downloaded again when they have changed. If the server
+   *         can't be reached or responds with a server error, the cached
+   *         copy is used and a warning is logged. The default value of
+   *         <code>null</code> disables caching.
+   */
+  default File getRemoteSchemaCacheDirectory() {
+    return null;
+  }
+
+  /**
+   * Gets the 'offline' configuration option.
+   *
+   * @return Whether schemas referenced over http/https should be read only
+   *         from the remote schema cache, without making any network
+   *         requests. A reference that is not already cached causes
+   *         generation to fail. Requires a remote schema cache directory.
+   */
+  default boolean isOffline() {
+    return false;
+  }
+
+  /**
+   * Gets the 'incremental' configuration option.
+   *
+   * @return Whether to generate incrementally. A manifest is kept in the
+   *         target directory recording a fingerprint of each source schema
+   *         (its content, the content of every schema it refers to via
+   *         <code>$ref</code>, and the configuration). Only source schemas
+   *         whose fingerprint has changed are generated again, and only
+   *         files that are no longer generated are deleted. When enabled,
+   *         this takes the place of 'removeOldOutput'. Sources of the
+   *         'jsoncorpus' type, and every source when 'generateSerializers' is
+   *         set, are not fingerprinted, so they are generated on every run
+   *         (and a warning is logged).
+   */
+  default boolean isIncremental() {
+    return false;
+  }
+
+  /**
+   * Gets the 'skipUnchangedFiles' configuration option.
+   *
+   * @return Whether generated files that already exist with identical
+   *         content should be left untouched rather than written again. This
+   *         preserves the modification time of unchanged files, so that
+   *         compilers, build tools and IDEs do not treat them as changed.
+   */
+  default boolean isSkipUnchangedFiles() {
+    return false;
+  }
+
+  /**
+   * Gets the 'scalaConversionCacheDirectory' configuration option.
+   *
+   * @return A directory in which to cache the Scala source produced for each
+   *         generated Java source (when the target language is Scala), so
+   *         that classes which have not changed are not converted again on
+   *         every run. The default value of <code>null</code> disables
+   *         caching.
+   */
+  default File getScalaConversionCacheDirectory() {
+    return null;
+  }
+
+  /**
+   * Gets the 'corpusSampleSize' configuration option.
+   *
+   * @return When the source type is {@link SourceType#JSONCORPUS}, the
+   *         maximum number of documents read from each corpus. When a corpus
+   *         holds more files than this, an evenly spaced selection of files is
+   *         read; otherwise the limit is shared between the files. The
+   *         default value of <code>0</code> reads every document.
+   */
+  default int getCorpusSampleSize() {
+    return 0;
+  }
+
+  /**
+   * Gets the 'deduplicateInlineSchemas' configuration option.
+   *
+   * @return Whether structurally identical inline object schemas should share
+   *         a single generated class, rather than each producing its own
+   *         (<code>Address</code>, <code>Address__1</code>, ...). Schemas are
+   *         compared ignoring their own <code>title</code>,
+   *         <code>description</code>, <code>$comment</code>,
+   *         <code>examples</code> and <code>default</code>, and with any
+   *         <code>$ref</code> resolved. The schemas that were merged are
+   *         reported once generation is complete.
+   */
+  default boolean isDeduplicateInlineSchemas() {
+    return false;
+  }
+
+  /**
+   * Gets the 'generateSerializers' configuration option.
+   *
+   * @return Whether to generate, for each class, a serializer and deserializer
+   *         that write and read its properties directly instead of by
+   *         reflection, and a type in the target package that registers all
+   *         of them (for Jackson 2.x, a module named
+   *         <code>GeneratedSerializersModule</code>; for Gson, a type adapter
+   *         factory named <code>GeneratedTypeAdapterFactory</code>; for Moshi,
+   *         a JSON adapter factory named
+   *         <code>GeneratedJsonAdapterFactory</code>). The
+   *         serializers use the same property names, inclusion level,
+   *         additional properties and date formats as the generated
+   *         annotations.
+   */
+  default boolean isGenerateSerializers() {
+    return false;
+  }
+
+  /**
+   * Gets the 'lazyAdditionalProperties' configuration option.
+   *
+   * @return Whether the additional properties map of a generated class should
+   *         only be allocated when the first additional property is set. Until
+   *         then, <code>getAdditionalProperties()</code> returns a shared,
+   *         immutable empty map, so additional properties must be added
+   *         through <code>setAdditionalProperty</code>.
+   */
+  default boolean isLazyAdditionalProperties() {
+    return false;
+  }
+
+  /**
+   * Gets the 'additionalPropertiesMapType' configuration option.
+   * <p>
+   * Example values:
+   * <ul>
+   * <li><code>java.util.LinkedHashMap</code> (keeps the order in which
+   * additional properties were read)</li>
+   * <li><code>android.util.ArrayMap</code> (compact, for few entries)</li>
+   * <li><code>null</code> (default behavior)</li>
+   * </ul>
+   *
+   * @return The map implementation, with a no-argument constructor and
+   *         <code>String</code> keys, to use instead of
+   *         {@link java.util.HashMap} for the additional properties of
+   *         generated classes.
+   */
+  default String getAdditionalPropertiesMapType() {
+    return null;
+  }
+
+  /**
+   * Gets the 'useRangeNarrowedIntegers' configuration option.
+   *
+   * @return Whether to use the smallest java type (<code>byte</code>,
+   *         <code>short</code>, <code>int</code> or <code>long</code>) that can hold
+   *         every value between the <code>minimum</code> and <code>maximum</code>
+   *         declared for a JSON Schema 'integer'. Properties that are required and
+   *         not nullable use the primitive type, others the wrapper type. Has no
+   *         effect on integers without both bounds, or when
+   *         <code>useBigIntegers</code> is set.
+   */
+  default boolean isUseRangeNarrowedIntegers() {
+    return false;
+  }
+
+  /**
+   * Gets the 'usePrimitiveArrays' configuration option.
+   *
+   * @return Whether to use primitive arrays (e.g. <code>int[]</code>,
+   *         <code>long[]</code> or <code>double[]</code>) instead of
+   *         <code>java.util.List</code> for JSON Schema arrays whose items are of
+   *         type 'integer' or 'number' (and are not nullable). Arrays with
+   *         <code>uniqueItems</code> remain a <code>java.util.Set</code>, since an
+   *         array can't enforce uniqueness.
+   */
+  default boolean isUsePrimitiveArrays() {
+    return false;
+  }
+
+  /**
+   * Gets the 'immutable' configuration option.
+   *
+   * @return Whether to generate immutable value classes. All fields are
+   *         <code>final</code> and set by an all-properties constructor (annotated
+   *         as a JSON creator for Jackson), collections are defensively copied to
+   *         unmodifiable ones, and <code>hashCode</code> is computed once and
+   *         cached. Setters are not generated for immutable classes, and the
+   *         builder (see {@link #isGenerateBuilders()}) is an inner class that
+   *         collects the property values and invokes the constructor.
+   */
+  default boolean isImmutable() {
+    return false;
+  }
+
+  /**
+   * Gets the 'useRecords' configuration option.
+   *
+   * @return Whether to generate Java records, instead of classes, for object
+   *         schemas that don't extend another type and don't allow additional
+   *         properties (i.e. <code>"additionalProperties" : false</code>). Records
+   *         are only generated when the target version is 16 or later, and the
+   *         target language is Java. Properties become record components, carrying
+   *         the annotations that would be added to the field, and a canonical
+   *         constructor applies defaults and copies collections to unmodifiable
+   *         ones.
+   */
+  default boolean isUseRecords() {
+    return false;
+  }
+
 }
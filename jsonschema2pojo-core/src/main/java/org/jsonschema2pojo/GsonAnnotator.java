@@ -54,9 +54,13 @@ public class GsonAnnotator extends AbstractAnnotator {
         constant.annotate(SerializedName.class).param("value", value);
     }
 
+    /**
+     * Gson only supports additional properties through the type adapters
+     * generated when {@link GenerationConfig#isGenerateSerializers()} is set.
+     */
     @Override
     public boolean isAdditionalPropertiesSupported() {
-        return false;
+        return getGenerationConfig().isGenerateSerializers();
     }
 
 }
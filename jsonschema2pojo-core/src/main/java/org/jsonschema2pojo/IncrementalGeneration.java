@@ -0,0 +1,460 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.apache.commons.lang3.StringUtils.*;
+import static org.jsonschema2pojo.util.DigestUtil.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+
+/**
+ * Supports incremental generation by keeping a manifest of what was generated
+ * by the previous run.
+ * <p>
+ * For every source (root) schema the manifest records a fingerprint, the
+ * documents the root refers to (its transitive <code>$ref</code> closure) and
+ * the files generated for it. The fingerprint is a hash of the effective
+ * configuration together with the content of every document in the closure,
+ * so a root is only generated again if it, anything it refers to or the
+ * configuration has changed. Roots that share a document with a changed root
+ * are generated again too, since they share types.
+ * <p>
+ * Files generated for unchanged roots are left untouched (their class names
+ * are reserved in the code model, so changed roots cannot claim them). After
+ * generation, only files that no root produces any more are deleted.
+ */
+public class IncrementalGeneration {
+
+    static final String MANIFEST_FILE_NAME = ".jsonschema2pojo-manifest.json";
+
+    private static final int MANIFEST_VERSION = 1;
+
+    /**
+     * Options that do not affect the generated output, so are left out of the
+     * configuration fingerprint.
+     */
+    static final Set<String> IGNORED_CONFIG_OPTIONS = new HashSet<>(Arrays.asList(
+            "getSource", "getTargetDirectory", "isRemoveOldOutput", "isIncremental", "getParallelism",
+            "getRemoteSchemaCacheDirectory", "isOffline", "isSkipUnchangedFiles", "getScalaConversionCacheDirectory"));
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final GenerationConfig config;
+    private final SchemaStore schemaStore;
+    private final RuleLogger logger;
+    private final File manifestFile;
+    private final String fileExtension;
+
+    private final Map<String, Root> previousRoots = new LinkedHashMap<>();
+    private final Map<String, Root> currentRoots = new LinkedHashMap<>();
+    private final Set<String> changedRoots = new HashSet<>();
+
+    private final List<JDefinedClass> reservedClasses = new ArrayList<>();
+
+    public IncrementalGeneration(GenerationConfig config, SchemaStore schemaStore, RuleLogger logger) {
+        this.config = config;
+        this.schemaStore = schemaStore;
+        this.logger = logger;
+        this.manifestFile = new File(config.getTargetDirectory(), MANIFEST_FILE_NAME);
+        this.fileExtension = config.getTargetLanguage() == Language.SCALA ? ".scala" : ".java";
+    }
+
+    /**
+     * Compare the given sources against the manifest from the previous run.
+     *
+     * @param sources
+     *            every source that would be generated in a full run, in order
+     * @return the sources which must be generated again
+     */
+    public List<URL> selectChanged(List<URL> sources) {
+
+        readManifest();
+
+        String configFingerprint = configFingerprint();
+
+        String notFingerprinted = notFingerprintedReason();
+        if (notFingerprinted != null) {
+            logger.warn("Incremental generation: source schemas are not fingerprinted " + notFingerprinted + ", every source schema will be generated");
+        }
+
+        for (URL source : sources) {
+            Root root = new Root();
+            root.fingerprint = notFingerprinted == null ? fingerprint(source, configFingerprint, root.documents) : null;
+            currentRoots.put(source.toString(), root);
+
+            Root previous = previousRoots.get(source.toString());
+            if (previous == null || root.fingerprint == null || !root.fingerprint.equals(previous.fingerprint) || !outputsExist(previous)) {
+                changedRoots.add(source.toString());
+            } else {
+                root.outputs.addAll(previous.outputs);
+            }
+        }
+
+        includeRootsSharingDocuments();
+
+        List<URL> changed = new ArrayList<>();
+        for (URL source : sources) {
+            if (changedRoots.contains(source.toString())) {
+                currentRoots.get(source.toString()).outputs.clear();
+                changed.add(source);
+            }
+        }
+
+        logger.info("Incremental generation: " + changed.size() + " of " + sources.size() + " source schemas changed");
+
+        return changed;
+    }
+
+    /**
+     * Add a placeholder to the code model for every class generated for an
+     * unchanged root, so that changed roots are given the same names they
+     * would have had in a full run rather than overwriting these classes.
+     * Placeholders are hidden, so they are never written. The names must stay reserved until every source has been
+     * generated, then the placeholders are removed with {@link #releaseReservedNames()}.
+     */
+    public void reserveUnchangedNames(JCodeModel codeModel) {
+        for (Map.Entry<String, Root> root : currentRoots.entrySet()) {
+            if (changedRoots.contains(root.getKey())) {
+                continue;
+            }
+            for (String output : root.getValue().outputs) {
+                String className = removeEnd(output, fileExtension).replace('/', '.');
+                try {
+                    JDefinedClass placeholder = codeModel._class(className);
+                    placeholder.hide();
+                    reservedClasses.add(placeholder);
+                } catch (JClassAlreadyExistsException e) {
+                    // already reserved by another unchanged root
+                }
+            }
+        }
+    }
+
+    public void releaseReservedNames() {
+        for (JDefinedClass placeholder : reservedClasses) {
+            placeholder._package().remove(placeholder);
+        }
+        reservedClasses.clear();
+    }
+
+    /**
+     * Record the classes written for the given root as its output.
+     *
+     * @param classNames
+     *            the fully qualified name of each (top level) class written
+     *            for the root
+     */
+    public void recordOutputs(URL source, Collection<String> classNames) {
+        Root root = currentRoots.get(source.toString());
+
+        for (String className : classNames) {
+            root.outputs.add(className.replace('.', '/') + fileExtension);
+        }
+    }
+
+    /**
+     * Delete files that were generated by the previous run but are no longer
+     * produced by any root, then write the new manifest.
+     */
+    public void finish() throws IOException {
+
+        Set<String> outputs = new HashSet<>();
+        for (Root root : currentRoots.values()) {
+            outputs.addAll(root.outputs);
+        }
+
+        int deleted = 0;
+        for (Root root : previousRoots.values()) {
+            for (String output : root.outputs) {
+                if (!outputs.contains(output) && deleteWithEmptyParents(new File(config.getTargetDirectory(), output))) {
+                    deleted++;
+                }
+            }
+        }
+        if (deleted > 0) {
+            logger.info("Incremental generation: deleted " + deleted + " orphaned files");
+        }
+
+        writeManifest();
+    }
+
+    private void includeRootsSharingDocuments() {
+
+        Set<String> changedDocuments = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>(changedRoots);
+
+        while (!pending.isEmpty()) {
+            String changedRoot = pending.pop();
+            changedDocuments.addAll(currentRoots.get(changedRoot).documents);
+            if (previousRoots.containsKey(changedRoot)) {
+                changedDocuments.addAll(previousRoots.get(changedRoot).documents);
+            }
+
+            for (Map.Entry<String, Root> root : currentRoots.entrySet()) {
+                if (!changedRoots.contains(root.getKey()) && !disjoint(root.getValue().documents, changedDocuments)) {
+                    changedRoots.add(root.getKey());
+                    pending.push(root.getKey());
+                }
+            }
+        }
+    }
+
+    private static boolean disjoint(Collection<String> a, Collection<String> b) {
+        for (String s : a) {
+            if (b.contains(s)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean outputsExist(Root root) {
+        for (String output : root.outputs) {
+            if (!new File(config.getTargetDirectory(), output).isFile()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return why no source can be fingerprinted with this configuration (so
+     *         that every root is always considered changed), or null if
+     *         sources are fingerprinted
+     */
+    private String notFingerprintedReason() {
+        if (config.getSourceType() == SourceType.JSONCORPUS) {
+            return "for the jsoncorpus source type";
+        }
+        if (config.isGenerateSerializers()) {
+            // the serializers module registers the classes of every root, so it can only be written by a full run
+            return "when serializers are generated";
+        }
+        return null;
+    }
+
+    /**
+     * Computes the fingerprint of a root schema, collecting the documents in
+     * its <code>$ref</code> closure along the way.
+     *
+     * @return the fingerprint, or null if the closure could not be resolved
+     *         (in which case the root is always considered changed, and any
+     *         real problem is reported during generation)
+     */
+    private String fingerprint(URL source, String configFingerprint, Set<String> documents) {
+
+        Map<String, String> contentHashes = new TreeMap<>();
+        boolean followRefs = config.getSourceType() == SourceType.JSONSCHEMA || config.getSourceType() == SourceType.YAMLSCHEMA;
+
+        try {
+            Deque<URI> pending = new ArrayDeque<>();
+            pending.push(URI.create(source.toString()).normalize());
+
+            while (!pending.isEmpty()) {
+                URI documentId = pending.pop();
+                if (contentHashes.containsKey(documentId.toString())) {
+                    continue;
+                }
+
+                JsonNode content = schemaStore.resolveDocument(documentId);
+                contentHashes.put(documentId.toString(), sha256Hex(content.toString()));
+
+                if (followRefs) {
+                    for (URI ref : findRefs(documentId, content)) {
+                        pending.push(ref);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Unable to fingerprint " + source + ", it will be generated: " + e.getMessage());
+            return null;
+        }
+
+        documents.addAll(contentHashes.keySet());
+
+        StringBuilder fingerprint = new StringBuilder(configFingerprint);
+        for (Map.Entry<String, String> contentHash : contentHashes.entrySet()) {
+            fingerprint.append('\n').append(contentHash.getKey()).append('=').append(contentHash.getValue());
+        }
+        return sha256Hex(fingerprint.toString());
+    }
+
+    /**
+     * Find the documents referred to by every <code>$ref</code> in the given
+     * content, resolved the same way {@link SchemaStore} resolves them.
+     */
+    private static Set<URI> findRefs(URI documentId, JsonNode content) {
+        Set<URI> refs = new HashSet<>();
+        Deque<JsonNode> pending = new ArrayDeque<>();
+        pending.push(content);
+
+        while (!pending.isEmpty()) {
+            JsonNode node = pending.pop();
+            if (node.isObject() && node.path("$ref").isTextual()) {
+                String path = substringBefore(node.get("$ref").asText(), "#");
+                if (!path.isEmpty()) {
+                    refs.add(URI.create(substringBefore(documentId.resolve(path).toString(), "#")).normalize());
+                }
+            }
+            for (JsonNode child : node) {
+                pending.push(child);
+            }
+        }
+        return refs;
+    }
+
+    /**
+     * Hashes every option of the effective configuration that can affect the
+     * generated code, along with the version of this library.
+     */
+    private String configFingerprint() {
+        StringBuilder fingerprint = new StringBuilder(defaultString(getClass().getPackage().getImplementationVersion()));
+
+        Method[] methods = GenerationConfig.class.getMethods();
+        Arrays.sort(methods, Comparator.comparing(Method::getName));
+
+        for (Method method : methods) {
+            if (method.getParameterCount() > 0 || IGNORED_CONFIG_OPTIONS.contains(method.getName())) {
+                continue;
+            }
+            try {
+                fingerprint.append('\n').append(method.getName()).append('=').append(describe(method.invoke(config)));
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                fingerprint.append('\n').append(method.getName()).append("=?");
+            }
+        }
+        return sha256Hex(fingerprint.toString());
+    }
+
+    private static String describe(Object value) {
+        if (value instanceof Class) {
+            return ((Class<?>) value).getName();
+        } else if (value instanceof char[]) {
+            return new String((char[]) value);
+        } else if (value instanceof Map) {
+            return new TreeMap<>((Map<?, ?>) value).toString();
+        } else if (value == null || value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Enum || value instanceof Collection || value instanceof File) {
+            return String.valueOf(value);
+        } else {
+            // e.g. a FileFilter, which has no meaningful toString
+            return value.getClass().getName();
+        }
+    }
+
+    private boolean deleteWithEmptyParents(File file) {
+        if (!file.isFile() || !file.delete()) {
+            return false;
+        }
+        File targetDirectory = config.getTargetDirectory().getAbsoluteFile();
+        for (File parent = file.getAbsoluteFile().getParentFile(); parent != null && !parent.equals(targetDirectory); parent = parent.getParentFile()) {
+            String[] children = parent.list();
+            if (children == null || children.length > 0 || !parent.delete()) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    private void readManifest() {
+        if (!manifestFile.isFile()) {
+            logger.info("Incremental generation: no manifest found, generating all source schemas");
+            return;
+        }
+
+        try {
+            JsonNode manifest = objectMapper.readTree(manifestFile);
+            if (manifest.path("version").asInt() != MANIFEST_VERSION) {
+                logger.info("Incremental generation: manifest version has changed, generating all source schemas");
+                return;
+            }
+            Iterator<Map.Entry<String, JsonNode>> roots = manifest.path("roots").fields();
+            while (roots.hasNext()) {
+                Map.Entry<String, JsonNode> entry = roots.next();
+                Root root = new Root();
+                root.fingerprint = entry.getValue().path("fingerprint").asText(null);
+                for (JsonNode document : entry.getValue().path("documents")) {
+                    root.documents.add(document.asText());
+                }
+                for (JsonNode output : entry.getValue().path("outputs")) {
+                    root.outputs.add(output.asText());
+                }
+                previousRoots.put(entry.getKey(), root);
+            }
+        } catch (IOException e) {
+            logger.warn("Incremental generation: unable to read " + manifestFile + " (" + e.getMessage() + "), generating all source schemas");
+            previousRoots.clear();
+        }
+    }
+
+    private void writeManifest() throws IOException {
+        ObjectNode manifest = objectMapper.createObjectNode();
+        manifest.put("version", MANIFEST_VERSION);
+        ObjectNode roots = manifest.putObject("roots");
+
+        for (Map.Entry<String, Root> entry : currentRoots.entrySet()) {
+            Root root = entry.getValue();
+            ObjectNode rootNode = roots.putObject(entry.getKey());
+            rootNode.put("fingerprint", root.fingerprint);
+            ArrayNode documents = rootNode.putArray("documents");
+            for (String document : root.documents) {
+                documents.add(document);
+            }
+            ArrayNode outputs = rootNode.putArray("outputs");
+            for (String output : root.outputs) {
+                outputs.add(output);
+            }
+        }
+
+        objectMapper.writeValue(manifestFile, manifest);
+    }
+
+    private static final class Root {
+        private String fingerprint;
+        private final Set<String> documents = new TreeSet<>();
+        private final Set<String> outputs = new TreeSet<>();
+    }
+
+}
@@ -18,6 +18,7 @@ package org.jsonschema2pojo;
 
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import com.sun.codemodel.JAnnotationUse;
@@ -39,6 +40,7 @@ import com.sun.codemodel.JAnnotationArrayMember;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JVar;
 
 /**
  * Annotates generated Java types using the Jackson 1.x mapping annotations.
@@ -143,6 +145,16 @@ public class Jackson1Annotator extends AbstractTypeInfoAwareAnnotator {
         field.annotate(JsonIgnore.class);
     }
 
+    @Override
+    public void propertyCreator(JMethod constructor, JDefinedClass clazz, List<String> propertyNames) {
+        constructor.annotate(JsonCreator.class);
+
+        List<JVar> params = constructor.params();
+        for (int i = 0; i < params.size(); i++) {
+            params.get(i).annotate(JsonProperty.class).param("value", propertyNames.get(i));
+        }
+    }
+
     protected void addJsonTypeInfoAnnotation(JDefinedClass jclass, String propertyName) {
         JAnnotationUse jsonTypeInfo = jclass.annotate(JsonTypeInfo.class);
         jsonTypeInfo.param("use", JsonTypeInfo.Id.CLASS);
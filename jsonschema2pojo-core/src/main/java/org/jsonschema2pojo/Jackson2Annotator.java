@@ -20,6 +20,7 @@ import static org.apache.commons.lang3.StringUtils.*;
 
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
@@ -45,6 +46,7 @@ import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JEnumConstant;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JVar;
 
 /**
  * Annotates generated Java types using the Jackson 2.x mapping annotations.
@@ -160,18 +162,19 @@ public class Jackson2Annotator extends AbstractTypeInfoAwareAnnotator {
     }
 
     @Override
-    public void dateField(JFieldVar field, JDefinedClass clazz, JsonNode node) {
+    public void propertyCreator(JMethod constructor, JDefinedClass clazz, List<String> propertyNames) {
+        constructor.annotate(JsonCreator.class);
 
-        String pattern = null;
-        if (node.has("customDatePattern")) {
-            pattern = node.get("customDatePattern").asText();
-        } else if (node.has("customPattern")) {
-            pattern = node.get("customPattern").asText();
-        } else if (isNotEmpty(getGenerationConfig().getCustomDatePattern())) {
-            pattern = getGenerationConfig().getCustomDatePattern();
-        } else if (getGenerationConfig().isFormatDates()) {
-            pattern = FormatRule.ISO_8601_DATE_FORMAT;
+        List<JVar> params = constructor.params();
+        for (int i = 0; i < params.size(); i++) {
+            params.get(i).annotate(JsonProperty.class).param("value", propertyNames.get(i));
         }
+    }
+
+    @Override
+    public void dateField(JFieldVar field, JDefinedClass clazz, JsonNode node) {
+
+        String pattern = getDatePattern(node);
 
         if (pattern != null && !field.type().fullName().equals("java.lang.String")) {
             field.annotate(JsonFormat.class).param("shape", JsonFormat.Shape.STRING).param("pattern", pattern);
@@ -181,16 +184,7 @@ public class Jackson2Annotator extends AbstractTypeInfoAwareAnnotator {
     @Override
     public void timeField(JFieldVar field, JDefinedClass clazz, JsonNode node) {
 
-        String pattern = null;
-        if (node.has("customTimePattern")) {
-            pattern = node.get("customTimePattern").asText();
-        } else if (node.has("customPattern")) {
-            pattern = node.get("customPattern").asText();
-        } else if (isNotEmpty(getGenerationConfig().getCustomTimePattern())) {
-            pattern = getGenerationConfig().getCustomTimePattern();
-        } else if (getGenerationConfig().isFormatDates()) {
-            pattern = FormatRule.ISO_8601_TIME_FORMAT;
-        }
+        String pattern = getTimePattern(node);
 
         if (pattern != null && !field.type().fullName().equals("java.lang.String")) {
             field.annotate(JsonFormat.class).param("shape", JsonFormat.Shape.STRING).param("pattern", pattern);
@@ -199,22 +193,88 @@ public class Jackson2Annotator extends AbstractTypeInfoAwareAnnotator {
 
     @Override
     public void dateTimeField(JFieldVar field, JDefinedClass clazz, JsonNode node) {
-        String timezone = node.has("customTimezone") ? node.get("customTimezone").asText() : "UTC";
 
-        String pattern = null;
+        String pattern = getDateTimePattern(node);
+
+        if (pattern != null && !field.type().fullName().equals("java.lang.String")) {
+            field.annotate(JsonFormat.class).param("shape", JsonFormat.Shape.STRING).param("pattern", pattern).param("timezone", getTimezone(node));
+        }
+    }
+
+    /**
+     * Gets the pattern that a property with format "date" is written with.
+     *
+     * @param node
+     *            the property's schema
+     * @return the pattern, or <code>null</code> if Jackson's default
+     *         representation is used
+     */
+    public String getDatePattern(JsonNode node) {
+        if (node.has("customDatePattern")) {
+            return node.get("customDatePattern").asText();
+        } else if (node.has("customPattern")) {
+            return node.get("customPattern").asText();
+        } else if (isNotEmpty(getGenerationConfig().getCustomDatePattern())) {
+            return getGenerationConfig().getCustomDatePattern();
+        } else if (getGenerationConfig().isFormatDates()) {
+            return FormatRule.ISO_8601_DATE_FORMAT;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the pattern that a property with format "time" is written with.
+     *
+     * @param node
+     *            the property's schema
+     * @return the pattern, or <code>null</code> if Jackson's default
+     *         representation is used
+     */
+    public String getTimePattern(JsonNode node) {
+        if (node.has("customTimePattern")) {
+            return node.get("customTimePattern").asText();
+        } else if (node.has("customPattern")) {
+            return node.get("customPattern").asText();
+        } else if (isNotEmpty(getGenerationConfig().getCustomTimePattern())) {
+            return getGenerationConfig().getCustomTimePattern();
+        } else if (getGenerationConfig().isFormatDates()) {
+            return FormatRule.ISO_8601_TIME_FORMAT;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the pattern that a property with format "date-time" is written
+     * with.
+     *
+     * @param node
+     *            the property's schema
+     * @return the pattern, or <code>null</code> if Jackson's default
+     *         representation is used
+     */
+    public String getDateTimePattern(JsonNode node) {
         if (node.has("customDateTimePattern")) {
-            pattern = node.get("customDateTimePattern").asText();
+            return node.get("customDateTimePattern").asText();
         } else if (node.has("customPattern")) {
-            pattern = node.get("customPattern").asText();
+            return node.get("customPattern").asText();
         } else if (isNotEmpty(getGenerationConfig().getCustomDateTimePattern())) {
-            pattern = getGenerationConfig().getCustomDateTimePattern();
+            return getGenerationConfig().getCustomDateTimePattern();
         } else if (getGenerationConfig().isFormatDateTimes()) {
-            pattern = FormatRule.ISO_8601_DATETIME_FORMAT;
+            return FormatRule.ISO_8601_DATETIME_FORMAT;
         }
+        return null;
+    }
 
-        if (pattern != null && !field.type().fullName().equals("java.lang.String")) {
-            field.annotate(JsonFormat.class).param("shape", JsonFormat.Shape.STRING).param("pattern", pattern).param("timezone", timezone);
-        }
+    /**
+     * Gets the time zone that a property with format "date-time" is written
+     * in, when it has a pattern.
+     *
+     * @param node
+     *            the property's schema
+     * @return the time zone id
+     */
+    public String getTimezone(JsonNode node) {
+        return node.has("customTimezone") ? node.get("customTimezone").asText() : "UTC";
     }
 
     protected void addJsonTypeInfoAnnotation(JDefinedClass jclass, String propertyName) {
@@ -22,13 +22,27 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.net.URI;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.io.FilenameUtils;
 import org.jsonschema2pojo.exception.GenerationException;
@@ -36,11 +50,19 @@ import org.jsonschema2pojo.rules.RuleFactory;
 import org.jsonschema2pojo.util.NameHelper;
 import org.jsonschema2pojo.util.URLUtil;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JClassAlreadyExistsException;
 import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.writer.FilterCodeWriter;
 
 public class Jsonschema2Pojo {
+
+    private static final int MAX_PENDING_WRITES_PER_THREAD = 16;
+
     /**
      * Reads the contents of the given source and initiates schema generation.
      *
@@ -56,53 +78,163 @@ public class Jsonschema2Pojo {
     public static void generate(GenerationConfig config, RuleLogger logger) throws IOException {
         Annotator annotator = getAnnotator(config);
         RuleFactory ruleFactory = createRuleFactory(config);
+        SchemaStore schemaStore = new SchemaStore(createContentResolver(config, logger));
 
         ruleFactory.setAnnotator(annotator);
         ruleFactory.setGenerationConfig(config);
         ruleFactory.setLogger(logger);
-        ruleFactory.setSchemaStore(new SchemaStore(createContentResolver(config)));
+        ruleFactory.setSchemaStore(schemaStore);
 
         SchemaMapper mapper = new SchemaMapper(ruleFactory, createSchemaGenerator(config));
 
         JCodeModel codeModel = new JCodeModel();
 
-        if (config.isRemoveOldOutput()) {
+        if (config.isRemoveOldOutput() && !config.isIncremental()) {
             removeOldOutput(config.getTargetDirectory());
         }
 
+        List<SourceSchema> sourceSchemas = new ArrayList<>();
         for (Iterator<URL> sources = config.getSource(); sources.hasNext();) {
             URL source = sources.next();
 
-            if (URLUtil.parseProtocol(source.toString()) == URLProtocol.FILE && URLUtil.getFileFromURL(source).isDirectory()) {
-                generateRecursive(config, mapper, codeModel, defaultString(config.getTargetPackage()), Arrays.asList(URLUtil.getFileFromURL(source).listFiles(config.getFileFilter())));
+            if (config.getSourceType() == SourceType.JSONCORPUS) {
+                // a corpus (file or directory) describes a single root type
+                String nodeName = URLUtil.parseProtocol(source.toString()) == URLProtocol.FILE && URLUtil.getFileFromURL(source).isDirectory()
+                        ? URLUtil.getFileFromURL(source).getName()
+                        : getNodeName(source, config);
+                sourceSchemas.add(new SourceSchema(source, nodeName, defaultString(config.getTargetPackage())));
+            } else if (URLUtil.parseProtocol(source.toString()) == URLProtocol.FILE && URLUtil.getFileFromURL(source).isDirectory()) {
+                collectRecursive(config, sourceSchemas, defaultString(config.getTargetPackage()), Arrays.asList(URLUtil.getFileFromURL(source).listFiles(config.getFileFilter())));
             } else {
-                mapper.generate(codeModel, getNodeName(source, config), defaultString(config.getTargetPackage()), source);
+                sourceSchemas.add(new SourceSchema(source, getNodeName(source, config), defaultString(config.getTargetPackage())));
             }
         }
 
-        if (config.getTargetDirectory().exists() || config.getTargetDirectory().mkdirs()) {
-            if (config.getTargetLanguage() == Language.SCALA) {
-                CodeWriter sourcesWriter = new ScalaFileCodeWriter(config.getTargetDirectory(), config.getOutputEncoding());
-                CodeWriter resourcesWriter = new FileCodeWriterWithEncoding(config.getTargetDirectory(), config.getOutputEncoding());
-                codeModel.build(sourcesWriter, resourcesWriter);
+        if (config.isUseRecords() && (config.getSourceType() == SourceType.JSONSCHEMA || config.getSourceType() == SourceType.YAMLSCHEMA)) {
+            // a record can't be extended, so every schema that is extended must be known before the first type is generated
+            List<URI> documents = new ArrayList<>(sourceSchemas.size());
+            for (SourceSchema sourceSchema : sourceSchemas) {
+                documents.add(URI.create(sourceSchema.url.toString()));
+            }
+            ruleFactory.getRecordRegistry().findExtendedSchemas(schemaStore, documents, config.getRefFragmentPathDelimiters());
+        }
+
+        IncrementalGeneration incrementalGeneration = null;
+        if (config.isIncremental()) {
+            incrementalGeneration = new IncrementalGeneration(config, schemaStore, logger);
+            sourceSchemas = selectChanged(sourceSchemas, incrementalGeneration);
+            incrementalGeneration.reserveUnchangedNames(codeModel);
+        }
+
+        if (!config.getTargetDirectory().exists() && !config.getTargetDirectory().mkdirs()) {
+            throw new GenerationException("Could not create or access target directory " + config.getTargetDirectory().getAbsolutePath());
+        }
+
+        ExecutorService writeExecutor = null;
+        if (config.getParallelism() > 1) {
+            writeExecutor = Executors.newFixedThreadPool(config.getParallelism(), new WorkerThreadFactory(Thread.currentThread().getContextClassLoader()));
+        }
+
+        try {
+            GeneratedFileWriter fileWriter = new GeneratedFileWriter(config.isSkipUnchangedFiles(), writeExecutor, config.getParallelism() * MAX_PENDING_WRITES_PER_THREAD);
+            CodeWriter sourcesWriter = createSourcesWriter(config, fileWriter, writeExecutor, ruleFactory);
+            CodeWriter resourcesWriter = new FileCodeWriterWithEncoding(config.getTargetDirectory(), config.getOutputEncoding(), fileWriter);
+            SourceEmitter emitter = new SourceEmitter(codeModel, sourcesWriter, resourcesWriter, incrementalGeneration);
+
+            if (config.getParallelism() > 1 && sourceSchemas.size() > 1) {
+                generateParallel(config, mapper, schemaStore, sourceSchemas, emitter, logger);
             } else {
-                CodeWriter sourcesWriter = new FileCodeWriterWithEncoding(config.getTargetDirectory(), config.getOutputEncoding());
-                CodeWriter resourcesWriter = new FileCodeWriterWithEncoding(config.getTargetDirectory(), config.getOutputEncoding());
-                codeModel.build(sourcesWriter, resourcesWriter);
+                for (SourceSchema sourceSchema : sourceSchemas) {
+                    mapper.generate(codeModel, sourceSchema.className, sourceSchema.packageName, sourceSchema.url);
+                    emitter.emit(sourceSchema);
+                }
+            }
+
+            if (config.isGenerateSerializers() && !ruleFactory.getSerializerRegistry().isEmpty()) {
+                ruleFactory.getSerializerRegistry().createModule(codeModel._package(defaultString(config.getTargetPackage())), config.getAnnotationStyle());
             }
+            emitter.build();
+
+            sourcesWriter.close();
+            resourcesWriter.close();
+            fileWriter.awaitWrites();
+            logger.info("Wrote " + fileWriter.getFilesWritten() + " files, skipped " + fileWriter.getFilesSkipped() + " unchanged files");
+        } finally {
+            if (writeExecutor != null) {
+                writeExecutor.shutdownNow();
+            }
+        }
+
+        if (incrementalGeneration != null) {
+            incrementalGeneration.releaseReservedNames();
+        }
+
+        if (config.isDeduplicateInlineSchemas()) {
+            ruleFactory.getSchemaDeduplicator().report(logger);
+        }
+
+        logger.debug("Schema document cache: " + schemaStore.getDocumentCacheHits() + " hits, " + schemaStore.getDocumentCacheMisses() + " misses");
+
+        if (incrementalGeneration != null) {
+            incrementalGeneration.finish();
+        }
+
+        schemaStore.clearCache();
+        ruleFactory.getReflectionHelper().clearCache();
+    }
+
+    private static CodeWriter createSourcesWriter(GenerationConfig config, GeneratedFileWriter fileWriter, ExecutorService executor, RuleFactory ruleFactory) throws IOException {
+        if (config.getTargetLanguage() == Language.SCALA) {
+            ScalaConversionPipeline conversions = new ScalaConversionPipeline(executor, config.getParallelism() * MAX_PENDING_WRITES_PER_THREAD, config.getScalaConversionCacheDirectory());
+            return new ScalaFileCodeWriter(config.getTargetDirectory(), config.getOutputEncoding(), fileWriter, conversions);
+        } else if (config.isUseRecords()) {
+            CodeWriter javaWriter = new FileCodeWriterWithEncoding(config.getTargetDirectory(), config.getOutputEncoding(), fileWriter);
+            return new RecordCodeWriter(javaWriter, ruleFactory.getRecordRegistry());
         } else {
-            throw new GenerationException("Could not create or access target directory " + config.getTargetDirectory().getAbsolutePath());
+            return new FileCodeWriterWithEncoding(config.getTargetDirectory(), config.getOutputEncoding(), fileWriter);
+        }
+    }
+
+    private static List<SourceSchema> selectChanged(List<SourceSchema> sourceSchemas, IncrementalGeneration incrementalGeneration) {
+        List<URL> sources = new ArrayList<>(sourceSchemas.size());
+        for (SourceSchema sourceSchema : sourceSchemas) {
+            sources.add(sourceSchema.url);
+        }
+
+        // compare as strings, URL.equals may perform name resolution
+        Set<String> changed = new HashSet<>();
+        for (URL source : incrementalGeneration.selectChanged(sources)) {
+            changed.add(source.toString());
+        }
+
+        List<SourceSchema> changedSourceSchemas = new ArrayList<>(changed.size());
+        for (SourceSchema sourceSchema : sourceSchemas) {
+            if (changed.contains(sourceSchema.url.toString())) {
+                changedSourceSchemas.add(sourceSchema);
+            }
         }
+        return changedSourceSchemas;
     }
     
-    private static ContentResolver createContentResolver(GenerationConfig config) {
+    private static ContentResolver createContentResolver(GenerationConfig config, RuleLogger logger) {
+    	RemoteSchemaCache remoteSchemaCache = createRemoteSchemaCache(config, logger);
     	if (config.getSourceType() == SourceType.YAMLSCHEMA || config.getSourceType() == SourceType.YAML) {
-    		return new ContentResolver(new YAMLFactory());
+    		return new ContentResolver(new YAMLFactory(), remoteSchemaCache);
     	} else {
-    		return new ContentResolver();
+    		return new ContentResolver(null, remoteSchemaCache);
     	}
     }
 
+    private static RemoteSchemaCache createRemoteSchemaCache(GenerationConfig config, RuleLogger logger) {
+        if (config.getRemoteSchemaCacheDirectory() != null) {
+            return new RemoteSchemaCache(config.getRemoteSchemaCacheDirectory(), config.isOffline(), logger);
+        } else if (config.isOffline()) {
+            throw new GenerationException("Offline mode requires a remote schema cache directory to read from");
+        } else {
+            return null;
+        }
+    }
+
     private static SchemaGenerator createSchemaGenerator(GenerationConfig config) {
         if (config.getSourceType() == SourceType.YAMLSCHEMA || config.getSourceType() == SourceType.YAML) {
             return new SchemaGenerator(new YAMLFactory());
@@ -127,15 +259,74 @@ public class Jsonschema2Pojo {
         }
     }
 
-    private static void generateRecursive(GenerationConfig config, SchemaMapper mapper, JCodeModel codeModel, String packageName, List<File> schemaFiles) throws IOException {
+    /**
+     * Reads (and, for schema documents, resolves) every source on a pool of
+     * worker threads, then adds the results to the code model on the calling
+     * thread in the same order as a serial run would. The code model is only
+     * ever touched by the calling thread, so class names (and therefore the
+     * generated output) are identical to a serial run.
+     */
+    private static void generateParallel(GenerationConfig config, final SchemaMapper mapper, final SchemaStore schemaStore, List<SourceSchema> sourceSchemas, SourceEmitter emitter, RuleLogger logger) throws IOException {
+
+        final boolean resolveRefs = config.getSourceType() == SourceType.JSONSCHEMA || config.getSourceType() == SourceType.YAMLSCHEMA;
+        final String refFragmentPathDelimiters = config.getRefFragmentPathDelimiters();
+        final int threads = Math.min(config.getParallelism(), sourceSchemas.size());
+
+        logger.debug("Reading " + sourceSchemas.size() + " sources using " + threads + " threads");
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new WorkerThreadFactory(Thread.currentThread().getContextClassLoader()));
+
+        try {
+            List<Future<ObjectNode>> schemaNodes = new ArrayList<>(sourceSchemas.size());
+            for (final SourceSchema sourceSchema : sourceSchemas) {
+                schemaNodes.add(executor.submit(new Callable<ObjectNode>() {
+                    @Override
+                    public ObjectNode call() {
+                        ObjectNode schemaNode = mapper.readSchema(sourceSchema.url);
+                        if (resolveRefs && schemaNode.has("$ref")) {
+                            schemaStore.create(null, schemaNode.get("$ref").asText(), refFragmentPathDelimiters);
+                        }
+                        return schemaNode;
+                    }
+                }));
+            }
+
+            for (int i = 0; i < sourceSchemas.size(); i++) {
+                SourceSchema sourceSchema = sourceSchemas.get(i);
+                mapper.generate(emitter.codeModel, sourceSchema.className, sourceSchema.packageName, await(schemaNodes.get(i), sourceSchema));
+                emitter.emit(sourceSchema);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ObjectNode await(Future<ObjectNode> schemaNode, SourceSchema sourceSchema) {
+        try {
+            return schemaNode.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GenerationException("Interrupted while reading " + sourceSchema.url, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new GenerationException("Could not read " + sourceSchema.url, e.getCause());
+        }
+    }
+
+    private static void collectRecursive(GenerationConfig config, List<SourceSchema> sourceSchemas, String packageName, List<File> schemaFiles) throws IOException {
 
         Collections.sort(schemaFiles, config.getSourceSortOrder().getComparator());
 
         for (File child : schemaFiles) {
             if (child.isFile()) {
-                mapper.generate(codeModel, getNodeName(child.toURI().toURL(), config), defaultString(packageName), child.toURI().toURL());
+                sourceSchemas.add(new SourceSchema(child.toURI().toURL(), getNodeName(child.toURI().toURL(), config), defaultString(packageName)));
             } else {
-                generateRecursive(config, mapper, codeModel, childQualifiedName(packageName, child.getName()), Arrays.asList(child.listFiles(config.getFileFilter())));
+                collectRecursive(config, sourceSchemas, childQualifiedName(packageName, child.getName()), Arrays.asList(child.listFiles(config.getFileFilter())));
             }
         }
     }
@@ -168,6 +359,128 @@ public class Jsonschema2Pojo {
         return factory.getAnnotator(factory.getAnnotator(config.getAnnotationStyle()), factory.getAnnotator(config.getCustomAnnotator()));
     }
 
+    /**
+     * A single source document, together with the class name and package
+     * that its root type will be generated with.
+     */
+    private static final class SourceSchema {
+
+        private final URL url;
+        private final String className;
+        private final String packageName;
+
+        private SourceSchema(URL url, String className, String packageName) {
+            this.url = url;
+            this.className = className;
+            this.packageName = packageName;
+        }
+    }
+
+    /**
+     * Writes out the classes generated for each source as soon as the source
+     * has been generated, so that writing (on the write pool, if there is one)
+     * overlaps with generating the following sources and rendered files need
+     * not be held until the end. Each class that a build writes is then
+     * removed from its package, so that later builds (and rules that look
+     * through a package) only walk the classes added since. A hidden
+     * placeholder keeps the name of the class taken, and classes generated
+     * later still refer to the removed class itself, so the output is
+     * unchanged. The writers are not closed after each build (so that pending
+     * work may continue in the background), the caller must close them once
+     * every source is emitted.
+     */
+    private static final class SourceEmitter {
+
+        private final JCodeModel codeModel;
+        private final UnclosedCodeWriter sourcesWriter;
+        private final UnclosedCodeWriter resourcesWriter;
+        private final IncrementalGeneration incrementalGeneration;
+
+        private SourceEmitter(JCodeModel codeModel, CodeWriter sourcesWriter, CodeWriter resourcesWriter, IncrementalGeneration incrementalGeneration) {
+            this.codeModel = codeModel;
+            this.sourcesWriter = new UnclosedCodeWriter(sourcesWriter);
+            this.resourcesWriter = new UnclosedCodeWriter(resourcesWriter);
+            this.incrementalGeneration = incrementalGeneration;
+        }
+
+        private void emit(SourceSchema sourceSchema) throws IOException {
+            List<String> classNames = build();
+
+            if (incrementalGeneration != null) {
+                incrementalGeneration.recordOutputs(sourceSchema.url, classNames);
+            }
+        }
+
+        /**
+         * Writes out every class added to the code model since the last
+         * build, then drops the classes written from the code model.
+         *
+         * @return the fully qualified name of each class written
+         */
+        private List<String> build() throws IOException {
+            codeModel.build(sourcesWriter, resourcesWriter);
+
+            List<String> classNames = new ArrayList<>(sourcesWriter.opened.size());
+            for (Map.Entry<JPackage, String> source : sourcesWriter.opened) {
+                JPackage _package = source.getKey();
+                String className = substringBeforeLast(source.getValue(), ".");
+                JDefinedClass definedClass = _package._getClass(className);
+                if (definedClass != null && !definedClass.isHidden()) {
+                    classNames.add(definedClass.fullName());
+                    _package.remove(definedClass);
+                    try {
+                        _package._class(className).hide();
+                    } catch (JClassAlreadyExistsException e) {
+                        throw new IllegalStateException("Unable to reserve the name of " + definedClass.fullName(), e);
+                    }
+                }
+            }
+            sourcesWriter.opened.clear();
+            return classNames;
+        }
+    }
+
+    private static final class UnclosedCodeWriter extends FilterCodeWriter {
+
+        /** The package and file name of each source opened since the last build. */
+        private final List<Map.Entry<JPackage, String>> opened = new ArrayList<>();
+
+        private UnclosedCodeWriter(CodeWriter core) {
+            super(core);
+        }
+
+        @Override
+        public Writer openSource(JPackage pkg, String fileName) throws IOException {
+            opened.add(new AbstractMap.SimpleImmutableEntry<>(pkg, fileName));
+            // delegate explicitly, so the core writer's encoding handling is kept
+            return core.openSource(pkg, fileName);
+        }
+
+        @Override
+        public void close() {
+            // closed by the caller once every source has been emitted
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+        private final ClassLoader contextClassLoader;
+
+        private WorkerThreadFactory(ClassLoader contextClassLoader) {
+            this.contextClassLoader = contextClassLoader;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            // workers resolve classpath: refs, so must see the same classpath as the caller (see ContentResolver)
+            Thread thread = new Thread(r, "jsonschema2pojo-worker-" + threadNumber.getAndIncrement());
+            thread.setContextClassLoader(contextClassLoader);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
     public static String getNodeName(URL file, GenerationConfig config) {
         return getNodeName(file.toString(), config);
     }
@@ -49,9 +49,13 @@ public class Moshi1Annotator extends AbstractAnnotator {
         constant.annotate(moshiAnnotation).param("name", value);
     }
 
+    /**
+     * Moshi only supports additional properties through the JSON adapters
+     * generated when {@link GenerationConfig#isGenerateSerializers()} is set.
+     */
     @Override
     public boolean isAdditionalPropertiesSupported() {
-        return false;
+        return getGenerationConfig().isGenerateSerializers();
     }
 
 }
@@ -0,0 +1,68 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import org.jsonschema2pojo.util.RecordConverter;
+import org.jsonschema2pojo.util.RecordRegistry;
+
+import com.sun.codemodel.CodeWriter;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.writer.FilterCodeWriter;
+
+/**
+ * A writer that converts the sources of the classes generated as records to
+ * record declarations before passing them to the underlying writer.
+ */
+public class RecordCodeWriter extends FilterCodeWriter {
+
+    private final RecordRegistry recordRegistry;
+
+    public RecordCodeWriter(CodeWriter core, RecordRegistry recordRegistry) {
+        super(core);
+        this.recordRegistry = recordRegistry;
+    }
+
+    @Override
+    public Writer openSource(final JPackage pkg, final String fileName) throws IOException {
+        if (!recordRegistry.isRecord(pkg, fileName)) {
+            // delegate explicitly, so the core writer's encoding handling is kept
+            return core.openSource(pkg, fileName);
+        }
+
+        return new StringWriter() {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                super.close();
+
+                try (Writer writer = core.openSource(pkg, fileName)) {
+                    writer.write(RecordConverter.toRecord(toString()));
+                }
+            }
+        };
+    }
+
+}
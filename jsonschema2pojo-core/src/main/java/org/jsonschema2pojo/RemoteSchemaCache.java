@@ -0,0 +1,284 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.apache.commons.lang3.StringUtils.*;
+import static org.jsonschema2pojo.util.DigestUtil.*;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * A persistent, content-addressed cache of schema documents fetched over
+ * http/https.
+ * <p>
+ * Document bodies are stored under <code>objects/</code> named by the SHA-256
+ * of their content, so identical documents served from several URLs are only
+ * stored once. For every URL an entry under <code>refs/</code> records the
+ * content hash along with the <code>ETag</code> and <code>Last-Modified</code>
+ * validators returned by the server. Cached documents are revalidated with a
+ * conditional request on each read, and a <code>304 Not Modified</code>
+ * response is served from disk. If a cached document can't be revalidated
+ * because the server can't be reached or responds with a server error
+ * (<code>5xx</code>), the cached copy is served and a warning is logged.
+ * <p>
+ * In offline mode no network requests are made at all and any URL that is not
+ * already in the cache causes an error.
+ * <p>
+ * All files are written to a temporary file first and then moved into place,
+ * so a cache directory may safely be shared by concurrent builds.
+ */
+public class RemoteSchemaCache {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 10000;
+    private static final int READ_TIMEOUT_MILLIS = 30000;
+
+    private static final String CONTENT = "content";
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final String URL = "url";
+
+    private final File objectsDirectory;
+    private final File refsDirectory;
+    private final boolean offline;
+    private final RuleLogger logger;
+
+    /**
+     * @param directory
+     *            the directory in which cached documents are kept (created if
+     *            it does not exist)
+     * @param offline
+     *            if <code>true</code>, documents are only ever served from
+     *            the cache and the network is never used
+     */
+    public RemoteSchemaCache(File directory, boolean offline) {
+        this(directory, offline, null);
+    }
+
+    /**
+     * @param directory
+     *            the directory in which cached documents are kept (created if
+     *            it does not exist)
+     * @param offline
+     *            if <code>true</code>, documents are only ever served from
+     *            the cache and the network is never used
+     * @param logger
+     *            the logger to warn when a stale cached copy is served, or
+     *            null
+     */
+    public RemoteSchemaCache(File directory, boolean offline, RuleLogger logger) {
+        this.objectsDirectory = new File(directory, "objects");
+        this.refsDirectory = new File(directory, "refs");
+        this.offline = offline;
+        this.logger = logger;
+    }
+
+    /**
+     * Read the content of the given http/https URI, using the cached copy if
+     * the server confirms it is still current, if the server can't be used to
+     * check (unreachable or failing with a server error), or unconditionally
+     * when offline.
+     *
+     * @param uri
+     *            the remote document to read
+     * @return the raw bytes of the document
+     * @throws IOException
+     *             if the document cannot be fetched and no usable cached copy
+     *             exists
+     */
+    public byte[] fetch(URI uri) throws IOException {
+
+        Properties entry = readEntry(uri);
+        File cached = entry == null ? null : new File(objectsDirectory, entry.getProperty(CONTENT));
+        if (cached != null && !cached.isFile()) {
+            cached = null;
+        }
+
+        if (offline) {
+            if (cached == null) {
+                throw new IOException("Offline mode is enabled and there is no cached copy of " + uri);
+            }
+            return Files.readAllBytes(cached.toPath());
+        }
+
+        URLConnection connection = uri.toURL().openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+        connection.setReadTimeout(READ_TIMEOUT_MILLIS);
+
+        if (cached != null) {
+            if (isNotEmpty(entry.getProperty(ETAG))) {
+                connection.setRequestProperty("If-None-Match", entry.getProperty(ETAG));
+            }
+            if (isNotEmpty(entry.getProperty(LAST_MODIFIED))) {
+                connection.setRequestProperty("If-Modified-Since", entry.getProperty(LAST_MODIFIED));
+            }
+        }
+
+        byte[] content;
+        try {
+            content = download(uri, connection);
+        } catch (FileNotFoundException e) {
+            // the server says the document is gone, the cached copy is no use
+            throw e;
+        } catch (IOException e) {
+            if (cached == null) {
+                throw e;
+            }
+            if (logger != null) {
+                logger.warn("Unable to revalidate " + uri + " (" + e.getMessage() + "), using the cached copy");
+            }
+            return Files.readAllBytes(cached.toPath());
+        }
+
+        if (content == null) {
+            if (cached == null) {
+                throw new IOException("Server responded 304 Not Modified but there is no cached copy of " + uri);
+            }
+            return Files.readAllBytes(cached.toPath());
+        }
+
+        store(uri, content, connection.getHeaderField("ETag"), connection.getHeaderField("Last-Modified"));
+
+        return content;
+    }
+
+    /**
+     * @return the content sent by the server, or null if the server responded
+     *         304 Not Modified
+     * @throws FileNotFoundException
+     *             if the server responded with a client error (4xx)
+     * @throws IOException
+     *             if the server can't be reached or responded with a server
+     *             error (5xx)
+     */
+    private static byte[] download(URI uri, URLConnection connection) throws IOException {
+        if (connection instanceof HttpURLConnection) {
+            HttpURLConnection httpConnection = (HttpURLConnection) connection;
+            int responseCode = httpConnection.getResponseCode();
+            if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                httpConnection.disconnect();
+                return null;
+            }
+            if (responseCode >= HttpURLConnection.HTTP_BAD_REQUEST && responseCode < HttpURLConnection.HTTP_INTERNAL_ERROR) {
+                httpConnection.disconnect();
+                throw new FileNotFoundException("Server responded " + responseCode + " for " + uri);
+            }
+            if (responseCode >= HttpURLConnection.HTTP_INTERNAL_ERROR) {
+                httpConnection.disconnect();
+                throw new IOException("Server responded " + responseCode + " for " + uri);
+            }
+        }
+
+        try (InputStream in = connection.getInputStream()) {
+            return IOUtils.toByteArray(in);
+        }
+    }
+
+    private void store(URI uri, byte[] content, String etag, String lastModified) throws IOException {
+
+        String contentHash = sha256Hex(content);
+
+        File object = new File(objectsDirectory, contentHash);
+        if (!object.isFile()) {
+            writeAtomically(object, content);
+        }
+
+        Properties entry = new Properties();
+        entry.setProperty(URL, uri.toString());
+        entry.setProperty(CONTENT, contentHash);
+        if (etag != null) {
+            entry.setProperty(ETAG, etag);
+        }
+        if (lastModified != null) {
+            entry.setProperty(LAST_MODIFIED, lastModified);
+        }
+
+        File entryFile = entryFile(uri);
+        File temp = createTempFile(entryFile);
+        try {
+            try (OutputStream out = new FileOutputStream(temp)) {
+                entry.store(out, null);
+            }
+            moveIntoPlace(temp, entryFile);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    private Properties readEntry(URI uri) throws IOException {
+        File entryFile = entryFile(uri);
+        if (!entryFile.isFile()) {
+            return null;
+        }
+
+        Properties entry = new Properties();
+        try (InputStream in = new FileInputStream(entryFile)) {
+            entry.load(in);
+        }
+
+        // guard against a (very unlikely) hash collision between two urls
+        if (!uri.toString().equals(entry.getProperty(URL)) || isEmpty(entry.getProperty(CONTENT))) {
+            return null;
+        }
+        return entry;
+    }
+
+    private File entryFile(URI uri) {
+        return new File(refsDirectory, sha256Hex(uri.toString()) + ".properties");
+    }
+
+    private static void writeAtomically(File target, byte[] content) throws IOException {
+        File temp = createTempFile(target);
+        try {
+            Files.write(temp.toPath(), content);
+            moveIntoPlace(temp, target);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    private static File createTempFile(File target) throws IOException {
+        File parent = target.getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs() && !parent.isDirectory()) {
+            throw new IOException("Could not create cache directory " + parent.getAbsolutePath());
+        }
+        return File.createTempFile(target.getName(), ".tmp", parent);
+    }
+
+    private static void moveIntoPlace(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+}
@@ -0,0 +1,217 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.jsonschema2pojo.util.DigestUtil.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.mysema.scalagen.ConversionSettings;
+import com.mysema.scalagen.Converter;
+
+import japa.parser.JavaParser;
+import japa.parser.ParseException;
+import japa.parser.ast.CompilationUnit;
+
+/**
+ * Converts generated Java sources to Scala.
+ * <p>
+ * If an executor is given, conversions run on the executor while the caller
+ * continues producing sources. Results are always handed to their
+ * {@link Consumer} on the calling thread, in the order the sources were
+ * submitted, so writers that must produce their output sequentially (e.g. a
+ * zip file) can use this too. At most <code>maxPending</code> conversions may
+ * be outstanding; submitting another blocks until the oldest is complete.
+ * <p>
+ * If a cache directory is given, each conversion is stored there keyed by a
+ * hash of the Java source, and sources that have been converted before are
+ * not converted again.
+ */
+public class ScalaConversionPipeline {
+
+    /**
+     * Receives the result of a conversion.
+     */
+    public interface Consumer {
+        void accept(String scalaSource) throws IOException;
+    }
+
+    private static final String CONVERTER_ID = "scalagen-2.10";
+
+    /**
+     * JavaParser reuses one static parser instance, so concurrent conversions
+     * take turns to parse. Only the (cheaper) parsing is serialized, the
+     * conversion of the parsed source runs concurrently.
+     */
+    private static final Object PARSER_LOCK = new Object();
+
+    private final ExecutorService executor;
+    private final int maxPending;
+    private final File cacheDirectory;
+
+    private final Deque<Conversion> pending = new ArrayDeque<>();
+
+    /**
+     * Creates a pipeline that converts each source on the calling thread,
+     * without caching.
+     */
+    public ScalaConversionPipeline() {
+        this(null, 0, null);
+    }
+
+    /**
+     * @param executor
+     *            the executor to run conversions on, or null to convert on the
+     *            calling thread
+     * @param maxPending
+     *            the maximum number of conversions that may be outstanding
+     * @param cacheDirectory
+     *            a directory in which to cache conversions, or null to disable
+     *            caching
+     */
+    public ScalaConversionPipeline(ExecutorService executor, int maxPending, File cacheDirectory) {
+        this.executor = executor;
+        this.maxPending = Math.max(maxPending, 1);
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Convert the given Java source and pass the result to the given consumer,
+     * either immediately or during a later call to this method or
+     * {@link #flush()}.
+     */
+    public synchronized void convert(final String javaSource, Consumer consumer) throws IOException {
+        if (executor == null) {
+            consumer.accept(convert(javaSource));
+            return;
+        }
+
+        Future<String> scalaSource = executor.submit(new Callable<String>() {
+            @Override
+            public String call() throws IOException {
+                return convert(javaSource);
+            }
+        });
+        pending.add(new Conversion(scalaSource, consumer));
+
+        // hand over anything that has already finished, and wait if too much is outstanding
+        while (!pending.isEmpty() && (pending.size() > maxPending || pending.peek().scalaSource.isDone())) {
+            complete(pending.poll());
+        }
+    }
+
+    /**
+     * Wait for every outstanding conversion and pass each result to its
+     * consumer.
+     */
+    public synchronized void flush() throws IOException {
+        while (!pending.isEmpty()) {
+            complete(pending.poll());
+        }
+    }
+
+    private void complete(Conversion conversion) throws IOException {
+        try {
+            conversion.consumer.accept(conversion.scalaSource.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for Scala conversion", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private String convert(String javaSource) throws IOException {
+        if (cacheDirectory == null) {
+            return toScala(javaSource);
+        }
+
+        String hash = sha256Hex(CONVERTER_ID + '\n' + javaSource);
+        File cached = new File(new File(cacheDirectory, hash.substring(0, 2)), hash + ".scala");
+
+        if (cached.isFile()) {
+            return new String(Files.readAllBytes(cached.toPath()), StandardCharsets.UTF_8);
+        }
+
+        String scalaSource = toScala(javaSource);
+        store(cached, scalaSource);
+        return scalaSource;
+    }
+
+    private static String toScala(String javaSource) throws IOException {
+        CompilationUnit unit;
+        try {
+            synchronized (PARSER_LOCK) {
+                unit = JavaParser.parse(new ByteArrayInputStream(javaSource.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8.name());
+            }
+        } catch (ParseException e) {
+            throw new IOException("Unable to parse generated source for conversion to Scala", e);
+        }
+        return Converter.instance210().toScala(unit, new ConversionSettings(false));
+    }
+
+    private static void store(File cached, String scalaSource) throws IOException {
+        File parent = cached.getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs() && !parent.isDirectory()) {
+            throw new IOException("Could not create cache directory " + parent.getAbsolutePath());
+        }
+
+        // write then move, so concurrent builds sharing the cache never see a partial file
+        File temp = File.createTempFile(cached.getName(), ".tmp", parent);
+        try {
+            Files.write(temp.toPath(), scalaSource.getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temp.toPath(), cached.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), cached.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    private static final class Conversion {
+
+        private final Future<String> scalaSource;
+        private final Consumer consumer;
+
+        private Conversion(Future<String> scalaSource, Consumer consumer) {
+            this.scalaSource = scalaSource;
+            this.consumer = consumer;
+        }
+    }
+
+}
@@ -22,34 +22,59 @@ import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 
-import org.apache.commons.io.FileUtils;
-
-import com.mysema.scalagen.ConversionSettings;
-import com.mysema.scalagen.Converter;
 import com.sun.codemodel.JPackage;
 
 public class ScalaFileCodeWriter extends com.sun.codemodel.writer.FileCodeWriter {
+
+    private final File target;
+    private final GeneratedFileWriter fileWriter;
+    private final ScalaConversionPipeline conversions;
     
     public ScalaFileCodeWriter(final File target, final String encoding) throws IOException {
+        this(target, encoding, new GeneratedFileWriter(false));
+    }
+
+    public ScalaFileCodeWriter(final File target, final String encoding, final GeneratedFileWriter fileWriter) throws IOException {
+        this(target, encoding, fileWriter, new ScalaConversionPipeline());
+    }
+
+    /**
+     * @param conversions
+     *            the pipeline used to convert sources to Scala, outstanding
+     *            conversions are completed when this writer is closed
+     */
+    public ScalaFileCodeWriter(final File target, final String encoding, final GeneratedFileWriter fileWriter, final ScalaConversionPipeline conversions) throws IOException {
         super(target, encoding);
+        this.target = target;
+        this.fileWriter = fileWriter;
+        this.conversions = conversions;
     }
 
     public OutputStream openBinary(JPackage pkg, String fileName) throws IOException {
         final ByteArrayOutputStream javaSourceStream = new ByteArrayOutputStream();
         
-        final String javaFileName = getFile(pkg, fileName).getAbsolutePath();
-        final String scalaFileName = javaFileName.replaceAll("\\.java$", ".scala");
+        final File scalaFile = GeneratedFileWriter.getFile(target, pkg, fileName.replaceAll("\\.java$", ".scala"));
         
         return new FilterOutputStream(javaSourceStream) {
             public void close() throws IOException {
                 super.close();
                 
                 final String javaSource = new String(javaSourceStream.toByteArray(), encoding);
-                final String scalaSource = Converter.instance210().convert(javaSource, new ConversionSettings(false));
-                
-                FileUtils.writeStringToFile(new File(scalaFileName), scalaSource, encoding);
+
+                conversions.convert(javaSource, new ScalaConversionPipeline.Consumer() {
+                    @Override
+                    public void accept(String scalaSource) throws IOException {
+                        fileWriter.write(scalaFile, scalaSource.getBytes(encoding));
+                    }
+                });
             }
         };
     }
 
+    @Override
+    public void close() throws IOException {
+        conversions.flush();
+        super.close();
+    }
+
 }
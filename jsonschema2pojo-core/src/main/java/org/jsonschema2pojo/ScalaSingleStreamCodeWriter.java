@@ -16,8 +16,6 @@
 
 package org.jsonschema2pojo;
 
-import com.mysema.scalagen.ConversionSettings;
-import com.mysema.scalagen.Converter;
 import com.sun.codemodel.JPackage;
 import com.sun.codemodel.writer.SingleStreamCodeWriter;
 import java.io.ByteArrayOutputStream;
@@ -28,8 +26,20 @@ import java.nio.charset.StandardCharsets;
 
 public class ScalaSingleStreamCodeWriter extends SingleStreamCodeWriter {
 
+    private final ScalaConversionPipeline conversions;
+
     public ScalaSingleStreamCodeWriter(OutputStream os) {
+        this(os, new ScalaConversionPipeline());
+    }
+
+    /**
+     * @param conversions
+     *            the pipeline used to convert sources to Scala, outstanding
+     *            conversions are completed when this writer is closed
+     */
+    public ScalaSingleStreamCodeWriter(OutputStream os, ScalaConversionPipeline conversions) {
         super(os);
+        this.conversions = conversions;
     }
 
     @Override
@@ -44,12 +54,23 @@ public class ScalaSingleStreamCodeWriter extends SingleStreamCodeWriter {
                 super.close();
 
                 final String javaSource = new String(javaSourceStream.toByteArray(), StandardCharsets.UTF_8);
-                final String scalaSource = Converter.instance210().convert(javaSource, new ConversionSettings(false));
 
-                OutputStream parentStream = ScalaSingleStreamCodeWriter.super.openBinary(pkg, scalaFileName);
-                parentStream.write(scalaSource.getBytes(StandardCharsets.UTF_8));
+                // the underlying stream is shared, so entries are written in order on this thread
+                conversions.convert(javaSource, new ScalaConversionPipeline.Consumer() {
+                    @Override
+                    public void accept(String scalaSource) throws IOException {
+                        OutputStream parentStream = ScalaSingleStreamCodeWriter.super.openBinary(pkg, scalaFileName);
+                        parentStream.write(scalaSource.getBytes(StandardCharsets.UTF_8));
+                    }
+                });
             }
         };
     }
 
+    @Override
+    public void close() throws IOException {
+        conversions.flush();
+        super.close();
+    }
+
 }
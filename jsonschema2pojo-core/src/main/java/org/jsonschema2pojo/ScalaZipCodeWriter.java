@@ -22,15 +22,25 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 
-import com.mysema.scalagen.ConversionSettings;
-import com.mysema.scalagen.Converter;
 import com.sun.codemodel.JPackage;
 import com.sun.codemodel.writer.ZipCodeWriter;
 
 public class ScalaZipCodeWriter extends ZipCodeWriter {
 
+    private final ScalaConversionPipeline conversions;
+
     public ScalaZipCodeWriter(OutputStream target) {
+        this(target, new ScalaConversionPipeline());
+    }
+
+    /**
+     * @param conversions
+     *            the pipeline used to convert sources to Scala, outstanding
+     *            conversions are completed when this writer is closed
+     */
+    public ScalaZipCodeWriter(OutputStream target, ScalaConversionPipeline conversions) {
         super(target);
+        this.conversions = conversions;
     }
 
     @Override
@@ -45,12 +55,23 @@ public class ScalaZipCodeWriter extends ZipCodeWriter {
                 super.close();
 
                 final String javaSource = new String(javaSourceStream.toByteArray(), StandardCharsets.UTF_8);
-                final String scalaSource = Converter.instance210().convert(javaSource, new ConversionSettings(false));
 
-                OutputStream parentStream = ScalaZipCodeWriter.super.openBinary(pkg, scalaFileName);
-                parentStream.write(scalaSource.getBytes(StandardCharsets.UTF_8));
+                // the underlying stream is shared, so entries are written in order on this thread
+                conversions.convert(javaSource, new ScalaConversionPipeline.Consumer() {
+                    @Override
+                    public void accept(String scalaSource) throws IOException {
+                        OutputStream parentStream = ScalaZipCodeWriter.super.openBinary(pkg, scalaFileName);
+                        parentStream.write(scalaSource.getBytes(StandardCharsets.UTF_8));
+                    }
+                });
             }
         };
     }
 
+    @Override
+    public void close() throws IOException {
+        conversions.flush();
+        super.close();
+    }
+
 }
@@ -18,7 +18,11 @@ package org.jsonschema2pojo;
 
 import java.io.IOException;
 import java.net.URL;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import org.jsonschema2pojo.exception.GenerationException;
 
@@ -54,9 +58,8 @@ public class SchemaGenerator {
     
     public ObjectNode schemaFromExample(URL example) {
 
-        try {
-            JsonNode content = this.objectMapper.readTree(example);
-            return schemaFromExample(content);
+        try (JsonParser parser = this.objectMapper.getFactory().createParser(example)) {
+            return schemaFromExample(parser);
         } catch (IOException e) {
             throw new GenerationException("Could not process JSON in source file", e);
         }
@@ -65,87 +68,214 @@ public class SchemaGenerator {
 
     public ObjectNode schemaFromExample(JsonNode example) {
 
-        if (example.isObject()) {
-            return objectSchema(example);
-        } else if (example.isArray()) {
-            return arraySchema(example);
+        try (JsonParser parser = example.traverse(this.objectMapper)) {
+            return schemaFromExample(parser);
+        } catch (IOException e) {
+            throw new GenerationException("Unable to generate a schema for this json example: " + example, e);
+        }
+
+    }
+
+    /**
+     * Infers a schema from the next value read from the given parser. The
+     * value is consumed token by token, so only a summary of its shape (see
+     * {@link ExampleSummary}) is held in memory, never the whole example.
+     *
+     * @param parser
+     *            a parser positioned before, or on the first token of, the
+     *            example value
+     * @return a schema describing the example
+     * @throws IOException
+     *             if the example cannot be read
+     */
+    public ObjectNode schemaFromExample(JsonParser parser) throws IOException {
+
+        if (!parser.hasCurrentToken() && parser.nextToken() == null) {
+            throw new GenerationException("Unable to generate a schema, the json example is empty");
+        }
+
+        return schemaFromSummary(ExampleSummary.read(parser), false);
+
+    }
+
+    /**
+     * Infers a single schema from every document in a corpus of examples.
+     * <p>
+     * Each file may hold any number of documents (for example, newline
+     * delimited JSON). Files are summarised in parallel, and their summaries
+     * merged with {@link ExampleSummary#merge(ExampleSummary, ExampleSummary)},
+     * so the result does not depend on the parallelism. Properties that are
+     * present in every example of an object are listed as
+     * <code>required</code>.
+     *
+     * @param documents
+     *            the files that make up the corpus, in order
+     * @param sampleSize
+     *            the maximum number of documents to read, or zero to read every
+     *            document. When there are more files than this, an evenly
+     *            spaced selection of files is read (one document from each),
+     *            otherwise the limit is shared between files.
+     * @param parallelism
+     *            the number of threads used to read files
+     * @return a schema describing the documents in the corpus
+     */
+    public ObjectNode schemaFromCorpus(List<URL> documents, int sampleSize, int parallelism) {
+
+        List<CorpusFile> files = sample(documents, sampleSize);
+
+        ExampleSummary summary = null;
+        if (!files.isEmpty()) {
+            ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+            try {
+                summary = pool.invoke(new CorpusTask(files, 0, files.size()));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        if (summary == null) {
+            throw new GenerationException("Unable to generate a schema, no json examples were found in " + documents);
+        }
+
+        return schemaFromSummary(summary, true);
+
+    }
+
+    /**
+     * Builds a schema from a summary of one or more example values.
+     *
+     * @param summary
+     *            the summary of the example values
+     * @return a schema describing the summarised values
+     */
+    public ObjectNode schemaFromSummary(ExampleSummary summary) {
+        return schemaFromSummary(summary, false);
+    }
+
+    private ObjectNode schemaFromSummary(ExampleSummary summary, boolean includeRequired) {
+
+        if (summary instanceof ExampleSummary.ObjectSummary) {
+            return objectSchema((ExampleSummary.ObjectSummary) summary, includeRequired);
+        } else if (summary instanceof ExampleSummary.ArraySummary) {
+            return arraySchema((ExampleSummary.ArraySummary) summary, includeRequired);
         } else {
-            return simpleTypeSchema(example);
+            return simpleTypeSchema(((ExampleSummary.ScalarSummary) summary).getExample());
         }
 
     }
 
-    private ObjectNode objectSchema(JsonNode exampleObject) {
+    private ObjectNode objectSchema(ExampleSummary.ObjectSummary exampleObject, boolean includeRequired) {
 
         ObjectNode schema = this.objectMapper.createObjectNode();
         schema.put("type", "object");
 
         ObjectNode properties = this.objectMapper.createObjectNode();
-        for (Iterator<String> iter = exampleObject.fieldNames(); iter.hasNext();) {
-            String property = iter.next();
-            properties.set(property, schemaFromExample(exampleObject.get(property)));
+        ArrayNode required = this.objectMapper.createArrayNode();
+        for (Map.Entry<String, ExampleSummary> property : exampleObject.getProperties().entrySet()) {
+            properties.set(property.getKey(), schemaFromSummary(property.getValue(), includeRequired));
+            if (includeRequired && exampleObject.isAlwaysPresent(property.getKey())) {
+                required.add(property.getKey());
+            }
         }
         schema.set("properties", properties);
 
+        if (required.size() > 0) {
+            schema.set("required", required);
+        }
+
         return schema;
     }
 
-    private ObjectNode arraySchema(JsonNode exampleArray) {
+    private ObjectNode arraySchema(ExampleSummary.ArraySummary exampleArray, boolean includeRequired) {
         ObjectNode schema = this.objectMapper.createObjectNode();
 
         schema.put("type", "array");
 
-        if (exampleArray.size() > 0) {
-
-            JsonNode exampleItem = exampleArray.get(0).isObject() ? mergeArrayItems(exampleArray) : exampleArray.get(0);
-
-            schema.set("items", schemaFromExample(exampleItem));
+        if (exampleArray.getItems() != null) {
+            schema.set("items", schemaFromSummary(exampleArray.getItems(), includeRequired));
         }
 
         return schema;
     }
 
-    private JsonNode mergeArrayItems(JsonNode exampleArray) {
+    private static List<CorpusFile> sample(List<URL> documents, int sampleSize) {
+        List<CorpusFile> files = new ArrayList<>();
+
+        if (sampleSize <= 0) {
+            for (URL document : documents) {
+                files.add(new CorpusFile(document, Long.MAX_VALUE));
+            }
+        } else if (documents.size() > sampleSize) {
+            for (int i = 0; i < sampleSize; i++) {
+                files.add(new CorpusFile(documents.get((int) ((long) i * documents.size() / sampleSize)), 1));
+            }
+        } else {
+            for (int i = 0; i < documents.size(); i++) {
+                long share = sampleSize / documents.size() + (i < sampleSize % documents.size() ? 1 : 0);
+                files.add(new CorpusFile(documents.get(i), share));
+            }
+        }
+
+        return files;
+    }
 
-        ObjectNode mergedItems = this.objectMapper.createObjectNode();
+    private ExampleSummary summarise(CorpusFile file) {
 
-        for (JsonNode item : exampleArray) {
-            if (item.isObject()) {
-                mergeObjectNodes(mergedItems, (ObjectNode) item);
+        try (JsonParser parser = this.objectMapper.getFactory().createParser(file.url)) {
+            ExampleSummary summary = null;
+            for (long read = 0; read < file.maxDocuments && parser.nextToken() != null; read++) {
+                summary = ExampleSummary.merge(summary, ExampleSummary.read(parser));
             }
+            return summary;
+        } catch (IOException e) {
+            throw new GenerationException("Could not process JSON in source file " + file.url, e);
         }
 
-        return mergedItems;
     }
 
-    private ObjectNode mergeObjectNodes(ObjectNode targetNode, ObjectNode updateNode) {
-        Iterator<String> fieldNames = updateNode.fieldNames();
-        while (fieldNames.hasNext()) {
+    private static class CorpusFile {
+
+        private final URL url;
+        private final long maxDocuments;
 
-            String fieldName = fieldNames.next();
-            JsonNode targetValue = targetNode.get(fieldName);
-            JsonNode updateValue = updateNode.get(fieldName);
+        CorpusFile(URL url, long maxDocuments) {
+            this.url = url;
+            this.maxDocuments = maxDocuments;
+        }
+
+    }
 
-            if (targetValue == null) {
-                // Target node doesn't have this field from update node: just add it
-                targetNode.set(fieldName, updateValue);
+    /**
+     * Summarises a range of files, splitting the range in two until each task
+     * reads a single file. Results are merged in file order.
+     */
+    private class CorpusTask extends RecursiveTask<ExampleSummary> {
 
-            } else {
-                // Both nodes have the same field: merge the values
-                if (targetValue.isObject() && updateValue.isObject()) {
-                    // Both values are objects: recurse
-                    targetNode.set(fieldName, mergeObjectNodes((ObjectNode) targetValue, (ObjectNode) updateValue));
-                } else if (targetValue.isArray() && updateValue.isArray()) {
-                    // Both values are arrays: concatenate them to be merged later
-                    ((ArrayNode) targetValue).addAll((ArrayNode) updateValue);
-                } else {
-                    // Values have different types: use the one from the update node
-                    targetNode.set(fieldName, updateValue);
-                }
+        private static final long serialVersionUID = 1L;
+
+        private final List<CorpusFile> files;
+        private final int from;
+        private final int to;
+
+        CorpusTask(List<CorpusFile> files, int from, int to) {
+            this.files = files;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ExampleSummary compute() {
+            if (to - from == 1) {
+                return summarise(files.get(from));
             }
+
+            int middle = (from + to) >>> 1;
+            CorpusTask first = new CorpusTask(files, from, middle);
+            first.fork();
+            ExampleSummary second = new CorpusTask(files, middle, to).compute();
+            return ExampleSummary.merge(first.join(), second);
         }
 
-        return targetNode;
     }
 
     private ObjectNode simpleTypeSchema(JsonNode exampleValue) {
@@ -16,11 +16,19 @@
 
 package org.jsonschema2pojo;
 
+import java.io.File;
 import java.io.IOException;
+import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
+import org.jsonschema2pojo.exception.GenerationException;
 import org.jsonschema2pojo.rules.RuleFactory;
+import org.jsonschema2pojo.util.URLUtil;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -85,15 +93,47 @@ public class SchemaMapper {
      */
     public JType generate(JCodeModel codeModel, String className, String packageName, URL schemaUrl) {
 
-        JPackage jpackage = codeModel._package(packageName);
+        return generate(codeModel, className, packageName, readSchema(schemaUrl));
+
+    }
+
+    /**
+     * Adds generated types to the given code model for a schema that has
+     * already been read (see {@link #readSchema(URL)}).
+     *
+     * @param codeModel
+     *            the java code-generation context that should be used to
+     *            generated new types
+     * @param className
+     *            the name of the parent class the represented by this schema
+     * @param packageName
+     *            the target package that should be used for generated types
+     * @param schemaNode
+     *            the root schema node, as returned by {@link #readSchema(URL)}
+     * @return The top-most type generated from the given schema
+     */
+    public JType generate(JCodeModel codeModel, String className, String packageName, ObjectNode schemaNode) {
 
-        ObjectNode schemaNode = readSchema(schemaUrl);
+        JPackage jpackage = codeModel._package(packageName);
 
         return ruleFactory.getSchemaRule().apply(className, schemaNode, null, jpackage, new Schema(null, schemaNode, null));
 
     }
 
-    private ObjectNode readSchema(URL schemaUrl) {
+    /**
+     * Reads the root schema node for the given source, according to the
+     * configured source type. For schema documents this is a <code>$ref</code>
+     * to the document, for example documents this is the schema inferred from
+     * the example.
+     * <p>
+     * This method does not touch any code model, so it may be called
+     * concurrently for different sources.
+     *
+     * @param schemaUrl
+     *            location of the schema (or example) to be used as input
+     * @return the root schema node for the given source
+     */
+    public ObjectNode readSchema(URL schemaUrl) {
 
         switch (ruleFactory.getGenerationConfig().getSourceType()) {
             case JSONSCHEMA:
@@ -104,6 +144,9 @@ public class SchemaMapper {
             case JSON:
             case YAML:
                 return schemaGenerator.schemaFromExample(schemaUrl);
+            case JSONCORPUS:
+                GenerationConfig config = ruleFactory.getGenerationConfig();
+                return schemaGenerator.schemaFromCorpus(corpusDocuments(schemaUrl), config.getCorpusSampleSize(), config.getParallelism());
             default:
                 throw new IllegalArgumentException("Unrecognised source type: " + ruleFactory.getGenerationConfig().getSourceType());
         }
@@ -136,6 +179,39 @@ public class SchemaMapper {
         return ruleFactory.getSchemaRule().apply(className, schemaNode, null, jpackage, new Schema(null, schemaNode, null));
     }
 
+    /**
+     * Lists the files making up a corpus: either the given file, or every file
+     * found (recursively, in source sort order) in the given directory.
+     */
+    private List<URL> corpusDocuments(URL corpus) {
+        if (URLUtil.parseProtocol(corpus.toString()) != URLProtocol.FILE || !URLUtil.getFileFromURL(corpus).isDirectory()) {
+            return Collections.singletonList(corpus);
+        }
+
+        List<URL> documents = new ArrayList<>();
+        collectCorpusDocuments(URLUtil.getFileFromURL(corpus), documents);
+        return documents;
+    }
+
+    private void collectCorpusDocuments(File directory, List<URL> documents) {
+        GenerationConfig config = ruleFactory.getGenerationConfig();
+
+        List<File> files = new ArrayList<>(Arrays.asList(directory.listFiles(config.getFileFilter())));
+        Collections.sort(files, config.getSourceSortOrder().getComparator());
+
+        for (File file : files) {
+            if (file.isDirectory()) {
+                collectCorpusDocuments(file, documents);
+            } else {
+                try {
+                    documents.add(file.toURI().toURL());
+                } catch (MalformedURLException e) {
+                    throw new GenerationException("Could not read " + file.getAbsolutePath(), e);
+                }
+            }
+        }
+    }
+
     private ObjectMapper objectMapper() {
         return new ObjectMapper()
                 .enable(JsonParser.Feature.ALLOW_COMMENTS)
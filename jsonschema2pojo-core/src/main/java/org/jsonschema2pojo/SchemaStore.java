@@ -20,14 +20,44 @@ import static org.apache.commons.lang3.StringUtils.*;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
+/**
+ * Creates and caches {@link Schema} instances by id. This class is safe for use
+ * by many threads at once: lookups do not block, and when several threads ask
+ * for the same document at the same time it is fetched and parsed only once,
+ * with every other caller waiting for that result.
+ */
 public class SchemaStore {
 
-    protected final Map<URI, Schema> schemas = new HashMap<>();
+    protected final ConcurrentMap<URI, Schema> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * Parsed content of each schema document read so far, keyed by the
+     * document URI (without fragment). Many $refs point at different fragments
+     * of the same document, so the document is only fetched and parsed once.
+     * A future is stored as soon as loading starts so that concurrent requests
+     * for a document that is still being read wait on the same load.
+     */
+    protected final ConcurrentMap<URI, Future<JsonNode>> documents = new ConcurrentHashMap<>();
+
+    /**
+     * Schemas for fragments of documents that have no id, keyed by the
+     * document they belong to and then by fragment id. Such documents all
+     * share fragment ids like <code>#/definitions/foo</code>, so the fragment
+     * id alone does not identify the schema.
+     */
+    protected final ConcurrentMap<Schema, ConcurrentMap<URI, Schema>> fragments = new ConcurrentHashMap<>();
+
+    private final AtomicLong documentCacheHits = new AtomicLong();
+    private final AtomicLong documentCacheMisses = new AtomicLong();
 
     protected final FragmentResolver fragmentResolver = new FragmentResolver();
     protected final ContentResolver contentResolver;
@@ -51,26 +81,89 @@ public class SchemaStore {
      *                                  that should act as path delimiters when resolving $ref fragments.
      * @return a schema object containing the contents of the given path
      */
-    public synchronized Schema create(URI id, String refFragmentPathDelimiters) {
+    public Schema create(URI id, String refFragmentPathDelimiters) {
 
         URI normalizedId = id.normalize();
 
-        if (!schemas.containsKey(normalizedId)) {
+        Schema schema = schemas.get(normalizedId);
+        if (schema != null) {
+            return schema;
+        }
+
+        URI baseId = removeFragment(id).normalize();
+        JsonNode baseContent = resolveDocument(baseId);
 
-            URI baseId = removeFragment(id).normalize();
-            JsonNode baseContent = contentResolver.resolve(baseId);
+        Schema baseSchema = new Schema(baseId, baseContent, null);
 
-            Schema baseSchema = new Schema(baseId, baseContent, null);
+        if (normalizedId.toString().contains("#")) {
+            JsonNode childContent = fragmentResolver.resolve(baseContent, '#' + id.getFragment(), refFragmentPathDelimiters);
+            schema = new Schema(normalizedId, childContent, baseSchema);
+        } else {
+            schema = baseSchema;
+        }
+
+        // if another thread got here first, everyone must share its instance
+        Schema existing = schemas.putIfAbsent(normalizedId, schema);
+        return existing != null ? existing : schema;
+    }
 
-            if (normalizedId.toString().contains("#")) {
-                JsonNode childContent = fragmentResolver.resolve(baseContent, '#' + id.getFragment(), refFragmentPathDelimiters);
-                schemas.put(normalizedId, new Schema(normalizedId, childContent, baseSchema));
+    /**
+     * Read the schema document with the given (fragment-free) id, reusing the
+     * previously parsed content if this document has already been read. If
+     * the document is currently being read by another thread, this method
+     * waits for that read to complete. A failed read is not cached.
+     *
+     * @param baseId
+     *            the id of the document, without any fragment
+     * @return the parsed content of the document
+     */
+    protected JsonNode resolveDocument(final URI baseId) {
+        Future<JsonNode> document = documents.get(baseId);
+
+        if (document == null) {
+            FutureTask<JsonNode> task = new FutureTask<>(() -> contentResolver.resolve(baseId));
+            document = documents.putIfAbsent(baseId, task);
+            if (document == null) {
+                documentCacheMisses.incrementAndGet();
+                document = task;
+                task.run();
             } else {
-                schemas.put(normalizedId, baseSchema);
+                documentCacheHits.incrementAndGet();
+            }
+        } else {
+            documentCacheHits.incrementAndGet();
+        }
+
+        try {
+            return document.get();
+        } catch (ExecutionException e) {
+            documents.remove(baseId, document);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
             }
+            throw new IllegalArgumentException("Unable to read schema: " + baseId, cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading schema: " + baseId, e);
         }
+    }
 
-        return schemas.get(normalizedId);
+    /**
+     * @return the number of times a schema document was served from the parsed
+     *         document cache rather than being read again
+     */
+    public long getDocumentCacheHits() {
+        return documentCacheHits.get();
+    }
+
+    /**
+     * @return the number of times a schema document had to be read and parsed
+     */
+    public long getDocumentCacheMisses() {
+        return documentCacheMisses.get();
     }
 
     protected URI removeFragment(URI id) {
@@ -126,10 +219,17 @@ public class SchemaStore {
         }
 
         if (selfReferenceWithoutParentFile(parent, path) || substringBefore(stringId, "#").isEmpty()) {
-            JsonNode parentContent = parent.getParent().getContent();
-            Schema schema = new Schema(id, fragmentResolver.resolve(parentContent, path, refFragmentPathDelimiters), parent.getParent());
-            schemas.put(id, schema);
-            return schema;
+            Schema document = parent.getParent();
+            ConcurrentMap<URI, Schema> documentFragments = fragments.computeIfAbsent(document, d -> new ConcurrentHashMap<>());
+
+            Schema existing = documentFragments.get(id);
+            if (existing != null) {
+                return existing;
+            }
+
+            Schema schema = new Schema(id, fragmentResolver.resolve(document.getContent(), path, refFragmentPathDelimiters), document);
+            existing = documentFragments.putIfAbsent(id, schema);
+            return existing != null ? existing : schema;
         }
 
         return create(id, refFragmentPathDelimiters);
@@ -140,8 +240,11 @@ public class SchemaStore {
         return parent != null && (parent.getId() == null || parent.getId().toString().startsWith("#/")) && path.startsWith("#/");
     }
 
-    public synchronized void clearCache() {
+    public void clearCache() {
         schemas.clear();
+        fragments.clear();
+        documents.clear();
+        fragmentResolver.clearCache();
     }
 
 }
@@ -43,5 +43,14 @@ public enum SourceType {
      * YAML documents, that represent an example of the kind of YAML (or JSON) data that
      * the generated Java types will be mapped to.
      */
-    YAML
+    YAML,
+
+    /**
+     * Collections of JSON documents, that together represent examples of the
+     * kind of JSON data that the generated Java types will be mapped to. Each
+     * source (either a file holding one or more documents, such as
+     * newline-delimited JSON, or a directory of such files) produces a single
+     * type, inferred from all of its documents.
+     */
+    JSONCORPUS
 }
@@ -0,0 +1,262 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.rules;
+
+import static com.sun.codemodel.JMod.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.exception.GenerationException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
+
+/**
+ * Base class for the rules that add reflection-free serializers to a
+ * generated class, for a particular mapping library.
+ * <p>
+ * The serializers are nested in the class so that they can use its fields
+ * whether or not it has accessors, and work through the properties declared
+ * by the class's own schema, delegating inherited properties to the
+ * serializers of its (generated) superclass.
+ */
+public abstract class AbstractSerializersRule implements Rule<JDefinedClass, JDefinedClass> {
+
+    protected final RuleFactory ruleFactory;
+
+    protected AbstractSerializersRule(RuleFactory ruleFactory) {
+        this.ruleFactory = ruleFactory;
+    }
+
+    /**
+     * Applies this schema rule to take the required code generation steps.
+     * <p>
+     * Classes that extend a type which is not generated (other than
+     * {@link Object}) are left to the library's reflective serialization,
+     * since the properties of their superclass are unknown.
+     *
+     * @param nodeName
+     *            the name of the schema node for which the class was generated
+     * @param node
+     *            the object schema
+     * @param parent
+     *            the parent node
+     * @param jclass
+     *            the generated class, with all of its properties
+     * @return the given class
+     */
+    @Override
+    public JDefinedClass apply(String nodeName, JsonNode node, JsonNode parent, JDefinedClass jclass, Schema schema) {
+
+        if (!isSupported(jclass)) {
+            ruleFactory.getLogger().debug("Not generating serializers for " + jclass.fullName() + ", it extends " + jclass._extends().fullName());
+            return jclass;
+        }
+
+        List<Property> properties = properties(jclass, node.get("properties"), schema);
+        JFieldVar additionalProperties = additionalPropertiesField(jclass);
+        JDefinedClass superClass = jclass._extends() instanceof JDefinedClass ? (JDefinedClass) jclass._extends() : null;
+
+        addSerializers(jclass, properties, additionalProperties, superClass);
+
+        return jclass;
+    }
+
+    /**
+     * Adds the serializers to a class, and registers them with the
+     * {@link org.jsonschema2pojo.util.SerializerRegistry}.
+     *
+     * @param jclass
+     *            the generated class
+     * @param properties
+     *            the properties declared by the class's own schema, in
+     *            declaration order
+     * @param additionalProperties
+     *            the field holding additional properties (possibly inherited),
+     *            or null if the class has none
+     * @param superClass
+     *            the generated superclass, or null if the class extends
+     *            {@link Object}
+     */
+    protected abstract void addSerializers(JDefinedClass jclass, List<Property> properties, JFieldVar additionalProperties, JDefinedClass superClass);
+
+    /**
+     * Whether every superclass of the given class is generated (the rule is
+     * applied to each generated class, so each will have serializers).
+     */
+    private static boolean isSupported(JDefinedClass jclass) {
+        JClass superClass = jclass._extends();
+        if (superClass == null || superClass.fullName().equals(Object.class.getName())) {
+            return true;
+        }
+        return superClass instanceof JDefinedClass
+                && ((JDefinedClass) superClass).getClassType() == ClassType.CLASS
+                && isSupported((JDefinedClass) superClass);
+    }
+
+    /**
+     * Finds the field holding additional properties in the given class or its
+     * superclasses. Only generated classes are searched, the chain of a
+     * supported class ends at {@link Object}.
+     */
+    private static JFieldVar additionalPropertiesField(JDefinedClass jclass) {
+        for (JClass c = jclass; c instanceof JDefinedClass; c = c._extends()) {
+            JFieldVar field = ((JDefinedClass) c).fields().get("additionalProperties");
+            if (field != null) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets a serializer nested in the given class, creating it if necessary. A
+     * subclass may refer to the serializers of its superclass before the rule
+     * has been applied to the superclass.
+     *
+     * @param jclass
+     *            the generated class
+     * @param name
+     *            the name of the nested class
+     * @param superClass
+     *            the library's (generic) base class for serializers, which the
+     *            nested class extends with the generated class as its type
+     *            argument
+     * @return the nested class
+     */
+    protected JDefinedClass nestedClass(JDefinedClass jclass, String name, Class<?> superClass) {
+        return nestedClass(jclass, name, superClass.getName());
+    }
+
+    /**
+     * Gets a serializer nested in the given class, as
+     * {@link #nestedClass(JDefinedClass, String, Class)}, for a library that
+     * may not be on the classpath.
+     */
+    protected JDefinedClass nestedClass(JDefinedClass jclass, String name, String superClassName) {
+        for (Iterator<JDefinedClass> classes = jclass.classes(); classes.hasNext();) {
+            JDefinedClass nestedClass = classes.next();
+            if (nestedClass.name().equals(name)) {
+                if (!nestedClass._extends().erasure().fullName().equals(superClassName)) {
+                    throw new GenerationException("Unable to generate serializers for " + jclass.fullName() + ", it already has a nested type named " + name);
+                }
+                return nestedClass;
+            }
+        }
+
+        try {
+            JDefinedClass nestedClass = jclass._class(PUBLIC | STATIC, name);
+            nestedClass._extends(jclass.owner().ref(superClassName).narrow(jclass));
+            return nestedClass;
+        } catch (JClassAlreadyExistsException e) {
+            throw new GenerationException("Unable to generate serializers for " + jclass.fullName() + ", it already has a nested type named " + name, e);
+        }
+    }
+
+    private List<Property> properties(JDefinedClass jclass, JsonNode propertiesNode, Schema schema) {
+        List<Property> properties = new ArrayList<>();
+        if (propertiesNode == null) {
+            return properties;
+        }
+
+        for (Iterator<Map.Entry<String, JsonNode>> entries = propertiesNode.fields(); entries.hasNext();) {
+            Map.Entry<String, JsonNode> entry = entries.next();
+            JFieldVar field = jclass.fields().get(ruleFactory.getNameHelper().getPropertyName(entry.getKey(), entry.getValue()));
+            if (field != null && (field.mods().getValue() & STATIC) == 0) {
+                properties.add(new Property(entry.getKey(), field, resolveRefs(entry.getValue(), schema)));
+            }
+        }
+        return properties;
+    }
+
+    private JsonNode resolveRefs(JsonNode node, Schema parent) {
+        if (node.has("$ref")) {
+            Schema refSchema = ruleFactory.getSchemaStore().create(parent, node.get("$ref").asText(), ruleFactory.getGenerationConfig().getRefFragmentPathDelimiters());
+            return resolveRefs(refSchema.getContent(), parent);
+        } else {
+            return node;
+        }
+    }
+
+    /**
+     * Gets the type of the values held by the additional properties map.
+     */
+    protected static JClass additionalPropertiesValueType(JFieldVar additionalProperties) {
+        return ((JClass) additionalProperties.type()).getTypeParameters().get(1);
+    }
+
+    protected static boolean isParameterized(JType type) {
+        return type instanceof JClass && !((JClass) type).getTypeParameters().isEmpty();
+    }
+
+    protected static String constantName(String fieldName) {
+        return fieldName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+    }
+
+    /**
+     * Passes the parameters of one generated method on to another.
+     */
+    protected static JInvocation withArgs(JInvocation invocation, List<JVar> args) {
+        for (JVar arg : args) {
+            invocation.arg(arg);
+        }
+        return invocation;
+    }
+
+    /**
+     * Gets a method declared by a generated class, by name alone.
+     *
+     * @return the first method with the given name, or null if there is none
+     */
+    protected static JMethod methodNamed(JDefinedClass jclass, String name) {
+        for (JMethod method : jclass.methods()) {
+            if (method.name().equals(name)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A property declared by the schema of a generated class.
+     */
+    protected static final class Property {
+
+        protected final String name;
+        protected final JFieldVar field;
+        protected final JsonNode node;
+
+        private Property(String name, JFieldVar field, JsonNode node) {
+            this.name = name;
+            this.field = field;
+            this.node = node;
+        }
+    }
+
+}
@@ -16,6 +16,7 @@
 
 package org.jsonschema2pojo.rules;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -29,6 +30,7 @@ import org.jsonschema2pojo.Schema;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.sun.codemodel.JBlock;
 import com.sun.codemodel.JClass;
+import com.sun.codemodel.JConditional;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JExpr;
 import com.sun.codemodel.JFieldVar;
@@ -74,6 +76,16 @@ public class AdditionalPropertiesRule implements Rule<JDefinedClass, JDefinedCla
      * additionalProperties schema provided. If the schema does not specify the
      * javaType property, the name of the newly generated type will be derived
      * from the nodeName and the suffix 'Property'.
+     * <p>
+     * If lazy additional properties are enabled, the map is only allocated by
+     * the first call to <code>setAdditionalProperty</code>, and
+     * <code>getAdditionalProperties</code> returns an immutable empty map until
+     * then.
+     * <p>
+     * If immutable classes are enabled, the map is final and only filled
+     * during deserialization: <code>setAdditionalProperty</code> is private,
+     * <code>getAdditionalProperties</code> returns an unmodifiable view and no
+     * builder is added.
      *
      * @param nodeName
      *            the name of the schema node for which the additionalProperties
@@ -115,18 +127,20 @@ public class AdditionalPropertiesRule implements Rule<JDefinedClass, JDefinedCla
             propertyType = jclass.owner().ref(Object.class);
         }
 
-        JFieldVar field = addAdditionalPropertiesField(jclass, propertyType);
+        JClass propertiesMapImplType = getPropertiesMapImplType(jclass, propertyType);
+
+        JFieldVar field = addAdditionalPropertiesField(jclass, propertyType, propertiesMapImplType);
 
         addGetter(jclass, field);
 
-        addSetter(jclass, propertyType, field);
+        addSetter(jclass, propertyType, field, propertiesMapImplType);
 
         if (ruleFactory.getGenerationConfig().isIncludeJsr303Annotations()) {
             System.out.println("Branch ID: A6");
             ruleFactory.getValidRule().apply(nodeName, node, parent, field, schema);
         }
 
-        if (ruleFactory.getGenerationConfig().isGenerateBuilders()) {
+        if (ruleFactory.getGenerationConfig().isGenerateBuilders() && !isImmutable()) {
             System.out.println("Branch ID: A7");
             addBuilder(jclass, propertyType, field);
         }
@@ -134,30 +148,41 @@ public class AdditionalPropertiesRule implements Rule<JDefinedClass, JDefinedCla
         return jclass;
     }
 
-    private JFieldVar addAdditionalPropertiesField(JDefinedClass jclass, JType propertyType) {
+    private JClass getPropertiesMapImplType(JDefinedClass jclass, JType propertyType) {
+        String mapType = ruleFactory.getGenerationConfig().getAdditionalPropertiesMapType();
+
+        JClass propertiesMapImplType = mapType != null ? jclass.owner().ref(mapType) : jclass.owner().ref(HashMap.class);
+        return propertiesMapImplType.narrow(jclass.owner().ref(String.class), propertyType.boxify());
+    }
+
+    private JFieldVar addAdditionalPropertiesField(JDefinedClass jclass, JType propertyType, JClass propertiesMapImplType) {
         JClass propertiesMapType = jclass.owner().ref(Map.class);
         propertiesMapType = propertiesMapType.narrow(jclass.owner().ref(String.class), propertyType.boxify());
 
-        JClass propertiesMapImplType = jclass.owner().ref(HashMap.class);
-        propertiesMapImplType = propertiesMapImplType.narrow(jclass.owner().ref(String.class), propertyType.boxify());
-
-        JFieldVar field = jclass.field(JMod.PRIVATE, propertiesMapType, "additionalProperties");
+        JFieldVar field = jclass.field(isImmutable() ? JMod.PRIVATE | JMod.FINAL : JMod.PRIVATE, propertiesMapType, "additionalProperties");
 
         ruleFactory.getAnnotator().additionalPropertiesField(field, jclass, "additionalProperties");
 
-        field.init(JExpr._new(propertiesMapImplType));
+        if (!isLazy()) {
+            field.init(JExpr._new(propertiesMapImplType));
+        }
 
         return field;
     }
 
-    private void addSetter(JDefinedClass jclass, JType propertyType, JFieldVar field) {
-        JMethod setter = jclass.method(JMod.PUBLIC, void.class, "setAdditionalProperty");
+    private void addSetter(JDefinedClass jclass, JType propertyType, JFieldVar field, JClass propertiesMapImplType) {
+        JMethod setter = jclass.method(isImmutable() ? JMod.PRIVATE : JMod.PUBLIC, void.class, "setAdditionalProperty");
 
         ruleFactory.getAnnotator().anySetter(setter, jclass);
 
         JVar nameParam = setter.param(String.class, "name");
         JVar valueParam = setter.param(propertyType, "value");
 
+        if (isLazy()) {
+            JConditional unallocated = setter.body()._if(JExpr._this().ref(field).eq(JExpr._null()));
+            unallocated._then().assign(JExpr._this().ref(field), JExpr._new(propertiesMapImplType));
+        }
+
         JInvocation mapInvocation = setter.body().invoke(JExpr._this().ref(field), "put");
         mapInvocation.arg(nameParam);
         mapInvocation.arg(valueParam);
@@ -168,7 +193,16 @@ public class AdditionalPropertiesRule implements Rule<JDefinedClass, JDefinedCla
 
         ruleFactory.getAnnotator().anyGetter(getter, jclass);
 
-        getter.body()._return(JExpr._this().ref(field));
+        if (isLazy()) {
+            JConditional unallocated = getter.body()._if(JExpr._this().ref(field).eq(JExpr._null()));
+            unallocated._then()._return(jclass.owner().ref(Collections.class).staticInvoke("emptyMap"));
+        }
+
+        if (isImmutable()) {
+            getter.body()._return(jclass.owner().ref(Collections.class).staticInvoke("unmodifiableMap").arg(JExpr._this().ref(field)));
+        } else {
+            getter.body()._return(JExpr._this().ref(field));
+        }
         return getter;
     }
 
@@ -191,7 +225,9 @@ public class AdditionalPropertiesRule implements Rule<JDefinedClass, JDefinedCla
         JVar valueParam = builder.param(propertyType, "value");
 
         JBlock body = builder.body();
-        JInvocation mapInvocation = body.invoke(JExpr._this().ref(field), "put");
+        JInvocation mapInvocation = isLazy()
+                ? body.invoke(JExpr._this(), "setAdditionalProperty")
+                : body.invoke(JExpr._this().ref(field), "put");
         mapInvocation.arg(nameParam);
         mapInvocation.arg(valueParam);
         body._return(JExpr._this());
@@ -211,7 +247,9 @@ public class AdditionalPropertiesRule implements Rule<JDefinedClass, JDefinedCla
         JVar valueParam = builder.param(propertyType, "value");
 
         JBlock body = builder.body();
-        JInvocation mapInvocation = body.invoke(JExpr.ref(JExpr.cast(jclass, JExpr._this().ref("instance")), field), "put");
+        JInvocation mapInvocation = isLazy()
+                ? body.invoke(JExpr.cast(jclass, JExpr._this().ref("instance")), "setAdditionalProperty")
+                : body.invoke(JExpr.ref(JExpr.cast(jclass, JExpr._this().ref("instance")), field), "put");
         mapInvocation.arg(nameParam);
         mapInvocation.arg(valueParam);
         body._return(JExpr._this());
@@ -219,6 +257,15 @@ public class AdditionalPropertiesRule implements Rule<JDefinedClass, JDefinedCla
         return builder;
     }
 
+    private boolean isLazy() {
+        // a final map can't be allocated lazily
+        return ruleFactory.getGenerationConfig().isLazyAdditionalProperties() && !isImmutable();
+    }
+
+    private boolean isImmutable() {
+        return ruleFactory.getGenerationConfig().isImmutable();
+    }
+
     private String getBuilderClassName(JDefinedClass c) {
         return ruleFactory.getNameHelper().getBuilderClassName(c);
     }
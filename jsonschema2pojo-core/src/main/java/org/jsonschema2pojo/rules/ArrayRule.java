@@ -61,6 +61,10 @@ public class ArrayRule implements Rule<JPackage, JClass> {
      * </pre>
      * </p>
      *
+     * <p>If primitive arrays are enabled, an array (without "uniqueItems") of
+     * non-nullable integers or numbers is mapped to an array of the primitive
+     * item type instead, e.g. {@code double[]}.</p>
+     *
      * @param nodeName
      *            the name of the property which has type "array"
      * @param node
@@ -70,7 +74,8 @@ public class ArrayRule implements Rule<JPackage, JClass> {
      * @param jpackage
      *            the package into which newly generated types should be added
      * @return the Java type associated with this array rule, either {@link Set}
-     *         or {@link List}, narrowed by the "items" type
+     *         or {@link List}, narrowed by the "items" type, or a primitive
+     *         array
      */
     @Override
     public JClass apply(String nodeName, JsonNode node, JsonNode parent, JPackage jpackage, Schema schema) {
@@ -88,6 +93,8 @@ public class ArrayRule implements Rule<JPackage, JClass> {
         JClass arrayType;
         if (uniqueItems) {
             arrayType = jpackage.owner().ref(Set.class).narrow(itemType);
+        } else if (ruleFactory.getGenerationConfig().isUsePrimitiveArrays() && isPrimitiveNumber(itemType) && !TypeRule.isNullable(node.get("items"))) {
+            arrayType = itemType.unboxify().array();
         } else {
             arrayType = jpackage.owner().ref(List.class).narrow(itemType);
         }
@@ -99,6 +106,11 @@ public class ArrayRule implements Rule<JPackage, JClass> {
         return arrayType;
     }
 
+    private boolean isPrimitiveNumber(JType itemType) {
+        JType primitiveType = itemType.unboxify();
+        return primitiveType.isPrimitive() && !primitiveType.name().equals("boolean") && !primitiveType.name().equals("char");
+    }
+
     private String makeSingular(String nodeName) {
         return Inflector.getInstance().singularize(nodeName);
     }
@@ -56,6 +56,7 @@ public class BuilderRule implements Rule<JDefinedClass, JDefinedClass> {
     } catch (JClassAlreadyExistsException e) {
       return e.getExistingClass();
     }
+    reflectionHelper.registerBuilderClass(instanceClass, builderClass);
 
     // Determine which builder (if any) this builder should inherit from
     JClass parentBuilderClass = null;
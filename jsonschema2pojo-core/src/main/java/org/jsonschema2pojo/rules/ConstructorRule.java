@@ -17,23 +17,30 @@
 package org.jsonschema2pojo.rules;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.sun.codemodel.JAnnotationArrayMember;
 import com.sun.codemodel.JBlock;
 import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
 import com.sun.codemodel.JConditional;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JInvocation;
 import com.sun.codemodel.JMethod;
 import com.sun.codemodel.JMod;
+import com.sun.codemodel.JOp;
+import com.sun.codemodel.JType;
 import com.sun.codemodel.JVar;
 
 import java.beans.ConstructorProperties;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -62,7 +69,9 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
   public JDefinedClass apply(String nodeName, JsonNode node, JsonNode parent, JDefinedClass instanceClass, Schema currentSchema) {
     GenerationConfig generationConfig = ruleFactory.getGenerationConfig();
 
-    if (generationConfig.isConstructorsRequiredPropertiesOnly()) {
+    if (generationConfig.isImmutable() || ruleFactory.getRecordRegistry().isRecord(instanceClass)) {
+      handleImmutableConfiguration(node, instanceClass, currentSchema);
+    } else if (generationConfig.isConstructorsRequiredPropertiesOnly()) {
       handleLegacyConfiguration(node, instanceClass, currentSchema);
     } else {
       handleMultiChoiceConstructorConfiguration(node, instanceClass, currentSchema);
@@ -91,6 +100,71 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
     return instanceClass;
   }
 
+  private void handleImmutableConfiguration(JsonNode node, JDefinedClass instanceClass, Schema currentSchema) {
+    // The final fields of an immutable class are all set by the same constructor, which is also used
+    // for deserialization in place of the no arguments constructor and setters
+    LinkedHashSet<String> classProperties = getConstructorProperties(node, false);
+    LinkedHashSet<String> combinedSuperProperties = getSuperTypeConstructorPropertiesRecursive(node, currentSchema, false);
+
+    if (classProperties.isEmpty() && combinedSuperProperties.isEmpty()) {
+      if (ruleFactory.getGenerationConfig().isGenerateBuilders()) {
+        generateImmutableBuilder(instanceClass, Collections.<JVar>emptyList(), Collections.<String, Entry<String, JsonNode>>emptyMap());
+      }
+      return;
+    }
+
+    // the only constructor of a record is its canonical constructor
+    if (ruleFactory.getGenerationConfig().isIncludeCopyConstructor() && !ruleFactory.getRecordRegistry().isRecord(instanceClass)) {
+      generateCopyConstructor(instanceClass, classProperties, combinedSuperProperties);
+    }
+
+    JMethod instanceConstructor = generateFieldsConstructor(instanceClass, classProperties, combinedSuperProperties, getPropertyNodes(node, currentSchema));
+
+    Map<String, Entry<String, JsonNode>> jsonProperties = getJsonPropertiesRecursive(node, currentSchema);
+    List<String> creatorPropertyNames = new ArrayList<>();
+    for (JVar param : instanceConstructor.params()) {
+      creatorPropertyNames.add(jsonProperties.get(param.name()).getKey());
+    }
+    ruleFactory.getAnnotator().propertyCreator(instanceConstructor, instanceClass, creatorPropertyNames);
+
+    if (ruleFactory.getGenerationConfig().isGenerateBuilders()) {
+      generateImmutableBuilder(instanceClass, instanceConstructor.params(), jsonProperties);
+    }
+  }
+
+  /**
+   * A builder can't set the final fields of an immutable class (or record), so its builder collects a value for each
+   * parameter of the constructor and invokes the constructor when built. The builder of a subclass takes the values
+   * of the super properties too, rather than extending the builder of the superclass.
+   *
+   * @param jsonProperties
+   *          the JSON property name and schema of each constructor parameter, by parameter name
+   */
+  private void generateImmutableBuilder(JDefinedClass instanceClass, List<JVar> constructorParams, Map<String, Entry<String, JsonNode>> jsonProperties) {
+    NameHelper nameHelper = ruleFactory.getNameHelper();
+
+    JDefinedClass builderClass;
+    try {
+      builderClass = instanceClass._class(JMod.PUBLIC | JMod.STATIC, nameHelper.getBuilderClassName(instanceClass));
+    } catch (JClassAlreadyExistsException e) {
+      return;
+    }
+
+    JInvocation instanceConstructorInvocation = JExpr._new(instanceClass);
+    for (JVar param : constructorParams) {
+      JFieldVar field = builderClass.field(JMod.PRIVATE, param.type(), param.name());
+      instanceConstructorInvocation.arg(JExpr._this().ref(field));
+
+      Entry<String, JsonNode> jsonProperty = jsonProperties.get(param.name());
+      JMethod builderMethod = builderClass.method(JMod.PUBLIC, builderClass, nameHelper.getBuilderName(jsonProperty.getKey(), jsonProperty.getValue()));
+      JVar value = builderMethod.param(param.type(), param.name());
+      builderMethod.body().assign(JExpr._this().ref(field), value);
+      builderMethod.body()._return(JExpr._this());
+    }
+
+    builderClass.method(JMod.PUBLIC, instanceClass, "build").body()._return(instanceConstructorInvocation);
+  }
+
   private void handleMultiChoiceConstructorConfiguration(JsonNode node, JDefinedClass instanceClass, Schema currentSchema) {
     // Use this flag to keep track of whether or not we'll actually need to generate any constructors
     boolean requiresConstructors = false;
@@ -257,6 +331,54 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
     return rtn;
   }
 
+  /**
+   * Retrieve the (resolved) schema of each property listed in node["properties"], by property name
+   */
+  private Map<String, JsonNode> getPropertyNodes(JsonNode node, Schema schema) {
+    Map<String, JsonNode> rtn = new HashMap<>();
+    if (!node.has("properties")) {
+      return rtn;
+    }
+
+    NameHelper nameHelper = ruleFactory.getNameHelper();
+    for (Iterator<Entry<String, JsonNode>> properties = node.get("properties").fields(); properties.hasNext(); ) {
+      Map.Entry<String, JsonNode> property = properties.next();
+      rtn.put(nameHelper.getPropertyName(property.getKey(), property.getValue()), resolveRefs(property.getValue(), schema));
+    }
+    return rtn;
+  }
+
+  /**
+   * Recursive, walks the schema tree and maps the name of each property of this schema and its super schemas to
+   * the name and schema of the JSON property
+   */
+  private Map<String, Entry<String, JsonNode>> getJsonPropertiesRecursive(JsonNode node, Schema schema) {
+    Map<String, Entry<String, JsonNode>> rtn = new HashMap<>();
+
+    Schema superTypeSchema = reflectionHelper.getSuperSchema(node, schema, true);
+    if (superTypeSchema != null) {
+      rtn.putAll(getJsonPropertiesRecursive(superTypeSchema.getContent(), superTypeSchema));
+    }
+
+    if (node.has("properties")) {
+      NameHelper nameHelper = ruleFactory.getNameHelper();
+      for (Iterator<Entry<String, JsonNode>> properties = node.get("properties").fields(); properties.hasNext(); ) {
+        Map.Entry<String, JsonNode> property = properties.next();
+        rtn.put(nameHelper.getPropertyName(property.getKey(), property.getValue()), property);
+      }
+    }
+    return rtn;
+  }
+
+  private JsonNode resolveRefs(JsonNode node, Schema parent) {
+    if (node.has("$ref")) {
+      Schema refSchema = ruleFactory.getSchemaStore().create(parent, node.get("$ref").asText(), ruleFactory.getGenerationConfig().getRefFragmentPathDelimiters());
+      return resolveRefs(refSchema.getContent(), parent);
+    } else {
+      return node;
+    }
+  }
+
   /**
    * Recursive, walks the schema tree and assembles a list of all properties of this schema's super schemas
    */
@@ -355,6 +477,16 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
   }
 
   private JMethod generateFieldsConstructor(JDefinedClass jclass, Set<String> classProperties, Set<String> combinedSuperProperties) {
+    return generateFieldsConstructor(jclass, classProperties, combinedSuperProperties, null);
+  }
+
+  /**
+   * @param propertyNodes
+   *          the schema of each class property, if the class is immutable (so that the constructor applies defaults
+   *          and copies mutable values), or null if the parameters are assigned as given
+   */
+  private JMethod generateFieldsConstructor(JDefinedClass jclass, Set<String> classProperties, Set<String> combinedSuperProperties,
+      Map<String, JsonNode> propertyNodes) {
     // add the public constructor with property parameters
     JMethod fieldsConstructor = jclass.constructor(JMod.PUBLIC);
 
@@ -369,7 +501,8 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
     }
 
     JBlock constructorBody = fieldsConstructor.body();
-    JInvocation superInvocation = constructorBody.invoke("super");
+    // a record can't invoke the constructor of its (implicit) superclass
+    JInvocation superInvocation = ruleFactory.getRecordRegistry().isRecord(jclass) ? null : constructorBody.invoke("super");
 
     Map<String, JFieldVar> fields = jclass.fields();
     Map<String, JVar> classFieldParams = new HashMap<>();
@@ -389,7 +522,7 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
 
       JVar param = fieldsConstructor.param(field.type(), field.name());
       constructorBody.assign(JExpr._this()
-          .ref(field), param);
+          .ref(field), propertyNodes == null ? param : immutableValue(field, param, propertyNodes.get(property)));
       classFieldParams.put(property, param);
     }
 
@@ -417,13 +550,66 @@ public class ConstructorRule implements Rule<JDefinedClass, JDefinedClass> {
       superConstructorParams.add(param);
     }
 
-    for (JVar param : superConstructorParams) {
-      superInvocation.arg(param);
+    if (superInvocation != null) {
+      for (JVar param : superConstructorParams) {
+        superInvocation.arg(param);
+      }
     }
 
     return fieldsConstructor;
   }
 
+  /**
+   * The value assigned to the field of an immutable class: the default value when the parameter is null, otherwise
+   * an unmodifiable copy of collections and a copy of arrays, so that the caller can't change the instance.
+   */
+  private JExpression immutableValue(JFieldVar field, JVar param, JsonNode propertyNode) {
+    JType fieldType = field.type();
+    if (fieldType.isPrimitive()) {
+      return param;
+    }
+
+    JsonNode defaultNode = propertyNode == null ? null : propertyNode.get("default");
+    JExpression defaultValue = defaultNode != null && defaultNode.isNull() ? null : new DefaultRule(ruleFactory).getInitialValue(fieldType, defaultNode);
+    JExpression value;
+
+    // collections only have a default (rather than null) if it's given or collections are initialized
+    boolean hasCollectionDefault = defaultValue != null
+        && ((defaultNode instanceof ArrayNode && defaultNode.size() > 0) || ruleFactory.getGenerationConfig().isInitializeCollections());
+
+    if (fieldType.isArray()) {
+      value = param.invoke("clone");
+      defaultValue = hasCollectionDefault ? defaultValue : null;
+    } else if (isCollection(fieldType, List.class)) {
+      value = unmodifiable(fieldType, "unmodifiableList", JExpr._new(copyType(fieldType, ArrayList.class)).arg(param));
+      defaultValue = hasCollectionDefault ? unmodifiable(fieldType, "unmodifiableList", defaultValue) : null;
+    } else if (isCollection(fieldType, Set.class)) {
+      value = unmodifiable(fieldType, "unmodifiableSet", JExpr._new(copyType(fieldType, LinkedHashSet.class)).arg(param));
+      defaultValue = hasCollectionDefault ? unmodifiable(fieldType, "unmodifiableSet", defaultValue) : null;
+    } else if (isCollection(fieldType, Map.class)) {
+      value = unmodifiable(fieldType, "unmodifiableMap", JExpr._new(copyType(fieldType, LinkedHashMap.class)).arg(param));
+    } else {
+      value = param;
+    }
+
+    if (defaultValue == null && value == param) {
+      return param;
+    }
+    return JOp.cond(param.eq(JExpr._null()), defaultValue == null ? JExpr._null() : defaultValue, value);
+  }
+
+  private static boolean isCollection(JType fieldType, Class<?> collectionClass) {
+    return fieldType.erasure().fullName().equals(collectionClass.getName());
+  }
+
+  private static JClass copyType(JType fieldType, Class<?> implClass) {
+    return fieldType.owner().ref(implClass).narrow(((JClass) fieldType).getTypeParameters());
+  }
+
+  private static JExpression unmodifiable(JType fieldType, String method, JExpression collection) {
+    return fieldType.owner().ref(Collections.class).staticInvoke(method).arg(collection);
+  }
+
   private void generateNoArgsConstructor(JDefinedClass jclass) {
     // add a no-args constructor for serialization purposes
     JMethod noargsConstructor = jclass.constructor(JMod.PUBLIC);
@@ -38,12 +38,14 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
 import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JArray;
 import com.sun.codemodel.JClass;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JExpr;
 import com.sun.codemodel.JExpression;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMod;
 import com.sun.codemodel.JType;
 import scala.annotation.meta.field;
 
@@ -99,31 +101,54 @@ public class DefaultRule implements Rule<JFieldVar, JFieldVar> {
     @Override
     public JFieldVar apply(String nodeName, JsonNode node, JsonNode parent, JFieldVar field, Schema currentSchema) {
 
+        JExpression initialValue = getInitialValue(field.type(), node);
+
+        // the fields of immutable classes (and records) are final, their constructor assigns the default instead
+        if (initialValue != null && (field.mods().getValue() & JMod.FINAL) == 0) {
+            field.init(initialValue);
+        }
+        return field;
+    }
+
+    /**
+     * Gets the expression that initializes a field to its default value.
+     *
+     * @param fieldType
+     *            the java type of the field
+     * @param node
+     *            the default node (may be null if no default node was present
+     *            for this property)
+     * @return the initial value of the field, or null if it has none
+     */
+    public JExpression getInitialValue(JType fieldType, JsonNode node) {
+
         //TODO Complexity = 9
         boolean defaultPresent = node != null && isNotEmpty(node.asText());
 
-        String fieldType = field.type().fullName();
+        String fieldTypeName = fieldType.fullName();
 
-        if (defaultPresent && !field.type().isPrimitive() && node.isNull()) {
+        if (defaultPresent && !fieldType.isPrimitive() && node.isNull()) {
             System.out.println("Branch ID: D1");
-            field.init(JExpr._null());
+            return JExpr._null();
 
-        } else if (fieldType.startsWith(List.class.getName())) {
+        } else if (fieldTypeName.startsWith(List.class.getName())) {
             System.out.println("Branch ID: D2");
-            field.init(getDefaultList(field.type(), node));
+            return getDefaultList(fieldType, node);
 
-        } else if (fieldType.startsWith(Set.class.getName())) {
+        } else if (fieldTypeName.startsWith(Set.class.getName())) {
             System.out.println("Branch ID: D3");
-            field.init(getDefaultSet(field.type(), node));
-        } else if (fieldType.startsWith(String.class.getName()) && node != null ) {
+            return getDefaultSet(fieldType, node);
+        } else if (fieldType.isArray() && ruleFactory.getGenerationConfig().isUsePrimitiveArrays()) {
+            return getDefaultArray(fieldType, node);
+        } else if (fieldTypeName.startsWith(String.class.getName()) && node != null ) {
             System.out.println("Branch ID: D4");
-            field.init(getDefaultValue(field.type(), node));
+            return getDefaultValue(fieldType, node);
         } else if (defaultPresent) {
             System.out.println("Branch ID: D5");
-            field.init(getDefaultValue(field.type(), node));
+            return getDefaultValue(fieldType, node);
 
         }
-        return field;
+        return null;
     }
 
     static JExpression getDefaultValue(JType fieldType, JsonNode node) {
@@ -157,6 +182,10 @@ public class DefaultRule implements Rule<JFieldVar, JFieldVar> {
             increaseAndPrint(1);
             return JExpr.lit(Integer.parseInt(value));
 
+        } else if (fieldType.fullName().equals(short.class.getName()) || fieldType.fullName().equals(byte.class.getName())) {
+            // there are no short or byte literals, so the int literal is narrowed
+            return JExpr.cast(fieldType, JExpr.lit(Integer.parseInt(value)));
+
         } else if (fieldType.fullName().equals(BigInteger.class.getName())) { //TODO done bigInt
             increaseAndPrint(2);
             return JExpr._new(fieldType).arg(JExpr.lit(value));
@@ -291,6 +320,35 @@ public class DefaultRule implements Rule<JFieldVar, JFieldVar> {
 
     }
 
+    /**
+     * Creates a default value for a (primitive) array property, holding the
+     * default values, or empty if collections are initialized.
+     *
+     * @param fieldType
+     *            the java type that applies for this field (an array)
+     * @param node
+     *            the node containing default values for this array
+     * @return an expression that creates a default value that can be assigned
+     *         to this field
+     */
+    private JExpression getDefaultArray(JType fieldType, JsonNode node) {
+
+        JType elementType = fieldType.elementType();
+
+        if (node instanceof ArrayNode && node.size() > 0) {
+            JArray newArray = JExpr.newArray(elementType);
+            for (JsonNode defaultValue : node) {
+                newArray.add(getDefaultValue(elementType, defaultValue));
+            }
+            return newArray;
+        } else if (!ruleFactory.getGenerationConfig().isInitializeCollections()) {
+            return JExpr._null();
+        }
+
+        return JExpr.newArray(elementType, 0);
+
+    }
+
     /**
      * @see EnumRule
      */
@@ -19,11 +19,14 @@ package org.jsonschema2pojo.rules;
 import static com.sun.codemodel.JExpr.*;
 import static com.sun.codemodel.JMod.*;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.jsonschema2pojo.Schema;
 import org.jsonschema2pojo.util.LanguageFeatures;
+import org.jsonschema2pojo.util.MethodSplitter;
 import org.jsonschema2pojo.util.Models;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -56,6 +59,10 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
     public static final String DEFINED_SETTER_NAME = "declaredProperty";
     public static final String DEFINED_GETTER_NAME = "declaredPropertyOrNotFound";
 
+    // estimated bytecode generated for each property, see MethodSplitter
+    private static final int GET_CASE_BYTES = 40;
+    private static final int SET_CASE_BYTES = 96;
+
     private RuleFactory ruleFactory;
 
     public DynamicPropertiesRule(RuleFactory ruleFactory) {
@@ -101,9 +108,11 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
             return jclass;
         }
 
+        // immutable classes have neither setters nor builders to delegate to
+        boolean isImmutable = ruleFactory.getGenerationConfig().isImmutable();
         boolean isIncludeGetters = ruleFactory.getGenerationConfig().isIncludeGetters();
-        boolean isIncludeSetters = ruleFactory.getGenerationConfig().isIncludeSetters();
-        boolean isGenerateBuilders = ruleFactory.getGenerationConfig().isGenerateBuilders();
+        boolean isIncludeSetters = ruleFactory.getGenerationConfig().isIncludeSetters() && !isImmutable;
+        boolean isGenerateBuilders = ruleFactory.getGenerationConfig().isGenerateBuilders() && !isImmutable;
 
         if (isIncludeGetters || isIncludeSetters || isGenerateBuilders) {
             if (LanguageFeatures.canUseJava7(ruleFactory.getGenerationConfig())) {
@@ -177,11 +186,13 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
         JMethod method = jclass.method(PROTECTED, jclass.owner()._ref(Object.class), DEFINED_GETTER_NAME);
         JVar nameParam = method.param(String.class, "name");
         JVar notFoundParam = method.param(jclass.owner()._ref(Object.class), "notFoundValue");
-        JBlock body = method.body();
-        JSwitch propertySwitch = body._switch(nameParam);
-        if (propertiesNode != null) {
-            for (Iterator<Map.Entry<String, JsonNode>> properties = propertiesNode.fields(); properties.hasNext();) {
-                Map.Entry<String, JsonNode> property = properties.next();
+
+        // the cases of large classes are spread over a chain of methods, each falling through to the next
+        List<List<Map.Entry<String, JsonNode>>> chunks = MethodSplitter.split(properties(propertiesNode), GET_CASE_BYTES);
+        JMethod chunkMethod = method;
+        for (int i = 0; i < chunks.size(); i++) {
+            JSwitch propertySwitch = chunkMethod.body()._switch(nameParam);
+            for (Map.Entry<String, JsonNode> property : chunks.get(i)) {
                 String propertyName = property.getKey();
                 JsonNode node = property.getValue();
                 String fieldName = ruleFactory.getNameHelper().getPropertyName(propertyName, node);
@@ -189,17 +200,29 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
 
                 addGetPropertyCase(jclass, propertySwitch, propertyName, propertyType, node);
             }
-        }
-        JClass extendsType = jclass._extends();
-        if (extendsType != null && extendsType instanceof JDefinedClass) {
-            JDefinedClass parentClass = (JDefinedClass) extendsType;
-            JMethod parentMethod = parentClass.getMethod(DEFINED_GETTER_NAME,
-                    new JType[] { parentClass.owner()._ref(String.class), parentClass.owner()._ref(Object.class) });
-            propertySwitch._default().body()
-            ._return(_super().invoke(parentMethod).arg(nameParam).arg(notFoundParam));
-        } else {
-            propertySwitch._default().body()
-            ._return(notFoundParam);
+
+            if (i < chunks.size() - 1) {
+                JMethod nextChunkMethod = jclass.method(PRIVATE, jclass.owner()._ref(Object.class), DEFINED_GETTER_NAME + (i + 1));
+                propertySwitch._default().body()
+                ._return(invoke(nextChunkMethod).arg(nameParam).arg(notFoundParam));
+
+                chunkMethod = nextChunkMethod;
+                nameParam = chunkMethod.param(String.class, "name");
+                notFoundParam = chunkMethod.param(jclass.owner()._ref(Object.class), "notFoundValue");
+                continue;
+            }
+
+            JClass extendsType = jclass._extends();
+            if (extendsType != null && extendsType instanceof JDefinedClass) {
+                JDefinedClass parentClass = (JDefinedClass) extendsType;
+                JMethod parentMethod = parentClass.getMethod(DEFINED_GETTER_NAME,
+                        new JType[] { parentClass.owner()._ref(String.class), parentClass.owner()._ref(Object.class) });
+                propertySwitch._default().body()
+                ._return(_super().invoke(parentMethod).arg(nameParam).arg(notFoundParam));
+            } else {
+                propertySwitch._default().body()
+                ._return(notFoundParam);
+            }
         }
 
         return method;
@@ -209,12 +232,15 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
         JMethod method = jclass.method(PROTECTED, jclass.owner()._ref(Object.class), DEFINED_GETTER_NAME);
         JVar nameParam = method.param(String.class, "name");
         JVar notFoundParam = method.param(jclass.owner()._ref(Object.class), "notFoundValue");
-        JBlock body = method.body();
-        JConditional propertyConditional = null;
 
-        if (propertiesNode != null) {
-            for (Iterator<Map.Entry<String, JsonNode>> properties = propertiesNode.fields(); properties.hasNext();) {
-                Map.Entry<String, JsonNode> property = properties.next();
+        // the conditions of large classes are spread over a chain of methods, each falling through to the next
+        List<List<Map.Entry<String, JsonNode>>> chunks = MethodSplitter.split(properties(propertiesNode), GET_CASE_BYTES);
+        JMethod chunkMethod = method;
+        for (int i = 0; i < chunks.size(); i++) {
+            JBlock body = chunkMethod.body();
+            JConditional propertyConditional = null;
+
+            for (Map.Entry<String, JsonNode> property : chunks.get(i)) {
                 String propertyName = property.getKey();
                 JsonNode node = property.getValue();
                 String fieldName = ruleFactory.getNameHelper().getPropertyName(propertyName, node);
@@ -229,17 +255,28 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
                 JMethod propertyGetter = jclass.getMethod(getGetterName(propertyName, propertyType, node), new JType[] {});
                 propertyConditional._then()._return(invoke(propertyGetter));
             }
-        }
 
-        JClass extendsType = jclass._extends();
-        JBlock lastBlock = propertyConditional == null ? body : propertyConditional._else();
-        if (extendsType != null && extendsType instanceof JDefinedClass) {
-            JDefinedClass parentClass = (JDefinedClass) extendsType;
-            JMethod parentMethod = parentClass.getMethod(DEFINED_GETTER_NAME,
-                    new JType[] { parentClass.owner()._ref(String.class), parentClass.owner()._ref(Object.class) });
-            lastBlock._return(_super().invoke(parentMethod).arg(nameParam).arg(notFoundParam));
-        } else {
-            lastBlock._return(notFoundParam);
+            JBlock lastBlock = propertyConditional == null ? body : propertyConditional._else();
+
+            if (i < chunks.size() - 1) {
+                JMethod nextChunkMethod = jclass.method(PRIVATE, jclass.owner()._ref(Object.class), DEFINED_GETTER_NAME + (i + 1));
+                lastBlock._return(invoke(nextChunkMethod).arg(nameParam).arg(notFoundParam));
+
+                chunkMethod = nextChunkMethod;
+                nameParam = chunkMethod.param(String.class, "name");
+                notFoundParam = chunkMethod.param(jclass.owner()._ref(Object.class), "notFoundValue");
+                continue;
+            }
+
+            JClass extendsType = jclass._extends();
+            if (extendsType != null && extendsType instanceof JDefinedClass) {
+                JDefinedClass parentClass = (JDefinedClass) extendsType;
+                JMethod parentMethod = parentClass.getMethod(DEFINED_GETTER_NAME,
+                        new JType[] { parentClass.owner()._ref(String.class), parentClass.owner()._ref(Object.class) });
+                lastBlock._return(_super().invoke(parentMethod).arg(nameParam).arg(notFoundParam));
+            } else {
+                lastBlock._return(notFoundParam);
+            }
         }
 
         return method;
@@ -267,7 +304,7 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
         JMethod getAdditionalProperties = jclass.getMethod("getAdditionalProperties", new JType[] {});
         if (getAdditionalProperties != null) {
             JType additionalPropertiesType = ((JClass) (getAdditionalProperties.type())).getTypeParameters().get(1);
-            notFound.add(invoke(getAdditionalProperties).invoke("put").arg(nameParam)
+            notFound.add(putAdditionalProperty(getAdditionalProperties).arg(nameParam)
                     .arg(cast(additionalPropertiesType, valueParam)));
         }
         // else throw exception.
@@ -278,6 +315,18 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
         return method;
     }
 
+    /**
+     * Adds to the additional properties through the setter when the map is
+     * lazily allocated, since the getter returns an immutable empty map until
+     * then.
+     */
+    private JInvocation putAdditionalProperty(JMethod getAdditionalProperties) {
+        if (ruleFactory.getGenerationConfig().isLazyAdditionalProperties()) {
+            return invoke("setAdditionalProperty");
+        }
+        return invoke(getAdditionalProperties).invoke("put");
+    }
+
     private void addWithMethods(JDefinedClass jclass) {
         JMethod internalSetMethod = getInternalSetMethod(jclass);
         addPublicWithMethod(jclass, internalSetMethod);
@@ -294,7 +343,7 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
         JMethod getAdditionalProperties = jclass.getMethod("getAdditionalProperties", new JType[] {});
         if (getAdditionalProperties != null) {
             JType additionalPropertiesType = ((JClass) (getAdditionalProperties.type())).getTypeParameters().get(1);
-            notFound.add(invoke(getAdditionalProperties).invoke("put").arg(nameParam)
+            notFound.add(putAdditionalProperty(getAdditionalProperties).arg(nameParam)
                     .arg(cast(additionalPropertiesType, valueParam)));
         }
         // else throw exception.
@@ -310,11 +359,13 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
         JMethod method = jclass.method(PROTECTED, jclass.owner().BOOLEAN, DEFINED_SETTER_NAME);
         JVar nameParam = method.param(String.class, "name");
         JVar valueParam = method.param(Object.class, "value");
-        JBlock body = method.body();
-        JSwitch propertySwitch = body._switch(nameParam);
-        if (propertiesNode != null) {
-            for (Iterator<Map.Entry<String, JsonNode>> properties = propertiesNode.fields(); properties.hasNext();) {
-                Map.Entry<String, JsonNode> property = properties.next();
+
+        // the cases of large classes are spread over a chain of methods, each falling through to the next
+        List<List<Map.Entry<String, JsonNode>>> chunks = MethodSplitter.split(properties(propertiesNode), SET_CASE_BYTES);
+        JMethod chunkMethod = method;
+        for (int i = 0; i < chunks.size(); i++) {
+            JSwitch propertySwitch = chunkMethod.body()._switch(nameParam);
+            for (Map.Entry<String, JsonNode> property : chunks.get(i)) {
                 String propertyName = property.getKey();
                 JsonNode node = property.getValue();
                 String fieldName = ruleFactory.getNameHelper().getPropertyName(propertyName, node);
@@ -322,16 +373,28 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
 
                 addSetPropertyCase(jclass, propertySwitch, propertyName, propertyType, valueParam, node);
             }
-        }
-        JBlock defaultBlock = propertySwitch._default().body();
-        JClass extendsType = jclass._extends();
-        if (extendsType != null && extendsType instanceof JDefinedClass) {
-            JDefinedClass parentClass = (JDefinedClass) extendsType;
-            JMethod parentMethod = parentClass.getMethod(DEFINED_SETTER_NAME,
-                    new JType[] { parentClass.owner()._ref(String.class), parentClass.owner()._ref(Object.class) });
-            defaultBlock._return(_super().invoke(parentMethod).arg(nameParam).arg(valueParam));
-        } else {
-            defaultBlock._return(FALSE);
+
+            JBlock defaultBlock = propertySwitch._default().body();
+
+            if (i < chunks.size() - 1) {
+                JMethod nextChunkMethod = jclass.method(PRIVATE, jclass.owner().BOOLEAN, DEFINED_SETTER_NAME + (i + 1));
+                defaultBlock._return(invoke(nextChunkMethod).arg(nameParam).arg(valueParam));
+
+                chunkMethod = nextChunkMethod;
+                nameParam = chunkMethod.param(String.class, "name");
+                valueParam = chunkMethod.param(Object.class, "value");
+                continue;
+            }
+
+            JClass extendsType = jclass._extends();
+            if (extendsType != null && extendsType instanceof JDefinedClass) {
+                JDefinedClass parentClass = (JDefinedClass) extendsType;
+                JMethod parentMethod = parentClass.getMethod(DEFINED_SETTER_NAME,
+                        new JType[] { parentClass.owner()._ref(String.class), parentClass.owner()._ref(Object.class) });
+                defaultBlock._return(_super().invoke(parentMethod).arg(nameParam).arg(valueParam));
+            } else {
+                defaultBlock._return(FALSE);
+            }
         }
         return method;
     }
@@ -340,11 +403,15 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
         JMethod method = jclass.method(PROTECTED, jclass.owner().BOOLEAN, DEFINED_SETTER_NAME);
         JVar nameParam = method.param(String.class, "name");
         JVar valueParam = method.param(Object.class, "value");
-        JBlock body = method.body();
-        JConditional propertyConditional = null;
-        if (propertiesNode != null) {
-            for (Iterator<Map.Entry<String, JsonNode>> properties = propertiesNode.fields(); properties.hasNext();) {
-                Map.Entry<String, JsonNode> property = properties.next();
+
+        // the conditions of large classes are spread over a chain of methods, each falling through to the next
+        List<List<Map.Entry<String, JsonNode>>> chunks = MethodSplitter.split(properties(propertiesNode), SET_CASE_BYTES);
+        JMethod chunkMethod = method;
+        for (int i = 0; i < chunks.size(); i++) {
+            JBlock body = chunkMethod.body();
+            JConditional propertyConditional = null;
+
+            for (Map.Entry<String, JsonNode> property : chunks.get(i)) {
                 String propertyName = property.getKey();
                 JsonNode node = property.getValue();
                 String fieldName = ruleFactory.getNameHelper().getPropertyName(propertyName, node);
@@ -357,21 +424,42 @@ public class DynamicPropertiesRule implements Rule<JDefinedClass, JDefinedClass>
                 addSetProperty(jclass, callSite, propertyName, propertyType, valueParam, node);
                 callSite._return(TRUE);
             }
-        }
-        JClass extendsType = jclass._extends();
-        JBlock lastBlock = propertyConditional == null ? body : propertyConditional._else();
-
-        if (extendsType != null && extendsType instanceof JDefinedClass) {
-            JDefinedClass parentClass = (JDefinedClass) extendsType;
-            JMethod parentMethod = parentClass.getMethod(DEFINED_SETTER_NAME,
-                    new JType[] { parentClass.owner()._ref(String.class), parentClass.owner()._ref(Object.class) });
-            lastBlock._return(_super().invoke(parentMethod).arg(nameParam).arg(valueParam));
-        } else {
-            lastBlock._return(FALSE);
+
+            JBlock lastBlock = propertyConditional == null ? body : propertyConditional._else();
+
+            if (i < chunks.size() - 1) {
+                JMethod nextChunkMethod = jclass.method(PRIVATE, jclass.owner().BOOLEAN, DEFINED_SETTER_NAME + (i + 1));
+                lastBlock._return(invoke(nextChunkMethod).arg(nameParam).arg(valueParam));
+
+                chunkMethod = nextChunkMethod;
+                nameParam = chunkMethod.param(String.class, "name");
+                valueParam = chunkMethod.param(Object.class, "value");
+                continue;
+            }
+
+            JClass extendsType = jclass._extends();
+            if (extendsType != null && extendsType instanceof JDefinedClass) {
+                JDefinedClass parentClass = (JDefinedClass) extendsType;
+                JMethod parentMethod = parentClass.getMethod(DEFINED_SETTER_NAME,
+                        new JType[] { parentClass.owner()._ref(String.class), parentClass.owner()._ref(Object.class) });
+                lastBlock._return(_super().invoke(parentMethod).arg(nameParam).arg(valueParam));
+            } else {
+                lastBlock._return(FALSE);
+            }
         }
         return method;
     }
 
+    private static List<Map.Entry<String, JsonNode>> properties(JsonNode propertiesNode) {
+        List<Map.Entry<String, JsonNode>> properties = new ArrayList<>();
+        if (propertiesNode != null) {
+            for (Iterator<Map.Entry<String, JsonNode>> fields = propertiesNode.fields(); fields.hasNext();) {
+                properties.add(fields.next());
+            }
+        }
+        return properties;
+    }
+
     private JMethod getInternalSetMethod(JDefinedClass jclass) {
         return jclass.getMethod(DEFINED_SETTER_NAME,
                 new JType[] { jclass.owner().ref(String.class), jclass.owner().ref(Object.class) });
@@ -35,6 +35,7 @@ import org.jsonschema2pojo.exception.GenerationException;
 import org.jsonschema2pojo.model.EnumDefinition;
 import org.jsonschema2pojo.model.EnumDefinitionExtensionType;
 import org.jsonschema2pojo.model.EnumValueDefinition;
+import org.jsonschema2pojo.util.MethodSplitter;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -67,6 +68,12 @@ public class EnumRule implements Rule<JClassContainer, JType> {
 
     private static final String VALUE_FIELD_NAME = "value";
 
+    /**
+     * Estimated bytecode in the enum's static initializer for each constant
+     * (construction, assignment and the copy into the values array).
+     */
+    private static final int CONSTANT_BYTES = 24;
+
     private final RuleFactory ruleFactory;
 
     protected EnumRule(RuleFactory ruleFactory) {
@@ -160,6 +167,12 @@ public class EnumRule implements Rule<JClassContainer, JType> {
         String nodeName = enumDefinition.getNodeName();
         JsonNode parentNode = enumDefinition.getEnumNode();
 
+        // javac initializes every constant in the static initializer, which can't be split
+        if (enumDefinition.size() * CONSTANT_BYTES > MethodSplitter.MAX_METHOD_SIZE) {
+            ruleFactory.getLogger().warn("Enum " + _enum.fullName() + " has " + enumDefinition.size()
+                    + " constants, its static initializer may exceed the maximum method size when compiled");
+        }
+
         for(EnumValueDefinition enumValueDefinition : enumDefinition.values()) {
 
             JEnumConstant constant = _enum.enumConstant(enumValueDefinition.getName());
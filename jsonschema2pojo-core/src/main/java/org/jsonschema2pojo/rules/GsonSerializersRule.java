@@ -0,0 +1,436 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.rules;
+
+import static com.sun.codemodel.JExpr.*;
+import static com.sun.codemodel.JMod.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jsonschema2pojo.util.LanguageFeatures;
+import org.jsonschema2pojo.util.MethodSplitter;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JCatchBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JConditional;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldRef;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JForEach;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JSwitch;
+import com.sun.codemodel.JTryBlock;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
+
+/**
+ * Adds a Gson type adapter to a generated class, which writes and reads its
+ * properties directly through {@link JsonWriter} and {@link JsonReader} rather
+ * than through Gson's <code>ReflectiveTypeAdapterFactory</code>.
+ * <p>
+ * The adapter is a nested class (<code>GsonTypeAdapter</code>), created with
+ * the {@link Gson} instance that it belongs to. Strings, numbers, booleans and
+ * generated enums (through their <code>value()</code> and
+ * <code>fromValue</code> methods) are written and read directly; values of
+ * any other type go through the adapter that Gson has for the type, which is
+ * looked up once, when the adapter is created. Properties are written in
+ * declaration order using their <code>@SerializedName</code> names, followed
+ * by any additional properties, and (as with Gson) null values are written
+ * only if the writer serializes nulls. Each class is registered with the
+ * {@link org.jsonschema2pojo.util.SerializerRegistry}, so that a
+ * <code>TypeAdapterFactory</code> can be generated for them once generation
+ * is complete.
+ */
+public class GsonSerializersRule extends AbstractSerializersRule {
+
+    public static final String ADAPTER_NAME = "GsonTypeAdapter";
+
+    private static final String WRITE_PROPERTIES = "writeProperties";
+
+    private static final String READ_PROPERTY = "readProperty";
+
+    /**
+     * Estimated bytecode for each property written by writeProperties, and
+     * read by readProperty (see {@link MethodSplitter}).
+     */
+    private static final int WRITE_PROPERTY_BYTES = 48;
+    private static final int READ_PROPERTY_BYTES = 64;
+
+    /**
+     * The JsonReader methods that read each type that is read directly.
+     */
+    private static final Map<String, String> NEXT_METHODS = new HashMap<>();
+
+    static {
+        NEXT_METHODS.put("boolean", "nextBoolean");
+        NEXT_METHODS.put("int", "nextInt");
+        NEXT_METHODS.put("long", "nextLong");
+        NEXT_METHODS.put("double", "nextDouble");
+        NEXT_METHODS.put("java.lang.String", "nextString");
+        NEXT_METHODS.put("java.lang.Boolean", "nextBoolean");
+        NEXT_METHODS.put("java.lang.Integer", "nextInt");
+        NEXT_METHODS.put("java.lang.Long", "nextLong");
+        NEXT_METHODS.put("java.lang.Double", "nextDouble");
+    }
+
+    protected GsonSerializersRule(RuleFactory ruleFactory) {
+        super(ruleFactory);
+    }
+
+    @Override
+    protected void addSerializers(JDefinedClass jclass, List<Property> properties, JFieldVar additionalProperties, JDefinedClass superClass) {
+        JCodeModel owner = jclass.owner();
+
+        JDefinedClass adapter = nestedClass(jclass, ADAPTER_NAME, TypeAdapter.class);
+        adapter.javadoc().add("Writes and reads {@link " + jclass.name() + "} without reflection.");
+
+        JMethod constructor = adapter.constructor(PUBLIC);
+        JVar gson = constructor.param(Gson.class, "gson");
+
+        JFieldVar superAdapter = null;
+        if (superClass != null) {
+            JDefinedClass superAdapterClass = nestedClass(superClass, ADAPTER_NAME, TypeAdapter.class);
+            superAdapter = adapter.field(PRIVATE | FINAL, superAdapterClass, "superAdapter");
+            constructor.body().assign(_this().ref(superAdapter), _new(superAdapterClass).arg(gson));
+        }
+
+        // the adapters that Gson has for other types are looked up once, up front
+        for (Property property : properties) {
+            if (!isReadDirectly(property.field.type())) {
+                delegateAdapter(adapter, constructor, gson, property.field.name(), (JClass) property.field.type());
+            }
+        }
+        JFieldVar additionalPropertiesAdapter = additionalProperties == null ? null
+                : delegateAdapter(adapter, constructor, gson, "additionalProperties", additionalPropertiesValueType(additionalProperties));
+
+        JMethod writeProperties = addWriteProperties(jclass, adapter, properties, superAdapter);
+        JMethod readProperty = addReadProperty(jclass, adapter, properties, superAdapter);
+
+        JMethod write = adapter.method(PUBLIC, void.class, "write");
+        write.annotate(Override.class);
+        write._throws(IOException.class);
+        JVar out = write.param(JsonWriter.class, "out");
+        JVar value = write.param(jclass, "value");
+        write.body()._if(value.eq(_null()))._then().add(out.invoke("nullValue"))._return();
+        write.body().invoke(out, "beginObject");
+        write.body().invoke(writeProperties).arg(value).arg(out);
+        if (additionalPropertiesAdapter != null) {
+            JForEach forEach = write.body().forEach(owner.ref(Map.Entry.class).narrow(owner.ref(String.class), additionalPropertiesValueType(additionalProperties)),
+                    "property", value.invoke("getAdditionalProperties").invoke("entrySet"));
+            forEach.body().invoke(out, "name").arg(forEach.var().invoke("getKey"));
+            forEach.body().invoke(additionalPropertiesAdapter, "write").arg(out).arg(forEach.var().invoke("getValue"));
+        }
+        write.body().invoke(out, "endObject");
+
+        JMethod read = adapter.method(PUBLIC, jclass, "read");
+        read.annotate(Override.class);
+        read._throws(IOException.class);
+        JVar in = read.param(JsonReader.class, "in");
+        JBlock isNull = read.body()._if(in.invoke("peek").eq(tokenRef(owner, "NULL")))._then();
+        isNull.invoke(in, "nextNull");
+        isNull._return(_null());
+        value = read.body().decl(jclass, "value", _new(jclass));
+        read.body().invoke(in, "beginObject");
+        JBlock loop = read.body()._while(in.invoke("hasNext")).body();
+        JVar name = loop.decl(owner.ref(String.class), "name", in.invoke("nextName"));
+        JBlock notDeclared = loop._if(invoke(readProperty).arg(value).arg(name).arg(in).not())._then();
+        if (additionalPropertiesAdapter != null) {
+            notDeclared.invoke(value, "setAdditionalProperty").arg(name).arg(additionalPropertiesAdapter.invoke("read").arg(in));
+        } else {
+            notDeclared.invoke(in, "skipValue");
+        }
+        read.body().invoke(in, "endObject");
+        read.body()._return(value);
+
+        ruleFactory.getSerializerRegistry().register(jclass, adapter);
+    }
+
+    /**
+     * Declares a field holding the adapter that Gson has for a type, and
+     * looks it up in the constructor.
+     */
+    private JFieldVar delegateAdapter(JDefinedClass adapter, JMethod constructor, JVar gson, String fieldName, JClass type) {
+        JCodeModel owner = adapter.owner();
+        JFieldVar field = adapter.field(PRIVATE | FINAL, owner.ref(TypeAdapter.class).narrow(type), fieldName + "Adapter");
+
+        JExpression typeToken;
+        if (isParameterized(type)) {
+            // Gson finds the type arguments through the superclass of an anonymous TypeToken
+            typeToken = _new(owner.anonymousClass(owner.ref(TypeToken.class).narrow(type)));
+        } else {
+            typeToken = type.dotclass();
+        }
+        constructor.body().assign(_this().ref(field), gson.invoke("getAdapter").arg(typeToken));
+        return field;
+    }
+
+    private JMethod addWriteProperties(JDefinedClass jclass, JDefinedClass adapter, List<Property> properties, JFieldVar superAdapter) {
+        JMethod writeProperties = writePropertiesMethod(jclass, adapter, PUBLIC, WRITE_PROPERTIES);
+        writeProperties.javadoc().add("Writes the declared (and inherited) properties of the given value, without the enclosing object.");
+        if (superAdapter != null) {
+            writeProperties.body().add(withArgs(superAdapter.invoke(WRITE_PROPERTIES), writeProperties.params()));
+        }
+
+        // the properties of large classes are spread over a chain of methods, each calling the next
+        List<List<Property>> chunks = MethodSplitter.split(properties, WRITE_PROPERTY_BYTES);
+        JMethod chunkMethod = writeProperties;
+        for (int i = 0; i < chunks.size(); i++) {
+            List<JVar> params = chunkMethod.params();
+            for (Property property : chunks.get(i)) {
+                writeProperty(adapter, chunkMethod.body(), property, params.get(0), params.get(1));
+            }
+            if (i < chunks.size() - 1) {
+                JMethod nextChunkMethod = writePropertiesMethod(jclass, adapter, PRIVATE, WRITE_PROPERTIES + (i + 1));
+                chunkMethod.body().add(withArgs(invoke(nextChunkMethod), params));
+                chunkMethod = nextChunkMethod;
+            }
+        }
+        return writeProperties;
+    }
+
+    private JMethod writePropertiesMethod(JDefinedClass jclass, JDefinedClass adapter, int mods, String name) {
+        JMethod method = adapter.method(mods, void.class, name);
+        method._throws(IOException.class);
+        method.param(jclass, "value");
+        method.param(JsonWriter.class, "out");
+        return method;
+    }
+
+    private void writeProperty(JDefinedClass adapter, JBlock block, Property property, JVar value, JVar out) {
+        JType type = property.field.type();
+        String typeName = type.fullName();
+        JFieldRef fieldValue = value.ref(property.field);
+
+        block.invoke(out, "name").arg(property.name);
+
+        if (!isReadDirectly(type)) {
+            block.invoke(adapter.fields().get(property.field.name() + "Adapter"), "write").arg(out).arg(fieldValue);
+            return;
+        }
+
+        if (typeName.equals("float")) {
+            // as written by Gson, without widening to double
+            block.invoke(out, "value").arg(adapter.owner().ref(Float.class).staticInvoke("valueOf").arg(fieldValue));
+        } else if (type.isPrimitive() || typeName.equals(String.class.getName()) || !isBooleanOrEnum(type)) {
+            // JsonWriter writes null Strings and Numbers as null itself
+            block.invoke(out, "value").arg(fieldValue);
+        } else {
+            JConditional isNull = block._if(fieldValue.eq(_null()));
+            isNull._then().invoke(out, "nullValue");
+            isNull._else().invoke(out, "value").arg(isEnum(type) ? fieldValue.invoke("value") : fieldValue);
+        }
+    }
+
+    private JMethod addReadProperty(JDefinedClass jclass, JDefinedClass adapter, List<Property> properties, JFieldVar superAdapter) {
+        JMethod readProperty = readPropertyMethod(jclass, adapter, PUBLIC, READ_PROPERTY);
+        readProperty.javadoc().add("Reads the value of a declared (or inherited) property.");
+        readProperty.javadoc().addReturn().add("whether the property was recognised");
+
+        // the properties of large classes are spread over a chain of methods, each falling through to the next
+        List<List<Property>> chunks = MethodSplitter.split(properties, READ_PROPERTY_BYTES);
+        JMethod chunkMethod = readProperty;
+        for (int i = 0; i < chunks.size(); i++) {
+            List<JVar> params = chunkMethod.params();
+
+            JMethod nextChunkMethod = null;
+            JExpression notDeclared;
+            if (i < chunks.size() - 1) {
+                nextChunkMethod = readPropertyMethod(jclass, adapter, PRIVATE, READ_PROPERTY + (i + 1));
+                notDeclared = withArgs(invoke(nextChunkMethod), params);
+            } else if (superAdapter != null) {
+                notDeclared = withArgs(superAdapter.invoke(READ_PROPERTY), params);
+            } else {
+                notDeclared = FALSE;
+            }
+
+            addReadPropertyCases(adapter, chunkMethod, chunks.get(i), notDeclared);
+            chunkMethod = nextChunkMethod;
+        }
+        return readProperty;
+    }
+
+    private JMethod readPropertyMethod(JDefinedClass jclass, JDefinedClass adapter, int mods, String name) {
+        JMethod method = adapter.method(mods, boolean.class, name);
+        method._throws(IOException.class);
+        method.param(jclass, "value");
+        method.param(String.class, "name");
+        method.param(JsonReader.class, "in");
+        return method;
+    }
+
+    private void addReadPropertyCases(JDefinedClass adapter, JMethod method, List<Property> properties, JExpression notDeclared) {
+        List<JVar> params = method.params();
+        JVar value = params.get(0);
+        JVar name = params.get(1);
+        JVar in = params.get(2);
+
+        if (properties.isEmpty()) {
+            method.body()._return(notDeclared);
+            return;
+        }
+
+        if (LanguageFeatures.canUseJava7(ruleFactory.getGenerationConfig())) {
+            JSwitch propertySwitch = method.body()._switch(name);
+            for (Property property : properties) {
+                JBlock block = propertySwitch._case(lit(property.name)).body();
+                readProperty(adapter, block, property, value, in);
+                block._return(TRUE);
+            }
+            propertySwitch._default().body()._return(notDeclared);
+        } else {
+            JConditional propertyConditional = null;
+            for (Property property : properties) {
+                JExpression condition = lit(property.name).invoke("equals").arg(name);
+                propertyConditional = propertyConditional == null ? method.body()._if(condition) : propertyConditional._elseif(condition);
+                readProperty(adapter, propertyConditional._then(), property, value, in);
+                propertyConditional._then()._return(TRUE);
+            }
+            method.body()._return(notDeclared);
+        }
+    }
+
+    /**
+     * Reads the value of a property into its field, the reader being at its
+     * value.
+     */
+    private void readProperty(JDefinedClass adapter, JBlock block, Property property, JVar value, JVar in) {
+        JCodeModel owner = adapter.owner();
+        JType type = property.field.type();
+        String typeName = type.fullName();
+        JFieldRef fieldValue = value.ref(property.field);
+
+        if (!isReadDirectly(type)) {
+            block.assign(fieldValue, adapter.fields().get(property.field.name() + "Adapter").invoke("read").arg(in));
+            return;
+        }
+
+        // as with Gson, a null leaves a primitive unchanged
+        JConditional isNull = block._if(in.invoke("peek").eq(tokenRef(owner, "NULL")));
+        isNull._then().invoke(in, "nextNull");
+        if (!type.isPrimitive()) {
+            isNull._then().assign(fieldValue, _null());
+        }
+        JBlock notNull = isNull._else();
+
+        if (typeName.equals("float") || typeName.equals(Float.class.getName())) {
+            notNull.assign(fieldValue, cast(owner.FLOAT, in.invoke("nextDouble")));
+        } else if (typeName.equals("short") || typeName.equals(Short.class.getName())) {
+            // as read by Gson, narrowing without a range check
+            notNull.assign(fieldValue, cast(owner.SHORT, in.invoke("nextInt")));
+        } else if (typeName.equals("byte") || typeName.equals(Byte.class.getName())) {
+            notNull.assign(fieldValue, cast(owner.BYTE, in.invoke("nextInt")));
+        } else if (typeName.equals(BigDecimal.class.getName()) || typeName.equals(BigInteger.class.getName())) {
+            notNull.assign(fieldValue, readBigNumber(type, in));
+        } else if (isEnum(type)) {
+            notNull.assign(fieldValue, invoke(readEnumMethod(adapter, (JDefinedClass) type)).arg(in));
+        } else {
+            notNull.assign(fieldValue, in.invoke(NEXT_METHODS.get(typeName)));
+        }
+    }
+
+    /**
+     * As with Gson, big numbers are read from their text, and anything that
+     * isn't a number is rejected.
+     */
+    private JExpression readBigNumber(JType type, JVar in) {
+        return _new(type).arg(in.invoke("nextString"));
+    }
+
+    /**
+     * Gets the method that reads a generated enum through its
+     * <code>fromValue</code> method, declaring it if necessary.
+     */
+    private JMethod readEnumMethod(JDefinedClass adapter, JDefinedClass _enum) {
+        String methodName = "read" + _enum.name();
+        JMethod readEnum = methodNamed(adapter, methodName);
+        if (readEnum != null) {
+            return readEnum;
+        }
+
+        readEnum = adapter.method(PRIVATE | STATIC, _enum, methodName);
+        readEnum._throws(IOException.class);
+        JVar in = readEnum.param(JsonReader.class, "in");
+
+        JType backingType = methodNamed(_enum, "fromValue").params().get(0).type();
+        JTryBlock tryBlock = readEnum.body()._try();
+        tryBlock.body()._return(_enum.staticInvoke("fromValue").arg(in.invoke(NEXT_METHODS.get(backingType.fullName()))));
+        JCatchBlock catchBlock = tryBlock._catch(adapter.owner().ref(IllegalArgumentException.class));
+        JVar e = catchBlock.param("e");
+        catchBlock.body()._throw(_new(adapter.owner().ref(JsonSyntaxException.class)).arg(e));
+        return readEnum;
+    }
+
+    /**
+     * Whether a property of the given type is written and read directly,
+     * rather than through the adapter that Gson has for its type.
+     */
+    private static boolean isReadDirectly(JType type) {
+        String typeName = type.fullName();
+        if (NEXT_METHODS.containsKey(typeName)) {
+            return true;
+        }
+        switch (typeName) {
+            case "byte":
+            case "java.lang.Byte":
+            case "short":
+            case "java.lang.Short":
+            case "float":
+            case "java.lang.Float":
+            case "java.math.BigDecimal":
+            case "java.math.BigInteger":
+                return true;
+            default:
+                return isEnum(type) && NEXT_METHODS.containsKey(methodNamed((JDefinedClass) type, "fromValue").params().get(0).type().fullName());
+        }
+    }
+
+    private static boolean isBooleanOrEnum(JType type) {
+        return type.fullName().equals(Boolean.class.getName()) || isEnum(type);
+    }
+
+    /**
+     * Whether the given type is an enum generated with <code>value()</code>
+     * and <code>fromValue</code> methods.
+     */
+    private static boolean isEnum(JType type) {
+        return type instanceof JDefinedClass
+                && ((JDefinedClass) type).getClassType() == ClassType.ENUM
+                && methodNamed((JDefinedClass) type, "fromValue") != null
+                && methodNamed((JDefinedClass) type, "value") != null;
+    }
+
+    private static JExpression tokenRef(JCodeModel owner, String token) {
+        return owner.ref(JsonToken.class).staticRef(token);
+    }
+
+}
@@ -0,0 +1,733 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.rules;
+
+import static com.sun.codemodel.JExpr.*;
+import static com.sun.codemodel.JMod.*;
+import static java.util.Arrays.*;
+import static org.apache.commons.lang3.StringUtils.*;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+
+import org.jsonschema2pojo.InclusionLevel;
+import org.jsonschema2pojo.Jackson2Annotator;
+import org.jsonschema2pojo.util.LanguageFeatures;
+import org.jsonschema2pojo.util.MethodSplitter;
+import org.jsonschema2pojo.util.Models;
+import org.jsonschema2pojo.util.SerializableHelper;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JCatchBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JConditional;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JForEach;
+import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JOp;
+import com.sun.codemodel.JSwitch;
+import com.sun.codemodel.JTryBlock;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
+
+/**
+ * Adds a Jackson serializer and deserializer to a generated class, which
+ * write and read its properties directly through the streaming API rather than
+ * through Jackson's reflective bean serializer and deserializer.
+ * <p>
+ * They are nested classes (<code>JacksonSerializer</code> and
+ * <code>JacksonDeserializer</code>) so that they can use the class's fields
+ * whether or not it has accessors. Properties are written in declaration
+ * order, using the same names, inclusion level and date formats as the
+ * Jackson 2.x annotations, followed by any additional properties. Properties
+ * inherited from a generated superclass are delegated to the superclass's
+ * serializer and deserializer. Each class is registered with the
+ * {@link org.jsonschema2pojo.util.SerializerRegistry}, so that a module can be
+ * generated for them once generation is complete.
+ */
+public class JacksonSerializersRule extends AbstractSerializersRule {
+
+    public static final String SERIALIZER_NAME = "JacksonSerializer";
+
+    public static final String DESERIALIZER_NAME = "JacksonDeserializer";
+
+    private static final String WRITE_PROPERTIES = "writeProperties";
+
+    private static final String READ_PROPERTY = "readProperty";
+
+    /**
+     * Estimated bytecode for each property written by writeProperties, and
+     * read by readProperty (see {@link MethodSplitter}).
+     */
+    private static final int WRITE_PROPERTY_BYTES = 64;
+    private static final int READ_PROPERTY_BYTES = 64;
+
+    private static final Set<String> JAVA_TIME_TYPES = new HashSet<>(asList(
+            "java.time.LocalDate", "java.time.LocalDateTime", "java.time.LocalTime", "java.time.OffsetDateTime",
+            "java.time.OffsetTime", "java.time.ZonedDateTime", "java.time.Year", "java.time.YearMonth", "java.time.MonthDay"));
+
+    private static final Set<String> ZONED_TYPES = new HashSet<>(asList(
+            "java.time.OffsetDateTime", "java.time.ZonedDateTime", "org.joda.time.DateTime"));
+
+    private static final Set<String> PRIMITIVE_NUMBERS = new HashSet<>(asList("byte", "short", "int", "long", "float", "double"));
+
+    private static final Set<String> BOXED_NUMBERS = new HashSet<>(asList(
+            "java.lang.Byte", "java.lang.Short", "java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double", "java.math.BigDecimal", "java.math.BigInteger"));
+
+    /**
+     * The methods of StdDeserializer that read each primitive type, following
+     * the mapper's coercion settings.
+     */
+    private static final Map<String, String> PRIMITIVE_PARSE_METHODS = new HashMap<>();
+
+    private static final Map<String, String> JODA_PARSE_METHODS = new HashMap<>();
+
+    static {
+        PRIMITIVE_PARSE_METHODS.put("boolean", "_parseBooleanPrimitive");
+        PRIMITIVE_PARSE_METHODS.put("byte", "_parseBytePrimitive");
+        PRIMITIVE_PARSE_METHODS.put("short", "_parseShortPrimitive");
+        PRIMITIVE_PARSE_METHODS.put("int", "_parseIntPrimitive");
+        PRIMITIVE_PARSE_METHODS.put("long", "_parseLongPrimitive");
+        PRIMITIVE_PARSE_METHODS.put("float", "_parseFloatPrimitive");
+        PRIMITIVE_PARSE_METHODS.put("double", "_parseDoublePrimitive");
+
+        JODA_PARSE_METHODS.put("org.joda.time.DateTime", "parseDateTime");
+        JODA_PARSE_METHODS.put("org.joda.time.LocalDate", "parseLocalDate");
+        JODA_PARSE_METHODS.put("org.joda.time.LocalDateTime", "parseLocalDateTime");
+        JODA_PARSE_METHODS.put("org.joda.time.LocalTime", "parseLocalTime");
+    }
+
+    private final Jackson2Annotator dateFormats;
+
+    protected JacksonSerializersRule(RuleFactory ruleFactory) {
+        super(ruleFactory);
+        this.dateFormats = new Jackson2Annotator(ruleFactory.getGenerationConfig());
+    }
+
+    @Override
+    protected void addSerializers(JDefinedClass jclass, List<Property> properties, JFieldVar additionalProperties, JDefinedClass superClass) {
+
+        JDefinedClass serializer = nestedClass(jclass, SERIALIZER_NAME, StdSerializer.class);
+        JDefinedClass deserializer = nestedClass(jclass, DESERIALIZER_NAME, StdDeserializer.class);
+
+        addSerializer(jclass, serializer, properties, additionalProperties,
+                superClass == null ? null : nestedClass(superClass, SERIALIZER_NAME, StdSerializer.class));
+        addDeserializer(jclass, deserializer, properties, additionalProperties,
+                superClass == null ? null : nestedClass(superClass, DESERIALIZER_NAME, StdDeserializer.class));
+
+        // Jackson's serializers are serializable
+        SerializableHelper.addSerialVersionUID(serializer);
+        SerializableHelper.addSerialVersionUID(deserializer);
+
+        ruleFactory.getSerializerRegistry().register(jclass, serializer, deserializer);
+    }
+
+    private void addSerializer(JDefinedClass jclass, JDefinedClass serializer, List<Property> properties, JFieldVar additionalProperties, JDefinedClass superSerializerClass) {
+        JCodeModel owner = jclass.owner();
+
+        serializer.javadoc().add("Writes {@link " + jclass.name() + "} without reflection.");
+        serializer.constructor(PUBLIC).body().invoke("super").arg(jclass.dotclass());
+
+        JFieldVar superSerializer = superSerializerClass == null ? null
+                : serializer.field(PRIVATE | FINAL, superSerializerClass, "superSerializer", _new(superSerializerClass));
+        JFieldVar defaults = getInclusionLevel() == InclusionLevel.NON_DEFAULT && !properties.isEmpty()
+                ? serializer.field(PRIVATE | FINAL, jclass, "defaults", _new(jclass)) : null;
+
+        JMethod writeProperties = writePropertiesMethod(jclass, serializer, PUBLIC, WRITE_PROPERTIES);
+        writeProperties.javadoc().add("Writes the declared (and inherited) properties of the given value, without the enclosing object.");
+        if (superSerializer != null) {
+            writeProperties.body().add(withArgs(superSerializer.invoke(WRITE_PROPERTIES), writeProperties.params()));
+        }
+
+        // the properties of large classes are spread over a chain of methods, each calling the next
+        List<List<Property>> chunks = MethodSplitter.split(properties, WRITE_PROPERTY_BYTES);
+        JMethod chunkMethod = writeProperties;
+        for (int i = 0; i < chunks.size(); i++) {
+            List<JVar> params = chunkMethod.params();
+            for (Property property : chunks.get(i)) {
+                writeProperty(jclass, serializer, chunkMethod.body(), property, params.get(0), params.get(1), params.get(2), defaults);
+            }
+            if (i < chunks.size() - 1) {
+                JMethod nextChunkMethod = writePropertiesMethod(jclass, serializer, PRIVATE, WRITE_PROPERTIES + (i + 1));
+                chunkMethod.body().add(withArgs(invoke(nextChunkMethod), params));
+                chunkMethod = nextChunkMethod;
+            }
+        }
+
+        JMethod writeAdditionalProperties = null;
+        if (additionalProperties != null) {
+            writeAdditionalProperties = writePropertiesMethod(jclass, serializer, PRIVATE, "writeAdditionalProperties");
+            List<JVar> params = writeAdditionalProperties.params();
+            JClass valueType = additionalPropertiesValueType(additionalProperties);
+            JForEach forEach = writeAdditionalProperties.body().forEach(owner.ref(Map.Entry.class).narrow(owner.ref(String.class), valueType),
+                    "property", params.get(0).invoke("getAdditionalProperties").invoke("entrySet"));
+            forEach.body().invoke(params.get(2), "defaultSerializeField")
+                    .arg(forEach.var().invoke("getKey")).arg(forEach.var().invoke("getValue")).arg(params.get(1));
+        }
+
+        JMethod serialize = serializer.method(PUBLIC, void.class, "serialize");
+        serialize.annotate(Override.class);
+        serialize._throws(IOException.class);
+        JVar value = serialize.param(jclass, "value");
+        JVar gen = serialize.param(JsonGenerator.class, "gen");
+        JVar provider = serialize.param(SerializerProvider.class, "provider");
+        serialize.body().invoke(gen, "writeStartObject").arg(value);
+        serialize.body().invoke(writeProperties).arg(value).arg(gen).arg(provider);
+        if (writeAdditionalProperties != null) {
+            serialize.body().invoke(writeAdditionalProperties).arg(value).arg(gen).arg(provider);
+        }
+        serialize.body().invoke(gen, "writeEndObject");
+
+        // type information, if the class has it, is written by the type serializer
+        JMethod serializeWithType = serializer.method(PUBLIC, void.class, "serializeWithType");
+        serializeWithType.annotate(Override.class);
+        serializeWithType._throws(IOException.class);
+        value = serializeWithType.param(jclass, "value");
+        gen = serializeWithType.param(JsonGenerator.class, "gen");
+        provider = serializeWithType.param(SerializerProvider.class, "provider");
+        JVar typeSer = serializeWithType.param(TypeSerializer.class, "typeSer");
+        JVar typeId = serializeWithType.body().decl(owner.ref(WritableTypeId.class), "typeId",
+                typeSer.invoke("writeTypePrefix").arg(gen).arg(typeSer.invoke("typeId").arg(value).arg(tokenRef(owner, "START_OBJECT"))));
+        serializeWithType.body().invoke(writeProperties).arg(value).arg(gen).arg(provider);
+        if (writeAdditionalProperties != null) {
+            serializeWithType.body().invoke(writeAdditionalProperties).arg(value).arg(gen).arg(provider);
+        }
+        serializeWithType.body().invoke(typeSer, "writeTypeSuffix").arg(gen).arg(typeId);
+    }
+
+    private JMethod writePropertiesMethod(JDefinedClass jclass, JDefinedClass serializer, int mods, String name) {
+        JMethod method = serializer.method(mods, void.class, name);
+        method._throws(IOException.class);
+        method.param(jclass, "value");
+        method.param(JsonGenerator.class, "gen");
+        method.param(SerializerProvider.class, "provider");
+        return method;
+    }
+
+    private void writeProperty(JDefinedClass jclass, JDefinedClass serializer, JBlock block, Property property, JVar value, JVar gen, JVar provider, JFieldVar defaults) {
+        JCodeModel owner = jclass.owner();
+        JType type = property.field.type();
+        JExpression fieldValue = value.ref(property.field);
+
+        if (property.node.has("javaJsonView")) {
+            JClass view = owner.ref(property.node.get("javaJsonView").asText());
+            block = block._if(provider.invoke("getActiveView").eq(_null())
+                    .cor(view.dotclass().invoke("isAssignableFrom").arg(provider.invoke("getActiveView"))))._then();
+        }
+
+        JExpression included = inclusionCondition(jclass, serializer, property, fieldValue, defaults, provider);
+        if (included != null) {
+            block = block._if(included)._then();
+        }
+
+        String name = property.name;
+        String typeName = type.fullName();
+
+        if (type.isPrimitive()) {
+            if (typeName.equals("boolean")) {
+                block.invoke(gen, "writeBooleanField").arg(name).arg(fieldValue);
+            } else if (PRIMITIVE_NUMBERS.contains(typeName)) {
+                block.invoke(gen, "writeNumberField").arg(name).arg(fieldValue);
+            } else {
+                block.invoke(provider, "defaultSerializeField").arg(name).arg(fieldValue).arg(gen);
+            }
+            return;
+        }
+
+        if (typeName.equals(String.class.getName())) {
+            block.invoke(gen, "writeStringField").arg(name).arg(fieldValue);
+            return;
+        }
+
+        DateFormat dateFormat = dateFormat(property);
+        if (dateFormat == null && !typeName.equals(Boolean.class.getName()) && !BOXED_NUMBERS.contains(typeName)) {
+            // anything else is written by the serializer that Jackson finds for it, which also handles null
+            block.invoke(provider, "defaultSerializeField").arg(name).arg(fieldValue).arg(gen);
+            return;
+        }
+
+        if (!isNonNull(type)) {
+            JConditional isNull = block._if(fieldValue.eq(_null()));
+            isNull._then().invoke(gen, "writeNullField").arg(name);
+            block = isNull._else();
+        }
+
+        if (dateFormat != null) {
+            block.invoke(gen, "writeStringField").arg(name).arg(formatDate(serializer, property, dateFormat, fieldValue, provider));
+        } else if (typeName.equals(Boolean.class.getName())) {
+            block.invoke(gen, "writeBooleanField").arg(name).arg(fieldValue);
+        } else if (typeName.equals(BigInteger.class.getName())) {
+            block.invoke(gen, "writeFieldName").arg(name);
+            block.invoke(gen, "writeNumber").arg(fieldValue);
+        } else {
+            block.invoke(gen, "writeNumberField").arg(name).arg(fieldValue);
+        }
+    }
+
+    /**
+     * Whether the inclusion level guarantees that a value of the given type is
+     * not null when it is written.
+     */
+    private boolean isNonNull(JType type) {
+        switch (getInclusionLevel()) {
+            case NON_ABSENT:
+            case NON_EMPTY:
+            case NON_NULL:
+                return true;
+            default:
+                return type.isPrimitive();
+        }
+    }
+
+    /**
+     * Gets the condition under which a property is written, or null if it is
+     * always written.
+     */
+    private JExpression inclusionCondition(JDefinedClass jclass, JDefinedClass serializer, Property property, JExpression fieldValue, JFieldVar defaults, JVar provider) {
+        JType type = property.field.type();
+
+        switch (getInclusionLevel()) {
+            case ALWAYS:
+                return null;
+            case NON_DEFAULT:
+                // as for a class annotated with NON_DEFAULT, values equal to those of a new instance are left out
+                JExpression defaultValue = defaults.ref(property.field);
+                if (type.isPrimitive()) {
+                    return fieldValue.ne(defaultValue);
+                }
+                if (type.isArray()) {
+                    // arrays are compared by their contents
+                    return jclass.owner().ref(Arrays.class).staticInvoke("equals").arg(fieldValue).arg(defaultValue).not();
+                }
+                return JOp.cond(fieldValue.eq(_null()), defaultValue.ne(_null()), fieldValue.invoke("equals").arg(defaultValue).not());
+            case NON_EMPTY:
+                if (type.isPrimitive()) {
+                    return null;
+                }
+                if (isAssignableTo(type, String.class, Collection.class, Map.class)) {
+                    return fieldValue.ne(_null()).cand(fieldValue.invoke("isEmpty").not());
+                }
+                if (type.isArray()) {
+                    return fieldValue.ne(_null()).cand(fieldValue.ref("length").ne(lit(0)));
+                }
+                return fieldValue.ne(_null());
+            case USE_DEFAULTS:
+                if (type.isPrimitive()) {
+                    return null;
+                }
+                return fieldValue.ne(_null()).cor(invoke(includeNullsMethod(jclass, serializer)).arg(provider));
+            default:
+                return type.isPrimitive() ? null : fieldValue.ne(_null());
+        }
+    }
+
+    /**
+     * With USE_DEFAULTS, whether null values are written depends on the
+     * inclusion configured for the mapper.
+     */
+    private JMethod includeNullsMethod(JDefinedClass jclass, JDefinedClass serializer) {
+        JMethod method = serializer.getMethod("includeNulls", new JType[] { jclass.owner().ref(SerializerProvider.class) });
+        if (method == null) {
+            method = serializer.method(PRIVATE, boolean.class, "includeNulls");
+            JVar provider = method.param(SerializerProvider.class, "provider");
+            JClass include = jclass.owner().ref(JsonInclude.Include.class);
+            JVar inclusion = method.body().decl(include, "inclusion",
+                    provider.invoke("getConfig").invoke("getDefaultPropertyInclusion").arg(jclass.dotclass()).invoke("getValueInclusion"));
+            method.body()._return(inclusion.eq(include.staticRef("ALWAYS")).cor(inclusion.eq(include.staticRef("USE_DEFAULTS"))));
+        }
+        return method;
+    }
+
+    private void addDeserializer(JDefinedClass jclass, JDefinedClass deserializer, List<Property> properties, JFieldVar additionalProperties, JDefinedClass superDeserializerClass) {
+        JCodeModel owner = jclass.owner();
+
+        deserializer.javadoc().add("Reads {@link " + jclass.name() + "} without reflection.");
+        deserializer.constructor(PUBLIC).body().invoke("super").arg(jclass.dotclass());
+
+        JFieldVar superDeserializer = superDeserializerClass == null ? null
+                : deserializer.field(PRIVATE | FINAL, superDeserializerClass, "superDeserializer", _new(superDeserializerClass));
+
+        JMethod isCachable = deserializer.method(PUBLIC, boolean.class, "isCachable");
+        isCachable.annotate(Override.class);
+        isCachable.body()._return(TRUE);
+
+        JMethod readProperty = readPropertyMethod(jclass, deserializer, PUBLIC, READ_PROPERTY);
+        readProperty.javadoc().add("Reads the value of a declared (or inherited) property, leaving the parser at its last token.");
+        readProperty.javadoc().addReturn().add("whether the property was recognised");
+
+        // the properties of large classes are spread over a chain of methods, each falling through to the next
+        List<List<Property>> chunks = MethodSplitter.split(properties, READ_PROPERTY_BYTES);
+        JMethod chunkMethod = readProperty;
+        for (int i = 0; i < chunks.size(); i++) {
+            List<JVar> params = chunkMethod.params();
+
+            JMethod nextChunkMethod = null;
+            JExpression notDeclared;
+            if (i < chunks.size() - 1) {
+                nextChunkMethod = readPropertyMethod(jclass, deserializer, PRIVATE, READ_PROPERTY + (i + 1));
+                notDeclared = withArgs(invoke(nextChunkMethod), params);
+            } else if (superDeserializer != null) {
+                notDeclared = withArgs(superDeserializer.invoke(READ_PROPERTY), params);
+            } else {
+                notDeclared = FALSE;
+            }
+
+            addReadPropertyCases(deserializer, chunkMethod, chunks.get(i), notDeclared);
+            chunkMethod = nextChunkMethod;
+        }
+
+        JMethod deserialize = deserializer.method(PUBLIC, jclass, "deserialize");
+        deserialize.annotate(Override.class);
+        deserialize._throws(IOException.class);
+        JVar p = deserialize.param(JsonParser.class, "p");
+        JVar ctxt = deserialize.param(DeserializationContext.class, "ctxt");
+        JBlock body = deserialize.body();
+
+        // the parser is at the start of the object, or (after type information) at its first property
+        JVar token = body.decl(owner.ref(JsonToken.class), "token", p.invoke("getCurrentToken"));
+        JConditional isStart = body._if(token.eq(tokenRef(owner, "START_OBJECT")));
+        isStart._then().assign(token, p.invoke("nextToken"));
+        isStart._elseif(token.ne(tokenRef(owner, "FIELD_NAME")).cand(token.ne(tokenRef(owner, "END_OBJECT"))))._then()
+                ._return(cast(jclass, ctxt.invoke("handleUnexpectedToken").arg(jclass.dotclass()).arg(p)));
+
+        JVar value = body.decl(jclass, "value", _new(jclass));
+        JBlock loop = body._while(token.eq(tokenRef(owner, "FIELD_NAME"))).body();
+        JVar name = loop.decl(owner.ref(String.class), "name", p.invoke("getCurrentName"));
+        loop.invoke(p, "nextToken");
+        JBlock notDeclared = loop._if(invoke(readProperty).arg(value).arg(name).arg(p).arg(ctxt).not())._then();
+        if (additionalProperties != null) {
+            JClass valueType = additionalPropertiesValueType(additionalProperties);
+            notDeclared.invoke(value, "setAdditionalProperty").arg(name).arg(readValue(deserializer, "additionalProperties", valueType, p, ctxt));
+            if (!valueType.getTypeParameters().isEmpty()) {
+                Models.suppressWarnings(deserialize, "unchecked");
+            }
+        } else {
+            notDeclared.invoke(ctxt, "handleUnknownProperty").arg(p).arg(_this()).arg(value).arg(name);
+        }
+        loop.assign(token, p.invoke("nextToken"));
+        body._return(value);
+    }
+
+    private JMethod readPropertyMethod(JDefinedClass jclass, JDefinedClass deserializer, int mods, String name) {
+        JMethod method = deserializer.method(mods, boolean.class, name);
+        method._throws(IOException.class);
+        method.param(jclass, "value");
+        method.param(String.class, "name");
+        method.param(JsonParser.class, "p");
+        method.param(DeserializationContext.class, "ctxt");
+        return method;
+    }
+
+    private void addReadPropertyCases(JDefinedClass deserializer, JMethod method, List<Property> properties, JExpression notDeclared) {
+        List<JVar> params = method.params();
+        JVar value = params.get(0);
+        JVar name = params.get(1);
+        JVar p = params.get(2);
+        JVar ctxt = params.get(3);
+
+        if (properties.isEmpty()) {
+            method.body()._return(notDeclared);
+            return;
+        }
+
+        boolean unchecked = false;
+        if (LanguageFeatures.canUseJava7(ruleFactory.getGenerationConfig())) {
+            JSwitch propertySwitch = method.body()._switch(name);
+            for (Property property : properties) {
+                JBlock block = propertySwitch._case(lit(property.name)).body();
+                block.assign(value.ref(property.field), readValue(deserializer, property, p, ctxt));
+                block._return(TRUE);
+                unchecked |= isParameterized(property.field.type());
+            }
+            propertySwitch._default().body()._return(notDeclared);
+        } else {
+            JConditional propertyConditional = null;
+            for (Property property : properties) {
+                JExpression condition = lit(property.name).invoke("equals").arg(name);
+                propertyConditional = propertyConditional == null ? method.body()._if(condition) : propertyConditional._elseif(condition);
+                propertyConditional._then().assign(value.ref(property.field), readValue(deserializer, property, p, ctxt));
+                propertyConditional._then()._return(TRUE);
+                unchecked |= isParameterized(property.field.type());
+            }
+            method.body()._return(notDeclared);
+        }
+
+        if (unchecked) {
+            Models.suppressWarnings(method, "unchecked");
+        }
+    }
+
+    /**
+     * Gets an expression that reads the value of a property, the parser being
+     * at its first token.
+     */
+    private JExpression readValue(JDefinedClass deserializer, Property property, JVar p, JVar ctxt) {
+        JType type = property.field.type();
+        String typeName = type.fullName();
+
+        if (type.isPrimitive()) {
+            if (PRIMITIVE_PARSE_METHODS.containsKey(typeName)) {
+                return invoke(PRIMITIVE_PARSE_METHODS.get(typeName)).arg(p).arg(ctxt);
+            }
+            return ctxt.invoke("readValue").arg(p).arg(type.boxify().dotclass());
+        }
+
+        JExpression isNull = p.invoke("getCurrentToken").eq(tokenRef(deserializer.owner(), "VALUE_NULL"));
+
+        if (typeName.equals(String.class.getName())) {
+            return JOp.cond(isNull, _null(), invoke("_parseString").arg(p).arg(ctxt));
+        }
+
+        if (PRIMITIVE_PARSE_METHODS.containsKey(type.unboxify().fullName())) {
+            JExpression primitive = invoke(PRIMITIVE_PARSE_METHODS.get(type.unboxify().fullName())).arg(p).arg(ctxt);
+            return JOp.cond(isNull, _null(), ((JClass) type).staticInvoke("valueOf").arg(primitive));
+        }
+
+        DateFormat dateFormat = dateFormat(property);
+        if (dateFormat != null) {
+            return JOp.cond(isNull, _null(), invoke(parseDateMethod(deserializer, property, dateFormat)).arg(p).arg(ctxt));
+        }
+
+        return readValue(deserializer, property.field.name(), (JClass) type, p, ctxt);
+    }
+
+    /**
+     * Reads a value using the deserializer that Jackson finds for its type.
+     */
+    private JExpression readValue(JDefinedClass deserializer, String fieldName, JClass type, JVar p, JVar ctxt) {
+        JExpression isNull = p.invoke("getCurrentToken").eq(tokenRef(deserializer.owner(), "VALUE_NULL"));
+
+        if (!isParameterized(type)) {
+            return JOp.cond(isNull, _null(), ctxt.invoke("readValue").arg(p).arg(type.dotclass()));
+        }
+
+        String constantName = constantName(fieldName) + "_TYPE";
+        JFieldVar javaType = deserializer.fields().get(constantName);
+        if (javaType == null) {
+            JExpression typeFactory = deserializer.owner().ref(TypeFactory.class).staticInvoke("defaultInstance");
+            javaType = deserializer.field(PRIVATE | STATIC | FINAL, JavaType.class, constantName, javaType(typeFactory, type));
+        }
+        return JOp.cond(isNull, _null(), cast(type, ctxt.invoke("readValue").arg(p).arg(javaType)));
+    }
+
+    private JExpression javaType(JExpression typeFactory, JClass type) {
+        JClass rawType = type.erasure();
+        if (rawType.fullName().equals(Set.class.getName())) {
+            // as with the @JsonDeserialize annotation added for sets, keep their order
+            rawType = type.owner().ref(LinkedHashSet.class);
+        }
+
+        if (!isParameterized(type)) {
+            return typeFactory.invoke("constructType").arg(rawType.dotclass());
+        }
+
+        JInvocation javaType = typeFactory.invoke("constructParametricType").arg(rawType.dotclass());
+        for (JClass typeParameter : type.getTypeParameters()) {
+            javaType.arg(javaType(typeFactory, typeParameter));
+        }
+        return javaType;
+    }
+
+    private static boolean isAssignableTo(JType type, Class<?>... classes) {
+        try {
+            Class<?> javaClass = Class.forName(type.erasure().fullName());
+            for (Class<?> c : classes) {
+                if (c.isAssignableFrom(javaClass)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the pattern and time zone that a date/time property is written
+     * with (as for its <code>@JsonFormat</code> annotation), or null if it
+     * uses the default representation of its type.
+     */
+    private DateFormat dateFormat(Property property) {
+        String format = property.node.path("format").asText();
+        String typeName = property.field.type().fullName();
+
+        String pattern = null;
+        String timezone = null;
+        if ("date-time".equalsIgnoreCase(format)) {
+            pattern = dateFormats.getDateTimePattern(property.node);
+            timezone = dateFormats.getTimezone(property.node);
+        } else if ("date".equalsIgnoreCase(format)) {
+            pattern = dateFormats.getDatePattern(property.node);
+        } else if ("time".equalsIgnoreCase(format)) {
+            pattern = dateFormats.getTimePattern(property.node);
+        }
+
+        if (pattern == null
+                || !(typeName.equals(Date.class.getName()) || JAVA_TIME_TYPES.contains(typeName) || JODA_PARSE_METHODS.containsKey(typeName))) {
+            return null;
+        }
+        return new DateFormat(pattern, timezone);
+    }
+
+    private JExpression formatDate(JDefinedClass serializer, Property property, DateFormat dateFormat, JExpression fieldValue, JVar provider) {
+        String typeName = property.field.type().fullName();
+
+        if (typeName.equals(Date.class.getName())) {
+            // SimpleDateFormat isn't thread safe, so each value gets its own
+            JMethod format = serializer.method(PRIVATE, String.class, "format" + capitalize(property.field.name()));
+            JVar value = format.param(property.field.type(), "value");
+            JVar formatProvider = format.param(SerializerProvider.class, "provider");
+            JVar simpleDateFormat = simpleDateFormat(serializer.owner(), format.body(), dateFormat, formatProvider);
+            format.body()._return(simpleDateFormat.invoke("format").arg(value));
+            return invoke(format).arg(fieldValue).arg(provider);
+        }
+
+        JFieldVar formatter = formatterField(serializer, property, dateFormat);
+        return formatter.invoke(JAVA_TIME_TYPES.contains(typeName) ? "format" : "print").arg(fieldValue);
+    }
+
+    private JMethod parseDateMethod(JDefinedClass deserializer, Property property, DateFormat dateFormat) {
+        JCodeModel owner = deserializer.owner();
+        JType type = property.field.type();
+        String typeName = type.fullName();
+
+        JMethod parse = deserializer.method(PRIVATE, type, "parse" + capitalize(property.field.name()));
+        parse._throws(IOException.class);
+        JVar p = parse.param(JsonParser.class, "p");
+        JVar ctxt = parse.param(DeserializationContext.class, "ctxt");
+
+        // as with @JsonFormat, only strings are expected to match the pattern
+        parse.body()._if(p.invoke("getCurrentToken").ne(tokenRef(owner, "VALUE_STRING")))._then()
+                ._return(ctxt.invoke("readValue").arg(p).arg(type.boxify().dotclass()));
+
+        JVar text = parse.body().decl(owner.ref(String.class), "text", p.invoke("getText").invoke("trim"));
+        JTryBlock tryBlock = parse.body()._try();
+        JCatchBlock catchBlock;
+        if (typeName.equals(Date.class.getName())) {
+            JVar simpleDateFormat = simpleDateFormat(owner, tryBlock.body(), dateFormat, ctxt);
+            tryBlock.body()._return(simpleDateFormat.invoke("parse").arg(text));
+            catchBlock = tryBlock._catch(owner.ref(ParseException.class));
+        } else if (JAVA_TIME_TYPES.contains(typeName)) {
+            tryBlock.body()._return(((JClass) type).staticInvoke("parse").arg(text).arg(formatterField(deserializer, property, dateFormat)));
+            catchBlock = tryBlock._catch(owner.ref(DateTimeParseException.class));
+        } else {
+            tryBlock.body()._return(formatterField(deserializer, property, dateFormat).invoke(JODA_PARSE_METHODS.get(typeName)).arg(text));
+            catchBlock = tryBlock._catch(owner.ref(IllegalArgumentException.class));
+        }
+        JVar e = catchBlock.param("e");
+        catchBlock.body()._throw(ctxt.invoke("weirdStringException").arg(text).arg(type.boxify().dotclass()).arg(e.invoke("getMessage")));
+
+        return parse;
+    }
+
+    /**
+     * Declares a SimpleDateFormat using the property's pattern, and the locale
+     * and (unless the property has its own) time zone of the mapper.
+     */
+    private JVar simpleDateFormat(JCodeModel owner, JBlock block, DateFormat dateFormat, JVar context) {
+        JVar simpleDateFormat = block.decl(owner.ref(SimpleDateFormat.class), "format",
+                _new(owner.ref(SimpleDateFormat.class)).arg(dateFormat.pattern).arg(context.invoke("getLocale")));
+        block.invoke(simpleDateFormat, "setTimeZone").arg(dateFormat.timezone == null
+                ? context.invoke("getTimeZone")
+                : owner.ref(TimeZone.class).staticInvoke("getTimeZone").arg(dateFormat.timezone));
+        return simpleDateFormat;
+    }
+
+    /**
+     * Gets the (thread safe) java.time or Joda formatter for a property,
+     * declaring it if necessary.
+     */
+    private JFieldVar formatterField(JDefinedClass codec, Property property, DateFormat dateFormat) {
+        String constantName = constantName(property.field.name()) + "_FORMAT";
+        JFieldVar formatter = codec.fields().get(constantName);
+        if (formatter != null) {
+            return formatter;
+        }
+
+        JCodeModel owner = codec.owner();
+        String typeName = property.field.type().fullName();
+        boolean zoned = dateFormat.timezone != null && ZONED_TYPES.contains(typeName);
+
+        JExpression init;
+        JClass formatterType;
+        if (JAVA_TIME_TYPES.contains(typeName)) {
+            formatterType = owner.ref(DateTimeFormatter.class);
+            init = formatterType.staticInvoke("ofPattern").arg(dateFormat.pattern);
+            if (zoned) {
+                init = init.invoke("withZone").arg(owner.ref(ZoneId.class).staticInvoke("of").arg(dateFormat.timezone));
+            }
+        } else {
+            formatterType = owner.ref("org.joda.time.format.DateTimeFormatter");
+            init = owner.ref("org.joda.time.format.DateTimeFormat").staticInvoke("forPattern").arg(dateFormat.pattern);
+            if (zoned) {
+                init = init.invoke("withZone").arg(owner.ref("org.joda.time.DateTimeZone").staticInvoke("forID").arg(dateFormat.timezone));
+            }
+        }
+        return codec.field(PRIVATE | STATIC | FINAL, formatterType, constantName, init);
+    }
+
+    private InclusionLevel getInclusionLevel() {
+        return ruleFactory.getGenerationConfig().getInclusionLevel();
+    }
+
+    private static JExpression tokenRef(JCodeModel owner, String token) {
+        return owner.ref(JsonToken.class).staticRef(token);
+    }
+
+    private static final class DateFormat {
+
+        private final String pattern;
+        private final String timezone;
+
+        private DateFormat(String pattern, String timezone) {
+            this.pattern = pattern;
+            this.timezone = timezone;
+        }
+    }
+
+}
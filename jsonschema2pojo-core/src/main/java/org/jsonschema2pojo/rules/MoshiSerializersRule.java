@@ -0,0 +1,437 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.rules;
+
+import static com.sun.codemodel.JExpr.*;
+import static com.sun.codemodel.JMod.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jsonschema2pojo.util.MethodSplitter;
+
+import com.sun.codemodel.ClassType;
+import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JCatchBlock;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JConditional;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JFieldRef;
+import com.sun.codemodel.JFieldVar;
+import com.sun.codemodel.JForEach;
+import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JSwitch;
+import com.sun.codemodel.JTryBlock;
+import com.sun.codemodel.JType;
+import com.sun.codemodel.JVar;
+
+/**
+ * Adds a Moshi <code>JsonAdapter</code> to a generated class, which writes and
+ * reads its properties directly through Moshi's <code>JsonWriter</code> and
+ * <code>JsonReader</code> rather than through <code>ClassJsonAdapter</code>
+ * (or <code>KotlinJsonAdapterFactory</code>) reflection.
+ * <p>
+ * The adapter is a nested class (<code>MoshiJsonAdapter</code>), created with
+ * the <code>Moshi</code> instance that it belongs to. Property names are
+ * matched with a precomputed <code>JsonReader.Options</code>, so that known
+ * names are selected without allocating a String for them. Strings, numbers,
+ * booleans and generated enums (through their <code>value()</code> and
+ * <code>fromValue</code> methods) are written and read directly; values of
+ * any other type go through the adapter that Moshi has for the type, which is
+ * looked up once, when the adapter is created. Properties are written in
+ * declaration order using their <code>@Json</code> names, followed by any
+ * additional properties. Each class is registered with the
+ * {@link org.jsonschema2pojo.util.SerializerRegistry}, so that a
+ * <code>JsonAdapter.Factory</code> can be generated for them once generation
+ * is complete.
+ * <p>
+ * Moshi need not be on the classpath during generation, so its types are
+ * referred to by name.
+ */
+public class MoshiSerializersRule extends AbstractSerializersRule {
+
+    public static final String ADAPTER_NAME = "MoshiJsonAdapter";
+
+    public static final String MOSHI = "com.squareup.moshi.Moshi";
+    public static final String JSON_ADAPTER = "com.squareup.moshi.JsonAdapter";
+    public static final String JSON_ADAPTER_FACTORY = "com.squareup.moshi.JsonAdapter.Factory";
+    public static final String TYPES = "com.squareup.moshi.Types";
+    private static final String JSON_READER = "com.squareup.moshi.JsonReader";
+    private static final String JSON_READER_OPTIONS = "com.squareup.moshi.JsonReader.Options";
+    private static final String JSON_READER_TOKEN = "com.squareup.moshi.JsonReader.Token";
+    private static final String JSON_WRITER = "com.squareup.moshi.JsonWriter";
+    private static final String JSON_DATA_EXCEPTION = "com.squareup.moshi.JsonDataException";
+
+    private static final String WRITE_PROPERTIES = "writeProperties";
+
+    private static final String READ_PROPERTY = "readProperty";
+
+    private static final String OPTIONS = "OPTIONS";
+
+    /**
+     * Estimated bytecode for each property written by writeProperties, and
+     * read by readProperty (see {@link MethodSplitter}).
+     */
+    private static final int WRITE_PROPERTY_BYTES = 48;
+    private static final int READ_PROPERTY_BYTES = 48;
+
+    /**
+     * The JsonReader methods that read each type that is read directly.
+     */
+    private static final Map<String, String> NEXT_METHODS = new HashMap<>();
+
+    static {
+        NEXT_METHODS.put("boolean", "nextBoolean");
+        NEXT_METHODS.put("int", "nextInt");
+        NEXT_METHODS.put("long", "nextLong");
+        NEXT_METHODS.put("double", "nextDouble");
+        NEXT_METHODS.put("java.lang.String", "nextString");
+        NEXT_METHODS.put("java.lang.Boolean", "nextBoolean");
+        NEXT_METHODS.put("java.lang.Integer", "nextInt");
+        NEXT_METHODS.put("java.lang.Long", "nextLong");
+        NEXT_METHODS.put("java.lang.Double", "nextDouble");
+    }
+
+    protected MoshiSerializersRule(RuleFactory ruleFactory) {
+        super(ruleFactory);
+    }
+
+    @Override
+    protected void addSerializers(JDefinedClass jclass, List<Property> properties, JFieldVar additionalProperties, JDefinedClass superClass) {
+        JCodeModel owner = jclass.owner();
+
+        JDefinedClass adapter = nestedClass(jclass, ADAPTER_NAME, JSON_ADAPTER);
+        adapter.javadoc().add("Writes and reads {@link " + jclass.name() + "} without reflection.");
+
+        JMethod constructor = adapter.constructor(PUBLIC);
+        JVar moshi = constructor.param(owner.directClass(MOSHI), "moshi");
+
+        JFieldVar superAdapter = null;
+        if (superClass != null) {
+            JDefinedClass superAdapterClass = nestedClass(superClass, ADAPTER_NAME, JSON_ADAPTER);
+            superAdapter = adapter.field(PRIVATE | FINAL, superAdapterClass, "superAdapter");
+            constructor.body().assign(_this().ref(superAdapter), _new(superAdapterClass).arg(moshi));
+        }
+
+        // the adapters that Moshi has for other types are looked up once, up front
+        for (Property property : properties) {
+            if (!isReadDirectly(property.field.type())) {
+                delegateAdapter(adapter, constructor, moshi, property.field.name(), property.field.type().boxify());
+            }
+        }
+        JFieldVar additionalPropertiesAdapter = additionalProperties == null ? null
+                : delegateAdapter(adapter, constructor, moshi, "additionalProperties", additionalPropertiesValueType(additionalProperties));
+
+        JMethod writeProperties = addWriteProperties(jclass, adapter, properties, superAdapter);
+        JMethod readProperty = addReadProperty(jclass, adapter, properties, superAdapter);
+
+        JMethod toJson = adapter.method(PUBLIC, void.class, "toJson");
+        toJson.annotate(Override.class);
+        toJson._throws(IOException.class);
+        JVar writer = toJson.param(owner.directClass(JSON_WRITER), "writer");
+        JVar value = toJson.param(jclass, "value");
+        toJson.body()._if(value.eq(_null()))._then().add(writer.invoke("nullValue"))._return();
+        toJson.body().invoke(writer, "beginObject");
+        toJson.body().invoke(writeProperties).arg(value).arg(writer);
+        if (additionalPropertiesAdapter != null) {
+            JForEach forEach = toJson.body().forEach(owner.ref(Map.Entry.class).narrow(owner.ref(String.class), additionalPropertiesValueType(additionalProperties)),
+                    "property", value.invoke("getAdditionalProperties").invoke("entrySet"));
+            forEach.body().invoke(writer, "name").arg(forEach.var().invoke("getKey"));
+            forEach.body().invoke(additionalPropertiesAdapter, "toJson").arg(writer).arg(forEach.var().invoke("getValue"));
+        }
+        toJson.body().invoke(writer, "endObject");
+
+        JMethod fromJson = adapter.method(PUBLIC, jclass, "fromJson");
+        fromJson.annotate(Override.class);
+        fromJson._throws(IOException.class);
+        JVar reader = fromJson.param(owner.directClass(JSON_READER), "reader");
+        JBlock isNull = fromJson.body()._if(reader.invoke("peek").eq(tokenRef(owner, "NULL")))._then();
+        isNull.invoke(reader, "nextNull");
+        isNull._return(_null());
+        value = fromJson.body().decl(jclass, "value", _new(jclass));
+        fromJson.body().invoke(reader, "beginObject");
+        JBlock loop = fromJson.body()._while(reader.invoke("hasNext")).body();
+        // a name that no options select is left for the caller to consume
+        JBlock notDeclared = loop._if(invoke(readProperty).arg(value).arg(reader).not())._then();
+        if (additionalPropertiesAdapter != null) {
+            JVar name = notDeclared.decl(owner.ref(String.class), "name", reader.invoke("nextName"));
+            notDeclared.invoke(value, "setAdditionalProperty").arg(name).arg(additionalPropertiesAdapter.invoke("fromJson").arg(reader));
+        } else {
+            notDeclared.invoke(reader, "nextName");
+            notDeclared.invoke(reader, "skipValue");
+        }
+        fromJson.body().invoke(reader, "endObject");
+        fromJson.body()._return(value);
+
+        ruleFactory.getSerializerRegistry().register(jclass, adapter);
+    }
+
+    /**
+     * Declares a field holding the adapter that Moshi has for a type, and
+     * looks it up in the constructor.
+     */
+    private JFieldVar delegateAdapter(JDefinedClass adapter, JMethod constructor, JVar moshi, String fieldName, JClass type) {
+        JCodeModel owner = adapter.owner();
+        JFieldVar field = adapter.field(PRIVATE | FINAL, owner.directClass(JSON_ADAPTER).narrow(type), fieldName + "Adapter");
+        constructor.body().assign(_this().ref(field), moshi.invoke("adapter").arg(javaType(owner, type)));
+        return field;
+    }
+
+    /**
+     * Gets an expression for the reflection type of a (possibly
+     * parameterized) type.
+     */
+    private JExpression javaType(JCodeModel owner, JClass type) {
+        // Moshi's own collection adapters only match the interfaces (and keep the order of sets)
+        JClass rawType = type.erasure();
+
+        if (!isParameterized(type)) {
+            return rawType.dotclass();
+        }
+
+        JInvocation javaType = owner.directClass(TYPES).staticInvoke("newParameterizedType").arg(rawType.dotclass());
+        for (JClass typeParameter : type.getTypeParameters()) {
+            javaType.arg(javaType(owner, typeParameter));
+        }
+        return javaType;
+    }
+
+    private JMethod addWriteProperties(JDefinedClass jclass, JDefinedClass adapter, List<Property> properties, JFieldVar superAdapter) {
+        JMethod writeProperties = writePropertiesMethod(jclass, adapter, PUBLIC, WRITE_PROPERTIES);
+        writeProperties.javadoc().add("Writes the declared (and inherited) properties of the given value, without the enclosing object.");
+        if (superAdapter != null) {
+            writeProperties.body().add(withArgs(superAdapter.invoke(WRITE_PROPERTIES), writeProperties.params()));
+        }
+
+        // the properties of large classes are spread over a chain of methods, each calling the next
+        List<List<Property>> chunks = MethodSplitter.split(properties, WRITE_PROPERTY_BYTES);
+        JMethod chunkMethod = writeProperties;
+        for (int i = 0; i < chunks.size(); i++) {
+            List<JVar> params = chunkMethod.params();
+            for (Property property : chunks.get(i)) {
+                writeProperty(adapter, chunkMethod.body(), property, params.get(0), params.get(1));
+            }
+            if (i < chunks.size() - 1) {
+                JMethod nextChunkMethod = writePropertiesMethod(jclass, adapter, PRIVATE, WRITE_PROPERTIES + (i + 1));
+                chunkMethod.body().add(withArgs(invoke(nextChunkMethod), params));
+                chunkMethod = nextChunkMethod;
+            }
+        }
+        return writeProperties;
+    }
+
+    private JMethod writePropertiesMethod(JDefinedClass jclass, JDefinedClass adapter, int mods, String name) {
+        JMethod method = adapter.method(mods, void.class, name);
+        method._throws(IOException.class);
+        method.param(jclass, "value");
+        method.param(adapter.owner().directClass(JSON_WRITER), "writer");
+        return method;
+    }
+
+    private void writeProperty(JDefinedClass adapter, JBlock block, Property property, JVar value, JVar writer) {
+        JType type = property.field.type();
+        String typeName = type.fullName();
+        JFieldRef fieldValue = value.ref(property.field);
+
+        block.invoke(writer, "name").arg(property.name);
+
+        if (!isReadDirectly(type)) {
+            block.invoke(adapter.fields().get(property.field.name() + "Adapter"), "toJson").arg(writer).arg(fieldValue);
+            return;
+        }
+
+        if (typeName.equals("float")) {
+            // as written by Moshi, without widening to double
+            block.invoke(writer, "value").arg(adapter.owner().ref(Float.class).staticInvoke("valueOf").arg(fieldValue));
+        } else if (type.isPrimitive() || typeName.equals(String.class.getName()) || !isBooleanOrEnum(type)) {
+            // JsonWriter writes null Strings and Numbers as null itself
+            block.invoke(writer, "value").arg(fieldValue);
+        } else {
+            JConditional isNull = block._if(fieldValue.eq(_null()));
+            isNull._then().invoke(writer, "nullValue");
+            isNull._else().invoke(writer, "value").arg(isEnum(type) ? fieldValue.invoke("value") : fieldValue);
+        }
+    }
+
+    private JMethod addReadProperty(JDefinedClass jclass, JDefinedClass adapter, List<Property> properties, JFieldVar superAdapter) {
+        JMethod readProperty = readPropertyMethod(jclass, adapter, PUBLIC, READ_PROPERTY);
+        readProperty.javadoc().add("Reads a declared (or inherited) property, if the reader is at one.");
+        readProperty.javadoc().addReturn().add("whether the property was recognised (if not, its name has not been consumed)");
+
+        // the properties of large classes are spread over a chain of methods, each with its own options
+        List<List<Property>> chunks = MethodSplitter.split(properties, READ_PROPERTY_BYTES);
+        JMethod chunkMethod = readProperty;
+        for (int i = 0; i < chunks.size(); i++) {
+            List<JVar> params = chunkMethod.params();
+
+            JMethod nextChunkMethod = null;
+            JExpression notDeclared;
+            if (i < chunks.size() - 1) {
+                nextChunkMethod = readPropertyMethod(jclass, adapter, PRIVATE, READ_PROPERTY + (i + 1));
+                notDeclared = withArgs(invoke(nextChunkMethod), params);
+            } else if (superAdapter != null) {
+                notDeclared = withArgs(superAdapter.invoke(READ_PROPERTY), params);
+            } else {
+                notDeclared = FALSE;
+            }
+
+            addReadPropertyCases(adapter, chunkMethod, chunks.get(i), i == 0 ? OPTIONS : OPTIONS + i, notDeclared);
+            chunkMethod = nextChunkMethod;
+        }
+        return readProperty;
+    }
+
+    private JMethod readPropertyMethod(JDefinedClass jclass, JDefinedClass adapter, int mods, String name) {
+        JMethod method = adapter.method(mods, boolean.class, name);
+        method._throws(IOException.class);
+        method.param(jclass, "value");
+        method.param(adapter.owner().directClass(JSON_READER), "reader");
+        return method;
+    }
+
+    private void addReadPropertyCases(JDefinedClass adapter, JMethod method, List<Property> properties, String optionsName, JExpression notDeclared) {
+        List<JVar> params = method.params();
+        JVar value = params.get(0);
+        JVar reader = params.get(1);
+
+        if (properties.isEmpty()) {
+            method.body()._return(notDeclared);
+            return;
+        }
+
+        JClass optionsType = adapter.owner().directClass(JSON_READER_OPTIONS);
+        JInvocation optionsInit = optionsType.staticInvoke("of");
+        JSwitch propertySwitch = method.body()._switch(reader.invoke("selectName").arg(adapter.fields().containsKey(optionsName)
+                ? adapter.fields().get(optionsName)
+                : adapter.field(PRIVATE | STATIC | FINAL, optionsType, optionsName, optionsInit)));
+
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            optionsInit.arg(property.name);
+            JBlock block = propertySwitch._case(lit(i)).body();
+            readProperty(adapter, block, property, value, reader);
+            block._return(TRUE);
+        }
+        propertySwitch._default().body()._return(notDeclared);
+    }
+
+    /**
+     * Reads the value of a property into its field, the reader being at its
+     * value.
+     */
+    private void readProperty(JDefinedClass adapter, JBlock block, Property property, JVar value, JVar reader) {
+        JCodeModel owner = adapter.owner();
+        JType type = property.field.type();
+        String typeName = type.fullName();
+        JFieldRef fieldValue = value.ref(property.field);
+
+        if (!isReadDirectly(type)) {
+            block.assign(fieldValue, adapter.fields().get(property.field.name() + "Adapter").invoke("fromJson").arg(reader));
+            return;
+        }
+
+        // a null leaves a primitive unchanged
+        JConditional isNull = block._if(reader.invoke("peek").eq(tokenRef(owner, "NULL")));
+        isNull._then().invoke(reader, "nextNull");
+        if (!type.isPrimitive()) {
+            isNull._then().assign(fieldValue, _null());
+        }
+        JBlock notNull = isNull._else();
+
+        if (typeName.equals("float") || typeName.equals(Float.class.getName())) {
+            notNull.assign(fieldValue, cast(owner.FLOAT, reader.invoke("nextDouble")));
+        } else if (typeName.equals(BigDecimal.class.getName()) || typeName.equals(BigInteger.class.getName())) {
+            // Moshi has no adapter for big numbers, they are read from their text
+            notNull.assign(fieldValue, _new(type).arg(reader.invoke("nextString")));
+        } else if (isEnum(type)) {
+            notNull.assign(fieldValue, invoke(readEnumMethod(adapter, (JDefinedClass) type)).arg(reader));
+        } else {
+            notNull.assign(fieldValue, reader.invoke(NEXT_METHODS.get(typeName)));
+        }
+    }
+
+    /**
+     * Gets the method that reads a generated enum through its
+     * <code>fromValue</code> method, declaring it if necessary.
+     */
+    private JMethod readEnumMethod(JDefinedClass adapter, JDefinedClass _enum) {
+        String methodName = "read" + _enum.name();
+        JMethod readEnum = methodNamed(adapter, methodName);
+        if (readEnum != null) {
+            return readEnum;
+        }
+
+        readEnum = adapter.method(PRIVATE | STATIC, _enum, methodName);
+        readEnum._throws(IOException.class);
+        JVar reader = readEnum.param(adapter.owner().directClass(JSON_READER), "reader");
+
+        JType backingType = methodNamed(_enum, "fromValue").params().get(0).type();
+        JTryBlock tryBlock = readEnum.body()._try();
+        tryBlock.body()._return(_enum.staticInvoke("fromValue").arg(reader.invoke(NEXT_METHODS.get(backingType.fullName()))));
+        JCatchBlock catchBlock = tryBlock._catch(adapter.owner().ref(IllegalArgumentException.class));
+        JVar e = catchBlock.param("e");
+        catchBlock.body()._throw(_new(adapter.owner().directClass(JSON_DATA_EXCEPTION)).arg(e.invoke("getMessage")));
+        return readEnum;
+    }
+
+    /**
+     * Whether a property of the given type is written and read directly,
+     * rather than through the adapter that Moshi has for its type.
+     */
+    private static boolean isReadDirectly(JType type) {
+        String typeName = type.fullName();
+        if (NEXT_METHODS.containsKey(typeName)) {
+            return true;
+        }
+        switch (typeName) {
+            case "float":
+            case "java.lang.Float":
+            case "java.math.BigDecimal":
+            case "java.math.BigInteger":
+                return true;
+            default:
+                return isEnum(type) && NEXT_METHODS.containsKey(methodNamed((JDefinedClass) type, "fromValue").params().get(0).type().fullName());
+        }
+    }
+
+    private static boolean isBooleanOrEnum(JType type) {
+        return type.fullName().equals(Boolean.class.getName()) || isEnum(type);
+    }
+
+    /**
+     * Whether the given type is an enum generated with <code>value()</code>
+     * and <code>fromValue</code> methods.
+     */
+    private static boolean isEnum(JType type) {
+        return type instanceof JDefinedClass
+                && ((JDefinedClass) type).getClassType() == ClassType.ENUM
+                && methodNamed((JDefinedClass) type, "fromValue") != null
+                && methodNamed((JDefinedClass) type, "value") != null;
+    }
+
+    private static JExpression tokenRef(JCodeModel owner, String token) {
+        return owner.directClass(JSON_READER_TOKEN).staticRef(token);
+    }
+
+}
@@ -31,7 +31,6 @@ import com.sun.codemodel.JConditional;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JExpr;
 import com.sun.codemodel.JExpression;
-import com.sun.codemodel.JFieldRef;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JMethod;
 import com.sun.codemodel.JMod;
@@ -39,18 +38,24 @@ import com.sun.codemodel.JOp;
 import com.sun.codemodel.JPackage;
 import com.sun.codemodel.JType;
 import com.sun.codemodel.JVar;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.jsonschema2pojo.AnnotationStyle;
 import org.jsonschema2pojo.Annotator;
+import org.jsonschema2pojo.GenerationConfig;
+import org.jsonschema2pojo.Language;
 import org.jsonschema2pojo.Schema;
 import org.jsonschema2pojo.exception.ClassAlreadyExistsException;
 import org.jsonschema2pojo.exception.GenerationException;
+import org.jsonschema2pojo.util.LanguageFeatures;
+import org.jsonschema2pojo.util.MethodSplitter;
 import org.jsonschema2pojo.util.ParcelableHelper;
 import org.jsonschema2pojo.util.ReflectionHelper;
 import org.jsonschema2pojo.util.SerializableHelper;
@@ -64,6 +69,13 @@ import org.jsonschema2pojo.util.SerializableHelper;
  */
 public class ObjectRule implements Rule<JPackage, JType> {
 
+    // estimated bytecode generated for each field, see MethodSplitter
+    private static final int TO_STRING_BYTES_PER_FIELD = 48;
+    private static final int HASH_CODE_BYTES_PER_FIELD = 24;
+
+    private static final String CACHED_HASH_CODE_FIELD = "cachedHashCode";
+    private static final int EQUALS_BYTES_PER_FIELD = 40;
+
     private final RuleFactory ruleFactory;
     private final ReflectionHelper reflectionHelper;
     private final ParcelableHelper parcelableHelper;
@@ -84,10 +96,23 @@ public class ObjectRule implements Rule<JPackage, JType> {
     @Override
     public JType apply(String nodeName, JsonNode node, JsonNode parent, JPackage _package, Schema schema) {
 
+        String structure = null;
+        if (ruleFactory.getGenerationConfig().isDeduplicateInlineSchemas()) {
+            structure = ruleFactory.getSchemaDeduplicator().getStructure(node, schema);
+            JType existingType = structure != null ? ruleFactory.getSchemaDeduplicator().getExistingType(structure, nodeName, schema, _package.owner()) : null;
+            if (existingType != null) {
+                return existingType;
+            }
+        }
+
         JType superType = reflectionHelper.getSuperType(nodeName, node, _package, schema);
         if (superType.isPrimitive() || reflectionHelper.isFinal(superType)) {
             return superType;
         }
+        if (ruleFactory.getRecordRegistry().isRecord(superType)) {
+            // only reachable if the schemas to extend were not found before generation (see RecordRegistry)
+            throw new GenerationException("Unable to extend " + superType.fullName() + ", records can't be extended");
+        }
 
         JDefinedClass jclass;
         try {
@@ -95,9 +120,19 @@ public class ObjectRule implements Rule<JPackage, JType> {
         } catch (ClassAlreadyExistsException e) {
             return e.getExistingClass();
         }
+        reflectionHelper.registerClass(jclass);
+        if (structure != null) {
+            ruleFactory.getSchemaDeduplicator().register(structure, jclass, nodeName, schema);
+        }
 
         jclass._extends((JClass) superType);
 
+        // registered before the properties are applied, as a record has no getters or setters
+        boolean record = isRecord(node, superType);
+        if (record) {
+            ruleFactory.getRecordRegistry().register(jclass);
+        }
+
         schema.setJavaTypeIfEmpty(jclass);
 
         if (node.has("title")) {
@@ -108,8 +143,10 @@ public class ObjectRule implements Rule<JPackage, JType> {
             ruleFactory.getDescriptionRule().apply(nodeName, node.get("description"), node, jclass, schema);
         }
 
-        // Creates the class definition for the builder
-        if(ruleFactory.getGenerationConfig().isGenerateBuilders() && ruleFactory.getGenerationConfig().isUseInnerClassBuilders()){
+        // Creates the class definition for the builder, immutable classes and records get a builder that invokes
+        // their constructor instead (see ConstructorRule)
+        if(ruleFactory.getGenerationConfig().isGenerateBuilders() && ruleFactory.getGenerationConfig().isUseInnerClassBuilders()
+                && !ruleFactory.getGenerationConfig().isImmutable() && !record){
             ruleFactory.getBuilderRule().apply(nodeName, node, parent, jclass, schema);
         }
 
@@ -121,26 +158,34 @@ public class ObjectRule implements Rule<JPackage, JType> {
 
         ruleFactory.getAdditionalPropertiesRule().apply(nodeName, node.get("additionalProperties"), node, jclass, schema);
 
-        ruleFactory.getDynamicPropertiesRule().apply(nodeName, node.get("properties"), node, jclass, schema);
+        if (!record) {
+            ruleFactory.getDynamicPropertiesRule().apply(nodeName, node.get("properties"), node, jclass, schema);
+        }
 
         if (node.has("required")) {
             ruleFactory.getRequiredArrayRule().apply(nodeName, node.get("required"), node, jclass, schema);
         }
 
-        if (ruleFactory.getGenerationConfig().isIncludeToString()) {
+        // a record implements toString, hashCode and equals itself
+        if (ruleFactory.getGenerationConfig().isIncludeToString() && !record) {
             addToString(jclass);
         }
 
-        if (ruleFactory.getGenerationConfig().isIncludeHashcodeAndEquals()) {
-            addHashCode(jclass, node);
+        // a record compares array components by reference, so one holding (primitive) arrays compares their contents itself
+        if (ruleFactory.getGenerationConfig().isIncludeHashcodeAndEquals() && !record || record && hasArrayField(jclass)) {
+            addHashCode(jclass, node, ruleFactory.getGenerationConfig().isImmutable() && !record);
             addEquals(jclass, node);
         }
 
         if (ruleFactory.getGenerationConfig().isParcelable()) {
+            if (ruleFactory.getGenerationConfig().isImmutable()) {
+                throw new GenerationException("Unable to generate " + jclass.fullName() + ", immutable classes can't be made parcelable");
+            }
             addParcelSupport(jclass);
         }
 
-        if (ruleFactory.getGenerationConfig().isIncludeConstructors()) {
+        // the final fields of an immutable class (or record) can only be set by a constructor
+        if (ruleFactory.getGenerationConfig().isIncludeConstructors() || ruleFactory.getGenerationConfig().isImmutable() || record) {
             ruleFactory.getConstructorRule().apply(nodeName, node, parent, jclass, schema);
 
         }
@@ -149,10 +194,35 @@ public class ObjectRule implements Rule<JPackage, JType> {
             SerializableHelper.addSerializableSupport(jclass);
         }
 
+        if (ruleFactory.getGenerationConfig().isGenerateSerializers() && !ruleFactory.getGenerationConfig().isImmutable() && !record) {
+            ruleFactory.getSerializersRule().apply(nodeName, node, parent, jclass, schema);
+        }
+
         return jclass;
 
     }
 
+    /**
+     * Whether the class for the given schema is generated as a Java record. A
+     * record can't extend another class or declare instance fields other than
+     * its components, so schemas that extend another type, that another schema
+     * extends, or whose class would hold additional properties, are generated
+     * as classes.
+     */
+    private boolean isRecord(JsonNode node, JType superType) {
+        GenerationConfig config = ruleFactory.getGenerationConfig();
+        if (!config.isUseRecords() || config.getTargetLanguage() != Language.JAVA || !LanguageFeatures.canUseJava16(config)) {
+            return false;
+        }
+        if (config.isParcelable() || !superType.fullName().equals(Object.class.getName()) || ruleFactory.getRecordRegistry().isExtended(node)) {
+            return false;
+        }
+
+        JsonNode additionalProperties = node.get("additionalProperties");
+        boolean additionalPropertiesAllowed = additionalProperties == null || !additionalProperties.isBoolean() || additionalProperties.asBoolean();
+        return !(additionalPropertiesAllowed && config.isIncludeAdditionalProperties() && ruleFactory.getAnnotator().isAdditionalPropertiesSupported());
+    }
+
     private void addParcelSupport(JDefinedClass jclass) {
         jclass._implements(jclass.owner().directClass("android.os.Parcelable"));
 
@@ -305,16 +375,51 @@ public class ObjectRule implements Rule<JPackage, JType> {
         }
 
         // For each included instance field, add to the StringBuilder in the field=value format
+        List<JFieldVar> includedFields = new ArrayList<>();
         for (JFieldVar fieldVar : fields.values()) {
-            if (excludes.contains(fieldVar.name()) || (fieldVar.mods().getValue() & JMod.STATIC) == JMod.STATIC) {
-                continue;
+            if (!excludes.contains(fieldVar.name()) && (fieldVar.mods().getValue() & JMod.STATIC) != JMod.STATIC) {
+                includedFields.add(fieldVar);
             }
+        }
+
+        // Large classes append their fields in a chain of helper methods, so that toString stays small enough to be JIT compiled
+        List<List<JFieldVar>> chunks = MethodSplitter.split(includedFields, TO_STRING_BYTES_PER_FIELD);
+        appendFields(jclass, body, sb, chunks.get(0));
+        for (int i = 1; i < chunks.size(); i++) {
+            JMethod toStringPart = jclass.method(JMod.PRIVATE, jclass.owner().VOID, "toString" + i);
+            JVar partSb = toStringPart.param(stringBuilderClass, "sb");
+            appendFields(jclass, toStringPart.body(), partSb, chunks.get(i));
+            body.invoke(toStringPart).arg(sb);
+        }
+
+        // Add the trailer
+        JConditional trailerConditional = body._if(
+                sb.invoke("charAt").arg(sb.invoke("length").minus(JExpr.lit(1)))
+                        .eq(JExpr.lit(',')));
+
+        trailerConditional._then().add(
+                sb.invoke("setCharAt")
+                        .arg(sb.invoke("length").minus(JExpr.lit(1)))
+                        .arg(JExpr.lit(']')));
+
+        trailerConditional._else().add(
+                sb.invoke("append").arg(JExpr.lit(']')));
+
+
+        body._return(sb.invoke("toString"));
+
+        toString.annotate(Override.class);
+    }
+
+    private void appendFields(JDefinedClass jclass, JBlock body, JVar sb, List<JFieldVar> fields) {
+        for (JFieldVar fieldVar : fields) {
+            JExpression fieldRef = fieldValue(JExpr._this(), fieldVar);
 
             body.add(sb.invoke("append").arg(fieldVar.name()));
             body.add(sb.invoke("append").arg(JExpr.lit('=')));
 
             if (fieldVar.type().isPrimitive()) {
-                body.add(sb.invoke("append").arg(JExpr.refthis(fieldVar.name())));
+                body.add(sb.invoke("append").arg(fieldRef));
             } else if (fieldVar.type().isArray()) {
                 // Only primitive arrays are supported
                 if (!fieldVar.type().elementType().isPrimitive()) {
@@ -324,58 +429,71 @@ public class ObjectRule implements Rule<JPackage, JType> {
                 // Leverage Arrays.toString()
                 body.add(sb.invoke("append")
                         .arg(JOp.cond(
-                                JExpr.refthis(fieldVar.name()).eq(JExpr._null()),
+                                fieldRef.eq(JExpr._null()),
                                 JExpr.lit("<null>"),
                                 jclass.owner().ref(Arrays.class).staticInvoke("toString")
-                                        .arg(JExpr.refthis(fieldVar.name()))
+                                        .arg(fieldRef)
                                         .invoke("replace").arg(JExpr.lit('[')).arg(JExpr.lit('{'))
                                         .invoke("replace").arg(JExpr.lit(']')).arg(JExpr.lit('}'))
                                         .invoke("replace").arg(JExpr.lit(", ")).arg(JExpr.lit(",")))));
             } else {
                 body.add(sb.invoke("append")
                         .arg(JOp.cond(
-                                JExpr.refthis(fieldVar.name()).eq(JExpr._null()),
+                                fieldRef.eq(JExpr._null()),
                                 JExpr.lit("<null>"),
-                                JExpr.refthis(fieldVar.name()))));
+                                fieldRef)));
             }
 
             body.add(sb.invoke("append").arg(JExpr.lit(',')));
         }
-
-        // Add the trailer
-        JConditional trailerConditional = body._if(
-                sb.invoke("charAt").arg(sb.invoke("length").minus(JExpr.lit(1)))
-                        .eq(JExpr.lit(',')));
-
-        trailerConditional._then().add(
-                sb.invoke("setCharAt")
-                        .arg(sb.invoke("length").minus(JExpr.lit(1)))
-                        .arg(JExpr.lit(']')));
-
-        trailerConditional._else().add(
-                sb.invoke("append").arg(JExpr.lit(']')));
-
-
-        body._return(sb.invoke("toString"));
-
-        toString.annotate(Override.class);
     }
 
     //TODO
-    private void addHashCode(JDefinedClass jclass, JsonNode node) {
+    private void addHashCode(JDefinedClass jclass, JsonNode node, boolean cacheHashCode) {
         Map<String, JFieldVar> fields = removeFieldsExcludedFromEqualsAndHashCode(jclass.fields(), node);
 
         JMethod hashCode = jclass.method(JMod.PUBLIC, int.class, "hashCode");
         JBlock body = hashCode.body();
-        JVar result = body.decl(jclass.owner().INT, "result", JExpr.lit(1));
+        JVar result;
+
+        // The fields of an immutable class never change, so its hash is computed once and cached. As for
+        // java.lang.String, a race only means that the hash is computed more than once.
+        JFieldVar cachedHashCode = null;
+        if (cacheHashCode) {
+            cachedHashCode = jclass.field(JMod.PRIVATE | JMod.TRANSIENT, int.class, CACHED_HASH_CODE_FIELD);
+            result = body.decl(jclass.owner().INT, "result", JExpr._this().ref(cachedHashCode));
+            body._if(result.ne(JExpr.lit(0)))._then()._return(result);
+            body.assign(result, JExpr.lit(1));
+        } else {
+            result = body.decl(jclass.owner().INT, "result", JExpr.lit(1));
+        }
 
-        // Incorporate each non-excluded field in the hashCode calculation
-        for (JFieldVar fieldVar : fields.values()) {
-            if ((fieldVar.mods().getValue() & JMod.STATIC) == JMod.STATIC) {
-                continue;
-            }
+        // Incorporate each non-excluded field in the hashCode calculation, in a chain of helper methods for large classes
+        List<List<JFieldVar>> chunks = MethodSplitter.split(instanceFields(fields), HASH_CODE_BYTES_PER_FIELD);
+        addFieldHashes(jclass, body, result, chunks.get(0));
+        for (int i = 1; i < chunks.size(); i++) {
+            JMethod hashCodePart = jclass.method(JMod.PRIVATE, int.class, "hashCode" + i);
+            JVar partResult = hashCodePart.param(jclass.owner().INT, "result");
+            addFieldHashes(jclass, hashCodePart.body(), partResult, chunks.get(i));
+            hashCodePart.body()._return(partResult);
+            body.assign(result, JExpr.invoke(hashCodePart).arg(result));
+        }
 
-            JFieldRef fieldRef = JExpr.refthis(fieldVar.name());
+        // Add super.hashCode()
+        if (!jclass._extends().fullName().equals(Object.class.getName())) {
+            body.assign(result, result.mul(JExpr.lit(31)).plus(JExpr._super().invoke("hashCode")));
+        }
+
+        if (cachedHashCode != null) {
+            body.assign(JExpr._this().ref(cachedHashCode), result);
+        }
+        body._return(result);
+        hashCode.annotate(Override.class);
+    }
+
+    private void addFieldHashes(JDefinedClass jclass, JBlock body, JVar result, List<JFieldVar> fields) {
+        for (JFieldVar fieldVar : fields) {
+            JExpression fieldRef = fieldValue(JExpr._this(), fieldVar);
 
             JExpression fieldHash;
             if (fieldVar.type().isPrimitive()) {
@@ -407,14 +525,26 @@ public class ObjectRule implements Rule<JPackage, JType> {
 
             body.assign(result, result.mul(JExpr.lit(31)).plus(fieldHash));
         }
+    }
 
-        // Add super.hashCode()
-        if (!jclass._extends().fullName().equals(Object.class.getName())) {
-            body.assign(result, result.mul(JExpr.lit(31)).plus(JExpr._super().invoke("hashCode")));
+    private static boolean hasArrayField(JDefinedClass jclass) {
+        for (JFieldVar fieldVar : instanceFields(jclass.fields())) {
+            if (fieldVar.type().isArray()) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        body._return(result);
-        hashCode.annotate(Override.class);
+    private static List<JFieldVar> instanceFields(Map<String, JFieldVar> fields) {
+        List<JFieldVar> instanceFields = new ArrayList<>();
+        for (JFieldVar fieldVar : fields.values()) {
+            boolean cachedHashCode = fieldVar.name().equals(CACHED_HASH_CODE_FIELD) && (fieldVar.mods().getValue() & JMod.TRANSIENT) != 0;
+            if ((fieldVar.mods().getValue() & JMod.STATIC) == 0 && !cachedHashCode) {
+                instanceFields.add(fieldVar);
+            }
+        }
+        return instanceFields;
     }
 
     private Map<String, JFieldVar> removeFieldsExcludedFromEqualsAndHashCode(Map<String, JFieldVar> fields, JsonNode node) {
@@ -468,14 +598,25 @@ public class ObjectRule implements Rule<JPackage, JType> {
             result = result.cand(JExpr._super().invoke("equals").arg(rhsVar));
         }
 
-        // Chain the results of checking all other fields
-        for (JFieldVar fieldVar : fields.values()) {
-            if ((fieldVar.mods().getValue() & JMod.STATIC) == JMod.STATIC) {
-                continue;
-            }
+        // Chain the results of checking all other fields, comparing the fields of large classes in helper methods
+        List<List<JFieldVar>> chunks = MethodSplitter.split(instanceFields(fields), EQUALS_BYTES_PER_FIELD);
+        result = fieldsEqual(jclass, result, rhsVar, chunks.get(0));
+        for (int i = 1; i < chunks.size(); i++) {
+            JMethod equalsPart = jclass.method(JMod.PRIVATE, boolean.class, "equals" + i);
+            JVar partRhs = equalsPart.param(jclass, "rhs");
+            equalsPart.body()._return(fieldsEqual(jclass, JExpr.lit(true), partRhs, chunks.get(i)));
+            result = result.cand(JExpr.invoke(equalsPart).arg(rhsVar));
+        }
 
-            JFieldRef thisFieldRef = JExpr.refthis(fieldVar.name());
-            JFieldRef otherFieldRef = JExpr.ref(rhsVar, fieldVar.name());
+        body._return(result);
+
+        equals.annotate(Override.class);
+    }
+
+    private JExpression fieldsEqual(JDefinedClass jclass, JExpression result, JVar rhsVar, List<JFieldVar> fields) {
+        for (JFieldVar fieldVar : fields) {
+            JExpression thisFieldRef = fieldValue(JExpr._this(), fieldVar);
+            JExpression otherFieldRef = fieldValue(rhsVar, fieldVar);
             JExpression fieldEquals;
 
             if (fieldVar.type().isPrimitive()) {
@@ -505,10 +646,20 @@ public class ObjectRule implements Rule<JPackage, JType> {
             // Chain the equality of this field with the previous comparisons
             result = result.cand(fieldEquals);
         }
+        return result;
+    }
 
-        body._return(result);
-
-        equals.annotate(Override.class);
+    /**
+     * Reads a field for toString, hashCode and equals. A lazily allocated
+     * additionalProperties map is read through its getter, so that an
+     * unallocated map is treated like an empty one.
+     */
+    private JExpression fieldValue(JExpression instance, JFieldVar fieldVar) {
+        if (ruleFactory.getGenerationConfig().isLazyAdditionalProperties() && !ruleFactory.getGenerationConfig().isImmutable()
+                && fieldVar.name().equals("additionalProperties")) {
+            return instance.invoke("getAdditionalProperties");
+        }
+        return JExpr.ref(instance, fieldVar.name());
     }
 
     private void addInterfaces(JDefinedClass jclass, JsonNode javaInterfaces) {
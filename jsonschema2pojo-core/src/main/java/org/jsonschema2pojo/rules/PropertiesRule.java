@@ -23,6 +23,7 @@ import org.jsonschema2pojo.Schema;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.sun.codemodel.JBlock;
+import com.sun.codemodel.JClass;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JExpr;
 import com.sun.codemodel.JMethod;
@@ -71,7 +72,9 @@ public class PropertiesRule implements Rule<JDefinedClass, JDefinedClass> {
         }
 
         if (ruleFactory.getGenerationConfig().isGenerateBuilders() && !jclass._extends().name().equals("Object")) {
-            addOverrideBuilders(jclass, jclass.owner()._getClass(jclass._extends().fullName()));
+            // a superclass generated for an earlier source is no longer in its package (see Jsonschema2Pojo)
+            JClass superClass = jclass._extends();
+            addOverrideBuilders(jclass, superClass instanceof JDefinedClass ? (JDefinedClass) superClass : jclass.owner()._getClass(superClass.fullName()));
         }
 
         ruleFactory.getAnnotator().propertyOrder(jclass, node);
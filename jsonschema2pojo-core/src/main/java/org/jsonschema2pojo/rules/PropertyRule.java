@@ -24,6 +24,7 @@ import com.sun.codemodel.JExpr;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JMethod;
 import com.sun.codemodel.JMod;
+import com.sun.codemodel.JOp;
 import com.sun.codemodel.JType;
 import com.sun.codemodel.JVar;
 import org.jsonschema2pojo.GenerationConfig;
@@ -56,6 +57,12 @@ public class PropertyRule implements Rule<JDefinedClass, JDefinedClass> {
      * (see {@link GenerationConfig#isGenerateBuilders()} ),
      * then a builder method of the form <code>withFoo(Foo foo);</code> is also
      * added.
+     * <p>
+     * If this rule's schema mapper is configured to generate immutable classes
+     * (see {@link GenerationConfig#isImmutable()}), the field is final and
+     * neither a setter nor a builder method is added. A class generated as a
+     * record (see {@link GenerationConfig#isUseRecords()}) is immutable and has
+     * no getters either, the record provides an accessor for each component.
      *
      * @param nodeName the name of the property to be applied
      * @param node     the node describing the characteristics of this property
@@ -69,12 +76,17 @@ public class PropertyRule implements Rule<JDefinedClass, JDefinedClass> {
 
         JType propertyType = ruleFactory.getSchemaRule().apply(nodeName, node, parent, jclass, schema);
 
-        boolean isIncludeGetters = ruleFactory.getGenerationConfig().isIncludeGetters();
+        boolean isRecord = ruleFactory.getRecordRegistry().isRecord(jclass);
+        boolean isIncludeGetters = ruleFactory.getGenerationConfig().isIncludeGetters() && !isRecord;
         boolean isIncludeSetters = ruleFactory.getGenerationConfig().isIncludeSetters();
+        boolean isImmutable = ruleFactory.getGenerationConfig().isImmutable() || isRecord;
 
         node = resolveRefs(node, schema);
 
-        int accessModifier = isIncludeGetters || isIncludeSetters ? JMod.PRIVATE : JMod.PUBLIC;
+        int accessModifier = isIncludeGetters || isIncludeSetters || isRecord ? JMod.PRIVATE : JMod.PUBLIC;
+        if (isImmutable) {
+            accessModifier |= JMod.FINAL;
+        }
         JFieldVar field = jclass.field(accessModifier, propertyType, propertyName);
 
         propertyAnnotations(nodeName, node, schema, field);
@@ -89,13 +101,13 @@ public class PropertyRule implements Rule<JDefinedClass, JDefinedClass> {
             propertyAnnotations(nodeName, node, schema, getter);
         }
 
-        if (isIncludeSetters) {
+        if (isIncludeSetters && !isImmutable) {
             JMethod setter = addSetter(jclass, field, nodeName, node);
             ruleFactory.getAnnotator().propertySetter(setter, jclass, nodeName);
             propertyAnnotations(nodeName, node, schema, setter);
         }
 
-        if (ruleFactory.getGenerationConfig().isGenerateBuilders()) {
+        if (ruleFactory.getGenerationConfig().isGenerateBuilders() && !isImmutable) {
             addBuilderMethod(jclass, field, nodeName, node);
         }
 
@@ -223,6 +235,9 @@ public class PropertyRule implements Rule<JDefinedClass, JDefinedClass> {
         if ((ruleFactory.getGenerationConfig().isUseOptionalForGetters() || usesOptional) && !isRequired
                 && field.type().isReference()) {
             body._return(c.owner().ref("java.util.Optional").staticInvoke("ofNullable").arg(field));
+        } else if (ruleFactory.getGenerationConfig().isImmutable() && field.type().isArray()) {
+            // arrays can't be made unmodifiable, so each caller gets its own copy
+            body._return(JOp.cond(field.eq(JExpr._null()), JExpr._null(), JExpr.invoke(field, "clone")));
         } else {
             body._return(field);
         }
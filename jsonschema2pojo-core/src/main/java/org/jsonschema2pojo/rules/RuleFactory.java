@@ -22,8 +22,12 @@ import org.jsonschema2pojo.GenerationConfig;
 import org.jsonschema2pojo.Jackson2Annotator;
 import org.jsonschema2pojo.RuleLogger;
 import org.jsonschema2pojo.SchemaStore;
+import org.jsonschema2pojo.exception.GenerationException;
 import org.jsonschema2pojo.util.NameHelper;
 import org.jsonschema2pojo.util.ParcelableHelper;
+import org.jsonschema2pojo.util.RecordRegistry;
+import org.jsonschema2pojo.util.SchemaDeduplicator;
+import org.jsonschema2pojo.util.SerializerRegistry;
 
 import com.sun.codemodel.JClass;
 import com.sun.codemodel.JClassContainer;
@@ -44,6 +48,9 @@ public class RuleFactory {
     private RuleLogger logger;
     private NameHelper nameHelper;
     private ReflectionHelper reflectionHelper;
+    private SchemaDeduplicator schemaDeduplicator;
+    private SerializerRegistry serializerRegistry;
+    private RecordRegistry recordRegistry;
     private GenerationConfig generationConfig;
     private Annotator annotator;
     private SchemaStore schemaStore;
@@ -67,6 +74,9 @@ public class RuleFactory {
         this.schemaStore = schemaStore;
         this.nameHelper = new NameHelper(generationConfig);
         this.reflectionHelper = new ReflectionHelper(this);
+        this.schemaDeduplicator = new SchemaDeduplicator();
+        this.serializerRegistry = new SerializerRegistry();
+        this.recordRegistry = new RecordRegistry();
     }
 
     /**
@@ -406,6 +416,36 @@ public class RuleFactory {
         return reflectionHelper;
     }
 
+    /**
+     * Gets the helper used to find inline schemas that can share a class
+     * generated for a structurally identical schema.
+     *
+     * @return the schema deduplicator used by rules created by this factory
+     */
+    public SchemaDeduplicator getSchemaDeduplicator() {
+        return schemaDeduplicator;
+    }
+
+    /**
+     * Gets the registry of the serializers generated for each class, from
+     * which a module registering all of them is generated.
+     *
+     * @return the serializer registry used by rules created by this factory
+     */
+    public SerializerRegistry getSerializerRegistry() {
+        return serializerRegistry;
+    }
+
+    /**
+     * Gets the registry of the classes generated as Java records, whose
+     * sources are converted to record declarations as they are written.
+     *
+     * @return the record registry used by rules created by this factory
+     */
+    public RecordRegistry getRecordRegistry() {
+        return recordRegistry;
+    }
+
 
     /**
      * Provides a rule instance that should be applied when a "media"
@@ -433,4 +473,27 @@ public class RuleFactory {
         return new JavaNameRule();
     }
 
+    /**
+     * Provides a rule instance that adds a serializer and deserializer (or a
+     * type adapter) to a generated class, for the configured annotation style.
+     *
+     * @return a rule that generates reflection-free serializers
+     * @throws GenerationException
+     *             if generated serializers are not supported for the
+     *             configured annotation style
+     */
+    public Rule<JDefinedClass, JDefinedClass> getSerializersRule() {
+        switch (generationConfig.getAnnotationStyle()) {
+            case JACKSON:
+            case JACKSON2:
+                return new JacksonSerializersRule(this);
+            case GSON:
+                return new GsonSerializersRule(this);
+            case MOSHI1:
+                return new MoshiSerializersRule(this);
+            default:
+                throw new GenerationException("Generated serializers are not supported for annotation style " + generationConfig.getAnnotationStyle());
+        }
+    }
+
 }
@@ -98,7 +98,7 @@ public class TypeRule implements Rule<JClassContainer, JType> {
       type = getNumberType(jClassContainer.owner(), ruleFactory.getGenerationConfig());
     } else if (propertyTypeName.equals("integer")) {
 
-      type = getIntegerType(jClassContainer.owner(), node, ruleFactory.getGenerationConfig());
+      type = getIntegerType(jClassContainer.owner(), nodeName, node, schema, ruleFactory.getGenerationConfig());
     } else if (propertyTypeName.equals("boolean")) {
 
       type = unboxIfNecessary(jClassContainer.owner().ref(Boolean.class), ruleFactory.getGenerationConfig());
@@ -147,10 +147,13 @@ public class TypeRule implements Rule<JClassContainer, JType> {
   /**
    * Returns the JType for an integer field. Handles type lookup and unboxing.
    */
-  private JType getIntegerType(JCodeModel owner, JsonNode node, GenerationConfig config) {
+  private JType getIntegerType(JCodeModel owner, String nodeName, JsonNode node, Schema schema, GenerationConfig config) {
 
     if (config.isUseBigIntegers()) {
       return unboxIfNecessary(owner.ref(BigInteger.class), config);
+    } else if (config.isUseRangeNarrowedIntegers() && hasIntegerRange(node)) {
+      JType type = getRangeNarrowedIntegerType(owner, node.get("minimum").asLong(), node.get("maximum").asLong());
+      return isRequired(nodeName, node, schema) && !isNullable(node) ? type.unboxify() : unboxIfNecessary(type, config);
     } else if (config.isUseLongIntegers() || node.has("minimum") && node.get("minimum").isLong() || node.has("maximum") && node.get("maximum")
         .isLong()) {
       return unboxIfNecessary(owner.ref(Long.class), config);
@@ -160,6 +163,78 @@ public class TypeRule implements Rule<JClassContainer, JType> {
 
   }
 
+  /**
+   * Whether an integer declares both bounds, as values that fit in a
+   * <code>long</code>. Enum values are excluded, since their constants are
+   * passed as <code>int</code> literals.
+   */
+  private boolean hasIntegerRange(JsonNode node) {
+    return !node.has("enum") && isLongValue(node.get("minimum")) && isLongValue(node.get("maximum"));
+  }
+
+  private boolean isLongValue(JsonNode bound) {
+    return bound != null && bound.isIntegralNumber() && bound.canConvertToLong();
+  }
+
+  /**
+   * Returns the smallest integer type that holds every value in the given
+   * range.
+   */
+  private JType getRangeNarrowedIntegerType(JCodeModel owner, long minimum, long maximum) {
+
+    if (minimum >= Byte.MIN_VALUE && maximum <= Byte.MAX_VALUE) {
+      return owner.ref(Byte.class);
+    } else if (minimum >= Short.MIN_VALUE && maximum <= Short.MAX_VALUE) {
+      return owner.ref(Short.class);
+    } else if (minimum >= Integer.MIN_VALUE && maximum <= Integer.MAX_VALUE) {
+      return owner.ref(Integer.class);
+    } else {
+      return owner.ref(Long.class);
+    }
+
+  }
+
+  /**
+   * Whether a property is required by the schema of the object that declares
+   * it (through the draft 4 "required" array, or the draft 3 "required" flag).
+   * The schema of a property is derived from the schema of its object, so the
+   * "required" array is read from the parent schema.
+   */
+  private boolean isRequired(String nodeName, JsonNode node, Schema schema) {
+    if (node.path("required").asBoolean()) {
+      return true;
+    }
+
+    JsonNode declaringObject = schema.getParent().getContent();
+    if (declaringObject.path("properties").get(nodeName) != node) {
+      return false;
+    }
+
+    JsonNode required = declaringObject.get("required");
+    if (required != null && required.isArray()) {
+      for (JsonNode requiredNode : required) {
+        if (nodeName.equals(requiredNode.asText())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Whether the schema allows null, by listing "null" among its types.
+   */
+  static boolean isNullable(JsonNode node) {
+    if (node.has("type") && node.get("type").isArray()) {
+      for (JsonNode jsonNode : node.get("type")) {
+        if (jsonNode.asText().equals("null")) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   /**
    * Returns the JType for a number field. Handles type lookup and unboxing.
    */
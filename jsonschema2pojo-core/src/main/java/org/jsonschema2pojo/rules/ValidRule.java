@@ -34,7 +34,10 @@ public class ValidRule implements Rule<JFieldVar, JFieldVar> {
     @Override
     public JFieldVar apply(String nodeName, JsonNode node, JsonNode parent, JFieldVar field, Schema currentSchema) {
         
-        if (ruleFactory.getGenerationConfig().isIncludeJsr303Annotations()) {
+        // there is nothing to cascade to in the elements of a primitive array
+        boolean isPrimitiveArray = field.type().isArray() && field.type().elementType().isPrimitive();
+
+        if (ruleFactory.getGenerationConfig().isIncludeJsr303Annotations() && !isPrimitiveArray) {
             field.annotate(Valid.class);
         }
         
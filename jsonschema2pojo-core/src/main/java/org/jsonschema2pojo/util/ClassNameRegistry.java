@@ -0,0 +1,121 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.util;
+
+import static org.jsonschema2pojo.util.MakeUniqueClassName.UNIQUE_NAMING_PATTERN;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JPackage;
+
+/**
+ * Hands out unique class names for a single package.
+ * <p>
+ * Names follow the same sequence as repeatedly applying
+ * {@link MakeUniqueClassName#makeUnique(String)} until a free name is found
+ * (<code>Item</code>, <code>Item__1</code>, <code>Item__2</code>, ...), but
+ * the registry remembers how far along each sequence it has got, so finding
+ * the next free name does not re-test every name that was already taken.
+ * This relies on classes not being removed from the package while names are
+ * being handed out.
+ */
+public class ClassNameRegistry {
+
+    /**
+     * Mirrors the check made by JCodeModel, which refuses class names that
+     * differ only by case from an existing class on case-insensitive file
+     * systems.
+     */
+    private static final boolean CASE_SENSITIVE_FILE_SYSTEM = System.getProperty("com.sun.codemodel.FileSystemCaseSensitive") != null
+            || File.separatorChar == '/';
+
+    private final JPackage _package;
+
+    private final Map<String, NameSequence> sequences = new HashMap<>();
+
+    public ClassNameRegistry(JPackage _package) {
+        this._package = _package;
+    }
+
+    /**
+     * Finds the first name, starting from the given name, that is not used by
+     * a class in this package. The name is not reserved; until a class is
+     * created with it, the same name will be returned again.
+     *
+     * @param className
+     *            the preferred class name
+     * @return the preferred name if it is free, otherwise the next free name
+     *         in its sequence
+     */
+    public String makeUnique(String className) {
+        NameSequence sequence = sequences.get(className);
+        if (sequence == null) {
+            sequence = new NameSequence(className);
+            sequences.put(className, sequence);
+        }
+
+        while (isTaken(sequence.current)) {
+            sequence.advance();
+        }
+
+        return sequence.current;
+    }
+
+    private boolean isTaken(String className) {
+        if (CASE_SENSITIVE_FILE_SYSTEM) {
+            return _package._getClass(className) != null;
+        }
+
+        try {
+            JDefinedClass _class = _package._class(className);
+            _package.remove(_class);
+            return false;
+        } catch (JClassAlreadyExistsException e) {
+            return true;
+        }
+    }
+
+    private static class NameSequence {
+
+        private final String prefix;
+        private int number;
+        private String current;
+
+        NameSequence(String className) {
+            Matcher m = UNIQUE_NAMING_PATTERN.matcher(className);
+            if (m.matches()) {
+                this.prefix = m.group(1);
+                this.number = Integer.parseInt(m.group(2));
+            } else {
+                this.prefix = className + "__";
+                this.number = 0;
+            }
+            this.current = className;
+        }
+
+        void advance() {
+            current = prefix + (++number);
+        }
+
+    }
+
+}
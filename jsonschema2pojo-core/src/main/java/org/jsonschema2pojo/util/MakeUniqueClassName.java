@@ -21,7 +21,7 @@ import java.util.regex.Pattern;
 
 public class MakeUniqueClassName {
 
-    private static final Pattern UNIQUE_NAMING_PATTERN = Pattern.compile("(^.+__)(\\d+)$");
+    static final Pattern UNIQUE_NAMING_PATTERN = Pattern.compile("(^.+__)(\\d+)$");
     
     /**
      * When the class name is not unique we will use two underscore '__' and a digit representing the number of time
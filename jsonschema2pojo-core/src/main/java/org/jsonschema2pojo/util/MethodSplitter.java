@@ -0,0 +1,82 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps generated methods small enough for the JIT compiler.
+ * <p>
+ * HotSpot will not compile methods with more than 8000 bytes of bytecode
+ * (<code>-XX:HugeMethodLimit</code>), so they are always interpreted, and
+ * javac refuses methods with more than 64KB of bytecode. Rules that generate
+ * one statement (or switch case) per property estimate the bytecode each
+ * statement compiles to, and use this class to spread the statements over a
+ * chain of helper methods once a single method would be too large.
+ */
+public class MethodSplitter {
+
+    /**
+     * The largest method (in bytes of bytecode) that HotSpot will compile by
+     * default.
+     */
+    public static final int HUGE_METHOD_LIMIT = 8000;
+
+    /**
+     * The largest method (in bytes of bytecode) that javac will generate.
+     */
+    public static final int MAX_METHOD_SIZE = 65535;
+
+    /**
+     * The estimated size that each generated method is kept within. This is
+     * below {@link #HUGE_METHOD_LIMIT} to allow for the estimates being too
+     * low, and for the fixed statements at the start and end of a method.
+     */
+    public static final int METHOD_SIZE_BUDGET = 6000;
+
+    private MethodSplitter() {
+    }
+
+    /**
+     * Splits the items that will make up a method body into chunks that can
+     * each be generated as a separate method.
+     *
+     * @param items
+     *            the items (e.g. fields, or switch cases) in the order they
+     *            will be generated
+     * @param estimatedBytesPerItem
+     *            an estimate of the bytecode generated for each item
+     * @return the items, in order, split into chunks; a single chunk when all
+     *         of the items fit into one method
+     */
+    public static <T> List<List<T>> split(List<T> items, int estimatedBytesPerItem) {
+        int itemsPerMethod = Math.max(1, METHOD_SIZE_BUDGET / estimatedBytesPerItem);
+
+        if (items.size() <= itemsPerMethod) {
+            return Collections.singletonList(items);
+        }
+
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += itemsPerMethod) {
+            chunks.add(items.subList(from, Math.min(items.size(), from + itemsPerMethod)));
+        }
+        return chunks;
+    }
+
+}
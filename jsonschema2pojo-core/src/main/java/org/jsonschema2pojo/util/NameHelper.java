@@ -23,10 +23,11 @@ import static org.apache.commons.lang3.StringUtils.capitalize;
 import static org.apache.commons.lang3.StringUtils.containsAny;
 import static org.apache.commons.lang3.StringUtils.remove;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import com.fasterxml.jackson.databind.JsonNode;
 import com.sun.codemodel.JClass;
-import com.sun.codemodel.JClassAlreadyExistsException;
-import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JPackage;
 import com.sun.codemodel.JType;
 import org.apache.commons.lang3.text.WordUtils;
@@ -38,6 +39,8 @@ public class NameHelper {
 
     private final GenerationConfig generationConfig;
 
+    private final Map<JPackage, ClassNameRegistry> classNameRegistries = new IdentityHashMap<>();
+
     public NameHelper(GenerationConfig generationConfig) {
         this.generationConfig = generationConfig;
     }
@@ -253,12 +256,11 @@ public class NameHelper {
     }
 
     private String makeUnique(String className, JPackage _package) {
-        try {
-            JDefinedClass _class = _package._class(className);
-            _package.remove(_class);
-            return className;
-        } catch (JClassAlreadyExistsException e) {
-            return makeUnique(MakeUniqueClassName.makeUnique(className), _package);
+        ClassNameRegistry registry = classNameRegistries.get(_package);
+        if (registry == null) {
+            registry = new ClassNameRegistry(_package);
+            classNameRegistries.put(_package, registry);
         }
+        return registry.makeUnique(className);
     }
 }
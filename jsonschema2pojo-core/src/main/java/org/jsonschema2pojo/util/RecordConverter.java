@@ -0,0 +1,308 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.util;
+
+import static java.util.Arrays.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.jsonschema2pojo.exception.GenerationException;
+
+/**
+ * Converts the source of a generated class to a Java record declaration.
+ * <p>
+ * The instance fields of the class become the record components, keeping
+ * their annotations (so that the Java compiler propagates them to the
+ * component's field, accessor and constructor parameter). Every other member
+ * (the canonical constructor, static fields, nested types) is kept as it is.
+ * The class must not extend another class, and its instance fields must not
+ * have initializers.
+ */
+public final class RecordConverter {
+
+    private static final Collection<String> FIELD_MODIFIERS = asList("public", "protected", "private", "final", "transient", "volatile");
+
+    private RecordConverter() {
+    }
+
+    /**
+     * @param classSource
+     *            the source of a generated (top level) class
+     * @return the source of the equivalent record
+     */
+    public static String toRecord(String classSource) {
+        int classKeyword = findClassKeyword(classSource);
+        int nameStart = skipWhitespace(classSource, classKeyword + "class".length());
+        int nameEnd = nameStart;
+        while (nameEnd < classSource.length() && Character.isJavaIdentifierPart(classSource.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        int bodyStart = classSource.indexOf('{', nameEnd);
+        if (classSource.substring(nameEnd, bodyStart).contains("extends")) {
+            throw new GenerationException("Unable to convert " + classSource.substring(nameStart, nameEnd) + " to a record, it extends another class");
+        }
+
+        List<String> components = new ArrayList<>();
+        StringBuilder members = new StringBuilder();
+        int bodyEnd = splitMembers(classSource, bodyStart + 1, components, members);
+
+        String lineSeparator = System.lineSeparator();
+        StringBuilder record = new StringBuilder(classSource.length());
+        record.append(classSource, 0, classKeyword).append("record");
+        record.append(classSource, classKeyword + "class".length(), nameEnd).append('(');
+        for (int i = 0; i < components.size(); i++) {
+            record.append(i == 0 ? "" : ",").append(lineSeparator).append("    ").append(components.get(i));
+        }
+        record.append(')');
+        record.append(classSource, nameEnd, bodyStart + 1);
+        record.append(members);
+        record.append(classSource, bodyEnd, classSource.length());
+        return record.toString();
+    }
+
+    /**
+     * Finds the <code>class</code> keyword of the top level class declaration,
+     * ignoring comments, literals and annotation arguments.
+     */
+    private static int findClassKeyword(String source) {
+        int depth = 0;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (isLiteralStart(c) || isCommentStart(source, i)) {
+                i = skipLiteralOrComment(source, i);
+            } else if (c == '(' || c == '{') {
+                depth++;
+            } else if (c == ')' || c == '}') {
+                depth--;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int end = i;
+                while (end < source.length() && Character.isJavaIdentifierPart(source.charAt(end))) {
+                    end++;
+                }
+                if (depth == 0 && source.substring(i, end).equals("class") && (i == 0 || source.charAt(i - 1) != '.')) {
+                    return i;
+                }
+                i = end - 1;
+            }
+        }
+        throw new GenerationException("Unable to convert to a record, the source has no class declaration");
+    }
+
+    /**
+     * Splits the body of the class into members, turning instance fields into
+     * record components and keeping the source of the other members.
+     *
+     * @return the index of the brace closing the class body
+     */
+    private static int splitMembers(String source, int start, List<String> components, StringBuilder members) {
+        int memberStart = start;
+        int braceDepth = 0;
+        int parenDepth = 0;
+        boolean arrayInitializer = false;
+
+        for (int i = start; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (isLiteralStart(c) || isCommentStart(source, i)) {
+                i = skipLiteralOrComment(source, i);
+            } else if (c == '(') {
+                parenDepth++;
+            } else if (c == ')') {
+                parenDepth--;
+            } else if (c == '{' && parenDepth == 0) {
+                if (braceDepth == 0) {
+                    arrayInitializer = previousNonWhitespace(source, i) == '=';
+                }
+                braceDepth++;
+            } else if (c == '}' && parenDepth == 0) {
+                if (braceDepth == 0) {
+                    members.append(source, memberStart, i);
+                    return i;
+                }
+                braceDepth--;
+                if (braceDepth == 0 && !arrayInitializer) {
+                    // the end of a method, constructor or nested type
+                    members.append(source, memberStart, i + 1);
+                    memberStart = i + 1;
+                }
+            } else if (c == ';' && braceDepth == 0 && parenDepth == 0) {
+                String member = source.substring(memberStart, i + 1);
+                String component = toComponent(member);
+                if (component == null) {
+                    members.append(member);
+                } else {
+                    components.add(component);
+                }
+                memberStart = i + 1;
+            }
+        }
+        throw new GenerationException("Unable to convert to a record, the class body is not closed");
+    }
+
+    /**
+     * Turns the declaration of an instance field into a record component, e.g.
+     * <code>@JsonProperty("a") private final String a;</code> becomes
+     * <code>@JsonProperty("a") String a</code>.
+     *
+     * @return the record component, or null if the member is not an instance
+     *         field
+     */
+    private static String toComponent(String member) {
+        String declaration = stripComments(member).trim();
+
+        StringBuilder component = new StringBuilder();
+        int i = 0;
+        while (i < declaration.length() && declaration.charAt(i) == '@') {
+            int end = annotationEnd(declaration, i);
+            component.append(collapseWhitespace(declaration.substring(i, end))).append(' ');
+            i = skipWhitespace(declaration, end);
+        }
+
+        String rest = declaration.substring(i, declaration.length() - 1).trim();
+        int paren = rest.indexOf('(');
+        int initializer = rest.indexOf('=');
+        if (paren >= 0 && (initializer < 0 || paren < initializer)) {
+            // a method (or constructor) declaration
+            return null;
+        }
+
+        String[] words = rest.split("\\s+");
+        int typeStart = 0;
+        for (String word : words) {
+            if (word.equals("static")) {
+                return null;
+            }
+            if (!FIELD_MODIFIERS.contains(word)) {
+                break;
+            }
+            typeStart = rest.indexOf(word, typeStart) + word.length();
+        }
+
+        String typeAndName = rest.substring(typeStart).trim();
+        if (typeAndName.contains("=")) {
+            throw new GenerationException("Unable to convert to a record, a record component can't have an initializer: " + typeAndName);
+        }
+        return component.append(collapseWhitespace(typeAndName)).toString();
+    }
+
+    private static int annotationEnd(String source, int at) {
+        int end = at + 1;
+        while (end < source.length() && (Character.isJavaIdentifierPart(source.charAt(end)) || source.charAt(end) == '.')) {
+            end++;
+        }
+        int next = skipWhitespace(source, end);
+        if (next < source.length() && source.charAt(next) == '(') {
+            int depth = 0;
+            for (int i = next; i < source.length(); i++) {
+                char c = source.charAt(i);
+                if (isLiteralStart(c)) {
+                    i = skipLiteralOrComment(source, i);
+                } else if (c == '(') {
+                    depth++;
+                } else if (c == ')' && --depth == 0) {
+                    return i + 1;
+                }
+            }
+        }
+        return end;
+    }
+
+    private static String stripComments(String source) {
+        StringBuilder stripped = new StringBuilder(source.length());
+        for (int i = 0; i < source.length(); i++) {
+            int end = isLiteralStart(source.charAt(i)) || isCommentStart(source, i) ? skipLiteralOrComment(source, i) : i;
+            if (!isCommentStart(source, i)) {
+                stripped.append(source, i, end + 1);
+            }
+            i = end;
+        }
+        return stripped.toString();
+    }
+
+    /**
+     * Replaces each run of whitespace outside of literals with a single space.
+     */
+    private static String collapseWhitespace(String source) {
+        StringBuilder collapsed = new StringBuilder(source.length());
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (isLiteralStart(c)) {
+                int end = skipLiteralOrComment(source, i);
+                collapsed.append(source, i, end + 1);
+                i = end;
+            } else if (Character.isWhitespace(c)) {
+                collapsed.append(' ');
+                i = skipWhitespace(source, i) - 1;
+            } else {
+                collapsed.append(c);
+            }
+        }
+        return collapsed.toString().replace("( ", "(").replace(" )", ")");
+    }
+
+    private static boolean isLiteralStart(char c) {
+        return c == '"' || c == '\'';
+    }
+
+    private static boolean isCommentStart(String source, int i) {
+        return source.startsWith("//", i) || source.startsWith("/*", i);
+    }
+
+    /**
+     * @return the index of the last character of the literal or comment
+     *         starting at the given index
+     */
+    private static int skipLiteralOrComment(String source, int start) {
+        if (source.startsWith("//", start)) {
+            int end = source.indexOf('\n', start);
+            return end < 0 ? source.length() - 1 : end;
+        }
+        if (source.startsWith("/*", start)) {
+            int end = source.indexOf("*/", start + 2);
+            return end < 0 ? source.length() - 1 : end + 1;
+        }
+        char quote = source.charAt(start);
+        for (int i = start + 1; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == quote) {
+                return i;
+            }
+        }
+        return source.length() - 1;
+    }
+
+    private static int skipWhitespace(String source, int start) {
+        int i = start;
+        while (i < source.length() && Character.isWhitespace(source.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static char previousNonWhitespace(String source, int index) {
+        for (int i = index - 1; i >= 0; i--) {
+            if (!Character.isWhitespace(source.charAt(i))) {
+                return source.charAt(i);
+            }
+        }
+        return 0;
+    }
+
+}
@@ -0,0 +1,174 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.util;
+
+import static org.apache.commons.lang3.StringUtils.*;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.jsonschema2pojo.Schema;
+import org.jsonschema2pojo.SchemaStore;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JType;
+
+/**
+ * Records the classes that are generated as Java records.
+ * <p>
+ * The code model can only describe classes, so a record is generated as a
+ * class with a final field for each record component and a canonical
+ * constructor, and its source is converted to a record declaration as it is
+ * written (see {@link RecordConverter}).
+ * <p>
+ * A record can't be extended, so the schemas that other schemas extend are
+ * found before generation starts (see
+ * {@link #findExtendedSchemas(SchemaStore, Collection, String)}) and are
+ * generated as classes.
+ */
+public class RecordRegistry {
+
+    private static final int MAX_REF_DEPTH = 100;
+
+    private final Set<String> recordNames = new HashSet<>();
+
+    private final Set<JsonNode> extendedSchemas = Collections.newSetFromMap(new IdentityHashMap<JsonNode, Boolean>());
+
+    /**
+     * Records that a generated class is to be written as a record.
+     *
+     * @param type
+     *            the generated class
+     */
+    public void register(JDefinedClass type) {
+        recordNames.add(type.fullName());
+    }
+
+    /**
+     * Whether a type is generated as a record.
+     */
+    public boolean isRecord(JType type) {
+        return recordNames.contains(type.fullName());
+    }
+
+    /**
+     * Whether a source file holds a class that is generated as a record.
+     *
+     * @param pkg
+     *            the package of the source file
+     * @param fileName
+     *            the name of the source file, e.g. <code>Foo.java</code>
+     */
+    public boolean isRecord(JPackage pkg, String fileName) {
+        String className = fileName.endsWith(".java") ? fileName.substring(0, fileName.length() - ".java".length()) : fileName;
+        return recordNames.contains(pkg.isUnnamed() ? className : pkg.name() + "." + className);
+    }
+
+    public boolean isEmpty() {
+        return recordNames.isEmpty();
+    }
+
+    /**
+     * Finds every schema named by an <code>extends</code> in the given
+     * documents, or in any document they refer to.
+     *
+     * @param schemaStore
+     *            the store that generation will read the documents from, so
+     *            that the schemas found are the same nodes that are generated
+     * @param documents
+     *            the ids of the source documents
+     * @param refFragmentPathDelimiters
+     *            the delimiters used to split fragment paths
+     */
+    public void findExtendedSchemas(SchemaStore schemaStore, Collection<URI> documents, String refFragmentPathDelimiters) {
+        Deque<URI> pendingDocuments = new ArrayDeque<>(documents);
+        Set<URI> visitedDocuments = new HashSet<>();
+
+        while (!pendingDocuments.isEmpty()) {
+            URI documentId = pendingDocuments.pop();
+            if (!visitedDocuments.add(documentId.normalize())) {
+                continue;
+            }
+
+            Schema document;
+            try {
+                document = schemaStore.create(documentId, refFragmentPathDelimiters);
+            } catch (RuntimeException e) {
+                // reported when the document is generated
+                continue;
+            }
+            Deque<JsonNode> pending = new ArrayDeque<>();
+            pending.push(document.getContent());
+
+            while (!pending.isEmpty()) {
+                JsonNode node = pending.pop();
+                if (node.isObject() && node.path("$ref").isTextual()) {
+                    String path = substringBefore(node.get("$ref").asText(), "#");
+                    if (!path.isEmpty()) {
+                        pendingDocuments.push(URI.create(substringBefore(documentId.resolve(path).toString(), "#")).normalize());
+                    }
+                }
+                if (node.isObject() && node.path("extends").isObject()) {
+                    JsonNode superSchema = resolveRefs(schemaStore, document, node.get("extends"), refFragmentPathDelimiters);
+                    if (superSchema != null) {
+                        extendedSchemas.add(superSchema);
+                    }
+                }
+                for (JsonNode child : node) {
+                    pending.push(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether another schema extends the given schema, so that its class
+     * can't be a record.
+     */
+    public boolean isExtended(JsonNode schemaNode) {
+        return extendedSchemas.contains(schemaNode);
+    }
+
+    /**
+     * Follows the <code>$ref</code>s of a schema the way generation does.
+     *
+     * @return the referenced content, or null if it can't be resolved (in
+     *         which case generation reports the problem)
+     */
+    private static JsonNode resolveRefs(SchemaStore schemaStore, Schema parent, JsonNode node, String refFragmentPathDelimiters) {
+        Schema schema = parent;
+        JsonNode content = node;
+        try {
+            for (int depth = 0; content.path("$ref").isTextual() && depth < MAX_REF_DEPTH; depth++) {
+                schema = schemaStore.create(schema, content.get("$ref").asText(), refFragmentPathDelimiters);
+                content = schema.getContent();
+            }
+        } catch (RuntimeException e) {
+            return null;
+        }
+        return content;
+    }
+
+}
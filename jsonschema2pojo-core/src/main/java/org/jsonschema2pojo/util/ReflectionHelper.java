@@ -26,8 +26,10 @@ import com.sun.codemodel.JPackage;
 import com.sun.codemodel.JType;
 import java.lang.reflect.Modifier;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.stream.StreamSupport;
@@ -38,10 +40,56 @@ public class ReflectionHelper {
 
   private RuleFactory ruleFactory;
 
+  /**
+   * Generated classes by fully qualified name. Rules register the classes they
+   * create, so lookups don't need to scan every class in a package. Classes
+   * created elsewhere are found by a scan and then remembered (a class that
+   * isn't found is not). Entries are only used for types of the same code
+   * model, since a rule factory may be used to generate into more than one.
+   * Forgotten by {@link #clearCache()}.
+   */
+  private final Map<String, JDefinedClass> definedClasses = new HashMap<>();
+
+  /**
+   * Builder classes by the fully qualified name of the class they build.
+   */
+  private final Map<String, JDefinedClass> builderClasses = new HashMap<>();
+
+  private final Map<String, Boolean> finalClasses = new ConcurrentHashMap<>();
+
   public ReflectionHelper(RuleFactory ruleFactory) {
     this.ruleFactory = ruleFactory;
   }
 
+  /**
+   * Forgets every class and builder class found so far, e.g. once a run has
+   * generated its code model.
+   */
+  public void clearCache() {
+    definedClasses.clear();
+    builderClasses.clear();
+  }
+
+  /**
+   * Adds a newly created class to the lookup index.
+   */
+  public void registerClass(JDefinedClass definedClass) {
+    definedClasses.put(definedClass.fullName(), definedClass);
+  }
+
+  /**
+   * Adds a newly created builder class to the lookup index.
+   *
+   * @param target
+   *          the class built by the builder
+   * @param builderClass
+   *          the builder class
+   */
+  public void registerBuilderClass(JDefinedClass target, JDefinedClass builderClass) {
+    registerClass(builderClass);
+    builderClasses.put(target.fullName(), builderClass);
+  }
+
   public JType getSuperType(String nodeName, JsonNode node, JPackage jPackage, Schema schema) {
     if (node.has("extends") && node.has("extendsJavaClass")) {
       throw new IllegalStateException("'extends' and 'extendsJavaClass' defined simultaneously");
@@ -91,25 +139,46 @@ public class ReflectionHelper {
   }
 
   public JDefinedClass getBuilderClass(JDefinedClass target) {
+    JDefinedClass builderClass = builderClasses.get(target.fullName());
+    if (builderClass != null && builderClass.owner() == target.owner()) {
+      return builderClass;
+    }
+
     String builderClassname = ruleFactory.getNameHelper().getBuilderClassName(target);
 
-    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(target.classes(), Spliterator.ORDERED), false)
+    builderClass = StreamSupport.stream(Spliterators.spliteratorUnknownSize(target.classes(), Spliterator.ORDERED), false)
         .filter(definedClass -> definedClass.name().equals(builderClassname)).findFirst().orElse(null);
+    if (builderClass != null) {
+      registerBuilderClass(target, builderClass);
+    }
+    return builderClass;
   }
 
   public JDefinedClass getBuilderClass(JClass target) {
+    JDefinedClass builderClass = builderClasses.get(target.fullName());
+    if (builderClass != null && builderClass.owner() == target.owner()) {
+      return builderClass;
+    }
+
     String builderClassname = ruleFactory.getNameHelper().getBuilderClassName(target);
-    return getAllPackageClasses(target._package()).stream().filter(definedClass -> definedClass.name().equals(builderClassname)).findFirst()
+    builderClass = getAllPackageClasses(target._package()).stream().filter(definedClass -> definedClass.name().equals(builderClassname)).findFirst()
         .orElse(null);
+    if (builderClass != null) {
+      registerClass(builderClass);
+      builderClasses.put(target.fullName(), builderClass);
+    }
+    return builderClass;
   }
 
   public boolean isFinal(JType superType) {
-    try {
-      Class<?> javaClass = Class.forName(superType.fullName());
-      return Modifier.isFinal(javaClass.getModifiers());
-    } catch (ClassNotFoundException e) {
-      return false;
-    }
+    return finalClasses.computeIfAbsent(superType.fullName(), name -> {
+      try {
+        Class<?> javaClass = Class.forName(name);
+        return Modifier.isFinal(javaClass.getModifiers());
+      } catch (ClassNotFoundException e) {
+        return false;
+      }
+    });
   }
 
   public JFieldVar searchClassAndSuperClassesForField(String property, JDefinedClass jclass) {
@@ -126,8 +195,21 @@ public class ReflectionHelper {
       return null;
     }
     JClass fieldClass = type.boxify();
+    if (fieldClass instanceof JDefinedClass) {
+      // may have been written out and removed from its package already
+      return (JDefinedClass) fieldClass;
+    }
+    JDefinedClass definedClass = definedClasses.get(fieldClass.fullName());
+    if (definedClass != null && definedClass.owner() == fieldClass.owner()) {
+      return definedClass;
+    }
+
     JPackage jPackage = fieldClass._package();
-    return this._getClass(fieldClass.name(), jPackage);
+    definedClass = this._getClass(fieldClass.name(), jPackage);
+    if (definedClass != null) {
+      registerClass(definedClass);
+    }
+    return definedClass;
   }
 
   private JDefinedClass _getClass(String name, JPackage _package) {
@@ -0,0 +1,211 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.util;
+
+import static org.jsonschema2pojo.util.DigestUtil.sha256Hex;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.jsonschema2pojo.RuleLogger;
+import org.jsonschema2pojo.Schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JType;
+
+/**
+ * Finds inline object schemas that are structurally identical to a schema
+ * that has already been generated, so that they can share its class rather
+ * than each producing a class of their own (<code>Address</code>,
+ * <code>Address__1</code>, ...).
+ * <p>
+ * Schemas are identified by a digest of their canonical form: object members
+ * are taken in name order, <code>$ref</code> values are resolved against the
+ * document that contains them, and the schema's own <code>title</code>,
+ * <code>description</code>, <code>$comment</code>, <code>examples</code> and
+ * <code>default</code> are ignored (these describe a particular use of the
+ * type, not the type itself). Digests of nested schemas are remembered, so
+ * each node is only hashed once however deeply it is nested.
+ * <p>
+ * Schemas that name their own type (with <code>javaType</code> or
+ * <code>existingJavaType</code>) and the root schemas of documents are never
+ * merged.
+ */
+public class SchemaDeduplicator {
+
+    private static final Set<String> DESCRIPTIVE_KEYWORDS = new HashSet<>(Arrays.asList("title", "description", "$comment", "examples", "default"));
+
+    private final Map<JsonNode, String> digests = new IdentityHashMap<>();
+
+    private final Map<String, Merge> merges = new LinkedHashMap<>();
+
+    /**
+     * Computes the structural identity of an object schema.
+     *
+     * @param node
+     *            the object schema
+     * @param schema
+     *            the schema that contains the node, used to resolve
+     *            <code>$ref</code> values
+     * @return a digest identifying the structure of the schema, or null if
+     *         the schema should never be merged with another
+     */
+    public String getStructure(JsonNode node, Schema schema) {
+        if (schema.getParent() == schema || node.has("javaType") || node.has("existingJavaType")) {
+            return null;
+        }
+
+        return sha256Hex(canonicalObject(node, schema.getId(), true));
+    }
+
+    /**
+     * Finds the type already generated for a structure, recording the merge
+     * for the report.
+     *
+     * @param structure
+     *            the structure of the schema, as returned by
+     *            {@link #getStructure(JsonNode, Schema)}
+     * @param nodeName
+     *            the name of the node that holds the schema
+     * @param schema
+     *            the schema that contains the node
+     * @param codeModel
+     *            the code model being generated; types generated for other
+     *            code models are ignored
+     * @return the type generated for an identical schema, or null if no such
+     *         schema has been generated
+     */
+    public JType getExistingType(String structure, String nodeName, Schema schema, JCodeModel codeModel) {
+        Merge merge = merges.get(structure);
+        if (merge == null || merge.type.owner() != codeModel) {
+            return null;
+        }
+
+        merge.duplicates.add(describe(nodeName, schema));
+        return merge.type;
+    }
+
+    /**
+     * Records the type generated for a structure, so that later schemas with
+     * the same structure can reuse it.
+     */
+    public void register(String structure, JType type, String nodeName, Schema schema) {
+        Merge merge = merges.get(structure);
+        if (merge == null || merge.type.owner() != type.owner()) {
+            merges.put(structure, new Merge(type, describe(nodeName, schema)));
+        }
+    }
+
+    /**
+     * Logs the schemas that were merged, one line per shared type.
+     */
+    public void report(RuleLogger logger) {
+        int merged = 0;
+        int types = 0;
+        for (Merge merge : merges.values()) {
+            if (!merge.duplicates.isEmpty()) {
+                merged += merge.duplicates.size();
+                types++;
+                logger.info("Schema deduplication: " + merge.type.fullName() + " (from " + merge.origin + ") also used for " + merge.duplicates);
+            }
+        }
+        logger.info("Schema deduplication: " + merged + " inline schemas merged into " + types + " existing types");
+    }
+
+    private String canonicalObject(JsonNode node, URI documentId, boolean ignoreDescriptiveKeywords) {
+        Map<String, String> members = new TreeMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext();) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (ignoreDescriptiveKeywords && DESCRIPTIVE_KEYWORDS.contains(field.getKey())) {
+                continue;
+            }
+            if ("$ref".equals(field.getKey()) && field.getValue().isTextual()) {
+                members.put(field.getKey(), "$ref:" + TextNode.valueOf(resolve(documentId, field.getValue().asText())));
+            } else {
+                members.put(field.getKey(), digest(field.getValue(), documentId));
+            }
+        }
+
+        StringBuilder canonical = new StringBuilder("{");
+        for (Map.Entry<String, String> member : members.entrySet()) {
+            canonical.append(TextNode.valueOf(member.getKey())).append(':').append(member.getValue()).append(',');
+        }
+        return canonical.append('}').toString();
+    }
+
+    private String digest(JsonNode node, URI documentId) {
+        String digest = digests.get(node);
+        if (digest != null) {
+            return digest;
+        }
+
+        String canonical;
+        if (node.isObject()) {
+            canonical = canonicalObject(node, documentId, false);
+        } else if (node.isArray()) {
+            StringBuilder items = new StringBuilder("[");
+            for (JsonNode item : node) {
+                items.append(digest(item, documentId)).append(',');
+            }
+            canonical = items.append(']').toString();
+        } else {
+            canonical = node.getNodeType() + ":" + node;
+        }
+
+        // short values are cheaper to keep as they are than to hash
+        digest = canonical.length() > 64 ? sha256Hex(canonical) : canonical;
+        digests.put(node, digest);
+        return digest;
+    }
+
+    private static String resolve(URI documentId, String ref) {
+        try {
+            return documentId == null ? ref : documentId.resolve(ref).normalize().toString();
+        } catch (IllegalArgumentException e) {
+            return ref;
+        }
+    }
+
+    private static String describe(String nodeName, Schema schema) {
+        return nodeName + " in " + schema.getId();
+    }
+
+    private static class Merge {
+
+        private final JType type;
+        private final String origin;
+        private final List<String> duplicates = new ArrayList<>();
+
+        Merge(JType type, String origin) {
+            this.type = type;
+            this.origin = origin;
+        }
+
+    }
+
+}
@@ -155,7 +155,16 @@ public class SerializableHelper {
 
     public static void addSerializableSupport(JDefinedClass jclass) {
         jclass._implements(Serializable.class);
+        addSerialVersionUID(jclass);
+    }
 
+    /**
+     * Adds a <code>serialVersionUID</code> to a class that is already
+     * serializable (e.g. through its superclass), derived from the class's
+     * signature in the same way as for classes made serializable by
+     * {@link #addSerializableSupport(JDefinedClass)}.
+     */
+    public static void addSerialVersionUID(JDefinedClass jclass) {
         try {
 
             final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
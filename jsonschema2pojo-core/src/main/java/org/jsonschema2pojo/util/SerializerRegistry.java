@@ -0,0 +1,257 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.util;
+
+import static com.sun.codemodel.JExpr.*;
+import static com.sun.codemodel.JMod.*;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.jsonschema2pojo.AnnotationStyle;
+import org.jsonschema2pojo.exception.GenerationException;
+import org.jsonschema2pojo.rules.MoshiSerializersRule;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.sun.codemodel.JClass;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMethod;
+import com.sun.codemodel.JPackage;
+import com.sun.codemodel.JTypeVar;
+import com.sun.codemodel.JVar;
+
+/**
+ * Records the serializers and deserializers generated for each class, so that
+ * once generation is complete a single type can be generated to register all
+ * of them with the mapping library (a Jackson module, or a Gson or Moshi
+ * adapter factory).
+ */
+public class SerializerRegistry {
+
+    public static final String JACKSON_MODULE_NAME = "GeneratedSerializersModule";
+
+    public static final String GSON_FACTORY_NAME = "GeneratedTypeAdapterFactory";
+
+    public static final String MOSHI_FACTORY_NAME = "GeneratedJsonAdapterFactory";
+
+    /**
+     * Estimated bytecode to register the serializer and deserializer of a
+     * class, and to check for and create the adapter of a class (see
+     * {@link MethodSplitter}).
+     */
+    private static final int REGISTRATION_BYTES = 32;
+    private static final int ADAPTER_CASE_BYTES = 24;
+
+    private final List<Registration> registrations = new ArrayList<>();
+
+    /**
+     * Records the serializer and deserializer generated for a class.
+     *
+     * @param type
+     *            the generated class
+     * @param serializer
+     *            the class that writes instances of the type
+     * @param deserializer
+     *            the class that reads instances of the type
+     */
+    public void register(JDefinedClass type, JDefinedClass serializer, JDefinedClass deserializer) {
+        registrations.add(new Registration(type, serializer, deserializer));
+    }
+
+    /**
+     * Records the adapter generated for a class, which both writes and reads
+     * instances of it.
+     *
+     * @param type
+     *            the generated class
+     * @param adapter
+     *            the class that writes and reads instances of the type
+     */
+    public void register(JDefinedClass type, JDefinedClass adapter) {
+        registrations.add(new Registration(type, adapter, adapter));
+    }
+
+    public boolean isEmpty() {
+        return registrations.isEmpty();
+    }
+
+    /**
+     * Generates the type that registers every recorded serializer and
+     * deserializer, for the given annotation style.
+     *
+     * @param _package
+     *            the package of the new type
+     * @param annotationStyle
+     *            the annotation style that the serializers were generated for
+     * @return the new type
+     */
+    public JDefinedClass createModule(JPackage _package, AnnotationStyle annotationStyle) {
+        switch (annotationStyle) {
+            case JACKSON:
+            case JACKSON2:
+                return createJacksonModule(_package);
+            case GSON:
+                return createGsonFactory(_package);
+            case MOSHI1:
+                return createMoshiFactory(_package);
+            default:
+                throw new GenerationException("Generated serializers are not supported for annotation style " + annotationStyle);
+        }
+    }
+
+    private JDefinedClass createJacksonModule(JPackage _package) {
+        JDefinedClass module = createClass(_package, JACKSON_MODULE_NAME);
+        module._extends(SimpleModule.class);
+        module.javadoc().add("Registers the serializers and deserializers generated for each class.");
+
+        JMethod constructor = module.constructor(PUBLIC);
+        constructor.body().invoke("super").arg(lit(JACKSON_MODULE_NAME));
+
+        // the registrations of large models are spread over a chain of methods, each calling the next
+        List<List<Registration>> chunks = MethodSplitter.split(registrations, REGISTRATION_BYTES);
+        JMethod chunkMethod = constructor;
+        for (int i = 0; i < chunks.size(); i++) {
+            for (Registration registration : chunks.get(i)) {
+                chunkMethod.body().invoke("addSerializer").arg(registration.type.dotclass()).arg(_new(registration.serializer));
+                chunkMethod.body().invoke("addDeserializer").arg(registration.type.dotclass()).arg(_new(registration.deserializer));
+            }
+            if (i < chunks.size() - 1) {
+                JMethod nextChunkMethod = module.method(PRIVATE, void.class, "register" + (i + 1));
+                chunkMethod.body().invoke(nextChunkMethod);
+                chunkMethod = nextChunkMethod;
+            }
+        }
+
+        // SimpleModule is serializable
+        SerializableHelper.addSerialVersionUID(module);
+
+        return module;
+    }
+
+    private JDefinedClass createGsonFactory(JPackage _package) {
+        JCodeModel owner = _package.owner();
+        JClass adapterType = owner.ref(TypeAdapter.class);
+
+        JDefinedClass factory = createClass(_package, GSON_FACTORY_NAME);
+        factory._implements(TypeAdapterFactory.class);
+        factory.javadoc().add("Creates the type adapters generated for each class.");
+
+        // the classes of large models are spread over a chain of methods, each falling through to the next
+        List<List<Registration>> chunks = MethodSplitter.split(registrations, ADAPTER_CASE_BYTES);
+        List<JMethod> chunkMethods = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            JMethod chunkMethod = factory.method(PRIVATE, adapterType.narrow(owner.wildcard()), "createAdapter" + (i == 0 ? "" : i));
+            chunkMethod.param(Gson.class, "gson");
+            chunkMethod.param(owner.ref(Class.class).narrow(owner.wildcard()), "rawType");
+            chunkMethods.add(chunkMethod);
+        }
+        for (int i = 0; i < chunks.size(); i++) {
+            JMethod chunkMethod = chunkMethods.get(i);
+            JVar gson = chunkMethod.params().get(0);
+            JVar rawType = chunkMethod.params().get(1);
+            for (Registration registration : chunks.get(i)) {
+                chunkMethod.body()._if(rawType.eq(registration.type.dotclass()))._then()
+                        ._return(_new(registration.serializer).arg(gson));
+            }
+            chunkMethod.body()._return(i < chunks.size() - 1 ? invoke(chunkMethods.get(i + 1)).arg(gson).arg(rawType) : _null());
+        }
+
+        JMethod create = factory.method(PUBLIC, adapterType, "create");
+        create.annotate(Override.class);
+        JTypeVar t = create.generify("T");
+        create.type(adapterType.narrow(t));
+        JVar gson = create.param(Gson.class, "gson");
+        JVar type = create.param(owner.ref(TypeToken.class).narrow(t), "type");
+        // the adapter created for a class is only ever returned for a token of that class
+        Models.suppressWarnings(create, "unchecked");
+        create.body()._return(cast(adapterType.narrow(t), invoke(chunkMethods.get(0)).arg(gson).arg(type.invoke("getRawType"))));
+
+        return factory;
+    }
+
+    private JDefinedClass createMoshiFactory(JPackage _package) {
+        JCodeModel owner = _package.owner();
+        JClass adapterType = owner.directClass(MoshiSerializersRule.JSON_ADAPTER);
+        JClass moshiType = owner.directClass(MoshiSerializersRule.MOSHI);
+
+        JDefinedClass factory = createClass(_package, MOSHI_FACTORY_NAME);
+        factory._implements(owner.directClass(MoshiSerializersRule.JSON_ADAPTER_FACTORY));
+        factory.javadoc().add("Creates the JSON adapters generated for each class.");
+
+        // the classes of large models are spread over a chain of methods, each falling through to the next
+        List<List<Registration>> chunks = MethodSplitter.split(registrations, ADAPTER_CASE_BYTES);
+        List<JMethod> chunkMethods = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            JMethod chunkMethod = factory.method(PRIVATE, adapterType.narrow(owner.wildcard()), "createAdapter" + (i == 0 ? "" : i));
+            chunkMethod.param(moshiType, "moshi");
+            chunkMethod.param(Type.class, "type");
+            chunkMethods.add(chunkMethod);
+        }
+        for (int i = 0; i < chunks.size(); i++) {
+            JMethod chunkMethod = chunkMethods.get(i);
+            JVar moshi = chunkMethod.params().get(0);
+            JVar type = chunkMethod.params().get(1);
+            for (Registration registration : chunks.get(i)) {
+                chunkMethod.body()._if(type.eq(registration.type.dotclass()))._then()
+                        ._return(_new(registration.serializer).arg(moshi));
+            }
+            chunkMethod.body()._return(i < chunks.size() - 1 ? invoke(chunkMethods.get(i + 1)).arg(moshi).arg(type) : _null());
+        }
+
+        JMethod create = factory.method(PUBLIC, adapterType.narrow(owner.wildcard()), "create");
+        create.annotate(Override.class);
+        JVar type = create.param(Type.class, "type");
+        JVar annotations = create.param(owner.ref(Set.class).narrow(owner.ref(Annotation.class).wildcard()), "annotations");
+        JVar moshi = create.param(moshiType, "moshi");
+        // qualified types are left to the adapters that were registered for their qualifiers
+        create.body()._if(annotations.invoke("isEmpty").not())._then()._return(_null());
+        create.body()._return(invoke(chunkMethods.get(0)).arg(moshi).arg(type));
+
+        return factory;
+    }
+
+    private static JDefinedClass createClass(JPackage _package, String name) {
+        try {
+            return _package._class(name);
+        } catch (JClassAlreadyExistsException e) {
+            throw new GenerationException("Unable to generate " + e.getExistingClass().fullName() + ", a type with this name has already been generated", e);
+        }
+    }
+
+    private static final class Registration {
+
+        private final JDefinedClass type;
+        private final JDefinedClass serializer;
+        private final JDefinedClass deserializer;
+
+        private Registration(JDefinedClass type, JDefinedClass serializer, JDefinedClass deserializer) {
+            this.type = type;
+            this.serializer = serializer;
+            this.deserializer = deserializer;
+        }
+    }
+
+}
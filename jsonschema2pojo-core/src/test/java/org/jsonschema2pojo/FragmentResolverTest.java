@@ -19,6 +19,8 @@ package org.jsonschema2pojo;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 
+import java.lang.ref.WeakReference;
+
 import org.junit.Test;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -138,4 +140,103 @@ public class FragmentResolverTest {
 
     }
 
+    @Test
+    public void veryDeepPathsResolve() {
+
+        ObjectNode root = new ObjectMapper().createObjectNode();
+        StringBuilder path = new StringBuilder("#");
+
+        ObjectNode node = root;
+        for (int i = 0; i < 20000; i++) {
+            node = node.putObject("a");
+            path.append("/a");
+        }
+
+        assertThat(resolver.resolve(root, path.toString(), "#/."), is(sameInstance(node)));
+
+    }
+
+    @Test
+    public void equalDocumentsResolveToTheirOwnNodes() {
+
+        ObjectNode first = new ObjectMapper().createObjectNode();
+        first.putObject("a").putObject("b");
+        ObjectNode second = first.deepCopy();
+
+        assertThat(resolver.resolve(first, "#/a/b", "#/."), is(sameInstance(first.get("a").get("b"))));
+        assertThat(resolver.resolve(second, "#/a/b", "#/."), is(sameInstance(second.get("a").get("b"))));
+
+    }
+
+    @Test
+    public void samePathWithDifferentDelimitersIsResolvedSeparately() {
+
+        ObjectNode root = new ObjectMapper().createObjectNode();
+        ObjectNode dotted = root.putObject("a.b");
+        ObjectNode nested = root.putObject("a").putObject("b");
+
+        assertThat(resolver.resolve(root, "#/a.b", "#/"), is(sameInstance(dotted)));
+        assertThat(resolver.resolve(root, "#/a.b", "#/."), is(sameInstance(nested)));
+
+    }
+
+    @Test
+    public void clearCacheForgetsResolvedNodes() {
+
+        ObjectNode root = new ObjectMapper().createObjectNode();
+        ObjectNode a = root.putObject("a");
+
+        assertThat(resolver.resolve(root, "#/a", "#/."), is(sameInstance(a)));
+
+        ObjectNode replacement = root.putObject("a");
+        resolver.clearCache();
+
+        assertThat(resolver.resolve(root, "#/a", "#/."), is(sameInstance(replacement)));
+
+    }
+
+    @Test
+    public void clearCacheReleasesResolvedDocuments() throws InterruptedException {
+
+        ObjectNode root = new ObjectMapper().createObjectNode();
+        root.putObject("a");
+        resolver.resolve(root, "#/a", "#/.");
+
+        WeakReference<ObjectNode> document = new WeakReference<>(root);
+        root = null;
+        resolver.clearCache();
+
+        for (int i = 0; i < 50 && document.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(document.get(), is(nullValue()));
+
+    }
+
+    @Test
+    public void documentsNoLongerUsedAreReleasedWithoutClearingTheCache() throws InterruptedException {
+
+        ObjectNode root = new ObjectMapper().createObjectNode();
+        root.putObject("a");
+        resolver.resolve(root, "#/a", "#/.");
+
+        WeakReference<ObjectNode> document = new WeakReference<>(root);
+        root = null;
+
+        for (int i = 0; i < 50 && document.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(document.get(), is(nullValue()));
+
+        // resolving in another document still works once the collected one has been forgotten
+        ObjectNode other = new ObjectMapper().createObjectNode();
+        ObjectNode b = other.putObject("b");
+        assertThat(resolver.resolve(other, "#/b", "#/."), is(sameInstance(b)));
+
+    }
+
 }
@@ -0,0 +1,118 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jsonschema2pojo;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GeneratedFileWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void fileIsWrittenWhenStreamIsClosed() throws IOException {
+
+        File file = new File(folder.getRoot(), "com/example/A.java");
+        GeneratedFileWriter writer = new GeneratedFileWriter(false);
+
+        OutputStream out = writer.open(file);
+        out.write("class A {}".getBytes(StandardCharsets.UTF_8));
+        assertThat(file.exists(), is(false));
+        out.close();
+
+        assertThat(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8), is("class A {}"));
+        assertThat(writer.getFilesWritten(), is(1));
+
+    }
+
+    @Test
+    public void unchangedFileIsSkipped() throws IOException {
+
+        File file = folder.newFile("A.java");
+        Files.write(file.toPath(), "class A {}".getBytes(StandardCharsets.UTF_8));
+        assertThat(file.setLastModified(1000000000000L), is(true));
+
+        GeneratedFileWriter writer = new GeneratedFileWriter(true);
+        writer.write(file, "class A {}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(file.lastModified(), is(1000000000000L));
+        assertThat(writer.getFilesSkipped(), is(1));
+        assertThat(writer.getFilesWritten(), is(0));
+
+        writer.write(file, "class A { int a; }".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8), is("class A { int a; }"));
+        assertThat(writer.getFilesWritten(), is(1));
+
+    }
+
+    @Test
+    public void filesAreWrittenByExecutor() throws IOException {
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            GeneratedFileWriter writer = new GeneratedFileWriter(false, executor, 2);
+
+            for (int i = 0; i < 100; i++) {
+                try (OutputStream out = writer.open(new File(folder.getRoot(), "p" + (i % 10) + "/C" + i + ".java"))) {
+                    out.write(("class C" + i + " {}").getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            writer.awaitWrites();
+
+            assertThat(writer.getFilesWritten(), is(100));
+            for (int i = 0; i < 100; i++) {
+                File file = new File(folder.getRoot(), "p" + (i % 10) + "/C" + i + ".java");
+                assertThat(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8), is("class C" + i + " {}"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    @Test(expected = IOException.class)
+    public void failedWriteIsReported() throws IOException {
+
+        File notADirectory = folder.newFile("file");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            GeneratedFileWriter writer = new GeneratedFileWriter(false, executor, 1);
+            writer.open(new File(notADirectory, "A.java")).close();
+            writer.awaitWrites();
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+}
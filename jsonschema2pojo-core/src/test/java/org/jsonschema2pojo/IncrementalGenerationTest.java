@@ -0,0 +1,87 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+public class IncrementalGenerationTest {
+
+    /**
+     * Every option that can change the generated output. An option that is
+     * neither listed here nor ignored by the fingerprint has not been
+     * classified yet.
+     */
+    private static final Set<String> OUTPUT_OPTIONS = new HashSet<>(Arrays.asList(
+            "getAdditionalPropertiesMapType", "getAnnotationStyle", "getClassNamePrefix", "getClassNameSuffix",
+            "getCorpusSampleSize", "getCustomAnnotator", "getCustomDatePattern", "getCustomDateTimePattern",
+            "getCustomRuleFactory", "getCustomTimePattern", "getDateTimeType", "getDateType", "getFileExtensions",
+            "getFileFilter", "getFormatTypeMapping", "getInclusionLevel", "getOutputEncoding", "getPropertyWordDelimiters",
+            "getRefFragmentPathDelimiters", "getSourceSortOrder", "getSourceType", "getTargetLanguage", "getTargetPackage",
+            "getTargetVersion", "getTimeType", "getToStringExcludes", "isConstructorsRequiredPropertiesOnly",
+            "isDeduplicateInlineSchemas", "isFormatDateTimes", "isFormatDates", "isFormatTimes", "isGenerateBuilders",
+            "isGenerateSerializers", "isImmutable", "isIncludeAdditionalProperties", "isIncludeAllPropertiesConstructor",
+            "isIncludeConstructorPropertiesAnnotation", "isIncludeConstructors", "isIncludeCopyConstructor",
+            "isIncludeDynamicAccessors", "isIncludeDynamicBuilders", "isIncludeDynamicGetters", "isIncludeDynamicSetters",
+            "isIncludeGetters", "isIncludeHashcodeAndEquals", "isIncludeJsr303Annotations", "isIncludeJsr305Annotations",
+            "isIncludeRequiredPropertiesConstructor", "isIncludeSetters", "isIncludeToString", "isIncludeTypeInfo",
+            "isInitializeCollections", "isLazyAdditionalProperties", "isParcelable", "isSerializable",
+            "isUseBigDecimals", "isUseBigIntegers", "isUseDoubleNumbers", "isUseInnerClassBuilders", "isUseJodaDates",
+            "isUseJodaLocalDates", "isUseJodaLocalTimes", "isUseLongIntegers", "isUseOptionalForGetters",
+            "isUsePrimitiveArrays", "isUsePrimitives", "isUseRangeNarrowedIntegers", "isUseRecords", "isUseTitleAsClassname"));
+
+    @Test
+    public void everyConfigOptionIsEitherFingerprintedOrIgnored() {
+
+        Set<String> unclassified = new TreeSet<>();
+        for (Method method : GenerationConfig.class.getMethods()) {
+            if (method.getParameterCount() == 0
+                    && !OUTPUT_OPTIONS.contains(method.getName())
+                    && !IncrementalGeneration.IGNORED_CONFIG_OPTIONS.contains(method.getName())) {
+                unclassified.add(method.getName());
+            }
+        }
+
+        assertThat("Options that change the output belong in OUTPUT_OPTIONS, others in IncrementalGeneration.IGNORED_CONFIG_OPTIONS",
+                unclassified, is(empty()));
+
+    }
+
+    @Test
+    public void ignoredConfigOptionsExistAndDoNotChangeTheOutput() {
+
+        Set<String> options = new HashSet<>();
+        for (Method method : GenerationConfig.class.getMethods()) {
+            options.add(method.getName());
+        }
+
+        for (String ignored : IncrementalGeneration.IGNORED_CONFIG_OPTIONS) {
+            assertThat(options, hasItem(ignored));
+            assertThat(OUTPUT_OPTIONS, not(hasItem(ignored)));
+        }
+
+    }
+
+}
@@ -0,0 +1,220 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jsonschema2pojo;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+
+public class RemoteSchemaCacheTest {
+
+    private static final String ADDRESS = "localhost";
+    private static final String SCHEMA = "{\"type\" : \"object\", \"description\" : \"cached\"}";
+
+    @Rule
+    public WireMockRule server = new WireMockRule(options().dynamicPort().bindAddress(ADDRESS));
+
+    @Rule
+    public TemporaryFolder cacheFolder = new TemporaryFolder();
+
+    private URI schemaUri() {
+        return URI.create("http://" + ADDRESS + ":" + server.port() + "/schema.json");
+    }
+
+    @Test
+    public void unchangedDocumentIsRevalidatedWithEtagAndServedFromCache() throws IOException {
+
+        stubFor(get(urlEqualTo("/schema.json"))
+                .willReturn(aResponse().withStatus(200).withHeader("ETag", "\"v1\"").withBody(SCHEMA)));
+        stubFor(get(urlEqualTo("/schema.json")).withHeader("If-None-Match", equalTo("\"v1\""))
+                .willReturn(aResponse().withStatus(304)));
+
+        RemoteSchemaCache cache = new RemoteSchemaCache(cacheFolder.getRoot(), false);
+
+        byte[] first = cache.fetch(schemaUri());
+        byte[] second = cache.fetch(schemaUri());
+
+        assertThat(new String(first, StandardCharsets.UTF_8), is(SCHEMA));
+        assertThat(second, is(first));
+        verify(1, getRequestedFor(urlEqualTo("/schema.json")).withHeader("If-None-Match", equalTo("\"v1\"")));
+
+    }
+
+    @Test
+    public void lastModifiedIsUsedForRevalidation() throws IOException {
+
+        String lastModified = "Wed, 21 Oct 2015 07:28:00 GMT";
+        stubFor(get(urlEqualTo("/schema.json"))
+                .willReturn(aResponse().withStatus(200).withHeader("Last-Modified", lastModified).withBody(SCHEMA)));
+
+        RemoteSchemaCache cache = new RemoteSchemaCache(cacheFolder.getRoot(), false);
+        cache.fetch(schemaUri());
+        cache.fetch(schemaUri());
+
+        verify(1, getRequestedFor(urlEqualTo("/schema.json")).withHeader("If-Modified-Since", equalTo(lastModified)));
+
+    }
+
+    @Test
+    public void changedDocumentReplacesCachedCopy() throws IOException {
+
+        // the port is only known while the server is running
+        URI uri = schemaUri();
+        String changed = "{\"type\" : \"string\"}";
+        stubFor(get(urlEqualTo("/schema.json"))
+                .willReturn(aResponse().withStatus(200).withHeader("ETag", "\"v1\"").withBody(SCHEMA)));
+
+        RemoteSchemaCache cache = new RemoteSchemaCache(cacheFolder.getRoot(), false);
+        cache.fetch(uri);
+
+        stubFor(get(urlEqualTo("/schema.json"))
+                .willReturn(aResponse().withStatus(200).withHeader("ETag", "\"v2\"").withBody(changed)));
+
+        assertThat(new String(cache.fetch(uri), StandardCharsets.UTF_8), is(changed));
+
+        server.stop();
+        RemoteSchemaCache offlineCache = new RemoteSchemaCache(cacheFolder.getRoot(), true);
+        assertThat(new String(offlineCache.fetch(uri), StandardCharsets.UTF_8), is(changed));
+
+    }
+
+    @Test
+    public void offlineModeServesCachedCopyWithoutNetwork() throws IOException {
+
+        stubFor(get(urlEqualTo("/schema.json"))
+                .willReturn(aResponse().withStatus(200).withBody(SCHEMA)));
+
+        new RemoteSchemaCache(cacheFolder.getRoot(), false).fetch(schemaUri());
+        int requests = server.getAllServeEvents().size();
+
+        ContentResolver resolver = new ContentResolver(null, new RemoteSchemaCache(cacheFolder.getRoot(), true));
+        JsonNode content = resolver.resolve(schemaUri());
+
+        assertThat(content.path("description").asText(), is("cached"));
+        assertThat(server.getAllServeEvents().size(), is(requests));
+
+    }
+
+    @Test(expected = IOException.class)
+    public void offlineModeFailsForDocumentNotInCache() throws IOException {
+
+        new RemoteSchemaCache(cacheFolder.getRoot(), true).fetch(schemaUri());
+
+    }
+
+    @Test
+    public void identicalContentIsStoredOnce() throws IOException {
+
+        stubFor(get(urlEqualTo("/a.json")).willReturn(aResponse().withStatus(200).withBody(SCHEMA)));
+        stubFor(get(urlEqualTo("/b.json")).willReturn(aResponse().withStatus(200).withBody(SCHEMA)));
+
+        RemoteSchemaCache cache = new RemoteSchemaCache(cacheFolder.getRoot(), false);
+        cache.fetch(URI.create("http://" + ADDRESS + ":" + server.port() + "/a.json"));
+        cache.fetch(URI.create("http://" + ADDRESS + ":" + server.port() + "/b.json"));
+
+        assertThat(new File(cacheFolder.getRoot(), "objects").list().length, is(1));
+        assertThat(new File(cacheFolder.getRoot(), "refs").list().length, is(2));
+
+    }
+
+    @Test
+    public void cachedCopyIsServedWithWarningWhenServerFails() throws IOException {
+
+        stubFor(get(urlEqualTo("/schema.json"))
+                .willReturn(aResponse().withStatus(200).withHeader("ETag", "\"v1\"").withBody(SCHEMA)));
+
+        RuleLogger logger = mock(RuleLogger.class);
+        RemoteSchemaCache cache = new RemoteSchemaCache(cacheFolder.getRoot(), false, logger);
+        cache.fetch(schemaUri());
+
+        stubFor(get(urlEqualTo("/schema.json")).willReturn(aResponse().withStatus(503)));
+
+        assertThat(new String(cache.fetch(schemaUri()), StandardCharsets.UTF_8), is(SCHEMA));
+        Mockito.verify(logger).warn(contains("using the cached copy"));
+
+    }
+
+    @Test
+    public void cachedCopyIsServedWithWarningWhenServerIsUnreachable() throws IOException {
+
+        // the port is only known while the server is running
+        URI uri = schemaUri();
+        stubFor(get(urlEqualTo("/schema.json"))
+                .willReturn(aResponse().withStatus(200).withBody(SCHEMA)));
+
+        RuleLogger logger = mock(RuleLogger.class);
+        RemoteSchemaCache cache = new RemoteSchemaCache(cacheFolder.getRoot(), false, logger);
+        cache.fetch(uri);
+
+        server.stop();
+
+        assertThat(new String(cache.fetch(uri), StandardCharsets.UTF_8), is(SCHEMA));
+        Mockito.verify(logger).warn(contains("using the cached copy"));
+
+    }
+
+    @Test(expected = IOException.class)
+    public void serverErrorFailsForDocumentNotInCache() throws IOException {
+
+        stubFor(get(urlEqualTo("/schema.json")).willReturn(aResponse().withStatus(500)));
+
+        new RemoteSchemaCache(cacheFolder.getRoot(), false).fetch(schemaUri());
+
+    }
+
+    @Test(expected = IOException.class)
+    public void cachedCopyIsNotServedForDocumentThatIsGone() throws IOException {
+
+        stubFor(get(urlEqualTo("/schema.json"))
+                .willReturn(aResponse().withStatus(200).withBody(SCHEMA)));
+
+        RemoteSchemaCache cache = new RemoteSchemaCache(cacheFolder.getRoot(), false);
+        cache.fetch(schemaUri());
+
+        stubFor(get(urlEqualTo("/schema.json")).willReturn(aResponse().withStatus(404)));
+
+        cache.fetch(schemaUri());
+
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void brokenLinkThroughCacheCausesIllegalArgumentException() {
+
+        stubFor(get(urlEqualTo("/schema.json")).willReturn(aResponse().withStatus(404)));
+
+        new ContentResolver(null, new RemoteSchemaCache(cacheFolder.getRoot(), false)).resolve(schemaUri());
+
+    }
+
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jsonschema2pojo;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ScalaConversionPipelineTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static String javaSource(int i) {
+        return "package com.example;\n\npublic class C" + i + " {\n\n    private String value" + i + ";\n\n"
+                + "    public String getValue" + i + "() {\n        return value" + i + ";\n    }\n\n"
+                + "    public void setValue" + i + "(String value" + i + ") {\n        this.value" + i + " = value" + i + ";\n    }\n\n}\n";
+    }
+
+    private static String serialConversion(String javaSource) throws IOException {
+        final List<String> result = new ArrayList<>();
+        new ScalaConversionPipeline().convert(javaSource, new ScalaConversionPipeline.Consumer() {
+            @Override
+            public void accept(String scalaSource) {
+                result.add(scalaSource);
+            }
+        });
+        return result.get(0);
+    }
+
+    @Test
+    public void resultsAreConsumedInSubmissionOrder() throws IOException {
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ScalaConversionPipeline pipeline = new ScalaConversionPipeline(executor, 3, null);
+            final List<String> results = new ArrayList<>();
+
+            for (int i = 0; i < 20; i++) {
+                pipeline.convert(javaSource(i), new ScalaConversionPipeline.Consumer() {
+                    @Override
+                    public void accept(String scalaSource) {
+                        results.add(scalaSource);
+                    }
+                });
+                assertThat(i + 1 - results.size(), is(lessThanOrEqualTo(3)));
+            }
+            pipeline.flush();
+
+            // each conversion matches converting the same source on its own, i.e. concurrent conversions don't interfere
+            assertThat(results.size(), is(20));
+            for (int i = 0; i < 20; i++) {
+                assertThat(results.get(i), containsString("class C" + i));
+                assertThat(results.get(i), is(serialConversion(javaSource(i))));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    @Test
+    public void conversionsAreCachedAndReused() throws IOException {
+
+        File cache = folder.newFolder("cache");
+        final List<String> results = new ArrayList<>();
+        ScalaConversionPipeline.Consumer consumer = new ScalaConversionPipeline.Consumer() {
+            @Override
+            public void accept(String scalaSource) {
+                results.add(scalaSource);
+            }
+        };
+
+        new ScalaConversionPipeline(null, 0, cache).convert(javaSource(1), consumer);
+
+        List<File> cached = new ArrayList<>(FileUtils.listFiles(cache, new String[] { "scala" }, true));
+        assertThat(cached.size(), is(1));
+        assertThat(new String(Files.readAllBytes(cached.get(0).toPath()), StandardCharsets.UTF_8), is(results.get(0)));
+
+        // a cached conversion is used as-is, without converting again
+        FileUtils.writeStringToFile(cached.get(0), "cached", StandardCharsets.UTF_8);
+        new ScalaConversionPipeline(null, 0, cache).convert(javaSource(1), consumer);
+
+        assertThat(results.get(1), is("cached"));
+
+    }
+
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.jsonschema2pojo.exception.GenerationException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class SchemaGeneratorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final SchemaGenerator schemaGenerator = new SchemaGenerator();
+
+    @Test
+    public void objectPropertiesAreDescribedInOrder() throws IOException {
+        assertThat(schemaFor("{'b':'x','a':1,'c':2.5,'d':true,'e':null}"),
+                is(json("{'type':'object','properties':{'b':{'type':'string'},'a':{'type':'integer'},'c':{'type':'number'},'d':{'type':'boolean'},'e':{'type':'null'}}}")));
+    }
+
+    @Test
+    public void objectArrayItemsAreMerged() throws IOException {
+        assertThat(schemaFor("[{'a':1},'ignored',{'b':'x','a':'y'}]"),
+                is(json("{'type':'array','items':{'type':'object','properties':{'a':{'type':'string'},'b':{'type':'string'}}}}")));
+    }
+
+    @Test
+    public void nestedArraysOfMergedItemsAreConcatenated() throws IOException {
+        assertThat(schemaFor("[{'list':[]},{'list':[{'a':1}]},{'list':[{'b':true}]}]"),
+                is(json("{'type':'array','items':{'type':'object','properties':{'list':{'type':'array','items':{'type':'object','properties':{'a':{'type':'integer'},'b':{'type':'boolean'}}}}}}}")));
+    }
+
+    @Test
+    public void arrayItemsAreDescribedByFirstItemWhenItIsNotAnObject() throws IOException {
+        assertThat(schemaFor("[1,{'a':1},'x']"), is(json("{'type':'array','items':{'type':'integer'}}")));
+        assertThat(schemaFor("[]"), is(json("{'type':'array'}")));
+    }
+
+    @Test
+    public void exampleTreeIsNotModified() throws IOException {
+        JsonNode example = json("[{'a':{'x':1},'l':[1]},{'a':{'y':2},'l':[2]}]");
+        JsonNode copy = example.deepCopy();
+
+        schemaGenerator.schemaFromExample(example);
+
+        assertThat(example, is(copy));
+    }
+
+    @Test
+    public void schemaIsInferredFromParserTokens() throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(quoted("{'a':[{'b':1},{'c':'x'}]}"))) {
+            assertThat(schemaGenerator.schemaFromExample(parser),
+                    is(json("{'type':'object','properties':{'a':{'type':'array','items':{'type':'object','properties':{'b':{'type':'integer'},'c':{'type':'string'}}}}}}")));
+        }
+    }
+
+    @Test
+    public void corpusPropertiesPresentInEveryDocumentAreRequired() throws IOException {
+        List<URL> corpus = corpus("{'a':1,'b':'x'}\n{'a':2,'c':{'d':true}}", "{'a':3,'c':{'d':false,'e':1}}");
+
+        assertThat(schemaGenerator.schemaFromCorpus(corpus, 0, 1),
+                is(json("{'type':'object','properties':{'a':{'type':'integer'},'b':{'type':'string'},'c':{'type':'object','properties':{'d':{'type':'boolean'},'e':{'type':'integer'}},'required':['d']}},'required':['a']}")));
+    }
+
+    @Test
+    public void corpusSchemaDoesNotDependOnParallelism() throws IOException {
+        List<String> files = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            files.add(i % 3 == 0 ? "{'a':" + i + ",'l':[{'x':1}]}" : i % 3 == 1 ? "{'a':'s','l':[]}\n{'b':[1]}" : "{'a':1.5,'l':[{'y':'z'}]}");
+        }
+        List<URL> corpus = corpus(files.toArray(new String[0]));
+
+        JsonNode sequential = schemaGenerator.schemaFromCorpus(corpus, 0, 1);
+
+        assertThat(schemaGenerator.schemaFromCorpus(corpus, 0, 4), is(sequential));
+        assertThat(sequential.path("properties").path("a").path("type").asText(), is("string"));
+        assertThat(sequential.path("properties").path("l").path("items").path("properties").size(), is(2));
+    }
+
+    @Test
+    public void corpusSampleLimitsDocumentsRead() throws IOException {
+        List<URL> corpus = corpus("{'a':1}\n{'b':1}\n{'c':1}", "{'d':1}\n{'e':1}");
+
+        assertThat(schemaGenerator.schemaFromCorpus(corpus, 3, 1).path("properties").size(), is(3));
+        assertThat(schemaGenerator.schemaFromCorpus(corpus, 1, 1), is(json("{'type':'object','properties':{'a':{'type':'integer'}},'required':['a']}")));
+    }
+
+    @Test(expected = GenerationException.class)
+    public void emptyCorpusIsRejected() throws IOException {
+        schemaGenerator.schemaFromCorpus(corpus(""), 0, 1);
+    }
+
+    private List<URL> corpus(String... files) throws IOException {
+        List<URL> corpus = new ArrayList<>();
+        for (String content : files) {
+            File file = folder.newFile();
+            FileUtils.writeStringToFile(file, quoted(content), StandardCharsets.UTF_8);
+            corpus.add(file.toURI().toURL());
+        }
+        return corpus;
+    }
+
+    private JsonNode schemaFor(String example) throws IOException {
+        return schemaGenerator.schemaFromExample(json(example));
+    }
+
+    private JsonNode json(String content) throws IOException {
+        return objectMapper.readTree(quoted(content));
+    }
+
+    private static String quoted(String content) {
+        return content.replace('\'', '"');
+    }
+
+}
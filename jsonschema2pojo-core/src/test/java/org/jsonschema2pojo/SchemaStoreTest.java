@@ -26,7 +26,18 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JType;
 import org.mockito.internal.matchers.Same;
@@ -145,6 +156,129 @@ public class SchemaStoreTest {
 
     }
 
+    @Test
+    public void fragmentOfDocumentWithoutIdIsReused() throws Exception {
+
+        ObjectMapper mapper = new ObjectMapper();
+        Schema document = new Schema(null, mapper.readTree("{\"definitions\" : {\"a\" : {\"type\" : \"string\"}}}"), null);
+        Schema otherDocument = new Schema(null, mapper.readTree("{\"definitions\" : {\"a\" : {\"type\" : \"integer\"}}}"), null);
+
+        SchemaStore schemaStore = new SchemaStore();
+        Schema fragment = schemaStore.create(document, "#/definitions/a", "#/.");
+        fragment.setJavaType(mock(JType.class));
+
+        assertThat(schemaStore.create(document, "#/definitions/a", "#/."), is(sameInstance(fragment)));
+        // the same fragment id in another document without an id is a different schema
+        Schema otherFragment = schemaStore.create(otherDocument, "#/definitions/a", "#/.");
+        assertThat(otherFragment.getContent().get("type").asText(), is("integer"));
+        assertThat(schemaStore.create(otherDocument, "#/definitions/a", "#/."), is(sameInstance(otherFragment)));
+        assertThat(schemaStore.create(document, "#/definitions/a", "#/."), is(sameInstance(fragment)));
+
+    }
+
+    @Test
+    public void documentIsReadOnceForManyFragments() throws URISyntaxException {
+
+        URI schemaUri = getClass().getResource("/schema/address.json").toURI();
+
+        ContentResolver contentResolver = spy(new ContentResolver());
+        SchemaStore schemaStore = new SchemaStore(contentResolver);
+
+        Schema postOfficeBox = schemaStore.create(URI.create(schemaUri + "#/properties/post-office-box"), "#/.");
+        Schema locality = schemaStore.create(URI.create(schemaUri + "#/properties/locality"), "#/.");
+        Schema address = schemaStore.create(schemaUri, "#/.");
+
+        verify(contentResolver, times(1)).resolve(schemaUri);
+        assertThat(schemaStore.getDocumentCacheMisses(), is(1L));
+        assertThat(schemaStore.getDocumentCacheHits(), is(2L));
+
+        assertThat(postOfficeBox.getContent().get("type").asText(), is("string"));
+        assertThat(locality.getContent().get("required").asBoolean(), is(true));
+        assertThat(address.getContent().has("properties"), is(true));
+
+    }
+
+    @Test
+    public void clearCacheForgetsParsedDocuments() throws URISyntaxException {
+
+        URI schemaUri = getClass().getResource("/schema/address.json").toURI();
+
+        ContentResolver contentResolver = spy(new ContentResolver());
+        SchemaStore schemaStore = new SchemaStore(contentResolver);
+
+        schemaStore.create(schemaUri, "#/.");
+        schemaStore.clearCache();
+        schemaStore.create(schemaUri, "#/.");
+
+        verify(contentResolver, times(2)).resolve(schemaUri);
+        assertThat(schemaStore.getDocumentCacheMisses(), is(2L));
+
+    }
+
+    @Test
+    public void concurrentRequestsForSameSchemaReadDocumentOnce() throws Exception {
+
+        final URI schemaUri = getClass().getResource("/schema/address.json").toURI();
+        final AtomicInteger reads = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+
+        final SchemaStore schemaStore = new SchemaStore(new ContentResolver() {
+            @Override
+            public JsonNode resolve(URI uri) {
+                reads.incrementAndGet();
+                return super.resolve(uri);
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Schema>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                final String fragment = (i % 2 == 0) ? "" : "#/properties/locality";
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return schemaStore.create(URI.create(schemaUri + fragment), "#/.");
+                }));
+            }
+            start.countDown();
+
+            Schema base = schemaStore.create(schemaUri, "#/.");
+            Schema locality = schemaStore.create(URI.create(schemaUri + "#/properties/locality"), "#/.");
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(results.get(i).get(), is(sameInstance(i % 2 == 0 ? base : locality)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(reads.get(), is(1));
+        assertThat(schemaStore.getDocumentCacheMisses(), is(1L));
+
+    }
+
+    @Test
+    public void failedReadIsNotCached() throws URISyntaxException {
+
+        URI schemaUri = getClass().getResource("/schema/address.json").toURI();
+
+        ContentResolver contentResolver = spy(new ContentResolver());
+        doThrow(new IllegalArgumentException("unavailable")).doCallRealMethod().when(contentResolver).resolve(schemaUri);
+        SchemaStore schemaStore = new SchemaStore(contentResolver);
+
+        try {
+            schemaStore.create(schemaUri, "#/.");
+            fail("Expected read failure to propagate");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("unavailable"));
+        }
+
+        Schema schema = schemaStore.create(schemaUri, "#/.");
+
+        assertThat(schema.getContent().has("properties"), is(true));
+        verify(contentResolver, times(2)).resolve(schemaUri);
+
+    }
+
     @Test
     public void setIfEmptyOnlySetsIfEmpty() throws URISyntaxException {
 
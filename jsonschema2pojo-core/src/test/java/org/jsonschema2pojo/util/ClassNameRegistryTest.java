@@ -0,0 +1,103 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.util;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JPackage;
+
+public class ClassNameRegistryTest {
+
+    private final JPackage _package = new JCodeModel()._package("com.example");
+
+    private final ClassNameRegistry registry = new ClassNameRegistry(_package);
+
+    @Test
+    public void freeNameIsReturnedUnchanged() {
+        assertThat(registry.makeUnique("Item"), is("Item"));
+    }
+
+    @Test
+    public void nameIsNotReservedUntilClassIsCreated() throws JClassAlreadyExistsException {
+        assertThat(registry.makeUnique("Item"), is("Item"));
+        assertThat(registry.makeUnique("Item"), is("Item"));
+
+        _package._class("Item");
+
+        assertThat(registry.makeUnique("Item"), is("Item__1"));
+    }
+
+    @Test
+    public void takenNamesAreSuffixedInSequence() throws JClassAlreadyExistsException {
+        for (int i = 0; i < 400; i++) {
+            _package._class(registry.makeUnique("Item"));
+        }
+
+        assertThat(_package._getClass("Item"), is(notNullValue()));
+        assertThat(_package._getClass("Item__1"), is(notNullValue()));
+        assertThat(_package._getClass("Item__399"), is(notNullValue()));
+        assertThat(registry.makeUnique("Item"), is("Item__400"));
+    }
+
+    @Test
+    public void suffixedNameContinuesItsSequence() throws JClassAlreadyExistsException {
+        _package._class("Item__5");
+
+        assertThat(registry.makeUnique("Item__5"), is("Item__6"));
+    }
+
+    @Test
+    public void namesMatchRepeatedMakeUnique() throws JClassAlreadyExistsException {
+        JPackage legacyPackage = new JCodeModel()._package("com.example");
+        String[] requested = { "Item", "Item__2", "Other", "Item", "Item__1", "Other", "Item__2", "Item", "Other__1", "Item" };
+
+        for (String className : requested) {
+            String expected = legacyMakeUnique(className, legacyPackage);
+            String actual = registry.makeUnique(className);
+            assertThat(actual, is(expected));
+
+            legacyPackage._class(expected);
+            _package._class(actual);
+        }
+    }
+
+    @Test
+    public void classesCreatedOutsideTheRegistryAreRespected() throws JClassAlreadyExistsException {
+        _package._class(registry.makeUnique("Item"));
+        _package._class("Item__1");
+        _package._class("Item__2");
+
+        assertThat(registry.makeUnique("Item"), is("Item__3"));
+    }
+
+    private static String legacyMakeUnique(String className, JPackage _package) {
+        try {
+            JDefinedClass _class = _package._class(className);
+            _package.remove(_class);
+            return className;
+        } catch (JClassAlreadyExistsException e) {
+            return legacyMakeUnique(MakeUniqueClassName.makeUnique(className), _package);
+        }
+    }
+
+}
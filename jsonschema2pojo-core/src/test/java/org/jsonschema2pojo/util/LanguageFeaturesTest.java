@@ -34,20 +34,24 @@ public class LanguageFeaturesTest {
 
     public static enum VersionEnum {
 
-        BEFORE_6(false, false, false),
-        MAX_6(true, false, false),
-        MAX_7(true, true, false),
-        MAX_8(true, true, true),
-        AFTER_8(true, true, true);
+        BEFORE_6(false, false, false, false),
+        MAX_6(true, false, false, false),
+        MAX_7(true, true, false, false),
+        MAX_8(true, true, true, false),
+        AFTER_8(true, true, true, false),
+        MAX_15(true, true, true, false),
+        AFTER_15(true, true, true, true);
 
         public final boolean canUse6;
         public final boolean canUse7;
         public final boolean canUse8;
+        public final boolean canUse16;
 
-        VersionEnum(boolean canUse6, boolean canUse7, boolean canUse8) {
+        VersionEnum(boolean canUse6, boolean canUse7, boolean canUse8, boolean canUse16) {
             this.canUse6 = canUse6;
             this.canUse7 = canUse7;
             this.canUse8 = canUse8;
+            this.canUse16 = canUse16;
         }
     }
 
@@ -63,7 +67,11 @@ public class LanguageFeaturesTest {
             { "1.8", MAX_8 },
             { "8", MAX_8 },
             { "1.9", AFTER_8 },
-            { "9", AFTER_8 }
+            { "9", AFTER_8 },
+            { "11", AFTER_8 },
+            { "15", MAX_15 },
+            { "16", AFTER_15 },
+            { "17", AFTER_15 }
         });
     }
 
@@ -85,6 +93,11 @@ public class LanguageFeaturesTest {
         assertThat(LanguageFeatures.canUseJava8(mockConfig(version)), equalTo(versionSpec.canUse8));
     }
 
+    @Test
+    public void correctTestForJava16() {
+        assertThat(LanguageFeatures.canUseJava16(mockConfig(version)), equalTo(versionSpec.canUse16));
+    }
+
     public static GenerationConfig mockConfig(String version) {
         GenerationConfig config = mock(GenerationConfig.class);
         when(config.getTargetVersion()).thenReturn(version);
@@ -0,0 +1,67 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.util;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class MethodSplitterTest {
+
+    @Test
+    public void itemsThatFitAreNotSplit() {
+        List<Integer> items = numbers(MethodSplitter.METHOD_SIZE_BUDGET / 100);
+
+        List<List<Integer>> chunks = MethodSplitter.split(items, 100);
+
+        assertThat(chunks, hasSize(1));
+        assertThat(chunks.get(0), is(items));
+    }
+
+    @Test
+    public void itemsThatDoNotFitAreSplitInOrder() {
+        int perMethod = MethodSplitter.METHOD_SIZE_BUDGET / 100;
+        List<Integer> items = numbers(perMethod * 2 + 1);
+
+        List<List<Integer>> chunks = MethodSplitter.split(items, 100);
+
+        assertThat(chunks, hasSize(3));
+        assertThat(chunks.get(0), is(items.subList(0, perMethod)));
+        assertThat(chunks.get(1), is(items.subList(perMethod, perMethod * 2)));
+        assertThat(chunks.get(2), contains(perMethod * 2));
+    }
+
+    @Test
+    public void itemsLargerThanTheBudgetGetAMethodEach() {
+        List<List<Integer>> chunks = MethodSplitter.split(numbers(3), MethodSplitter.METHOD_SIZE_BUDGET * 2);
+
+        assertThat(chunks, contains(contains(0), contains(1), contains(2)));
+    }
+
+    private static List<Integer> numbers(int count) {
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            numbers.add(i);
+        }
+        return numbers;
+    }
+
+}
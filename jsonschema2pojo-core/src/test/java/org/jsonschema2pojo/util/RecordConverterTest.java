@@ -0,0 +1,118 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.util;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.jsonschema2pojo.exception.GenerationException;
+import org.junit.Test;
+
+public class RecordConverterTest {
+
+    private static final String NL = System.lineSeparator();
+
+    @Test
+    public void instanceFieldsBecomeComponentsWithTheirAnnotations() {
+        String source = lines(
+                "package com.example;",
+                "",
+                "@JsonPropertyOrder({",
+                "    \"name\"",
+                "})",
+                "public class Point implements Serializable",
+                "{",
+                "",
+                "    /**",
+                "     * The name",
+                "     */",
+                "    @JsonProperty(\"name\")",
+                "    @JsonPropertyDescription(\"a; {name}\")",
+                "    private final String name;",
+                "    @JsonProperty(\"tags\")",
+                "    @Size(min = 1)",
+                "    private final List<String> tags;",
+                "    private final static long serialVersionUID = 1L;",
+                "",
+                "    public Point(String name, List<String> tags) {",
+                "        this.name = ((name == null)?\"}\":name);",
+                "        this.tags = tags;",
+                "    }",
+                "",
+                "}");
+
+        String record = RecordConverter.toRecord(source);
+
+        assertThat(record, startsWith(lines(
+                "package com.example;",
+                "",
+                "@JsonPropertyOrder({",
+                "    \"name\"",
+                "})",
+                "public record Point(",
+                "    @JsonProperty(\"name\") @JsonPropertyDescription(\"a; {name}\") String name,",
+                "    @JsonProperty(\"tags\") @Size(min = 1) List<String> tags) implements Serializable",
+                "{")));
+        assertThat(record, containsString("    private final static long serialVersionUID = 1L;"));
+        assertThat(record, containsString("        this.name = ((name == null)?\"}\":name);"));
+        assertThat(record, not(containsString("private final String name;")));
+        assertThat(record, endsWith(lines("    }", "", "}")));
+    }
+
+    @Test
+    public void nestedTypesAndStaticFieldsAreKept() {
+        String source = lines(
+                "public class Order {",
+                "    private final Order.Status status;",
+                "    private static final String[] NAMES = {\"a\", \"b\"};",
+                "    public enum Status {",
+                "        NEW(\"new\");",
+                "        private final String value;",
+                "        Status(String value) { this.value = value; }",
+                "    }",
+                "}");
+
+        String record = RecordConverter.toRecord(source);
+
+        assertThat(record, startsWith("public record Order(" + NL + "    Order.Status status) {"));
+        assertThat(record, containsString("private static final String[] NAMES = {\"a\", \"b\"};"));
+        assertThat(record, containsString("        private final String value;"));
+    }
+
+    @Test
+    public void classWithoutFieldsHasNoComponents() {
+        assertThat(RecordConverter.toRecord("public class Empty {" + NL + "}"), is("public record Empty() {" + NL + "}"));
+    }
+
+    @Test(expected = GenerationException.class)
+    public void fieldsWithInitializersCantBeComponents() {
+        RecordConverter.toRecord(lines(
+                "public class Order {",
+                "    private List<String> tags = new ArrayList<String>();",
+                "}"));
+    }
+
+    @Test(expected = GenerationException.class)
+    public void subclassesCantBeRecords() {
+        RecordConverter.toRecord("public class Order extends Entity {" + NL + "}");
+    }
+
+    private static String lines(String... lines) {
+        return String.join(NL, lines);
+    }
+
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.util;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.jsonschema2pojo.rules.RuleFactory;
+import org.junit.Test;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JMod;
+
+public class ReflectionHelperTest {
+
+    private final ReflectionHelper reflectionHelper = new ReflectionHelper(new RuleFactory());
+
+    @Test
+    public void registeredBuilderClassIsFound() throws JClassAlreadyExistsException {
+        JDefinedClass target = new JCodeModel()._class("com.example.Target");
+        JDefinedClass builder = target._class(JMod.PUBLIC | JMod.STATIC, "TargetBuilder");
+        reflectionHelper.registerBuilderClass(target, builder);
+
+        assertThat(reflectionHelper.getBuilderClass(target), is(sameInstance(builder)));
+        assertThat(reflectionHelper.getBuilderClass(target.owner().ref("com.example.Target")), is(sameInstance(builder)));
+    }
+
+    @Test
+    public void unregisteredBuilderClassIsFoundInPackage() throws JClassAlreadyExistsException {
+        JDefinedClass target = new JCodeModel()._class("com.example.Target");
+        JDefinedClass builder = target._class(JMod.PUBLIC | JMod.STATIC, "TargetBuilder");
+
+        assertThat(reflectionHelper.getBuilderClass(target), is(sameInstance(builder)));
+    }
+
+    @Test
+    public void builderClassesOfOtherCodeModelsAreIgnored() throws JClassAlreadyExistsException {
+        JDefinedClass oldTarget = new JCodeModel()._class("com.example.Target");
+        reflectionHelper.registerBuilderClass(oldTarget, oldTarget._class(JMod.PUBLIC | JMod.STATIC, "TargetBuilder"));
+
+        JDefinedClass target = new JCodeModel()._class("com.example.Target");
+        JDefinedClass builder = target._class(JMod.PUBLIC | JMod.STATIC, "TargetBuilder");
+
+        assertThat(reflectionHelper.getBuilderClass(target), is(sameInstance(builder)));
+    }
+
+    @Test
+    public void superClassFieldIsFoundThroughIndex() throws JClassAlreadyExistsException {
+        JCodeModel codeModel = new JCodeModel();
+        JDefinedClass parent = codeModel._class("com.example.Parent");
+        parent.field(JMod.PRIVATE, String.class, "name");
+        JDefinedClass child = codeModel._class("com.example.Child");
+        child._extends(parent);
+        reflectionHelper.registerClass(parent);
+
+        assertThat(reflectionHelper.searchSuperClassesForField("name", child), is(sameInstance(parent.fields().get("name"))));
+    }
+
+    @Test
+    public void finalityOfExternalTypes() {
+        JCodeModel codeModel = new JCodeModel();
+
+        assertThat(reflectionHelper.isFinal(codeModel.ref(String.class)), is(true));
+        assertThat(reflectionHelper.isFinal(codeModel.ref(String.class)), is(true));
+        assertThat(reflectionHelper.isFinal(codeModel.ref(Number.class)), is(false));
+        assertThat(reflectionHelper.isFinal(codeModel.directClass("com.example.DoesNotExist")), is(false));
+    }
+
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.util;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.jsonschema2pojo.RuleLogger;
+import org.jsonschema2pojo.Schema;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+
+public class SchemaDeduplicatorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final SchemaDeduplicator deduplicator = new SchemaDeduplicator();
+
+    @Test
+    public void memberOrderAndDescriptiveKeywordsAreIgnored() throws IOException {
+        String structure = structureOf("a.json", "{'type':'object','properties':{'a':{'type':'string'},'b':{'type':'integer'}}}");
+
+        assertThat(structureOf("b.json", "{'properties':{'b':{'type':'integer'},'a':{'type':'string'}},'type':'object','title':'T','description':'D'}"), is(structure));
+    }
+
+    @Test
+    public void nestedDifferencesAreNotIgnored() throws IOException {
+        String structure = structureOf("a.json", "{'type':'object','properties':{'a':{'type':'string'}}}");
+
+        assertThat(structureOf("a.json", "{'type':'object','properties':{'a':{'type':'string','description':'D'}}}"), is(not(structure)));
+        assertThat(structureOf("a.json", "{'type':'object','properties':{'a':{'type':'string'}},'required':['a']}"), is(not(structure)));
+    }
+
+    @Test
+    public void refsAreResolvedAgainstTheirDocument() throws IOException {
+        String structure = structureOf("dir/a.json", "{'type':'object','properties':{'a':{'$ref':'#/definitions/x'}}}");
+
+        assertThat(structureOf("dir/a.json", "{'type':'object','properties':{'a':{'$ref':'a.json#/definitions/x'}}}"), is(structure));
+        assertThat(structureOf("dir/b.json", "{'type':'object','properties':{'a':{'$ref':'#/definitions/x'}}}"), is(not(structure)));
+    }
+
+    @Test
+    public void rootAndNamedSchemasAreNeverMerged() throws IOException {
+        JsonNode node = json("{'type':'object'}");
+
+        assertThat(deduplicator.getStructure(node, new Schema(URI.create("file:/a.json"), node, null)), is(nullValue()));
+        assertThat(structureOf("a.json", "{'type':'object','javaType':'com.example.A'}"), is(nullValue()));
+        assertThat(structureOf("a.json", "{'type':'object','existingJavaType':'java.lang.Object'}"), is(nullValue()));
+    }
+
+    @Test
+    public void registeredTypeIsReusedAndReported() throws IOException, JClassAlreadyExistsException {
+        JCodeModel codeModel = new JCodeModel();
+        JDefinedClass address = codeModel._class("com.example.Address");
+        String structure = structureOf("a.json", "{'type':'object','properties':{'street':{'type':'string'}}}");
+
+        assertThat(deduplicator.getExistingType(structure, "address", childSchema("a.json"), codeModel), is(nullValue()));
+        deduplicator.register(structure, address, "address", childSchema("a.json"));
+
+        assertThat(deduplicator.getExistingType(structure, "billingAddress", childSchema("b.json"), codeModel), is(sameInstance((Object) address)));
+        assertThat(deduplicator.getExistingType(structure, "billingAddress", childSchema("b.json"), new JCodeModel()), is(nullValue()));
+
+        RuleLogger logger = mock(RuleLogger.class);
+        deduplicator.report(logger);
+        verify(logger).info("Schema deduplication: com.example.Address (from address in file:/a.json) also used for [billingAddress in file:/b.json]");
+        verify(logger).info("Schema deduplication: 1 inline schemas merged into 1 existing types");
+    }
+
+    private String structureOf(String document, String content) throws IOException {
+        JsonNode node = json(content);
+        Schema root = new Schema(URI.create("file:/" + document), json("{}"), null);
+        return deduplicator.getStructure(node, root.deriveChildSchema(node));
+    }
+
+    private Schema childSchema(String document) throws IOException {
+        return new Schema(URI.create("file:/" + document), json("{}"), null).deriveChildSchema(json("{}"));
+    }
+
+    private JsonNode json(String content) throws IOException {
+        return objectMapper.readTree(content.replace('\'', '"'));
+    }
+
+}
@@ -97,6 +97,21 @@ public class JsonSchemaExtension implements GenerationConfig {
   SourceSortOrder sourceSortOrder
   Language targetLanguage
   Map<String, String> formatTypeMapping
+  int parallelism
+  File remoteSchemaCacheDirectory
+  boolean offline
+  boolean incremental
+  boolean skipUnchangedFiles
+  File scalaConversionCacheDirectory
+  int corpusSampleSize
+  boolean deduplicateInlineSchemas
+  boolean generateSerializers
+  boolean lazyAdditionalProperties
+  String additionalPropertiesMapType
+  boolean useRangeNarrowedIntegers
+  boolean usePrimitiveArrays
+  boolean immutable
+  boolean useRecords
 
   public JsonSchemaExtension() {
     // See DefaultGenerationConfig
@@ -156,6 +171,21 @@ public class JsonSchemaExtension implements GenerationConfig {
     refFragmentPathDelimiters = "#/."
     sourceSortOrder = SourceSortOrder.OS
     formatTypeMapping = Collections.emptyMap()
+    parallelism = 1
+    remoteSchemaCacheDirectory = null
+    offline = false
+    incremental = false
+    skipUnchangedFiles = false
+    scalaConversionCacheDirectory = null
+    corpusSampleSize = 0
+    deduplicateInlineSchemas = false
+    generateSerializers = false
+    lazyAdditionalProperties = false
+    additionalPropertiesMapType = null
+    useRangeNarrowedIntegers = false
+    usePrimitiveArrays = false
+    immutable = false
+    useRecords = false
   }
 
   @Override
@@ -285,6 +315,21 @@ public class JsonSchemaExtension implements GenerationConfig {
        |formatTypeMapping = ${formatTypeMapping}
        |useInnerClassBuilders = ${useInnerClassBuilders}
        |includeConstructorPropertiesAnnotation = ${includeConstructorPropertiesAnnotation}
+       |parallelism = ${parallelism}
+       |remoteSchemaCacheDirectory = ${remoteSchemaCacheDirectory}
+       |offline = ${offline}
+       |incremental = ${incremental}
+       |skipUnchangedFiles = ${skipUnchangedFiles}
+       |scalaConversionCacheDirectory = ${scalaConversionCacheDirectory}
+       |corpusSampleSize = ${corpusSampleSize}
+       |deduplicateInlineSchemas = ${deduplicateInlineSchemas}
+       |generateSerializers = ${generateSerializers}
+       |lazyAdditionalProperties = ${lazyAdditionalProperties}
+       |additionalPropertiesMapType = ${additionalPropertiesMapType}
+       |useRangeNarrowedIntegers = ${useRangeNarrowedIntegers}
+       |usePrimitiveArrays = ${usePrimitiveArrays}
+       |immutable = ${immutable}
+       |useRecords = ${useRecords}
      """.stripMargin()
   }
   
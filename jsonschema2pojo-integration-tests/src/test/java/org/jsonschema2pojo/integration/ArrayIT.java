@@ -16,9 +16,11 @@
 
 package org.jsonschema2pojo.integration;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.config;
 import static org.junit.Assert.assertThat;
 
@@ -67,6 +69,41 @@ public class ArrayIT {
 
     }
 
+    @Test
+    public void usePrimitiveArraysParameterCausesNumericArraysToBecomePrimitiveArrays() throws ReflectiveOperationException {
+
+        Class<?> primitiveArrays = schemaRule.generateAndCompile("/schema/array/primitiveArrays.json", "com.example", config("usePrimitiveArrays", true))
+                .loadClass("com.example.PrimitiveArrays");
+
+        assertThat(primitiveArrays.getMethod("getSamples").getReturnType(), is(equalTo((Object) double[].class)));
+        assertThat(primitiveArrays.getMethod("getCounts").getReturnType(), is(equalTo((Object) int[].class)));
+        assertThat(primitiveArrays.getMethod("getUniqueCounts").getReturnType(), is(equalTo((Object) Set.class)));
+        assertThat(primitiveArrays.getMethod("getNullableCounts").getReturnType(), is(equalTo((Object) List.class)));
+        assertThat(primitiveArrays.getMethod("getFlags").getReturnType(), is(equalTo((Object) List.class)));
+
+        Object instance = primitiveArrays.newInstance();
+        assertThat(primitiveArrays.getMethod("getCounts").invoke(instance), is(equalTo((Object) new int[] { 1, 2, 3 })));
+        assertThat(primitiveArrays.getMethod("getSamples").invoke(instance), is(equalTo((Object) new double[0])));
+    }
+
+    @Test
+    public void primitiveArraysAreComparedByContent() throws Exception {
+
+        Class<?> primitiveArrays = schemaRule.generateAndCompile("/schema/array/primitiveArrays.json", "com.example", config("usePrimitiveArrays", true))
+                .loadClass("com.example.PrimitiveArrays");
+
+        ObjectMapper mapper = new ObjectMapper();
+        Object instance = mapper.readValue("{\"samples\":[0.5,1.5],\"counts\":[4]}", primitiveArrays);
+        Object sameContent = mapper.readValue("{\"samples\":[0.5,1.5],\"counts\":[4]}", primitiveArrays);
+        Object otherContent = mapper.readValue("{\"samples\":[0.5,2.5],\"counts\":[4]}", primitiveArrays);
+
+        assertThat(instance, is(equalTo(sameContent)));
+        assertThat(instance.hashCode(), is(sameContent.hashCode()));
+        assertThat(instance, is(not(equalTo(otherContent))));
+        assertThat(instance.toString(), containsString("samples={0.5,1.5}"));
+        assertThat(mapper.readTree(mapper.writeValueAsString(instance)).get("samples").toString(), is("[0.5,1.5]"));
+    }
+
     @Test
     public void uniqueArraysAreSets() throws NoSuchMethodException {
 
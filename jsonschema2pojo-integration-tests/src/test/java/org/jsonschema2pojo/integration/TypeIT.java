@@ -252,6 +252,40 @@ public class TypeIT {
         assertThat(getterMethod.getReturnType().getName(), is("long"));
     }
 
+    @Test
+    public void useRangeNarrowedIntegersParameterCausesIntegersToUseTheSmallestTypeForTheirRange() throws ReflectiveOperationException {
+        Class<?> classWithRanges = schemaRule.generateAndCompile("/schema/type/integerRanges.json", "com.example", config("useRangeNarrowedIntegers", true))
+                .loadClass("com.example.IntegerRanges");
+
+        assertThat(classWithRanges.getMethod("getByteProperty").getReturnType().getName(), is("byte"));
+        assertThat(classWithRanges.getMethod("getShortProperty").getReturnType().getName(), is("short"));
+        assertThat(classWithRanges.getMethod("getIntProperty").getReturnType().getName(), is("int"));
+        assertThat(classWithRanges.getMethod("getLongProperty").getReturnType().getName(), is("long"));
+        assertThat(classWithRanges.getMethod("getOptionalShortProperty").getReturnType().getName(), is("java.lang.Short"));
+        assertThat(classWithRanges.getMethod("getNullableByteProperty").getReturnType().getName(), is("java.lang.Byte"));
+        assertThat(classWithRanges.getMethod("getUnboundedProperty").getReturnType().getName(), is("java.lang.Integer"));
+
+        Object instance = classWithRanges.newInstance();
+        assertThat(classWithRanges.getMethod("getShortProperty").invoke(instance), is((Object) (short) 200));
+    }
+
+    @Test
+    public void useRangeNarrowedIntegersParameterIsOverriddenByUseBigIntegers() throws ReflectiveOperationException {
+        Class<?> classWithRanges = schemaRule.generateAndCompile("/schema/type/integerRanges.json", "com.example", config("useRangeNarrowedIntegers", true, "useBigIntegers", true))
+                .loadClass("com.example.IntegerRanges");
+
+        assertThat(classWithRanges.getMethod("getByteProperty").getReturnType().getName(), is("java.math.BigInteger"));
+    }
+
+    @Test
+    public void integersAreNotNarrowedByDefault() throws ReflectiveOperationException {
+        Class<?> classWithRanges = schemaRule.generateAndCompile("/schema/type/integerRanges.json", "com.example")
+                .loadClass("com.example.IntegerRanges");
+
+        assertThat(classWithRanges.getMethod("getByteProperty").getReturnType().getName(), is("java.lang.Integer"));
+        assertThat(classWithRanges.getMethod("getLongProperty").getReturnType().getName(), is("java.lang.Long"));
+    }
+
     @Test
     public void useDoubleNumbersFalseCausesNumbersToBecomeFloats() throws ClassNotFoundException, NoSuchMethodException, SecurityException {
         Class<?> classWithDoubleProperty = schemaRule.generateAndCompile("/schema/type/numberAsFloat.json", "com.example", config("useDoubleNumbers", false))
@@ -0,0 +1,65 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.Assert.*;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class DeduplicateInlineSchemasIT {
+
+    @Rule public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    @Test
+    public void identicalInlineSchemasProduceSeparateClassesByDefault() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/deduplication/order.json", "com.example");
+
+        Class<?> order = resultsClassLoader.loadClass("com.example.Order");
+
+        assertThat(order.getMethod("getShippingAddress").getReturnType(), is(not(equalTo((Object) order.getMethod("getBillingAddress").getReturnType()))));
+    }
+
+    @Test
+    public void identicalInlineSchemasShareOneClass() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/deduplication/order.json", "com.example",
+                config("deduplicateInlineSchemas", true));
+
+        Class<?> order = resultsClassLoader.loadClass("com.example.Order");
+        Class<?> billingAddress = resultsClassLoader.loadClass("com.example.BillingAddress");
+
+        // member order and descriptions do not change the structure
+        assertThat(order.getMethod("getShippingAddress").getReturnType(), is(equalTo((Object) billingAddress)));
+
+        Type previousAddresses = order.getMethod("getPreviousAddresses").getGenericReturnType();
+        assertThat(((ParameterizedType) previousAddresses).getActualTypeArguments()[0], is(equalTo((Object) billingAddress)));
+
+        // an extra property does
+        assertThat(order.getMethod("getReturnAddress").getReturnType(), is(not(equalTo((Object) billingAddress))));
+
+        assertThat(schemaRule.getGenerateDir().toPath().resolve("com/example/ShippingAddress.java").toFile().exists(), is(false));
+    }
+
+}
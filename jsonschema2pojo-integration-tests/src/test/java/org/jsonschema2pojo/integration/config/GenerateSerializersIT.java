@@ -0,0 +1,173 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class GenerateSerializersIT {
+
+    @Rule public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    private static final String ORDER_JSON = "{\"id\":7,\"customer_name\":\"Ann\",\"paid\":true,\"total\":12.5,"
+            + "\"placedAt\":\"2020-01-02T03:04:05.006Z\",\"tags\":[\"gift\",\"express\"],"
+            + "\"lines\":[{\"sku\":\"A1\",\"quantity\":2}],\"status\":\"shipped\",\"priority\":1,\"note\":\"leave at door\"}";
+
+    @Test
+    public void serializersAreNotGeneratedByDefault() {
+
+        schemaRule.generateAndCompile("/schema/serializers/priorityOrder.json", "com.example");
+
+        assertThat(schemaRule.generated("com/example/GeneratedSerializersModule.java").exists(), is(false));
+    }
+
+    @Test
+    public void generatedSerializersMatchReflectiveSerialization() throws ReflectiveOperationException, IOException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/serializers/priorityOrder.json", "com.example",
+                config("generateSerializers", true, "formatDateTimes", true));
+
+        Class<?> priorityOrder = resultsClassLoader.loadClass("com.example.PriorityOrder");
+        Module module = (Module) resultsClassLoader.loadClass("com.example.GeneratedSerializersModule").newInstance();
+
+        ObjectMapper reflectiveMapper = new ObjectMapper();
+        ObjectMapper generatedMapper = new ObjectMapper().registerModule(module);
+
+        // inherited, declared and additional properties are all read
+        Object fromGenerated = generatedMapper.readValue(ORDER_JSON, priorityOrder);
+        Object fromReflective = reflectiveMapper.readValue(ORDER_JSON, priorityOrder);
+        assertThat(fromGenerated, is(equalTo(fromReflective)));
+
+        JsonNode expected = reflectiveMapper.readTree(reflectiveMapper.writeValueAsString(fromReflective));
+        JsonNode actual = reflectiveMapper.readTree(generatedMapper.writeValueAsString(fromGenerated));
+        assertThat(actual, is(equalTo(expected)));
+        assertThat(actual.get("placedAt").asText(), is("2020-01-02T03:04:05.006Z"));
+    }
+
+    @Test
+    public void generatedSerializersHandleRangeNarrowedIntegers() throws ReflectiveOperationException, IOException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/type/integerRanges.json", "com.example",
+                config("generateSerializers", true, "useRangeNarrowedIntegers", true));
+
+        Class<?> integerRanges = resultsClassLoader.loadClass("com.example.IntegerRanges");
+        Module module = (Module) resultsClassLoader.loadClass("com.example.GeneratedSerializersModule").newInstance();
+
+        ObjectMapper reflectiveMapper = new ObjectMapper();
+        ObjectMapper generatedMapper = new ObjectMapper().registerModule(module);
+
+        String json = "{\"byteProperty\":-100,\"shortProperty\":250,\"intProperty\":65536,\"longProperty\":4294967296,"
+                + "\"optionalShortProperty\":null,\"nullableByteProperty\":7,\"unboundedProperty\":1}";
+
+        Object fromGenerated = generatedMapper.readValue(json, integerRanges);
+        assertThat(fromGenerated, is(equalTo(reflectiveMapper.readValue(json, integerRanges))));
+        assertThat(reflectiveMapper.readTree(generatedMapper.writeValueAsString(fromGenerated)),
+                is(equalTo(reflectiveMapper.readTree(reflectiveMapper.writeValueAsString(fromGenerated)))));
+    }
+
+    @Test
+    public void generatedSerializersHandlePrimitiveArrays() throws ReflectiveOperationException, IOException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/array/primitiveArrays.json", "com.example",
+                config("generateSerializers", true, "usePrimitiveArrays", true, "inclusionLevel", "NON_EMPTY"));
+
+        Class<?> primitiveArrays = resultsClassLoader.loadClass("com.example.PrimitiveArrays");
+        Module module = (Module) resultsClassLoader.loadClass("com.example.GeneratedSerializersModule").newInstance();
+
+        ObjectMapper reflectiveMapper = new ObjectMapper();
+        ObjectMapper generatedMapper = new ObjectMapper().registerModule(module);
+
+        String json = "{\"samples\":[],\"counts\":[4,5],\"uniqueCounts\":[1],\"flags\":[true]}";
+
+        Object fromGenerated = generatedMapper.readValue(json, primitiveArrays);
+        assertThat(fromGenerated, is(equalTo(reflectiveMapper.readValue(json, primitiveArrays))));
+
+        JsonNode actual = reflectiveMapper.readTree(generatedMapper.writeValueAsString(fromGenerated));
+        assertThat(actual, is(equalTo(reflectiveMapper.readTree(reflectiveMapper.writeValueAsString(fromGenerated)))));
+        assertThat(actual.has("samples"), is(false));
+    }
+
+    @Test
+    public void generatedSerializersHandleClassesWithoutAdditionalProperties() throws ReflectiveOperationException, IOException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/serializers/closedLine.json", "com.example",
+                config("generateSerializers", true));
+
+        assertRoundTrip(resultsClassLoader, "com.example.ClosedLine", "{\"sku\":\"A1\",\"quantity\":2}");
+    }
+
+    @Test
+    public void generatedSerializersHandleIncludeAdditionalPropertiesFalse() throws ReflectiveOperationException, IOException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/serializers/priorityOrder.json", "com.example",
+                config("generateSerializers", true, "includeAdditionalProperties", false, "formatDateTimes", true));
+
+        assertRoundTrip(resultsClassLoader, "com.example.PriorityOrder", ORDER_JSON.replace(",\"note\":\"leave at door\"", ""));
+    }
+
+    private static void assertRoundTrip(ClassLoader resultsClassLoader, String className, String json) throws ReflectiveOperationException, IOException {
+
+        Class<?> generatedClass = resultsClassLoader.loadClass(className);
+        Module module = (Module) resultsClassLoader.loadClass("com.example.GeneratedSerializersModule").newInstance();
+
+        ObjectMapper reflectiveMapper = new ObjectMapper();
+        ObjectMapper generatedMapper = new ObjectMapper().registerModule(module);
+
+        Object fromGenerated = generatedMapper.readValue(json, generatedClass);
+        assertThat(fromGenerated, is(equalTo(reflectiveMapper.readValue(json, generatedClass))));
+        assertThat(reflectiveMapper.readTree(generatedMapper.writeValueAsString(fromGenerated)), is(equalTo(reflectiveMapper.readTree(json))));
+    }
+
+    @Test
+    public void serializersAreNestedInEachClass() throws ClassNotFoundException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/serializers/priorityOrder.json", "com.example",
+                config("generateSerializers", true));
+
+        resultsClassLoader.loadClass("com.example.Order$JacksonSerializer");
+        resultsClassLoader.loadClass("com.example.Order$JacksonDeserializer");
+        resultsClassLoader.loadClass("com.example.Line$JacksonSerializer");
+        resultsClassLoader.loadClass("com.example.PriorityOrder$JacksonDeserializer");
+    }
+
+    @Test
+    public void serializableTypesDeclareSerialVersionUID() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/serializers/priorityOrder.json", "com.example",
+                config("generateSerializers", true));
+
+        for (String className : new String[] { "com.example.Order$JacksonSerializer", "com.example.Order$JacksonDeserializer", "com.example.GeneratedSerializersModule" }) {
+            Field serialVersionUID = resultsClassLoader.loadClass(className).getDeclaredField("serialVersionUID");
+            assertThat(Modifier.isStatic(serialVersionUID.getModifiers()) && Modifier.isFinal(serialVersionUID.getModifiers()), is(true));
+            assertThat(serialVersionUID.getType().getName(), is("long"));
+        }
+    }
+
+}
@@ -36,6 +36,8 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapterFactory;
 
 public class GsonIT {
 
@@ -97,6 +99,45 @@ public class GsonIT {
         assertThat(jsonAsMap.get("enum_Property"), is("4 ! 1"));
     }
 
+    @Test
+    public void generatedTypeAdaptersRoundTripWithoutReflection() throws ReflectiveOperationException, IOException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/json/examples/", "com.example",
+                config("annotationStyle", "gson",
+                        "propertyWordDelimiters", "_",
+                        "sourceType", "json",
+                        "useLongIntegers", true,
+                        "generateSerializers", true));
+
+        TypeAdapterFactory factory = (TypeAdapterFactory) resultsClassLoader.loadClass("com.example.GeneratedTypeAdapterFactory").newInstance();
+        Gson gson = new GsonBuilder().registerTypeAdapterFactory(factory).create();
+
+        Class<?> torrent = resultsClassLoader.loadClass("com.example.Torrent");
+        assertThat(gson.getAdapter(torrent).getClass().getName(), is("com.example.Torrent$GsonTypeAdapter"));
+
+        String expectedJson = IOUtils.toString(getClass().getResource("/json/examples/torrent.json"));
+        assertEqualsJson(expectedJson, gson.toJson(gson.fromJson(expectedJson, torrent)));
+    }
+
+    @Test
+    public void generatedTypeAdaptersReadEnumsAndAdditionalProperties() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/enum/typeWithEnumProperty.json", "com.example",
+                config("annotationStyle", "gson",
+                        "propertyWordDelimiters", "_",
+                        "generateSerializers", true));
+
+        TypeAdapterFactory factory = (TypeAdapterFactory) resultsClassLoader.loadClass("com.example.GeneratedTypeAdapterFactory").newInstance();
+        Gson gson = new GsonBuilder().registerTypeAdapterFactory(factory).create();
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.TypeWithEnumProperty");
+        Object instance = gson.fromJson("{\"enum_Property\":\"4 ! 1\",\"extra\":\"value\"}", generatedType);
+
+        assertThat(generatedType.getMethod("getEnumProperty").invoke(instance).toString(), is("4 ! 1"));
+        assertThat(((Map<?, ?>) generatedType.getMethod("getAdditionalProperties").invoke(instance)).get("extra"), is((Object) "value"));
+        assertEqualsJson("{\"enum_Property\":\"4 ! 1\",\"extra\":\"value\"}", gson.toJson(instance));
+    }
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
     private void assertJsonRoundTrip(ClassLoader resultsClassLoader, String className, String jsonResource) throws ClassNotFoundException, IOException {
         Class generatedType = resultsClassLoader.loadClass(className);
@@ -0,0 +1,189 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static java.util.Arrays.*;
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class ImmutableIT {
+
+    @Rule public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    @Test
+    public void fieldsAreFinalAndSetOnlyByConstructor() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/immutable/immutableOrder.json", "com.example",
+                config("immutable", true, "generateBuilders", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.ImmutableOrder");
+
+        for (Field field : generatedType.getDeclaredFields()) {
+            if (!Modifier.isTransient(field.getModifiers())) {
+                assertThat(field.getName(), Modifier.isFinal(field.getModifiers()), is(true));
+            }
+        }
+        for (Method method : generatedType.getMethods()) {
+            assertThat(method.getName(), not(startsWith("set")));
+            assertThat(method.getName(), not(startsWith("with")));
+        }
+        assertThat(generatedType.getConstructors().length, is(1));
+    }
+
+    @Test
+    public void buildersCollectValuesAndInvokeTheConstructor() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/immutable/immutableOrder.json", "com.example",
+                config("immutable", true, "generateBuilders", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.ImmutableOrder");
+        Class<?> builderType = resultsClassLoader.loadClass("com.example.ImmutableOrder$ImmutableOrderBuilder");
+
+        Object builder = builderType.getConstructor().newInstance();
+        builderType.getMethod("withCustomerName", String.class).invoke(builder, "Ann");
+        builderType.getMethod("withTags", List.class).invoke(builder, asList("gift"));
+        builderType.getMethod("withId", Integer.class).invoke(builder, 7);
+        Object instance = builderType.getMethod("build").invoke(builder);
+
+        assertThat(instance, is(equalTo(newInstance(generatedType, "Ann", null, asList("gift"), null, null, 7))));
+        assertThat(generatedType.getMethod("getStatus").invoke(instance), is((Object) "new"));
+        assertUnmodifiable((Collection<?>) generatedType.getMethod("getTags").invoke(instance));
+    }
+
+    @Test
+    public void buildersAreGeneratedForInnerClassBuildersToo() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/immutable/immutableOrder.json", "com.example",
+                config("immutable", true, "generateBuilders", true, "useInnerClassBuilders", true));
+
+        Class<?> builderType = resultsClassLoader.loadClass("com.example.Entity$EntityBuilder");
+
+        Object builder = builderType.getConstructor().newInstance();
+        builderType.getMethod("withId", Integer.class).invoke(builder, 7);
+        Object instance = builderType.getMethod("build").invoke(builder);
+
+        assertThat(instance.getClass().getMethod("getId").invoke(instance), is((Object) 7));
+    }
+
+    @Test
+    public void collectionsAreCopiedToUnmodifiableCollections() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/immutable/immutableOrder.json", "com.example",
+                config("immutable", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.ImmutableOrder");
+        List<String> tags = new ArrayList<>(asList("gift"));
+        Object instance = newInstance(generatedType, "Ann", "shipped", tags, new LinkedHashSet<>(asList("fragile")), true, 7);
+
+        tags.add("express");
+
+        Collection<?> copiedTags = (Collection<?>) generatedType.getMethod("getTags").invoke(instance);
+        assertThat(copiedTags, contains((Object) "gift"));
+        assertUnmodifiable(copiedTags);
+        assertUnmodifiable((Collection<?>) generatedType.getMethod("getLabels").invoke(instance));
+    }
+
+    @Test
+    public void defaultsAreUsedForNullArguments() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/immutable/immutableOrder.json", "com.example",
+                config("immutable", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.ImmutableOrder");
+        Object instance = newInstance(generatedType, "Ann", null, null, null, null, 7);
+
+        assertThat(generatedType.getMethod("getStatus").invoke(instance), is((Object) "new"));
+        assertThat((Collection<?>) generatedType.getMethod("getLabels").invoke(instance), contains((Object) "standard"));
+        assertUnmodifiable((Collection<?>) generatedType.getMethod("getLabels").invoke(instance));
+        assertThat(generatedType.getMethod("getId").invoke(instance), is((Object) 7));
+    }
+
+    @Test
+    public void hashCodeIsComputedOnceAndCached() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/immutable/immutableOrder.json", "com.example",
+                config("immutable", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.ImmutableOrder");
+        Object instance = newInstance(generatedType, "Ann", "shipped", asList("gift"), null, true, 7);
+        Object equalInstance = newInstance(generatedType, "Ann", "shipped", asList("gift"), null, true, 7);
+
+        Field cachedHashCode = generatedType.getDeclaredField("cachedHashCode");
+        cachedHashCode.setAccessible(true);
+        assertThat(cachedHashCode.get(instance), is((Object) 0));
+
+        int hashCode = instance.hashCode();
+
+        assertThat(cachedHashCode.get(instance), is((Object) hashCode));
+        assertThat(instance.hashCode(), is(hashCode));
+        assertThat(instance, is(equalTo(equalInstance)));
+        assertThat(equalInstance.hashCode(), is(hashCode));
+    }
+
+    @Test
+    public void immutableClassesAreReadAndWrittenByJackson() throws ReflectiveOperationException, IOException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/immutable/immutableOrder.json", "com.example",
+                config("immutable", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.ImmutableOrder");
+        ObjectMapper mapper = new ObjectMapper();
+        String json = "{\"customer_name\":\"Ann\",\"status\":\"shipped\",\"tags\":[\"gift\"],\"labels\":[\"fragile\"],\"paid\":true,\"id\":7,\"note\":\"leave at door\"}";
+
+        Object instance = mapper.readValue(json, generatedType);
+
+        assertThat(generatedType.getMethod("getCustomerName").invoke(instance), is((Object) "Ann"));
+        assertThat((Collection<?>) generatedType.getMethod("getTags").invoke(instance), contains((Object) "gift"));
+        assertThat(generatedType.getMethod("getId").invoke(instance), is((Object) 7));
+        assertThat((Map<?, ?>) generatedType.getMethod("getAdditionalProperties").invoke(instance), hasEntry((Object) "note", (Object) "leave at door"));
+        assertThat(mapper.readTree(mapper.writeValueAsString(instance)), is(equalTo(mapper.readTree(json))));
+    }
+
+    private static Object newInstance(Class<?> generatedType, Object... args) throws ReflectiveOperationException {
+        Constructor<?> constructor = generatedType.getConstructor(String.class, String.class, List.class, Set.class, Boolean.class, Integer.class);
+        return constructor.newInstance(args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void assertUnmodifiable(Collection<?> collection) {
+        try {
+            ((Collection<Object>) collection).add("other");
+            fail("Expected an unmodifiable collection");
+        } catch (UnsupportedOperationException e) {
+        }
+    }
+
+}
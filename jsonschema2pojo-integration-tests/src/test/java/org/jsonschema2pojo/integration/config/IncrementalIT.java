@@ -0,0 +1,131 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IncrementalIT {
+
+    private static final long OLD_TIMESTAMP = 1000000000000L;
+
+    private File schemas;
+    private File output;
+    private final Map<String, Object> config = config("incremental", true);
+
+    @Before
+    public void writeSchemas() throws IOException {
+        schemas = createTemporaryOutputFolder();
+        output = createTemporaryOutputFolder();
+
+        write("a.json", "{\"type\" : \"object\", \"properties\" : {\"shared\" : {\"$ref\" : \"shared/c.json\"}}}");
+        write("b.json", "{\"type\" : \"object\", \"properties\" : {\"name\" : {\"type\" : \"string\"}}}");
+        write("shared/c.json", "{\"javaType\" : \"com.example.C\", \"type\" : \"object\", \"properties\" : {\"value\" : {\"type\" : \"integer\"}}}");
+    }
+
+    @Test
+    public void unchangedSourcesAreNotGeneratedAgain() throws IOException {
+
+        generateAndAge();
+        generate(schemas.toURI().toURL(), "com.example", config, output);
+
+        assertThat(generated("A").lastModified(), is(OLD_TIMESTAMP));
+        assertThat(generated("B").lastModified(), is(OLD_TIMESTAMP));
+        assertThat(generated("C").lastModified(), is(OLD_TIMESTAMP));
+
+    }
+
+    @Test
+    public void onlyChangedSourceIsGeneratedAgain() throws IOException {
+
+        generateAndAge();
+        write("b.json", "{\"type\" : \"object\", \"properties\" : {\"name\" : {\"type\" : \"string\"}, \"age\" : {\"type\" : \"integer\"}}}");
+        generate(schemas.toURI().toURL(), "com.example", config, output);
+
+        assertThat(generated("A").lastModified(), is(OLD_TIMESTAMP));
+        assertThat(generated("C").lastModified(), is(OLD_TIMESTAMP));
+        assertThat(generated("B").lastModified(), is(not(OLD_TIMESTAMP)));
+        assertThat(FileUtils.readFileToString(generated("B"), StandardCharsets.UTF_8), containsString("getAge()"));
+
+    }
+
+    @Test
+    public void changeToReferencedSchemaGeneratesReferringSourceAgain() throws IOException {
+
+        generateAndAge();
+        write("shared/c.json", "{\"javaType\" : \"com.example.C\", \"type\" : \"object\", \"properties\" : {\"total\" : {\"type\" : \"integer\"}}}");
+        generate(schemas.toURI().toURL(), "com.example", config, output);
+
+        assertThat(generated("B").lastModified(), is(OLD_TIMESTAMP));
+        assertThat(generated("A").lastModified(), is(not(OLD_TIMESTAMP)));
+        assertThat(FileUtils.readFileToString(generated("C"), StandardCharsets.UTF_8), containsString("getTotal()"));
+
+    }
+
+    @Test
+    public void onlyOrphanedOutputIsDeleted() throws IOException {
+
+        generateAndAge();
+        FileUtils.forceDelete(new File(schemas, "b.json"));
+        generate(schemas.toURI().toURL(), "com.example", config, output);
+
+        assertThat(generated("B").exists(), is(false));
+        assertThat(generated("A").lastModified(), is(OLD_TIMESTAMP));
+        assertThat(generated("C").lastModified(), is(OLD_TIMESTAMP));
+
+    }
+
+    @Test
+    public void changedConfigurationGeneratesEverythingAgain() throws IOException {
+
+        generateAndAge();
+        generate(schemas.toURI().toURL(), "com.example", config("incremental", true, "includeToString", false), output);
+
+        assertThat(generated("A").lastModified(), is(not(OLD_TIMESTAMP)));
+        assertThat(generated("B").lastModified(), is(not(OLD_TIMESTAMP)));
+        assertThat(FileUtils.readFileToString(generated("B"), StandardCharsets.UTF_8), not(containsString("toString()")));
+
+    }
+
+    private void generateAndAge() throws IOException {
+        generate(schemas.toURI().toURL(), "com.example", config, output);
+
+        for (File file : FileUtils.listFiles(output, new String[] { "java" }, true)) {
+            assertThat(file.setLastModified(OLD_TIMESTAMP), is(true));
+        }
+    }
+
+    private File generated(String className) {
+        return new File(output, "com/example/" + className + ".java");
+    }
+
+    private void write(String path, String content) throws IOException {
+        FileUtils.writeStringToFile(new File(schemas, path), content, StandardCharsets.UTF_8);
+    }
+
+}
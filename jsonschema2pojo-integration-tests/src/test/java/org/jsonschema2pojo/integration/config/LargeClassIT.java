@@ -0,0 +1,81 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LargeClassIT {
+
+    private static final int PROPERTY_COUNT = 1000;
+
+    @Rule public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+    @Rule public TemporaryFolder schemas = new TemporaryFolder();
+
+    @Test
+    public void largeMethodsAreSplitIntoHelpers() throws IOException, ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile(largeSchema().toURI().toURL(), "com.example",
+                config("includeDynamicAccessors", true, "includeDynamicGetters", true, "includeDynamicSetters", true));
+
+        Class<?> large = resultsClassLoader.loadClass("com.example.Large");
+
+        assertThat(large.getDeclaredMethod("hashCode1", int.class), is(notNullValue()));
+        assertThat(large.getDeclaredMethod("equals1", large), is(notNullValue()));
+        assertThat(large.getDeclaredMethod("toString1", StringBuilder.class), is(notNullValue()));
+        assertThat(large.getDeclaredMethod("declaredProperty1", String.class, Object.class), is(notNullValue()));
+
+        Object a = large.newInstance();
+        Object b = large.newInstance();
+        Method set = large.getMethod("set", String.class, Object.class);
+        Method get = large.getMethod("get", String.class);
+
+        set.invoke(a, "p999", "last");
+        set.invoke(b, "p999", "last");
+        assertThat(a, is(equalTo(b)));
+        assertThat(a.hashCode(), is(b.hashCode()));
+        assertThat(a.toString(), containsString("p999=last"));
+        assertThat(get.invoke(a, "p999"), is((Object) "last"));
+
+        set.invoke(b, "p999", "changed");
+        assertThat(a, is(not(equalTo(b))));
+    }
+
+    private File largeSchema() throws IOException {
+        StringBuilder properties = new StringBuilder();
+        for (int i = 0; i < PROPERTY_COUNT; i++) {
+            properties.append(i == 0 ? "" : ",").append("\"p").append(i).append("\":{\"type\":\"string\"}");
+        }
+
+        File schema = new File(schemas.getRoot(), "large.json");
+        FileUtils.writeStringToFile(schema, "{\"type\":\"object\",\"properties\":{" + properties + "}}", StandardCharsets.UTF_8);
+        return schema;
+    }
+
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class LazyAdditionalPropertiesIT {
+
+    @Rule public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    @Test
+    public void additionalPropertiesAreAllocatedEagerlyByDefault() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/additionalProperties/defaultAdditionalProperties.json", "com.example");
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.DefaultAdditionalProperties");
+
+        assertThat(additionalPropertiesField(generatedType.newInstance()), is(notNullValue()));
+    }
+
+    @Test
+    public void additionalPropertiesAreAllocatedOnFirstSet() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/additionalProperties/defaultAdditionalProperties.json", "com.example",
+                config("lazyAdditionalProperties", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.DefaultAdditionalProperties");
+        Object instance = generatedType.newInstance();
+
+        assertThat(additionalPropertiesField(instance), is(nullValue()));
+        assertThat(getAdditionalProperties(instance).isEmpty(), is(true));
+
+        generatedType.getMethod("setAdditionalProperty", String.class, Object.class).invoke(instance, "a", "b");
+
+        assertThat(additionalPropertiesField(instance), is(notNullValue()));
+        assertThat(getAdditionalProperties(instance), hasEntry("a", (Object) "b"));
+    }
+
+    @Test
+    public void unallocatedAdditionalPropertiesEqualEmptyOnes() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/additionalProperties/defaultAdditionalProperties.json", "com.example",
+                config("lazyAdditionalProperties", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.DefaultAdditionalProperties");
+        Object unallocated = generatedType.newInstance();
+        Object empty = generatedType.newInstance();
+        Method setAdditionalProperty = generatedType.getMethod("setAdditionalProperty", String.class, Object.class);
+        setAdditionalProperty.invoke(empty, "a", "b");
+        additionalPropertiesField(empty).clear();
+
+        assertThat(unallocated, is(equalTo(empty)));
+        assertThat(unallocated.hashCode(), is(empty.hashCode()));
+        assertThat(propertiesOf(unallocated.toString()), is(propertiesOf(empty.toString())));
+    }
+
+    @Test
+    public void lazyAdditionalPropertiesAreReadAndWrittenByJackson() throws ReflectiveOperationException, IOException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/additionalProperties/defaultAdditionalProperties.json", "com.example",
+                config("lazyAdditionalProperties", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.DefaultAdditionalProperties");
+        ObjectMapper mapper = new ObjectMapper();
+
+        Object empty = mapper.readValue("{}", generatedType);
+        assertThat(additionalPropertiesField(empty), is(nullValue()));
+        assertThat(mapper.writeValueAsString(empty), is("{}"));
+
+        Object instance = mapper.readValue("{\"a\":\"b\"}", generatedType);
+        assertThat(mapper.writeValueAsString(instance), is("{\"a\":\"b\"}"));
+    }
+
+    @Test
+    public void additionalPropertiesMapTypeIsUsed() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/additionalProperties/defaultAdditionalProperties.json", "com.example",
+                config("additionalPropertiesMapType", LinkedHashMap.class.getName()));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.DefaultAdditionalProperties");
+
+        assertThat(additionalPropertiesField(generatedType.newInstance()), is(instanceOf(LinkedHashMap.class)));
+    }
+
+    @Test
+    public void additionalPropertiesMapTypeIsUsedWhenLazy() throws ReflectiveOperationException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/additionalProperties/defaultAdditionalProperties.json", "com.example",
+                config("lazyAdditionalProperties", true, "additionalPropertiesMapType", LinkedHashMap.class.getName()));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.DefaultAdditionalProperties");
+        Object instance = generatedType.newInstance();
+        generatedType.getMethod("setAdditionalProperty", String.class, Object.class).invoke(instance, "a", "b");
+
+        assertThat(additionalPropertiesField(instance), is(instanceOf(LinkedHashMap.class)));
+    }
+
+    private static String propertiesOf(String toString) {
+        return toString.substring(toString.indexOf('['));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> additionalPropertiesField(Object instance) throws ReflectiveOperationException {
+        Field field = instance.getClass().getDeclaredField("additionalProperties");
+        field.setAccessible(true);
+        return (Map<String, Object>) field.get(instance);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> getAdditionalProperties(Object instance) throws ReflectiveOperationException {
+        return (Map<String, Object>) instance.getClass().getMethod("getAdditionalProperties").invoke(instance);
+    }
+
+}
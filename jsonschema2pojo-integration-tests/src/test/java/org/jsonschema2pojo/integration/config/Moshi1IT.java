@@ -110,6 +110,45 @@ public class Moshi1IT {
         assertThat(jsonAsMap.get("enum_Property"), is("4 ! 1"));
     }
 
+    @Test
+    public void generatedJsonAdaptersRoundTripWithoutReflection() throws ReflectiveOperationException, IOException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/json/examples/", "com.example",
+                config("annotationStyle", "moshi1",
+                        "propertyWordDelimiters", "_",
+                        "sourceType", "json",
+                        "useLongIntegers", true,
+                        "generateSerializers", true));
+
+        JsonAdapter.Factory factory = (JsonAdapter.Factory) resultsClassLoader.loadClass("com.example.GeneratedJsonAdapterFactory").newInstance();
+        moshi = new Moshi.Builder().add(factory).build();
+
+        Class<?> torrent = resultsClassLoader.loadClass("com.example.Torrent");
+        assertThat(moshi.adapter(torrent).getClass().getName(), is("com.example.Torrent$MoshiJsonAdapter"));
+
+        assertJsonRoundTrip(resultsClassLoader, "com.example.Torrent", "/json/examples/torrent.json");
+        assertJsonRoundTrip(resultsClassLoader, "com.example.GetUserData", "/json/examples/GetUserData.json");
+    }
+
+    @Test
+    public void generatedJsonAdaptersReadEnumsAndAdditionalProperties() throws ReflectiveOperationException, IOException {
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/enum/typeWithEnumProperty.json", "com.example",
+                config("annotationStyle", "moshi1",
+                        "propertyWordDelimiters", "_",
+                        "generateSerializers", true));
+
+        JsonAdapter.Factory factory = (JsonAdapter.Factory) resultsClassLoader.loadClass("com.example.GeneratedJsonAdapterFactory").newInstance();
+        moshi = new Moshi.Builder().add(factory).build();
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.TypeWithEnumProperty");
+        JsonAdapter<?> jsonAdapter = moshi.adapter(generatedType);
+        Object instance = jsonAdapter.fromJson("{\"extra\":\"value\",\"enum_Property\":\"4 ! 1\"}");
+
+        assertThat(generatedType.getMethod("getEnumProperty").invoke(instance).toString(), is("4 ! 1"));
+        assertThat(((Map<?, ?>) generatedType.getMethod("getAdditionalProperties").invoke(instance)).get("extra"), is((Object) "value"));
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     private void assertJsonRoundTrip(ClassLoader resultsClassLoader, String className, String jsonResource) throws ClassNotFoundException, IOException {
         Class generatedType = resultsClassLoader.loadClass(className);
@@ -0,0 +1,97 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class ParallelismIT {
+
+    @Rule public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    @Test
+    public void parallelGenerationProducesSameOutputAsSerialGeneration() throws IOException {
+
+        URL schemas = getClass().getResource("/schema/sourceSortOrder/");
+
+        File serialOutput = createTemporaryOutputFolder();
+        File parallelOutput = createTemporaryOutputFolder();
+
+        generate(schemas, "com.example", config("sourceSortOrder", "FILES_FIRST"), serialOutput);
+        generate(schemas, "com.example", config("sourceSortOrder", "FILES_FIRST", "parallelism", 4), parallelOutput);
+
+        List<String> serialFiles = relativePaths(serialOutput);
+        List<String> parallelFiles = relativePaths(parallelOutput);
+
+        assertThat(serialFiles, is(not(empty())));
+        assertThat(parallelFiles, is(serialFiles));
+
+        for (String file : serialFiles) {
+            assertThat("Content differs for " + file,
+                    FileUtils.readFileToByteArray(new File(parallelOutput, file)),
+                    is(FileUtils.readFileToByteArray(new File(serialOutput, file))));
+        }
+    }
+
+    @Test
+    public void classesWrittenForEarlierSourcesAreUsedByLaterSources() throws ReflectiveOperationException {
+        assertClassesWrittenForEarlierSourcesAreUsed(1);
+    }
+
+    @Test
+    public void classesWrittenForEarlierSourcesAreUsedByLaterSourcesInParallel() throws ReflectiveOperationException {
+        assertClassesWrittenForEarlierSourcesAreUsed(4);
+    }
+
+    private void assertClassesWrittenForEarlierSourcesAreUsed(int parallelism) throws ReflectiveOperationException {
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/streaming/", "com.example",
+                config("parallelism", parallelism, "generateBuilders", true, "includeConstructors", true));
+
+        Class<?> base = resultsClassLoader.loadClass("com.example.ABase");
+        Class<?> child = resultsClassLoader.loadClass("com.example.BChild");
+
+        assertThat(child.getSuperclass(), is(equalTo((Object) base)));
+        assertThat(child.getDeclaredMethod("withId", Integer.class).getReturnType(), is(equalTo((Object) child)));
+        assertThat(child.getConstructor(String.class, Integer.class), is(notNullValue()));
+        assertThat(resultsClassLoader.loadClass("com.example.ABase__1").getDeclaredField("label"), is(notNullValue()));
+    }
+
+    private static List<String> relativePaths(File directory) {
+        Collection<File> files = FileUtils.listFiles(directory, null, true);
+
+        List<String> paths = new ArrayList<>();
+        for (File file : files) {
+            paths.add(directory.toURI().relativize(file.toURI()).getPath());
+        }
+        paths.sort(null);
+        return paths;
+    }
+
+}
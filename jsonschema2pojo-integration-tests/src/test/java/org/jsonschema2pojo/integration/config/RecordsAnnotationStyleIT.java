@@ -0,0 +1,86 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Records are converted from the source of the generated class, so each
+ * annotation style and the options adding annotations to fields must give a
+ * record that compiles.
+ */
+@RunWith(Parameterized.class)
+public class RecordsAnnotationStyleIT {
+
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[][] {
+                { "jackson2", config("annotationStyle", "jackson2") },
+                { "jackson1", config("annotationStyle", "jackson1") },
+                { "gson", config("annotationStyle", "gson") },
+                { "moshi1", config("annotationStyle", "moshi1") },
+                { "none", config("annotationStyle", "none") },
+                { "jackson2WithSerializers", config("annotationStyle", "jackson2", "generateSerializers", true) },
+                { "gsonWithSerializers", config("annotationStyle", "gson", "generateSerializers", true) },
+                { "moshi1WithSerializers", config("annotationStyle", "moshi1", "generateSerializers", true) },
+                { "jsr303", config("includeJsr303Annotations", true) },
+                { "jsr305", config("includeJsr305Annotations", true) },
+                { "formatDateTimes", config("formatDateTimes", true) },
+                { "formatDates", config("formatDates", true, "formatTimes", true) },
+                { "typeInfo", config("includeTypeInfo", true) },
+                { "constructorProperties", config("includeConstructorPropertiesAnnotation", true) },
+                { "useJodaDates", config("useJodaDates", true) },
+                { "serializable", config("serializable", true) },
+                { "useOptionalForGetters", config("useOptionalForGetters", true) }
+        });
+    }
+
+    @Rule public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    private final Map<String, Object> config;
+
+    public RecordsAnnotationStyleIT(String name, Map<String, Object> config) {
+        this.config = config;
+        this.config.put("useRecords", true);
+        this.config.put("targetVersion", "16");
+    }
+
+    @Test
+    public void recordsCompile() throws ClassNotFoundException {
+        String version = System.getProperty("java.specification.version");
+        assumeTrue(!version.startsWith("1.") && Integer.parseInt(version) >= 16);
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/records/dated.json", "com.example", config);
+
+        assertThat(resultsClassLoader.loadClass("com.example.Dated").getSuperclass().getName(), is("java.lang.Record"));
+    }
+
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jsonschema2pojo.integration.config;
+
+import static java.util.Arrays.*;
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.Assert.*;
+import static org.junit.Assume.*;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.jsonschema2pojo.integration.util.Jsonschema2PojoRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class RecordsIT {
+
+    @Rule public Jsonschema2PojoRule schemaRule = new Jsonschema2PojoRule();
+
+    @Test
+    public void classesAreGeneratedForTargetsBeforeJava16() throws IOException {
+
+        schemaRule.generate("/schema/records/shipment.json", "com.example", config("useRecords", true, "targetVersion", "1.8"));
+
+        assertThat(generatedSource("Shipment"), containsString("public class Shipment"));
+    }
+
+    @Test
+    public void suitableSchemasAreGeneratedAsRecords() throws IOException {
+
+        schemaRule.generate("/schema/records/shipment.json", "com.example", config("useRecords", true, "targetVersion", "16"));
+
+        String source = generatedSource("Shipment");
+        assertThat(source, containsString("public record Shipment("));
+        assertThat(source, not(containsString("getCarrier()")));
+        assertThat(source, not(containsString("hashCode()")));
+    }
+
+    @Test
+    public void schemasAllowingAdditionalPropertiesAreGeneratedAsClasses() throws IOException {
+
+        schemaRule.generate("/schema/records/openShipment.json", "com.example", config("useRecords", true, "targetVersion", "16"));
+
+        assertThat(generatedSource("OpenShipment"), containsString("public class OpenShipment"));
+    }
+
+    @Test
+    public void recordsApplyDefaultsAndCopyCollections() throws ReflectiveOperationException {
+        assumeTrue(isJava16OrLater());
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/records/shipment.json", "com.example",
+                config("useRecords", true, "targetVersion", "16"));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.Shipment");
+        assertThat(generatedType.getSuperclass().getName(), is("java.lang.Record"));
+
+        List<Double> weights = new ArrayList<>(asList(1.5));
+        Object instance = generatedType.getConstructor(Integer.class, String.class, List.class, Set.class).newInstance(7, null, weights, null);
+        weights.add(2.5);
+
+        assertThat(generatedType.getMethod("carrier").invoke(instance), is((Object) "post"));
+        assertThat((Collection<?>) generatedType.getMethod("weights").invoke(instance), contains((Object) 1.5));
+        assertThat((Collection<?>) generatedType.getMethod("tags").invoke(instance), is(empty()));
+    }
+
+    @Test
+    public void recordsAreReadAndWrittenByJackson() throws ReflectiveOperationException, IOException {
+        assumeTrue(isJava16OrLater());
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/records/shipment.json", "com.example",
+                config("useRecords", true, "targetVersion", "16"));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.Shipment");
+        ObjectMapper mapper = new ObjectMapper();
+        String json = "{\"id\":7,\"carrier\":\"courier\",\"weights\":[1.5,2.5],\"tags\":[\"fragile\"]}";
+
+        Object instance = mapper.readValue(json, generatedType);
+
+        assertThat(generatedType.getMethod("id").invoke(instance), is((Object) 7));
+        assertThat((Collection<?>) generatedType.getMethod("tags").invoke(instance), contains((Object) "fragile"));
+        assertThat(instance, is(equalTo(mapper.readValue(json, generatedType))));
+        assertThat(mapper.readTree(mapper.writeValueAsString(instance)), is(equalTo(mapper.readTree(json))));
+    }
+
+    @Test
+    public void extendedSchemasAreGeneratedAsClasses() throws ReflectiveOperationException, IOException {
+        assumeTrue(isJava16OrLater());
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/records/hierarchy", "com.example",
+                config("useRecords", true, "targetVersion", "16"));
+
+        assertThat(generatedSource("Base"), containsString("public class Base"));
+        assertThat(generatedSource("Special"), containsString("public class Special"));
+        assertThat(resultsClassLoader.loadClass("com.example.Special").getSuperclass().getName(), is("com.example.Base"));
+    }
+
+    @Test
+    public void schemasExtendedThroughARefAreGeneratedAsClasses() throws IOException {
+        assumeTrue(isJava16OrLater());
+
+        schemaRule.generateAndCompile("/schema/records/hierarchy/special.json", "com.example",
+                config("useRecords", true, "targetVersion", "16"));
+
+        assertThat(generatedSource("Base"), containsString("public class Base"));
+    }
+
+    @Test
+    public void recordsCompareTheContentsOfPrimitiveArrays() throws ReflectiveOperationException {
+        assumeTrue(isJava16OrLater());
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/records/readings.json", "com.example",
+                config("useRecords", true, "targetVersion", "16", "usePrimitives", true, "usePrimitiveArrays", true));
+
+        Class<?> generatedType = resultsClassLoader.loadClass("com.example.Readings");
+        assertThat(generatedType.getSuperclass().getName(), is("java.lang.Record"));
+
+        Constructor<?> constructor = generatedType.getConstructor(String.class, double[].class);
+        Object first = constructor.newInstance("a", new double[] { 1.5, 2.5 });
+        Object second = constructor.newInstance("a", new double[] { 1.5, 2.5 });
+        Object different = constructor.newInstance("a", new double[] { 1.5 });
+
+        assertThat(first, is(equalTo(second)));
+        assertThat(first.hashCode(), is(second.hashCode()));
+        assertThat(first, is(not(equalTo(different))));
+    }
+
+    @Test
+    public void recordBuildersInvokeTheCanonicalConstructor() throws ReflectiveOperationException {
+        assumeTrue(isJava16OrLater());
+
+        ClassLoader resultsClassLoader = schemaRule.generateAndCompile("/schema/records/shipment.json", "com.example",
+                config("useRecords", true, "targetVersion", "16", "generateBuilders", true));
+
+        Class<?> builderType = resultsClassLoader.loadClass("com.example.Shipment$ShipmentBuilder");
+        Object builder = builderType.getConstructor().newInstance();
+        builderType.getMethod("withId", Integer.class).invoke(builder, 7);
+        Object instance = builderType.getMethod("build").invoke(builder);
+
+        assertThat(instance.getClass().getMethod("id").invoke(instance), is((Object) 7));
+        assertThat(instance.getClass().getMethod("carrier").invoke(instance), is((Object) "post"));
+    }
+
+    private String generatedSource(String className) throws IOException {
+        return FileUtils.readFileToString(schemaRule.generated("com/example/" + className + ".java"), StandardCharsets.UTF_8);
+    }
+
+    private static boolean isJava16OrLater() {
+        String version = System.getProperty("java.specification.version");
+        return !version.startsWith("1.") && Integer.parseInt(version) >= 16;
+    }
+
+}
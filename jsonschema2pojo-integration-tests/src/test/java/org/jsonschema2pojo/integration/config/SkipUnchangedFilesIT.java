@@ -0,0 +1,86 @@
+/**
+ * Copyright © 2010-2020 Nokia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jsonschema2pojo.integration.config;
+
+import static org.hamcrest.Matchers.*;
+import static org.jsonschema2pojo.integration.util.CodeGenerationHelper.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+public class SkipUnchangedFilesIT {
+
+    private static final long OLD_TIMESTAMP = 1000000000000L;
+
+    @Test
+    public void unchangedFilesAreNotWrittenAgain() throws IOException {
+
+        URL schema = getClass().getResource("/schema/properties/primitiveProperties.json");
+        File output = createTemporaryOutputFolder();
+        File generated = new File(output, "com/example/PrimitiveProperties.java");
+
+        generate(schema, "com.example", config("skipUnchangedFiles", true), output);
+        byte[] content = FileUtils.readFileToByteArray(generated);
+        assertThat(generated.setLastModified(OLD_TIMESTAMP), is(true));
+
+        generate(schema, "com.example", config("skipUnchangedFiles", true), output);
+
+        assertThat(generated.lastModified(), is(OLD_TIMESTAMP));
+        assertThat(FileUtils.readFileToByteArray(generated), is(content));
+
+    }
+
+    @Test
+    public void changedFilesAreWritten() throws IOException {
+
+        URL schema = getClass().getResource("/schema/properties/primitiveProperties.json");
+        File output = createTemporaryOutputFolder();
+        File generated = new File(output, "com/example/PrimitiveProperties.java");
+
+        generate(schema, "com.example", config("skipUnchangedFiles", true), output);
+        assertThat(generated.setLastModified(OLD_TIMESTAMP), is(true));
+
+        generate(schema, "com.example", config("skipUnchangedFiles", true, "includeToString", false), output);
+
+        assertThat(generated.lastModified(), is(not(OLD_TIMESTAMP)));
+        assertThat(FileUtils.readFileToString(generated, "UTF-8"), not(containsString("toString()")));
+
+    }
+
+    @Test
+    public void byDefaultUnchangedFilesAreWrittenAgain() throws IOException {
+
+        URL schema = getClass().getResource("/schema/properties/primitiveProperties.json");
+        File output = createTemporaryOutputFolder();
+        File generated = new File(output, "com/example/PrimitiveProperties.java");
+
+        generate(schema, "com.example", config(), output);
+        assertThat(generated.setLastModified(OLD_TIMESTAMP), is(true));
+
+        generate(schema, "com.example", config(), output);
+
+        assertThat(generated.lastModified(), is(not(OLD_TIMESTAMP)));
+
+    }
+
+}
@@ -375,6 +375,9 @@ public class Jsonschema2PojoMojo extends AbstractMojo implements GenerationConfi
      * <li><code>yamlschema</code> (JSON schema documents, represented as YAML)</li>
      * <li><code>yaml</code> (documents that represent an example of the kind of
      * YAML (or JSON) data that the generated Java types will be mapped to)</li>
+     * <li><code>jsoncorpus</code> (a file of newline-delimited JSON examples,
+     * or a directory of JSON examples, from which a single Java type is
+     * inferred)</li>
      * </ul>
      *
      * @parameter property="jsonschema2pojo.sourceType"
@@ -799,6 +802,212 @@ public class Jsonschema2PojoMojo extends AbstractMojo implements GenerationConfi
      */
     private boolean includeConstructorPropertiesAnnotation = false;
 
+    /**
+     * The number of threads used to read source files (and resolve the
+     * schema documents they refer to) before types are generated. Types are
+     * always added in the same order as a single threaded run, so the
+     * generated output does not depend on this value.
+     *
+     * @parameter property="jsonschema2pojo.parallelism"
+     *            default-value="1"
+     * @since 1.0.3
+     */
+    private int parallelism = 1;
+
+    /**
+     * A directory in which schemas referenced over http/https are cached
+     * between builds. Cached documents are revalidated with the server (using
+     * <code>ETag</code>/<code>Last-Modified</code>) and only downloaded again
+     * when they have changed. If the server can't be reached or responds with
+     * a server error, the cached copy is used and a warning is logged. Leave
+     * unset to disable caching.
+     *
+     * @parameter property="jsonschema2pojo.remoteSchemaCacheDirectory"
+     * @since 1.0.3
+     */
+    private File remoteSchemaCacheDirectory;
+
+    /**
+     * Whether schemas referenced over http/https should be read only from the
+     * remote schema cache, without making any network requests. A reference
+     * that is not already cached causes the build to fail. Requires
+     * <code>remoteSchemaCacheDirectory</code>.
+     *
+     * @parameter property="jsonschema2pojo.offline"
+     *            default-value="false"
+     * @since 1.0.3
+     */
+    private boolean offline = false;
+
+    /**
+     * Whether to generate incrementally. A manifest is kept in the output
+     * directory recording a fingerprint of each source schema (its content, the
+     * content of every schema it refers to via <code>$ref</code>, and the
+     * configuration). Only source schemas whose fingerprint has changed are
+     * generated again, and only files that are no longer generated are deleted.
+     * When enabled, this takes the place of <code>removeOldOutput</code>.
+     * Sources of the <code>jsoncorpus</code> type, and every source when
+     * <code>generateSerializers</code> is set, are not fingerprinted, so they
+     * are generated on every run (and a warning is logged).
+     *
+     * @parameter property="jsonschema2pojo.incremental"
+     *            default-value="false"
+     * @since 1.0.3
+     */
+    private boolean incremental = false;
+
+    /**
+     * Whether generated files that already exist with identical content should
+     * be left untouched rather than written again. This preserves the
+     * modification time of unchanged files, so that the compiler and IDE do
+     * not treat them as changed.
+     *
+     * @parameter property="jsonschema2pojo.skipUnchangedFiles"
+     *            default-value="false"
+     * @since 1.0.3
+     */
+    private boolean skipUnchangedFiles = false;
+
+    /**
+     * A directory in which to cache the Scala source produced for each
+     * generated Java source, so that classes which have not changed are not
+     * converted again on every build. Only used when the target language is
+     * Scala. Leave unset to disable caching.
+     *
+     * @parameter property="jsonschema2pojo.scalaConversionCacheDirectory"
+     * @since 1.0.3
+     */
+    private File scalaConversionCacheDirectory;
+
+    /**
+     * When the source type is <code>jsoncorpus</code>, the maximum number of
+     * documents read from each corpus. When a corpus holds more files than
+     * this, an evenly spaced selection of files is read; otherwise the limit
+     * is shared between the files. <code>0</code> reads every document.
+     *
+     * @parameter property="jsonschema2pojo.corpusSampleSize"
+     *            default-value="0"
+     * @since 1.0.3
+     */
+    private int corpusSampleSize = 0;
+
+    /**
+     * Whether structurally identical inline object schemas should share a
+     * single generated class, instead of each producing its own
+     * (<code>Address</code>, <code>Address__1</code>, ...). Schemas are compared
+     * ignoring their own <code>title</code>, <code>description</code>,
+     * <code>$comment</code>, <code>examples</code> and <code>default</code>, and
+     * with any <code>$ref</code> resolved. A report of the merged schemas is
+     * logged.
+     *
+     * @parameter property="jsonschema2pojo.deduplicateInlineSchemas"
+     *            default-value="false"
+     * @since 1.0.3
+     */
+    private boolean deduplicateInlineSchemas = false;
+
+    /**
+     * Whether to generate, for each class, a serializer and deserializer that
+     * write and read its properties directly instead of by reflection, and a
+     * type in the target package that registers all of them
+     * (<code>GeneratedSerializersModule</code> for <code>jackson2</code>,
+     * <code>GeneratedTypeAdapterFactory</code> for <code>gson</code>,
+     * <code>GeneratedJsonAdapterFactory</code> for <code>moshi1</code>). The
+     * serializers use the same property names, inclusion level, additional
+     * properties and date formats as the generated annotations. Supported for
+     * the <code>jackson2</code>, <code>gson</code> and <code>moshi1</code>
+     * annotation styles.
+     *
+     * @parameter property="jsonschema2pojo.generateSerializers"
+     *            default-value="false"
+     * @since 1.0.3
+     */
+    private boolean generateSerializers = false;
+
+    /**
+     * Whether the additional properties map of a generated class should only
+     * be allocated when the first additional property is set. Until then,
+     * <code>getAdditionalProperties()</code> returns a shared, immutable empty
+     * map, so additional properties must be added through
+     * <code>setAdditionalProperty</code>.
+     *
+     * @parameter property="jsonschema2pojo.lazyAdditionalProperties"
+     *            default-value="false"
+     * @since 1.0.3
+     */
+    private boolean lazyAdditionalProperties = false;
+
+    /**
+     * The map implementation (with a no-argument constructor and
+     * <code>String</code> keys) to use instead of
+     * <code>java.util.HashMap</code> for the additional properties of
+     * generated classes, e.g. <code>java.util.LinkedHashMap</code>.
+     *
+     * @parameter property="jsonschema2pojo.additionalPropertiesMapType"
+     * @since 1.0.3
+     */
+    private String additionalPropertiesMapType = null;
+
+    /**
+     * Whether to use the smallest java type (<code>byte</code>,
+     * <code>short</code>, <code>int</code> or <code>long</code>) that can hold
+     * every value between the <code>minimum</code> and <code>maximum</code>
+     * declared for a JSON Schema 'integer'. Properties that are required and
+     * not nullable use the primitive type, others the wrapper type. Has no
+     * effect on integers without both bounds, or when
+     * <code>useBigIntegers</code> is set.
+     *
+     * @parameter property="jsonschema2pojo.useRangeNarrowedIntegers"
+     *            default-value="false"
+     * @since 1.0.3
+     */
+    private boolean useRangeNarrowedIntegers = false;
+
+    /**
+     * Whether to use primitive arrays (e.g. <code>int[]</code>,
+     * <code>long[]</code> or <code>double[]</code>) instead of
+     * <code>java.util.List</code> for JSON Schema arrays whose items are of
+     * type 'integer' or 'number' (and are not nullable). Arrays with
+     * <code>uniqueItems</code> remain a <code>java.util.Set</code>, since an
+     * array can't enforce uniqueness.
+     *
+     * @parameter property="jsonschema2pojo.usePrimitiveArrays"
+     *            default-value="false"
+     * @since 1.0.3
+     */
+    private boolean usePrimitiveArrays = false;
+
+    /**
+     * Whether to generate immutable value classes. All fields are
+     * <code>final</code> and set by an all-properties constructor (annotated
+     * as a JSON creator for Jackson), collections are defensively copied to
+     * unmodifiable ones, and <code>hashCode</code> is computed once and
+     * cached. Setters are not generated for immutable classes, and the
+     * builder (see <code>generateBuilders</code>) is an inner class that
+     * collects the property values and invokes the constructor.
+     *
+     * @parameter property="jsonschema2pojo.immutable"
+     *            default-value="false"
+     * @since 1.0.3
+     */
+    private boolean immutable = false;
+
+    /**
+     * Whether to generate Java records, instead of classes, for object schemas
+     * that don't extend another type and don't allow additional properties
+     * (i.e. <code>"additionalProperties" : false</code>). Records are only
+     * generated when the target version is 16 or later, and the target
+     * language is Java. Properties become record components, carrying the
+     * annotations that would be added to the field, and a canonical
+     * constructor applies defaults and copies collections to unmodifiable
+     * ones.
+     *
+     * @parameter property="jsonschema2pojo.useRecords"
+     *            default-value="false"
+     * @since 1.0.3
+     */
+    private boolean useRecords = false;
+
     /**
      * Executes the plugin, to read the given source and behavioural properties
      * and generate POJOs. The current implementation acts as a wrapper around
@@ -1247,4 +1456,79 @@ public class Jsonschema2PojoMojo extends AbstractMojo implements GenerationConfi
     public boolean isUseInnerClassBuilders() {
         return useInnerClassBuilders;
     }
+
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public File getRemoteSchemaCacheDirectory() {
+        return remoteSchemaCacheDirectory;
+    }
+
+    @Override
+    public boolean isOffline() {
+        return offline;
+    }
+
+    @Override
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    @Override
+    public boolean isSkipUnchangedFiles() {
+        return skipUnchangedFiles;
+    }
+
+    @Override
+    public File getScalaConversionCacheDirectory() {
+        return scalaConversionCacheDirectory;
+    }
+
+    @Override
+    public int getCorpusSampleSize() {
+        return corpusSampleSize;
+    }
+
+    @Override
+    public boolean isDeduplicateInlineSchemas() {
+        return deduplicateInlineSchemas;
+    }
+
+    @Override
+    public boolean isGenerateSerializers() {
+        return generateSerializers;
+    }
+
+    @Override
+    public boolean isLazyAdditionalProperties() {
+        return lazyAdditionalProperties;
+    }
+
+    @Override
+    public String getAdditionalPropertiesMapType() {
+        return additionalPropertiesMapType;
+    }
+
+    @Override
+    public boolean isUseRangeNarrowedIntegers() {
+        return useRangeNarrowedIntegers;
+    }
+
+    @Override
+    public boolean isUsePrimitiveArrays() {
+        return usePrimitiveArrays;
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    @Override
+    public boolean isUseRecords() {
+        return useRecords;
+    }
 }